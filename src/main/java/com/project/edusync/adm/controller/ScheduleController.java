@@ -1,11 +1,14 @@
 package com.project.edusync.adm.controller;
 
 import com.project.edusync.adm.model.dto.request.ScheduleRequestDto;
+import com.project.edusync.adm.model.dto.request.TimetableRepairRequestDto;
 import com.project.edusync.adm.model.dto.response.EditorContextResponseDto;
 import com.project.edusync.adm.model.dto.response.ScheduleResponseDto;
 import com.project.edusync.adm.model.dto.response.TimetableOverviewResponseDto;
+import com.project.edusync.adm.model.dto.response.TimetableRepairResponseDto;
 import com.project.edusync.adm.service.EditorContextService;
 import com.project.edusync.adm.service.ScheduleService;
+import com.project.edusync.adm.service.TimetableRepairService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -33,6 +36,7 @@ public class ScheduleController {
 
     private final ScheduleService scheduleService;
     private final EditorContextService editorContextService;
+    private final TimetableRepairService timetableRepairService;
 
     /**
      * Fetches all existing Schedule entries for a specific section.
@@ -214,4 +218,23 @@ public class ScheduleController {
         List<ScheduleResponseDto> response = scheduleService.replaceSectionScheduleBulk(sectionId, requestDtos);
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    @PostMapping("/sections/{sectionId}/schedule/repair")
+    @Operation(
+            summary = "Repair section schedule after a change",
+            description = "Reassigns only the lessons hit by an unavailable teacher or room (substitute, free slot or swap) instead of regenerating the timetable. Use dryRun to preview.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Repair computed; unresolved lists lessons without a feasible change"),
+            @ApiResponse(responseCode = "400", description = "Invalid request payload"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - missing or invalid JWT"),
+            @ApiResponse(responseCode = "404", description = "Section not found")
+    })
+    public ResponseEntity<TimetableRepairResponseDto> repairSectionSchedule(
+            @PathVariable UUID sectionId,
+            @Valid @RequestBody TimetableRepairRequestDto requestDto) {
+        TimetableRepairResponseDto response = timetableRepairService.repairSectionSchedule(sectionId, requestDto);
+        return ResponseEntity.ok(response);
+    }
+}
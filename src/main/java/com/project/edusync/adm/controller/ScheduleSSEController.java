@@ -9,6 +9,7 @@ import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
@@ -31,4 +32,14 @@ public class ScheduleSSEController {
     public SseEmitter streamGeneration(@PathVariable UUID sectionId) {
         return autoScheduleService.generateTimetableStream(sectionId);
     }
+
+    @GetMapping(value = "/auto-generate/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "Stream automated timetable generation for several sections",
+            description = "Solves every section of a class, or the whole school when classId is omitted, in one run and streams the best candidate schedules via SSE.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public SseEmitter streamBatchGeneration(@RequestParam(required = false) UUID classId) {
+        return autoScheduleService.generateBatchTimetableStream(classId);
+    }
 }
@@ -0,0 +1,30 @@
+package com.project.edusync.adm.model.dto.request;
+
+import com.project.edusync.adm.model.enums.TimetableChangeType;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A change event to repair a section timetable against.
+ */
+@Data
+public class TimetableRepairRequestDto {
+
+    @NotNull(message = "changeType is required")
+    private TimetableChangeType changeType;
+
+    // Required for TEACHER_UNAVAILABLE
+    private Long teacherId;
+
+    // Required for ROOM_UNAVAILABLE
+    private UUID roomId;
+
+    // Slots the teacher or room is out for; empty means every slot (e.g. the teacher has left)
+    private List<UUID> timeslotIds;
+
+    // Only report the repair, do not save it
+    private boolean dryRun;
+}
@@ -0,0 +1,43 @@
+package com.project.edusync.adm.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outcome of an in-place timetable repair: the lessons that were changed and the affected lessons
+ * no feasible change was found for.
+ */
+@Data
+@Builder
+public class TimetableRepairResponseDto {
+    private UUID sectionId;
+    private boolean applied;
+    private List<RepairedLessonDto> repaired;
+    private List<ScheduleResponseDto> unresolved;
+    private long elapsedMs;
+
+    public enum RepairAction {
+        /** Same timeslot, another teacher or room. */
+        REASSIGN,
+        /** Moved to a timeslot the section had free. */
+        MOVE,
+        /** Exchanged timeslots with another lesson of the section. */
+        SWAP,
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RepairedLessonDto {
+        private UUID scheduleId;
+        private RepairAction action;
+        private ScheduleResponseDto before;
+        private ScheduleResponseDto after;
+    }
+}
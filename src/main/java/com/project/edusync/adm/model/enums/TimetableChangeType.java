@@ -0,0 +1,9 @@
+package com.project.edusync.adm.model.enums;
+
+/**
+ * Events that make part of an existing timetable infeasible and can be repaired in place.
+ */
+public enum TimetableChangeType {
+    TEACHER_UNAVAILABLE,
+    ROOM_UNAVAILABLE,
+}
@@ -12,6 +12,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -53,6 +54,14 @@ public interface ScheduleRepository extends JpaRepository<Schedule, Long> {
         Long getScheduledPeriods();
     }
 
+    interface SlotOccupancyProjection {
+        Long getTeacherId();
+
+        UUID getRoomId();
+
+        UUID getTimeslotId();
+    }
+
     @Query("SELECT s FROM Schedule s WHERE s.uuid = :scheduleId AND s.isActive = true")
     Optional<Schedule> findActiveById(UUID scheduleId);
 
@@ -78,6 +87,22 @@ public interface ScheduleRepository extends JpaRepository<Schedule, Long> {
     @Query("SELECT s FROM Schedule s WHERE s.section.uuid = :sectionId AND s.isActive = true")
     List<Schedule> findAllActiveBySectionUuid(UUID sectionId);
 
+    /**
+     * Teacher, room and timeslot of every active lesson outside {@code sectionIds}, for conflict checks
+     * without loading the schedule entities.
+     */
+    @Query("""
+            SELECT td.id AS teacherId, r.uuid AS roomId, ts.uuid AS timeslotId
+            FROM Schedule s
+            JOIN s.section sec
+            JOIN s.timeslot ts
+            LEFT JOIN s.teacher td
+            LEFT JOIN s.room r
+            WHERE s.isActive = true
+              AND sec.uuid NOT IN :sectionIds
+            """)
+    List<SlotOccupancyProjection> findActiveOccupancyExcludingSections(@Param("sectionIds") Collection<UUID> sectionIds);
+
     @Query("SELECT s FROM Schedule s JOIN FETCH s.teacher td JOIN FETCH td.staff st WHERE st.id = :staffId AND s.isActive = true")
     List<Schedule> findAllActiveByTeacherStaffId(@Param("staffId") Long staffId);
 
@@ -95,6 +120,20 @@ public interface ScheduleRepository extends JpaRepository<Schedule, Long> {
             @Param("sectionId") Long sectionId
     );
 
+    @Query("""
+            SELECT s FROM Schedule s
+            JOIN FETCH s.subject sub
+            JOIN FETCH s.teacher td
+            JOIN FETCH td.staff st
+            WHERE st.id = :staffId
+              AND s.section.id IN :sectionIds
+              AND s.isActive = true
+            """)
+    List<Schedule> findAllActiveByTeacherStaffIdAndSectionIdIn(
+            @Param("staffId") Long staffId,
+            @Param("sectionIds") Collection<Long> sectionIds
+    );
+
     @Query("""
             SELECT s FROM Schedule s
             JOIN FETCH s.section sec
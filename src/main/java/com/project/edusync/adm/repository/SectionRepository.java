@@ -18,6 +18,18 @@ public interface SectionRepository extends JpaRepository<Section, Long> {
     @Query("SELECT s FROM Section s JOIN FETCH s.academicClass")
     List<Section> findAllWithClass();
 
+    @Query("SELECT s FROM Section s JOIN FETCH s.academicClass ac WHERE s.isActive = true ORDER BY ac.name, s.sectionName")
+    List<Section> findAllActiveWithClass();
+
+    @Query("""
+            SELECT s FROM Section s
+            JOIN FETCH s.academicClass ac
+            WHERE ac.uuid = :classId
+              AND s.isActive = true
+            ORDER BY s.sectionName
+            """)
+    List<Section> findAllActiveByClassUuid(@Param("classId") UUID classId);
+
     @Query("""
             SELECT s FROM Section s
             JOIN FETCH s.academicClass ac
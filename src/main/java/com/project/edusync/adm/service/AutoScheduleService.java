@@ -17,6 +17,14 @@ public interface AutoScheduleService {
      */
     SseEmitter generateTimetableStream(UUID sectionId);
 
+    /**
+     * Generates the timetables of several sections jointly, so teachers and rooms are not
+     * double-booked between them, and streams progress via SSE.
+     * @param classId The class whose sections to generate, or {@code null} for every active section.
+     * @return SseEmitter object for streaming updates.
+     */
+    SseEmitter generateBatchTimetableStream(UUID classId);
+
     /**
      * Internal: Runs one generation of the GA and returns progress.
      */
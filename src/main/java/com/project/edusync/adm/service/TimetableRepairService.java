@@ -0,0 +1,23 @@
+package com.project.edusync.adm.service;
+
+import com.project.edusync.adm.model.dto.request.TimetableRepairRequestDto;
+import com.project.edusync.adm.model.dto.response.TimetableRepairResponseDto;
+
+import java.util.UUID;
+
+/**
+ * Local repair of an existing section timetable after a teacher or room becomes unavailable,
+ * without rerunning the full generator.
+ */
+public interface TimetableRepairService {
+
+    /**
+     * Reassigns only the lessons hit by the change: a substitute teacher or room in the same slot
+     * first, then a free slot of the section, then a swap with another lesson. Every candidate is
+     * checked against the timetables of all other sections.
+     * @param sectionId The section whose timetable to repair.
+     * @param request The change event.
+     * @return The changes made (or proposed, for a dry run) and the lessons that could not be repaired.
+     */
+    TimetableRepairResponseDto repairSectionSchedule(UUID sectionId, TimetableRepairRequestDto request);
+}
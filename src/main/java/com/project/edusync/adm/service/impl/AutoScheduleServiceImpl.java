@@ -1,11 +1,10 @@
 package com.project.edusync.adm.service.impl;
 
+import com.project.edusync.adm.model.dto.request.ScheduleRequestDto;
 import com.project.edusync.adm.model.dto.response.ScheduleResponseDto;
 import com.project.edusync.adm.model.entity.Section;
-import com.project.edusync.adm.model.entity.Subject;
 import com.project.edusync.adm.model.entity.Timeslot;
 import com.project.edusync.adm.model.entity.Room;
-import com.project.edusync.adm.model.entity.Schedule;
 import com.project.edusync.adm.model.entity.CurriculumMap;
 import com.project.edusync.adm.repository.SectionRepository;
 import com.project.edusync.adm.repository.TimeslotRepository;
@@ -14,21 +13,26 @@ import com.project.edusync.adm.repository.ScheduleRepository;
 import com.project.edusync.adm.repository.RoomRepository;
 import com.project.edusync.adm.service.AutoScheduleService;
 import com.project.edusync.adm.service.ScheduleService;
-import com.project.edusync.uis.model.entity.details.TeacherDetails;
+import com.project.edusync.common.exception.EdusyncException;
+import com.project.edusync.uis.model.entity.Staff;
 import com.project.edusync.uis.repository.details.TeacherDetailsRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
 import lombok.Builder;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.springframework.transaction.support.TransactionTemplate;
@@ -47,35 +51,32 @@ public class AutoScheduleServiceImpl implements AutoScheduleService {
     private final ScheduleService scheduleService;
     private final TransactionTemplate transactionTemplate;
 
-    private final ExecutorService executor = Executors.newCachedThreadPool();
+    @Resource(name = "timetableSolverExecutor")
+    private Executor timetableSolverExecutor;
+
+    @Value("${edusync.timetable.solver.time-budget-ms:300000}")
+    private long timeBudgetMs;
+
+    // Shared by all generator runs; fitness evaluation is CPU-bound, so one worker per core
+    private final ForkJoinPool fitnessPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    @PreDestroy
+    void shutdownFitnessPool() {
+        fitnessPool.shutdownNow();
+    }
 
     @Override
     public SseEmitter generateTimetableStream(UUID sectionId) {
-        SseEmitter emitter = new SseEmitter(600_000L); // 10 minute timeout
-        
-        executor.execute(() -> {
-            try {
-                transactionTemplate.execute(status -> {
-                    try {
-                        runGeneticAlgorithm(sectionId, emitter);
-                    } catch (IOException e) {
-                        throw new RuntimeException("SSE stream failed", e);
-                    }
-                    return null;
-                });
-                emitter.complete();
-            } catch (Exception e) {
-                log.error("Error in Genetic Algorithm for section: {}", sectionId, e);
-                try {
-                    emitter.send(SseEmitter.event()
-                            .name("error")
-                            .data(Map.of("message", e.getMessage() != null ? e.getMessage() : "Unknown algorithm error")));
-                } catch (Exception ignored) {}
-                emitter.complete();
-            }
-        });
+        return startJob("section " + sectionId, () -> List.of(sectionRepository.findByUuid(sectionId)
+                .orElseThrow(() -> new RuntimeException("Section not found"))));
+    }
 
-        return emitter;
+    @Override
+    public SseEmitter generateBatchTimetableStream(UUID classId) {
+        if (classId == null) {
+            return startJob("all sections", sectionRepository::findAllActiveWithClass);
+        }
+        return startJob("class " + classId, () -> sectionRepository.findAllActiveByClassUuid(classId));
     }
 
     @Override
@@ -83,58 +84,102 @@ public class AutoScheduleServiceImpl implements AutoScheduleService {
         // Not implemented as a standalone method yet
     }
 
-    private void runGeneticAlgorithm(UUID sectionId, SseEmitter emitter) throws IOException {
+    /**
+     * Queues a run on the bounded solver executor. The run is cancelled as soon as the SSE connection
+     * completes, times out or fails, and stops on its own once its time budget is spent.
+     *
+     * @throws EdusyncException (503) if every solver thread is busy and the queue is full.
+     */
+    private SseEmitter startJob(String label, Supplier<List<Section>> sections) {
+        SseEmitter emitter = new SseEmitter(600_000L); // 10 minute timeout
+        TimetableSolverJob job = new TimetableSolverJob(label, timeBudgetMs);
+        emitter.onCompletion(job::cancel);
+        emitter.onTimeout(job::cancel);
+        emitter.onError(ex -> job.cancel());
+
+        try {
+            timetableSolverExecutor.execute(() -> runJob(job, sections, emitter));
+        } catch (RejectedExecutionException e) {
+            throw new EdusyncException("Too many timetable generations are running. Please retry shortly.",
+                    HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        return emitter;
+    }
+
+    private void runJob(TimetableSolverJob job, Supplier<List<Section>> sections, SseEmitter emitter) {
+        if (job.isCancelled()) {
+            log.info("Timetable generation for {} cancelled before it started", job.label());
+            return;
+        }
+        job.start();
+        try {
+            runGeneticAlgorithm(job, sections, emitter);
+            emitter.complete();
+        } catch (Exception e) {
+            if (job.isCancelled()) {
+                log.info("Timetable generation for {} stopped, client disconnected", job.label());
+                return;
+            }
+            log.error("Error in Genetic Algorithm for {}", job.label(), e);
+            try {
+                emitter.send(SseEmitter.event()
+                        .name("error")
+                        .data(Map.of("message", e.getMessage() != null ? e.getMessage() : "Unknown algorithm error")));
+            } catch (Exception ignored) {}
+            emitter.complete();
+        }
+    }
+
+    private void runGeneticAlgorithm(TimetableSolverJob job, Supplier<List<Section>> sections, SseEmitter emitter) throws IOException {
         // Signal connection is established
         emitter.send(SseEmitter.event()
                 .name("connected")
                 .data(Map.of("message", "Evolution engine initialized")));
 
-        Section section = sectionRepository.findByUuid(sectionId)
-                .orElseThrow(() -> new RuntimeException("Section not found"));
-        
-        List<Timeslot> timeslots = timeslotRepository.findAllActive().stream()
-                .filter(ts -> !Boolean.TRUE.equals(ts.getIsBreak()) && !Boolean.TRUE.equals(ts.getIsNonTeachingSlot()))
-                .collect(Collectors.toList());
-        
-        List<CurriculumMap> curriculumMaps = curriculumMapRepository.findActiveByClassUuid(section.getAcademicClass().getUuid());
-        
-        // Load data needed for constraints
-        List<Schedule> otherSchedules = scheduleRepository.findAllActive().stream()
-                .filter(s -> s.getSection() != null && !s.getSection().getUuid().equals(sectionId))
-                .collect(Collectors.toList());
-        
-        List<Room> allRooms = roomRepository.findAllActive();
-        
+        // Everything the GA needs is read up front; evolution itself runs without a transaction
+        TimetableSnapshot snapshot = loadSnapshot(sections);
+
         // Initialize Population
         int populationSize = 50;
         List<Individual> population = new ArrayList<>();
         for (int i = 0; i < populationSize; i++) {
-            population.add(Individual.random(section, timeslots, curriculumMaps, allRooms, teacherDetailsRepository));
+            population.add(Individual.random(snapshot));
         }
 
         int maxGenerations = 200;
         Individual bestSoFar = null;
 
         for (int gen = 1; gen <= maxGenerations; gen++) {
-            // Evaluate Fitness
-            for (Individual ind : population) {
-                ind.calculateFitness(otherSchedules);
+            if (job.shouldStop()) {
+                if (job.isCancelled()) {
+                    log.info("Timetable generation for {} cancelled at generation {}", job.label(), gen);
+                    return;
+                }
+                log.info("Timetable generation for {} ran out of its {} ms budget at generation {}",
+                        job.label(), timeBudgetMs, gen);
+                emitter.send(SseEmitter.event()
+                        .name("timeout")
+                        .data(Map.of("generation", gen, "fitness", bestSoFar == null ? 0 : bestSoFar.fitness)));
+                break;
             }
 
+            // Evaluate Fitness
+            evaluateFitness(population, snapshot.conflicts(), fitnessPool);
+
             // Sort by fitness (Descending)
             population.sort(Comparator.comparingInt(Individual::getFitness).reversed());
-            
+
             Individual currentBest = population.get(0);
             if (bestSoFar == null || currentBest.fitness > bestSoFar.fitness) {
                 bestSoFar = currentBest;
-                
+
                 // Stream update to client
                 Map<String, Object> update = new HashMap<>();
                 update.put("generation", gen);
                 update.put("fitness", currentBest.fitness);
                 update.put("isComplete", currentBest.fitness >= 0); // 0 or positive is conflict-free
                 update.put("schedule", convertToDtos(currentBest));
-                
+
                 emitter.send(SseEmitter.event()
                         .name("progress")
                         .data(update));
@@ -154,16 +199,126 @@ public class AutoScheduleServiceImpl implements AutoScheduleService {
                 Individual parent1 = tournamentSelect(population);
                 Individual parent2 = tournamentSelect(population);
                 Individual offspring = parent1.crossover(parent2);
-                offspring.mutate(timeslots, curriculumMaps, allRooms, teacherDetailsRepository);
+                offspring.mutate(snapshot);
                 nextGen.add(offspring);
             }
             population = nextGen;
         }
 
+        if (bestSoFar != null && bestSoFar.fitness >= 0 && !job.isCancelled()) {
+            persistBest(bestSoFar, emitter);
+        }
+
         emitter.send(SseEmitter.event().name("complete").data("Generation finished"));
         emitter.complete();
     }
 
+    /**
+     * Reads the sections' curricula, teaching slots, rooms, qualified teachers and the occupancy of
+     * every section outside the run in one short read-only transaction.
+     */
+    private TimetableSnapshot loadSnapshot(Supplier<List<Section>> sectionLoader) {
+        TransactionTemplate readOnly = new TransactionTemplate(Objects.requireNonNull(transactionTemplate.getTransactionManager()));
+        readOnly.setReadOnly(true);
+        TimetableSnapshot snapshot = readOnly.execute(status -> {
+            List<Section> sections = sectionLoader.get();
+            if (sections.isEmpty()) {
+                throw new RuntimeException("No active sections to generate");
+            }
+
+            List<Timeslot> timeslots = timeslotRepository.findAllActive().stream()
+                    .filter(ts -> !Boolean.TRUE.equals(ts.getIsBreak()) && !Boolean.TRUE.equals(ts.getIsNonTeachingSlot()))
+                    .collect(Collectors.toList());
+
+            // Sections of one class share its curriculum, so it is read once per class
+            Map<UUID, List<CurriculumMap>> curriculumByClass = new HashMap<>();
+            List<TimetableSnapshot.SectionInput> inputs = new ArrayList<>(sections.size());
+            for (Section section : sections) {
+                List<CurriculumMap> curriculumMaps = curriculumByClass.computeIfAbsent(
+                        section.getAcademicClass().getUuid(), curriculumMapRepository::findActiveByClassUuid);
+                Staff classTeacher = section.getClassTeacher();
+                inputs.add(new TimetableSnapshot.SectionInput(section.getUuid(), section.getSectionName(), curriculumMaps,
+                        classTeacher == null ? null : classTeacher.getId(),
+                        classTeacher == null || classTeacher.getUserProfile() == null ? null : classTeacher.getUserProfile().getFirstName()));
+            }
+
+            Set<UUID> subjectIds = curriculumByClass.values().stream()
+                    .flatMap(List::stream)
+                    .map(cm -> cm.getSubject().getUuid())
+                    .collect(Collectors.toSet());
+            List<TimetableSnapshot.QualifiedTeacher> qualifiedTeachers = subjectIds.isEmpty()
+                    ? List.of()
+                    : teacherDetailsRepository.findQualifiedTeachersForSubjects(subjectIds).stream()
+                            .map(t -> new TimetableSnapshot.QualifiedTeacher(t.getSubjectId(), t.getTeacherId(), t.getFirstName()))
+                            .toList();
+
+            // Load data needed for constraints; clashes between the sections of this run are
+            // resolved by the search itself
+            List<UUID> sectionIds = inputs.stream().map(TimetableSnapshot.SectionInput::uuid).toList();
+            List<ScheduleConflictIndex.Occupancy> otherSchedules = scheduleRepository.findActiveOccupancyExcludingSections(sectionIds).stream()
+                    .map(o -> new ScheduleConflictIndex.Occupancy(o.getTeacherId(), o.getRoomId(), o.getTimeslotId()))
+                    .toList();
+
+            List<Room> allRooms = roomRepository.findAllActive();
+
+            return TimetableSnapshot.of(timeslots, inputs, qualifiedTeachers, allRooms, otherSchedules);
+        });
+
+        if (snapshot.slots().isEmpty()) {
+            throw new RuntimeException("No active teaching timeslots configured");
+        }
+        if (snapshot.rooms().isEmpty()) {
+            throw new RuntimeException("No active rooms configured");
+        }
+        return snapshot;
+    }
+
+    /**
+     * Saves a conflict-free solution as the draft timetable of every section in the run, in one
+     * transaction. The sections' current schedules are cleared first, so the validation in
+     * {@link ScheduleService#replaceSectionScheduleBulk} only checks them against sections outside
+     * the run; if any section fails, nothing is saved.
+     */
+    private void persistBest(Individual best, SseEmitter emitter) throws IOException {
+        Map<UUID, List<ScheduleRequestDto>> rowsBySection = toScheduleRows(best);
+        if (rowsBySection.isEmpty()) {
+            return;
+        }
+        try {
+            Integer savedCount = transactionTemplate.execute(status -> {
+                rowsBySection.keySet().forEach(scheduleRepository::softDeleteBySectionId);
+                int saved = 0;
+                for (Map.Entry<UUID, List<ScheduleRequestDto>> entry : rowsBySection.entrySet()) {
+                    saved += scheduleService.replaceSectionScheduleBulk(entry.getKey(), entry.getValue()).size();
+                }
+                return saved;
+            });
+            emitter.send(SseEmitter.event()
+                    .name("saved")
+                    .data(Map.of("savedCount", savedCount, "sectionCount", rowsBySection.size(), "status", "DRAFT")));
+        } catch (RuntimeException e) {
+            log.warn("Generated timetable for {} section(s) could not be saved: {}", rowsBySection.size(), e.getMessage());
+            emitter.send(SseEmitter.event()
+                    .name("error")
+                    .data(Map.of("message", "Generated timetable could not be saved: " + e.getMessage())));
+        }
+    }
+
+    /** The bulk-replace payload of every section in {@code individual}, keyed by section. */
+    static Map<UUID, List<ScheduleRequestDto>> toScheduleRows(Individual individual) {
+        Map<UUID, List<ScheduleRequestDto>> rowsBySection = new LinkedHashMap<>();
+        for (Gene gene : individual.geneMap.values()) {
+            ScheduleRequestDto dto = new ScheduleRequestDto();
+            dto.setSectionId(gene.section.uuid());
+            dto.setSubjectId(gene.subject.uuid());
+            dto.setTeacherId(gene.teacher.id());
+            dto.setRoomId(gene.room.uuid());
+            dto.setTimeslotId(gene.timeslot.uuid());
+            rowsBySection.computeIfAbsent(gene.section.uuid(), id -> new ArrayList<>()).add(dto);
+        }
+        return rowsBySection;
+    }
+
     private List<ScheduleResponseDto> convertToDtos(Individual individual) {
         // Simple mapping for demonstration - in real impl, use a mapper
         return individual.geneMap.values().stream()
@@ -174,29 +329,39 @@ public class AutoScheduleServiceImpl implements AutoScheduleService {
     private ScheduleResponseDto mapToDto(Gene gene) {
         // Mocking the rich DTO for the streamer
         return ScheduleResponseDto.builder()
+                .section(ScheduleResponseDto.NestedSectionResponseDto.builder()
+                        .uuid(gene.section.uuid())
+                        .sectionName(gene.section.name())
+                        .build())
                 .timeslot(ScheduleResponseDto.NestedTimeslotResponseDto.builder()
-                        .uuid(gene.timeslot.getUuid())
-                        .startTime(gene.timeslot.getStartTime())
-                        .endTime(gene.timeslot.getEndTime())
-                        .dayOfWeek(gene.timeslot.getDayOfWeek())
+                        .uuid(gene.timeslot.uuid())
+                        .startTime(gene.timeslot.startTime())
+                        .endTime(gene.timeslot.endTime())
+                        .dayOfWeek(gene.timeslot.dayOfWeek())
                         .build())
                 .subject(ScheduleResponseDto.NestedSubjectResponseDto.builder()
-                        .uuid(gene.subject.getUuid())
-                        .name(gene.subject.getName())
+                        .uuid(gene.subject.uuid())
+                        .name(gene.subject.name())
                         .build())
                 .teacher(ScheduleResponseDto.NestedTeacherResponseDto.builder()
-                        .id(gene.teacher.getStaff().getId())
-                        .name(gene.teacher.getStaff().getUserProfile().getFirstName())
+                        // TeacherDetails shares its id with the Staff row
+                        .id(gene.teacher.id())
+                        .name(gene.teacher.name())
                         .build())
                 .room(ScheduleResponseDto.NestedRoomResponseDto.builder()
-                        .uuid(gene.room.getUuid())
-                        .name(gene.room.getName())
-                        .roomType(gene.room.getRoomType())
-                        .totalCapacity(gene.room.getTotalCapacity())
+                        .uuid(gene.room.uuid())
+                        .name(gene.room.name())
+                        .roomType(gene.room.roomType())
+                        .totalCapacity(gene.room.totalCapacity())
                         .build())
                 .build();
     }
 
+    /** Scores every individual of a generation in parallel; individuals are independent of each other. */
+    static void evaluateFitness(List<Individual> population, ScheduleConflictIndex conflicts, ForkJoinPool pool) {
+        pool.submit(() -> population.parallelStream().forEach(ind -> ind.calculateFitness(conflicts))).join();
+    }
+
     private Individual tournamentSelect(List<Individual> population) {
         Random rand = new Random();
         Individual best = null;
@@ -209,90 +374,104 @@ public class AutoScheduleServiceImpl implements AutoScheduleService {
         return best;
     }
 
+    /** Position of a gene: at most one lesson per section and timeslot. */
+    record GeneKey(int section, int slot) {}
+
     @Data
     @Builder
-    private static class Individual {
-        Map<UUID, Gene> geneMap; // timeslotId -> Gene
+    static class Individual {
+        Map<GeneKey, Gene> geneMap; // (section, timeslot) -> Gene
         int fitness;
 
-        static Individual random(Section section, List<Timeslot> timeslots, List<CurriculumMap> curriculumMaps, List<Room> rooms, TeacherDetailsRepository teacherRepo) {
-            Map<UUID, Gene> genes = new HashMap<>();
+        static Individual random(TimetableSnapshot snapshot) {
+            Map<GeneKey, Gene> genes = new HashMap<>();
             Random rand = new Random();
-            
-            // For each curriculum requirement, pick a random slot
-            for (CurriculumMap cm : curriculumMaps) {
-                for (int p = 0; p < cm.getPeriodsPerWeek(); p++) {
-                    Timeslot ts = timeslots.get(rand.nextInt(timeslots.size()));
-                    // Avoid multiple assignments to same slot in one individual initially
-                    if (genes.containsKey(ts.getUuid())) continue; 
-
-                    List<TeacherDetails> availableTeachers = teacherRepo.findQualifiedTeachersForSubject(cm.getSubject().getUuid());
+            List<TimetableSnapshot.SlotRef> slots = snapshot.slots();
+            List<TimetableSnapshot.RoomRef> rooms = snapshot.rooms();
+
+            for (TimetableSnapshot.SectionPlan section : snapshot.sections()) {
+                // For each curriculum requirement, pick a random slot
+                for (TimetableSnapshot.Demand demand : section.demands()) {
+                    List<TimetableSnapshot.TeacherRef> availableTeachers = snapshot.qualifiedTeachers(demand.subject().uuid());
                     if (availableTeachers.isEmpty()) continue;
-                    
-                    TeacherDetails teacher = availableTeachers.get(rand.nextInt(availableTeachers.size()));
-                    Room room = rooms.get(rand.nextInt(rooms.size()));
-
-                    genes.put(ts.getUuid(), Gene.builder()
-                            .timeslot(ts)
-                            .subject(cm.getSubject())
-                            .teacher(teacher)
-                            .room(room)
-                            .build());
+
+                    for (int p = 0; p < demand.periodsPerWeek(); p++) {
+                        TimetableSnapshot.SlotRef ts = slots.get(rand.nextInt(slots.size()));
+                        GeneKey key = new GeneKey(section.index(), ts.key());
+                        // Avoid multiple assignments to same slot in one section initially
+                        if (genes.containsKey(key)) continue;
+                        // First periods go to the class teacher; without one they are left empty
+                        if (ts.firstPeriod() && section.classTeacher() == null) continue;
+
+                        genes.put(key, Gene.builder()
+                                .section(section)
+                                .timeslot(ts)
+                                .subject(demand.subject())
+                                .teacher(ts.firstPeriod() ? section.classTeacher()
+                                        : availableTeachers.get(rand.nextInt(availableTeachers.size())))
+                                .room(rooms.get(rand.nextInt(rooms.size())))
+                                .build());
+                    }
                 }
             }
             return Individual.builder().geneMap(genes).build();
         }
 
-        void calculateFitness(List<Schedule> others) {
+        void calculateFitness(ScheduleConflictIndex conflicts) {
             int score = 0;
-            Set<Long> teacherTimeslotSet = new HashSet<>();
-            Set<UUID> roomTimeslotSet = new HashSet<>();
-
-            // Rule 1: No internal conflicts
-            // Handled by the Map structure mostly (one subject per slot), 
-            // but we need to check if multiple genes accidentally share resources? No, genes are one per slot.
-
-            // Rule 2: Global Teacher Conflict
-            for (Gene gene : geneMap.values()) {
-                if (gene.teacher == null || gene.timeslot == null) continue;
-                
-                // Check against others (Schedule entities from other sections)
-                boolean conflict = others.stream().anyMatch(s -> 
-                    s.getTeacher() != null && s.getTimeslot() != null &&
-                    s.getTeacher().getId().equals(gene.teacher.getId()) && 
-                    s.getTimeslot().getUuid().equals(gene.timeslot.getUuid())
-                );
-                
-                if (conflict) score -= 1000;
-            }
+            BitSet teachersTaken = new BitSet();
+            BitSet roomsTaken = new BitSet();
 
-            // Rule 3: Global Room Conflict
             for (Gene gene : geneMap.values()) {
-                if (gene.room == null || gene.timeslot == null) continue;
-
-                boolean conflict = others.stream().anyMatch(s -> 
-                    s.getRoom() != null && s.getTimeslot() != null &&
-                    s.getRoom().getUuid().equals(gene.room.getUuid()) && 
-                    s.getTimeslot().getUuid().equals(gene.timeslot.getUuid())
-                );
-                
-                if (conflict) score -= 1000;
+                int slot = gene.timeslot.key();
+
+                // Rule 1: No internal conflicts
+                // One gene per (section, timeslot) by the map key; across the sections of one run a
+                // teacher or room may still be used twice in the same slot.
+                if (!claim(teachersTaken, conflicts.cell(gene.teacher.key(), slot))) score -= 1000;
+                if (!claim(roomsTaken, conflicts.cell(gene.room.key(), slot))) score -= 1000;
+
+                // Rule 2: Global Teacher Conflict / Rule 3: Global Room Conflict
+                // against the schedules of sections outside this run
+                if (conflicts.isTeacherBusy(gene.teacher.key(), slot)) score -= 1000;
+                if (conflicts.isRoomBusy(gene.room.key(), slot)) score -= 1000;
+
+                // Rule 4: The first teaching period of a day belongs to the section's class teacher,
+                // as ScheduleService enforces when the solution is saved
+                if (gene.timeslot.firstPeriod() && !isClassTeacher(gene)) score -= 1000;
             }
 
-            // Rule 4: Balance (Soft Constraint)
+            // Rule 5: Balance (Soft Constraint)
             // Penalty for multiple heavy subjects same day?
-            
+
             this.fitness = score;
         }
 
+        private static boolean isClassTeacher(Gene gene) {
+            TimetableSnapshot.TeacherRef classTeacher = gene.section.classTeacher();
+            return classTeacher != null && classTeacher.id().equals(gene.teacher.id());
+        }
+
+        /** Marks {@code cell} as used; {@code false} if another gene of this individual already holds it. */
+        private static boolean claim(BitSet taken, int cell) {
+            if (cell == ScheduleConflictIndex.FREE) {
+                return true;
+            }
+            if (taken.get(cell)) {
+                return false;
+            }
+            taken.set(cell);
+            return true;
+        }
+
         Individual crossover(Individual other) {
-            Map<UUID, Gene> childGenes = new HashMap<>();
+            Map<GeneKey, Gene> childGenes = new HashMap<>();
             Random rand = new Random();
-            Set<UUID> allSlots = new HashSet<>();
+            Set<GeneKey> allSlots = new HashSet<>();
             allSlots.addAll(this.geneMap.keySet());
             allSlots.addAll(other.geneMap.keySet());
 
-            for (UUID slotId : allSlots) {
+            for (GeneKey slotId : allSlots) {
                 if (rand.nextBoolean()) {
                     if (this.geneMap.containsKey(slotId)) childGenes.put(slotId, this.geneMap.get(slotId));
                 } else {
@@ -302,34 +481,38 @@ public class AutoScheduleServiceImpl implements AutoScheduleService {
             return Individual.builder().geneMap(childGenes).build();
         }
 
-        void mutate(List<Timeslot> allTimeslots, List<CurriculumMap> curriculumMaps, List<Room> allRooms, TeacherDetailsRepository teacherRepo) {
+        void mutate(TimetableSnapshot snapshot) {
             Random rand = new Random();
             if (rand.nextDouble() > 0.1) return; // 10% mutation rate
 
             if (geneMap.isEmpty()) return;
-            
+
             // Pick a random gene to mutate
-            UUID randomKey = new ArrayList<>(geneMap.keySet()).get(rand.nextInt(geneMap.size()));
-            Gene gene = geneMap.get(randomKey);
+            GeneKey randomKey = new ArrayList<>(geneMap.keySet()).get(rand.nextInt(geneMap.size()));
+            // Genes are shared with the parents after crossover, so mutate a copy
+            Gene gene = geneMap.get(randomKey).toBuilder().build();
 
             // Change room or teacher
             if (rand.nextBoolean()) {
-                gene.room = allRooms.get(rand.nextInt(allRooms.size()));
-            } else {
-                List<TeacherDetails> available = teacherRepo.findQualifiedTeachersForSubject(gene.subject.getUuid());
+                List<TimetableSnapshot.RoomRef> rooms = snapshot.rooms();
+                gene.room = rooms.get(rand.nextInt(rooms.size()));
+            } else if (!gene.timeslot.firstPeriod()) {
+                List<TimetableSnapshot.TeacherRef> available = snapshot.qualifiedTeachers(gene.subject.uuid());
                 if (!available.isEmpty()) {
                     gene.teacher = available.get(rand.nextInt(available.size()));
                 }
             }
+            geneMap.put(randomKey, gene);
         }
     }
 
     @Data
-    @Builder
-    private static class Gene {
-        Timeslot timeslot;
-        Subject subject;
-        TeacherDetails teacher;
-        Room room;
+    @Builder(toBuilder = true)
+    static class Gene {
+        TimetableSnapshot.SectionPlan section;
+        TimetableSnapshot.SlotRef timeslot;
+        TimetableSnapshot.SubjectRef subject;
+        TimetableSnapshot.TeacherRef teacher;
+        TimetableSnapshot.RoomRef room;
     }
 }
@@ -0,0 +1,112 @@
+package com.project.edusync.adm.service.impl;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Read-only occupancy of teachers and rooms by the schedules of other sections, keyed by dense
+ * {@code int} indexes.
+ *
+ * <p>Timeslots, teachers and rooms are numbered once when the index is built; a
+ * {@code (teacher, timeslot)} or {@code (room, timeslot)} pair is then a single bit (a "cell") in a
+ * {@link BitSet}, so a conflict check is two array reads instead of a scan over every schedule.
+ * Candidate teachers and rooms are numbered even when they are not busy anywhere else, so the same
+ * cells can track clashes between sections solved together. Only {@code null} maps to {@link #FREE}.
+ * Immutable after {@link #build}, so it can be shared by concurrent fitness evaluations.</p>
+ */
+final class ScheduleConflictIndex {
+
+    static final int FREE = -1;
+
+    /** One lesson of another section; a {@code null} teacher or room occupies nothing. */
+    record Occupancy(Long teacherId, UUID roomId, UUID timeslotId) {}
+
+    private final Map<UUID, Integer> slotIndexes;
+    private final Map<Long, Integer> teacherIndexes;
+    private final Map<UUID, Integer> roomIndexes;
+    private final BitSet teacherBusy;
+    private final BitSet roomBusy;
+    private final int slotCount;
+
+    private ScheduleConflictIndex(Map<UUID, Integer> slotIndexes, Map<Long, Integer> teacherIndexes,
+                                  Map<UUID, Integer> roomIndexes, BitSet teacherBusy, BitSet roomBusy) {
+        this.slotIndexes = slotIndexes;
+        this.teacherIndexes = teacherIndexes;
+        this.roomIndexes = roomIndexes;
+        this.teacherBusy = teacherBusy;
+        this.roomBusy = roomBusy;
+        this.slotCount = slotIndexes.size();
+    }
+
+    /**
+     * @param timeslotIds The slots the generator may place lessons in; occupancy in any other slot
+     *                    cannot conflict and is ignored.
+     * @param teacherIds  Teachers the generator may assign.
+     * @param roomIds     Rooms the generator may assign.
+     * @param others      Active lessons of every section outside the current run.
+     */
+    static ScheduleConflictIndex build(Collection<UUID> timeslotIds, Collection<Long> teacherIds,
+                                       Collection<UUID> roomIds, Collection<Occupancy> others) {
+        Map<UUID, Integer> slotIndexes = new HashMap<>(timeslotIds.size() * 2);
+        for (UUID timeslotId : timeslotIds) {
+            slotIndexes.putIfAbsent(timeslotId, slotIndexes.size());
+        }
+        int slotCount = slotIndexes.size();
+
+        Map<Long, Integer> teacherIndexes = new HashMap<>();
+        for (Long teacherId : teacherIds) {
+            teacherIndexes.putIfAbsent(teacherId, teacherIndexes.size());
+        }
+        Map<UUID, Integer> roomIndexes = new HashMap<>();
+        for (UUID roomId : roomIds) {
+            roomIndexes.putIfAbsent(roomId, roomIndexes.size());
+        }
+        BitSet teacherBusy = new BitSet();
+        BitSet roomBusy = new BitSet();
+        for (Occupancy lesson : others) {
+            Integer slot = lesson.timeslotId() == null ? null : slotIndexes.get(lesson.timeslotId());
+            if (slot == null) {
+                continue;
+            }
+            if (lesson.teacherId() != null) {
+                int teacher = teacherIndexes.computeIfAbsent(lesson.teacherId(), id -> teacherIndexes.size());
+                teacherBusy.set(teacher * slotCount + slot);
+            }
+            if (lesson.roomId() != null) {
+                int room = roomIndexes.computeIfAbsent(lesson.roomId(), id -> roomIndexes.size());
+                roomBusy.set(room * slotCount + slot);
+            }
+        }
+        return new ScheduleConflictIndex(slotIndexes, teacherIndexes, roomIndexes, teacherBusy, roomBusy);
+    }
+
+    int slotOf(UUID timeslotId) {
+        return timeslotId == null ? FREE : slotIndexes.getOrDefault(timeslotId, FREE);
+    }
+
+    int teacherOf(Long teacherId) {
+        return teacherId == null ? FREE : teacherIndexes.getOrDefault(teacherId, FREE);
+    }
+
+    int roomOf(UUID roomId) {
+        return roomId == null ? FREE : roomIndexes.getOrDefault(roomId, FREE);
+    }
+
+    /** Bit position of a {@code (teacher or room, slot)} pair, or {@link #FREE}. */
+    int cell(int resource, int slot) {
+        return resource == FREE || slot == FREE ? FREE : resource * slotCount + slot;
+    }
+
+    boolean isTeacherBusy(int teacher, int slot) {
+        int cell = cell(teacher, slot);
+        return cell != FREE && teacherBusy.get(cell);
+    }
+
+    boolean isRoomBusy(int room, int slot) {
+        int cell = cell(room, slot);
+        return cell != FREE && roomBusy.get(cell);
+    }
+}
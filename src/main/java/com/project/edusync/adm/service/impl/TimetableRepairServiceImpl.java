@@ -0,0 +1,468 @@
+package com.project.edusync.adm.service.impl;
+
+import com.project.edusync.adm.exception.InvalidRequestException;
+import com.project.edusync.adm.exception.ResourceNotFoundException;
+import com.project.edusync.adm.model.dto.request.TimetableRepairRequestDto;
+import com.project.edusync.adm.model.dto.response.ScheduleResponseDto;
+import com.project.edusync.adm.model.dto.response.TimetableRepairResponseDto;
+import com.project.edusync.adm.model.dto.response.TimetableRepairResponseDto.RepairAction;
+import com.project.edusync.adm.model.entity.Room;
+import com.project.edusync.adm.model.entity.Schedule;
+import com.project.edusync.adm.model.entity.Section;
+import com.project.edusync.adm.model.entity.Timeslot;
+import com.project.edusync.adm.model.enums.TimetableChangeType;
+import com.project.edusync.adm.repository.RoomRepository;
+import com.project.edusync.adm.repository.ScheduleRepository;
+import com.project.edusync.adm.repository.SectionRepository;
+import com.project.edusync.adm.repository.TimeslotRepository;
+import com.project.edusync.adm.service.TimetableRepairService;
+import com.project.edusync.uis.model.entity.details.TeacherDetails;
+import com.project.edusync.uis.repository.details.TeacherDetailsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Repairs a section timetable in place after a teacher or room drops out.
+ *
+ * <p>Only the lessons the change hits are touched. Each one is tried, in order of how little it
+ * disturbs the timetable: another teacher or room in the same slot, then a slot the section has
+ * free (same day first), then swapping slots with another lesson of the section. Feasibility is
+ * checked against a {@link ScheduleConflictIndex} of every other section's active lessons, so a
+ * candidate costs two bit lookups and a repair stays well inside its time budget; lessons still
+ * open when the budget runs out are reported as unresolved.</p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TimetableRepairServiceImpl implements TimetableRepairService {
+
+    private final SectionRepository sectionRepository;
+    private final ScheduleRepository scheduleRepository;
+    private final TimeslotRepository timeslotRepository;
+    private final RoomRepository roomRepository;
+    private final TeacherDetailsRepository teacherDetailsRepository;
+
+    @Value("${edusync.timetable.repair.time-budget-ms:300}")
+    private long timeBudgetMs;
+
+    @Override
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = "sectionSchedules", key = "#sectionId", condition = "!#request.dryRun"),
+            @CacheEvict(value = "editorContext", key = "#sectionId", condition = "!#request.dryRun"),
+            @CacheEvict(value = "availableTeachers", allEntries = true, condition = "!#request.dryRun")
+    })
+    public TimetableRepairResponseDto repairSectionSchedule(UUID sectionId, TimetableRepairRequestDto request) {
+        long startedAt = System.nanoTime();
+        Change change = Change.of(request);
+        Section section = sectionRepository.findByUuid(sectionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Section not found with id: " + sectionId));
+
+        List<Lesson> lessons = scheduleRepository.findAllActiveWithReferencesBySectionUuid(sectionId).stream()
+                .map(Lesson::new)
+                .toList();
+        List<Lesson> affected = lessons.stream().filter(change::blocks).toList();
+        log.info("Repairing timetable of section {} after {}: {} of {} lessons affected",
+                sectionId, change.type(), affected.size(), lessons.size());
+
+        Map<UUID, Timeslot> timeslots = timeslotRepository.findAllActive().stream()
+                .filter(ts -> !Boolean.TRUE.equals(ts.getIsBreak()) && !Boolean.TRUE.equals(ts.getIsNonTeachingSlot()))
+                .sorted(Comparator.comparing(Timeslot::getDayOfWeek, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing(Timeslot::getStartTime, Comparator.nullsLast(Comparator.naturalOrder())))
+                .collect(Collectors.toMap(Timeslot::getUuid, ts -> ts, (a, b) -> a, LinkedHashMap::new));
+        Map<UUID, Room> rooms = roomRepository.findAllActive().stream()
+                .collect(Collectors.toMap(Room::getUuid, room -> room, (a, b) -> a, LinkedHashMap::new));
+        Map<Long, String> teacherNames = new HashMap<>();
+        lessons.forEach(lesson -> teacherNames.put(lesson.teacherId, teacherName(lesson.schedule.getTeacher())));
+
+        List<RepairedLesson> repaired = new ArrayList<>();
+        List<Lesson> unresolved = new ArrayList<>();
+        if (!affected.isEmpty()) {
+            Map<UUID, List<Long>> substitutes = loadSubstitutes(change, affected, teacherNames);
+            ScheduleConflictIndex conflicts = buildConflictIndex(sectionId, lessons, timeslots, rooms, substitutes);
+            Search search = new Search(change, section, lessons, timeslots, rooms, substitutes, conflicts,
+                    startedAt + timeBudgetMs * 1_000_000L);
+            for (Lesson lesson : affected) {
+                // An earlier swap may already have moved this lesson out of the change
+                if (!change.blocks(lesson)) {
+                    continue;
+                }
+                if (!search.repair(lesson, repaired)) {
+                    unresolved.add(lesson);
+                }
+            }
+        }
+
+        boolean applied = !request.isDryRun() && !repaired.isEmpty();
+        if (applied) {
+            apply(repaired, timeslots, rooms);
+        }
+        long elapsedMs = (System.nanoTime() - startedAt) / 1_000_000L;
+        log.info("Timetable repair of section {} finished in {} ms: repaired={} unresolved={} applied={}",
+                sectionId, elapsedMs, repaired.size(), unresolved.size(), applied);
+
+        Map<UUID, Timeslot> slotLookup = new HashMap<>(timeslots);
+        lessons.forEach(lesson -> slotLookup.putIfAbsent(lesson.originalTimeslotId, lesson.schedule.getTimeslot()));
+        Map<UUID, Room> roomLookup = new HashMap<>(rooms);
+        lessons.forEach(lesson -> roomLookup.putIfAbsent(lesson.originalRoomId, lesson.schedule.getRoom()));
+        DtoMapper mapper = new DtoMapper(section, slotLookup, roomLookup, teacherNames);
+
+        return TimetableRepairResponseDto.builder()
+                .sectionId(sectionId)
+                .applied(applied)
+                .repaired(repaired.stream()
+                        .map(r -> TimetableRepairResponseDto.RepairedLessonDto.builder()
+                                .scheduleId(r.lesson().schedule.getUuid())
+                                .action(r.action())
+                                .before(mapper.toDto(r.lesson(), r.lesson().originalTeacherId, r.lesson().originalRoomId,
+                                        r.lesson().originalTimeslotId))
+                                .after(mapper.toDto(r.lesson(), r.lesson().teacherId, r.lesson().roomId, r.lesson().timeslotId))
+                                .build())
+                        .toList())
+                .unresolved(unresolved.stream()
+                        .map(lesson -> mapper.toDto(lesson, lesson.teacherId, lesson.roomId, lesson.timeslotId))
+                        .toList())
+                .elapsedMs(elapsedMs)
+                .build();
+    }
+
+    /**
+     * Qualified teachers per subject of the affected lessons. Only needed when a teacher drops out;
+     * for a room change every lesson keeps its teacher.
+     */
+    private Map<UUID, List<Long>> loadSubstitutes(Change change, List<Lesson> affected, Map<Long, String> teacherNames) {
+        if (change.type() != TimetableChangeType.TEACHER_UNAVAILABLE) {
+            return Map.of();
+        }
+        Set<UUID> subjectIds = affected.stream().map(lesson -> lesson.subjectId).collect(Collectors.toSet());
+        Map<UUID, List<Long>> teachersBySubject = new HashMap<>();
+        for (TeacherDetailsRepository.QualifiedTeacherProjection teacher : teacherDetailsRepository.findQualifiedTeachersForSubjects(subjectIds)) {
+            teachersBySubject.computeIfAbsent(teacher.getSubjectId(), id -> new ArrayList<>()).add(teacher.getTeacherId());
+            teacherNames.putIfAbsent(teacher.getTeacherId(), teacher.getFirstName());
+        }
+        return teachersBySubject;
+    }
+
+    /** Occupancy of every other section, numbered over the slots, teachers and rooms the search may use. */
+    private ScheduleConflictIndex buildConflictIndex(UUID sectionId, List<Lesson> lessons, Map<UUID, Timeslot> timeslots,
+                                                     Map<UUID, Room> rooms, Map<UUID, List<Long>> substitutes) {
+        Set<Long> teacherIds = new LinkedHashSet<>();
+        lessons.forEach(lesson -> teacherIds.add(lesson.teacherId));
+        substitutes.values().forEach(teacherIds::addAll);
+        List<ScheduleConflictIndex.Occupancy> others = scheduleRepository.findActiveOccupancyExcludingSections(List.of(sectionId)).stream()
+                .map(o -> new ScheduleConflictIndex.Occupancy(o.getTeacherId(), o.getRoomId(), o.getTimeslotId()))
+                .toList();
+        return ScheduleConflictIndex.build(timeslots.keySet(), teacherIds, rooms.keySet(), others);
+    }
+
+    /** Writes the repaired teacher, room and timeslot back to the schedule rows. */
+    private void apply(List<RepairedLesson> repaired, Map<UUID, Timeslot> timeslots, Map<UUID, Room> rooms) {
+        List<Schedule> changed = new ArrayList<>(repaired.size());
+        for (RepairedLesson repair : repaired) {
+            Lesson lesson = repair.lesson();
+            Schedule schedule = lesson.schedule;
+            if (!lesson.teacherId.equals(lesson.originalTeacherId)) {
+                schedule.setTeacher(teacherDetailsRepository.getReferenceById(lesson.teacherId));
+            }
+            if (!lesson.roomId.equals(lesson.originalRoomId)) {
+                schedule.setRoom(rooms.get(lesson.roomId));
+            }
+            if (!lesson.timeslotId.equals(lesson.originalTimeslotId)) {
+                schedule.setTimeslot(timeslots.get(lesson.timeslotId));
+            }
+            changed.add(schedule);
+        }
+        scheduleRepository.saveAll(changed);
+    }
+
+    private static String teacherName(TeacherDetails teacher) {
+        if (teacher == null || teacher.getStaff() == null || teacher.getStaff().getUserProfile() == null) {
+            return null;
+        }
+        return teacher.getStaff().getUserProfile().getFirstName();
+    }
+
+    /** The change event, validated. An empty {@code timeslotIds} means the resource is out for good. */
+    private record Change(TimetableChangeType type, Long teacherId, UUID roomId, Set<UUID> timeslotIds) {
+
+        static Change of(TimetableRepairRequestDto request) {
+            if (request == null || request.getChangeType() == null) {
+                throw new InvalidRequestException("changeType is required.");
+            }
+            if (request.getChangeType() == TimetableChangeType.TEACHER_UNAVAILABLE && request.getTeacherId() == null) {
+                throw new InvalidRequestException("teacherId is required for a TEACHER_UNAVAILABLE change.");
+            }
+            if (request.getChangeType() == TimetableChangeType.ROOM_UNAVAILABLE && request.getRoomId() == null) {
+                throw new InvalidRequestException("roomId is required for a ROOM_UNAVAILABLE change.");
+            }
+            Set<UUID> window = request.getTimeslotIds() == null ? Set.of() : Set.copyOf(request.getTimeslotIds());
+            return new Change(request.getChangeType(), request.getTeacherId(), request.getRoomId(), window);
+        }
+
+        boolean blocksTeacher(Long teacher, UUID slot) {
+            return type == TimetableChangeType.TEACHER_UNAVAILABLE && teacherId.equals(teacher) && covers(slot);
+        }
+
+        boolean blocksRoom(UUID room, UUID slot) {
+            return type == TimetableChangeType.ROOM_UNAVAILABLE && roomId.equals(room) && covers(slot);
+        }
+
+        boolean blocks(Lesson lesson) {
+            return blocksTeacher(lesson.teacherId, lesson.timeslotId) || blocksRoom(lesson.roomId, lesson.timeslotId);
+        }
+
+        private boolean covers(UUID slot) {
+            return timeslotIds.isEmpty() || timeslotIds.contains(slot);
+        }
+    }
+
+    /** One lesson of the section: its original placement and the one the search settles on. */
+    private static final class Lesson {
+        final Schedule schedule;
+        final UUID subjectId;
+        final Long originalTeacherId;
+        final UUID originalRoomId;
+        final UUID originalTimeslotId;
+        Long teacherId;
+        UUID roomId;
+        UUID timeslotId;
+        boolean touched;
+
+        Lesson(Schedule schedule) {
+            this.schedule = schedule;
+            this.subjectId = schedule.getSubject().getUuid();
+            this.originalTeacherId = schedule.getTeacher().getId();
+            this.originalRoomId = schedule.getRoom() == null ? null : schedule.getRoom().getUuid();
+            this.originalTimeslotId = schedule.getTimeslot().getUuid();
+            this.teacherId = originalTeacherId;
+            this.roomId = originalRoomId;
+            this.timeslotId = originalTimeslotId;
+        }
+    }
+
+    private record RepairedLesson(Lesson lesson, RepairAction action) {}
+
+    private record Assignment(Long teacherId, UUID roomId) {}
+
+    /** Greedy local search over the section's lessons; all state is in memory. */
+    private static final class Search {
+        private final Change change;
+        private final ScheduleConflictIndex conflicts;
+        private final List<Timeslot> teachingSlots;
+        private final Set<UUID> firstPeriods = new HashSet<>();
+        private final Long classTeacherId;
+        private final UUID defaultRoomId;
+        private final List<Room> rooms;
+        private final Map<UUID, String> roomTypes = new HashMap<>();
+        private final Map<UUID, List<Long>> substitutes;
+        private final Map<UUID, Lesson> bySlot = new HashMap<>();
+        private final Map<UUID, Short> dayOfSlot = new HashMap<>();
+        private final long deadlineNanos;
+
+        Search(Change change, Section section, List<Lesson> lessons, Map<UUID, Timeslot> timeslots, Map<UUID, Room> rooms,
+               Map<UUID, List<Long>> substitutes, ScheduleConflictIndex conflicts, long deadlineNanos) {
+            this.change = change;
+            this.conflicts = conflicts;
+            this.teachingSlots = List.copyOf(timeslots.values());
+            this.rooms = List.copyOf(rooms.values());
+            this.substitutes = substitutes;
+            this.deadlineNanos = deadlineNanos;
+            // TeacherDetails shares its id with the Staff row
+            this.classTeacherId = section.getClassTeacher() == null ? null : section.getClassTeacher().getId();
+            this.defaultRoomId = section.getDefaultRoom() == null ? null : section.getDefaultRoom().getUuid();
+
+            Set<Short> days = new HashSet<>();
+            for (Timeslot slot : teachingSlots) {
+                // Slots are sorted by day and start time, so the first one seen per day is its first period
+                if (days.add(slot.getDayOfWeek())) {
+                    firstPeriods.add(slot.getUuid());
+                }
+                dayOfSlot.put(slot.getUuid(), slot.getDayOfWeek());
+            }
+            this.rooms.forEach(room -> roomTypes.put(room.getUuid(), room.getRoomType()));
+            lessons.forEach(lesson -> bySlot.put(lesson.timeslotId, lesson));
+        }
+
+        boolean repair(Lesson lesson, List<RepairedLesson> repaired) {
+            UUID slot = lesson.timeslotId;
+
+            // 1. Same slot, another teacher or room
+            Assignment inPlace = find(lesson, slot);
+            if (inPlace != null) {
+                assign(lesson, inPlace, slot);
+                repaired.add(new RepairedLesson(lesson, RepairAction.REASSIGN));
+                return true;
+            }
+
+            List<Timeslot> candidates = sameDayFirst(slot);
+
+            // 2. A slot the section has free
+            for (Timeslot target : candidates) {
+                if (expired()) {
+                    return false;
+                }
+                if (bySlot.containsKey(target.getUuid())) {
+                    continue;
+                }
+                Assignment moved = find(lesson, target.getUuid());
+                if (moved != null) {
+                    bySlot.remove(slot);
+                    assign(lesson, moved, target.getUuid());
+                    repaired.add(new RepairedLesson(lesson, RepairAction.MOVE));
+                    return true;
+                }
+            }
+
+            // 3. Swap with a lesson that can take this slot as it is
+            for (Timeslot target : candidates) {
+                if (expired()) {
+                    return false;
+                }
+                Lesson other = bySlot.get(target.getUuid());
+                if (other == null || other == lesson || other.touched || !fits(other.teacherId, other.roomId, slot)) {
+                    continue;
+                }
+                Assignment swapped = find(lesson, target.getUuid());
+                if (swapped != null) {
+                    assign(other, new Assignment(other.teacherId, other.roomId), slot);
+                    assign(lesson, swapped, target.getUuid());
+                    repaired.add(new RepairedLesson(lesson, RepairAction.SWAP));
+                    repaired.add(new RepairedLesson(other, RepairAction.SWAP));
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /** First teacher and room that are free in {@code slot}, preferring the lesson's own. */
+        private Assignment find(Lesson lesson, UUID slot) {
+            Long teacher = null;
+            if (teacherFits(lesson.teacherId, slot)) {
+                teacher = lesson.teacherId;
+            } else {
+                for (Long candidate : substitutes.getOrDefault(lesson.subjectId, List.of())) {
+                    if (teacherFits(candidate, slot)) {
+                        teacher = candidate;
+                        break;
+                    }
+                }
+            }
+            if (teacher == null) {
+                return null;
+            }
+            UUID room = findRoom(lesson.roomId, slot);
+            return room == null ? null : new Assignment(teacher, room);
+        }
+
+        /** The current room if free, else the section's default room, else a room of the same type, else any. */
+        private UUID findRoom(UUID current, UUID slot) {
+            if (current != null && roomFits(current, slot)) {
+                return current;
+            }
+            if (defaultRoomId != null && roomTypes.containsKey(defaultRoomId) && roomFits(defaultRoomId, slot)) {
+                return defaultRoomId;
+            }
+            String type = current == null ? null : roomTypes.get(current);
+            UUID fallback = null;
+            for (Room room : rooms) {
+                if (!roomFits(room.getUuid(), slot)) {
+                    continue;
+                }
+                if (Objects.equals(type, room.getRoomType())) {
+                    return room.getUuid();
+                }
+                if (fallback == null) {
+                    fallback = room.getUuid();
+                }
+            }
+            return fallback;
+        }
+
+        private boolean fits(Long teacher, UUID room, UUID slot) {
+            return teacherFits(teacher, slot) && roomFits(room, slot);
+        }
+
+        private boolean teacherFits(Long teacher, UUID slot) {
+            if (change.blocksTeacher(teacher, slot)) {
+                return false;
+            }
+            // The first teaching period of a day belongs to the class teacher
+            if (classTeacherId != null && firstPeriods.contains(slot) && !classTeacherId.equals(teacher)) {
+                return false;
+            }
+            return !conflicts.isTeacherBusy(conflicts.teacherOf(teacher), conflicts.slotOf(slot));
+        }
+
+        private boolean roomFits(UUID room, UUID slot) {
+            return !change.blocksRoom(room, slot)
+                    && !conflicts.isRoomBusy(conflicts.roomOf(room), conflicts.slotOf(slot));
+        }
+
+        private void assign(Lesson lesson, Assignment assignment, UUID slot) {
+            lesson.teacherId = assignment.teacherId();
+            lesson.roomId = assignment.roomId();
+            lesson.timeslotId = slot;
+            lesson.touched = true;
+            bySlot.put(slot, lesson);
+        }
+
+        /** Teaching slots other than {@code slot}, those on the same day first. */
+        private List<Timeslot> sameDayFirst(UUID slot) {
+            Short day = dayOfSlot.get(slot);
+            List<Timeslot> ordered = new ArrayList<>(teachingSlots.size());
+            teachingSlots.stream().filter(ts -> Objects.equals(day, ts.getDayOfWeek())).forEach(ordered::add);
+            teachingSlots.stream().filter(ts -> !Objects.equals(day, ts.getDayOfWeek())).forEach(ordered::add);
+            ordered.removeIf(ts -> ts.getUuid().equals(slot));
+            return ordered;
+        }
+
+        private boolean expired() {
+            return System.nanoTime() - deadlineNanos >= 0;
+        }
+    }
+
+    /** Response rows for a lesson at a given placement; names and times come from the loaded entities. */
+    private record DtoMapper(Section section, Map<UUID, Timeslot> timeslots, Map<UUID, Room> rooms,
+                             Map<Long, String> teacherNames) {
+
+        ScheduleResponseDto toDto(Lesson lesson, Long teacherId, UUID roomId, UUID timeslotId) {
+            Timeslot timeslot = timeslots.get(timeslotId);
+            Room room = roomId == null ? null : rooms.get(roomId);
+            return ScheduleResponseDto.builder()
+                    .uuid(lesson.schedule.getUuid())
+                    .section(ScheduleResponseDto.NestedSectionResponseDto.builder()
+                            .uuid(section.getUuid())
+                            .sectionName(section.getSectionName())
+                            .build())
+                    .subject(ScheduleResponseDto.NestedSubjectResponseDto.builder()
+                            .uuid(lesson.subjectId)
+                            .name(lesson.schedule.getSubject().getName())
+                            .build())
+                    .teacher(ScheduleResponseDto.NestedTeacherResponseDto.builder()
+                            .id(teacherId)
+                            .name(teacherNames.get(teacherId))
+                            .build())
+                    .room(room == null ? null : ScheduleResponseDto.NestedRoomResponseDto.builder()
+                            .uuid(room.getUuid())
+                            .name(room.getName())
+                            .roomType(room.getRoomType())
+                            .totalCapacity(room.getTotalCapacity())
+                            .build())
+                    .timeslot(timeslot == null ? null : ScheduleResponseDto.NestedTimeslotResponseDto.builder()
+                            .uuid(timeslot.getUuid())
+                            .dayOfWeek(timeslot.getDayOfWeek())
+                            .startTime(timeslot.getStartTime())
+                            .endTime(timeslot.getEndTime())
+                            .build())
+                    .build();
+        }
+    }
+}
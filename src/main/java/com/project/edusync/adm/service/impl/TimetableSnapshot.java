@@ -0,0 +1,149 @@
+package com.project.edusync.adm.service.impl;
+
+import com.project.edusync.adm.model.entity.CurriculumMap;
+import com.project.edusync.adm.model.entity.Room;
+import com.project.edusync.adm.model.entity.Timeslot;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Everything the timetable GA reads, copied out of the persistence context before evolution starts.
+ *
+ * <p>Holds plain value records instead of entities, so the evolution loop needs neither a
+ * database connection nor an open transaction and never trips over a lazy association. Each
+ * slot, teacher and room carries its {@link ScheduleConflictIndex} key. One snapshot may cover
+ * several sections that are solved together. Immutable; shared read-only by every individual and
+ * by the parallel fitness evaluation.</p>
+ */
+final class TimetableSnapshot {
+
+    /** {@code firstPeriod} marks the earliest teaching slot of its day, which belongs to the class teacher. */
+    record SlotRef(int key, UUID uuid, Short dayOfWeek, LocalTime startTime, LocalTime endTime, boolean firstPeriod) {}
+
+    record SubjectRef(UUID uuid, String name) {}
+
+    record TeacherRef(int key, Long id, String name) {}
+
+    record RoomRef(int key, UUID uuid, String name, String roomType, Integer totalCapacity) {}
+
+    /** One curriculum line: {@code periodsPerWeek} lessons of {@code subject}. */
+    record Demand(SubjectRef subject, int periodsPerWeek) {}
+
+    /**
+     * A section being solved, numbered by its position in {@link #sections()}. {@code classTeacher}
+     * is {@code null} when the section has none, in which case its first periods stay empty.
+     */
+    record SectionPlan(int index, UUID uuid, String name, List<Demand> demands, TeacherRef classTeacher) {}
+
+    /**
+     * A section and its class curriculum, as read from the database. {@code classTeacherId} is the
+     * class teacher's staff id, which is also their TeacherDetails id.
+     */
+    record SectionInput(UUID uuid, String name, List<CurriculumMap> curriculum, Long classTeacherId, String classTeacherName) {}
+
+    /** A qualified teacher of a subject, as read from the database. */
+    record QualifiedTeacher(UUID subjectId, Long teacherId, String name) {}
+
+    private final List<SlotRef> slots;
+    private final List<SectionPlan> sections;
+    private final Map<UUID, List<TeacherRef>> qualifiedTeachers;
+    private final List<RoomRef> rooms;
+    private final ScheduleConflictIndex conflicts;
+
+    private TimetableSnapshot(List<SlotRef> slots, List<SectionPlan> sections, Map<UUID, List<TeacherRef>> qualifiedTeachers,
+                              List<RoomRef> rooms, ScheduleConflictIndex conflicts) {
+        this.slots = slots;
+        this.sections = sections;
+        this.qualifiedTeachers = qualifiedTeachers;
+        this.rooms = rooms;
+        this.conflicts = conflicts;
+    }
+
+    /**
+     * Copies the loaded entities into a snapshot. Must run while the curriculum maps still have
+     * their subject attached.
+     *
+     * @param occupancy Teacher/room/slot usage of every section outside {@code sections}.
+     */
+    static TimetableSnapshot of(List<Timeslot> timeslots,
+                                List<SectionInput> sections,
+                                Collection<QualifiedTeacher> qualified,
+                                List<Room> rooms,
+                                Collection<ScheduleConflictIndex.Occupancy> occupancy) {
+        Set<Long> teacherIds = new LinkedHashSet<>();
+        qualified.forEach(teacher -> teacherIds.add(teacher.teacherId()));
+        sections.stream().map(SectionInput::classTeacherId).filter(Objects::nonNull).forEach(teacherIds::add);
+        ScheduleConflictIndex conflicts = ScheduleConflictIndex.build(
+                timeslots.stream().map(Timeslot::getUuid).toList(),
+                teacherIds,
+                rooms.stream().map(Room::getUuid).toList(),
+                occupancy);
+
+        // Same rule as ScheduleService: the earliest teaching slot of each day
+        Map<Short, Timeslot> firstByDay = new HashMap<>();
+        for (Timeslot ts : timeslots) {
+            if (ts.getDayOfWeek() == null || ts.getStartTime() == null) continue;
+            firstByDay.merge(ts.getDayOfWeek(), ts,
+                    (current, candidate) -> candidate.getStartTime().isBefore(current.getStartTime()) ? candidate : current);
+        }
+        List<SlotRef> slotRefs = timeslots.stream()
+                .map(ts -> new SlotRef(conflicts.slotOf(ts.getUuid()), ts.getUuid(), ts.getDayOfWeek(),
+                        ts.getStartTime(), ts.getEndTime(), firstByDay.get(ts.getDayOfWeek()) == ts))
+                .toList();
+
+        List<SectionPlan> sectionPlans = new ArrayList<>(sections.size());
+        for (SectionInput section : sections) {
+            List<Demand> demands = section.curriculum().stream()
+                    .map(cm -> new Demand(new SubjectRef(cm.getSubject().getUuid(), cm.getSubject().getName()),
+                            cm.getPeriodsPerWeek() == null ? 0 : cm.getPeriodsPerWeek()))
+                    .toList();
+            TeacherRef classTeacher = section.classTeacherId() == null ? null
+                    : new TeacherRef(conflicts.teacherOf(section.classTeacherId()), section.classTeacherId(), section.classTeacherName());
+            sectionPlans.add(new SectionPlan(sectionPlans.size(), section.uuid(), section.name(), demands, classTeacher));
+        }
+
+        Map<UUID, List<TeacherRef>> teachersBySubject = new HashMap<>();
+        for (QualifiedTeacher teacher : qualified) {
+            teachersBySubject.computeIfAbsent(teacher.subjectId(), id -> new ArrayList<>())
+                    .add(new TeacherRef(conflicts.teacherOf(teacher.teacherId()), teacher.teacherId(), teacher.name()));
+        }
+        teachersBySubject.replaceAll((subjectId, teachers) -> List.copyOf(teachers));
+
+        List<RoomRef> roomRefs = rooms.stream()
+                .map(room -> new RoomRef(conflicts.roomOf(room.getUuid()), room.getUuid(), room.getName(),
+                        room.getRoomType(), room.getTotalCapacity()))
+                .toList();
+
+        return new TimetableSnapshot(slotRefs, List.copyOf(sectionPlans), Map.copyOf(teachersBySubject), roomRefs, conflicts);
+    }
+
+    List<SlotRef> slots() {
+        return slots;
+    }
+
+    List<SectionPlan> sections() {
+        return sections;
+    }
+
+    /** Active teachers qualified for {@code subjectId}; empty if nobody can teach it. */
+    List<TeacherRef> qualifiedTeachers(UUID subjectId) {
+        return qualifiedTeachers.getOrDefault(subjectId, List.of());
+    }
+
+    List<RoomRef> rooms() {
+        return rooms;
+    }
+
+    ScheduleConflictIndex conflicts() {
+        return conflicts;
+    }
+}
@@ -0,0 +1,45 @@
+package com.project.edusync.adm.service.impl;
+
+/**
+ * Control handle of one timetable generation run.
+ *
+ * <p>The run polls {@link #shouldStop()} once per generation: it stops when the SSE client has gone
+ * away ({@link #cancel()}) or when its time budget is spent. The budget starts when a solver
+ * thread picks the job up, not while it waits in the queue.</p>
+ */
+final class TimetableSolverJob {
+
+    private final String label;
+    private final long timeBudgetNanos;
+    private volatile boolean cancelled;
+    private long deadlineNanos;
+
+    TimetableSolverJob(String label, long timeBudgetMs) {
+        this.label = label;
+        this.timeBudgetNanos = timeBudgetMs * 1_000_000L;
+    }
+
+    void start() {
+        deadlineNanos = System.nanoTime() + timeBudgetNanos;
+    }
+
+    String label() {
+        return label;
+    }
+
+    void cancel() {
+        cancelled = true;
+    }
+
+    boolean isCancelled() {
+        return cancelled;
+    }
+
+    boolean isExpired() {
+        return System.nanoTime() - deadlineNanos >= 0;
+    }
+
+    boolean shouldStop() {
+        return cancelled || isExpired();
+    }
+}
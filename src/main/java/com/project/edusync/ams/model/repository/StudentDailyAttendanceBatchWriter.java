@@ -0,0 +1,85 @@
+package com.project.edusync.ams.model.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Writes a batch of student daily marks as one JDBC batch of
+ * {@code INSERT ... ON CONFLICT (student_id, attendance_date) DO UPDATE}.
+ *
+ * <p>The entity uses an IDENTITY key, so Hibernate would issue one SELECT and one
+ * INSERT/UPDATE per student. With {@code reWriteBatchedInserts} enabled on the
+ * Postgres driver the batch is sent as a single multi-row statement. Callers must
+ * pass at most one mark per (student, date): Postgres rejects a multi-row upsert
+ * that touches the same row twice.</p>
+ *
+ * <p>{@code uuid}, {@code created_at} and {@code created_by} are only set on insert;
+ * an update keeps the original values.</p>
+ */
+@Repository
+@Slf4j
+@RequiredArgsConstructor
+public class StudentDailyAttendanceBatchWriter {
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO student_daily_attendance (uuid, created_at, updated_at, created_by, updated_by,
+                                                  student_id, attendance_date, taken_by_staff_id, type_id, notes)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (student_id, attendance_date) DO UPDATE
+               SET type_id           = EXCLUDED.type_id,
+                   taken_by_staff_id = EXCLUDED.taken_by_staff_id,
+                   notes             = EXCLUDED.notes,
+                   updated_at        = EXCLUDED.updated_at,
+                   updated_by        = EXCLUDED.updated_by
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditorAware<String> auditorAware;
+
+    public record Mark(Long studentId, LocalDate attendanceDate, Long takenByStaffId, Long typeId, String notes) {
+    }
+
+    /**
+     * Inserts or updates every mark.
+     *
+     * @return The number of marks written.
+     */
+    public int upsert(List<Mark> marks) {
+        if (marks.isEmpty()) {
+            return 0;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String auditor = auditorAware.getCurrentAuditor().orElse("SYSTEM");
+
+        jdbcTemplate.batchUpdate(UPSERT_SQL, marks, marks.size(), (ps, mark) -> {
+            ps.setObject(1, UUID.randomUUID());
+            ps.setTimestamp(2, now);
+            ps.setTimestamp(3, now);
+            ps.setString(4, auditor);
+            ps.setString(5, auditor);
+            ps.setLong(6, mark.studentId());
+            ps.setDate(7, Date.valueOf(mark.attendanceDate()));
+            ps.setLong(8, mark.takenByStaffId());
+            ps.setLong(9, mark.typeId());
+            if (mark.notes() != null) {
+                ps.setString(10, mark.notes());
+            } else {
+                ps.setNull(10, Types.VARCHAR);
+            }
+        });
+
+        log.debug("[StudentDailyAttendanceBatchWriter] Upserted {} student attendance marks", marks.size());
+        return marks.size();
+    }
+}
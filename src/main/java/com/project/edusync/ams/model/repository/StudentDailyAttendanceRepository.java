@@ -3,6 +3,8 @@ package com.project.edusync.ams.model.repository;
 import com.project.edusync.ams.model.entity.StudentDailyAttendance;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -10,6 +12,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -19,6 +22,14 @@ public interface StudentDailyAttendanceRepository extends JpaRepository<StudentD
 
     Optional<StudentDailyAttendance> findByUuid(UUID uuid);
 
+    /**
+     * Filtered attendance listing; fetches the type and absence documentation with the page
+     * so mapping it to DTOs does not issue one query per row.
+     */
+    @Override
+    @EntityGraph(attributePaths = {"attendanceType", "absenceDocumentation"})
+    Page<StudentDailyAttendance> findAll(Specification<StudentDailyAttendance> spec, Pageable pageable);
+
     interface StudentAttendanceAggregateProjection {
         Long getStudentId();
         Long getPresentCount();
@@ -27,6 +38,13 @@ public interface StudentDailyAttendanceRepository extends JpaRepository<StudentD
         Long getTotalCount();
     }
 
+    interface AttendanceMarkProjection {
+        Long getStudentId();
+        LocalDate getAttendanceDate();
+        Long getTypeId();
+        String getNotes();
+    }
+
     /**
      * Finds the record for a specific student on a specific date, enforcing the unique constraint.
      * @param studentId The logical ID of the student (UIS FK).
@@ -62,6 +80,36 @@ public interface StudentDailyAttendanceRepository extends JpaRepository<StudentD
             @Param("studentIds") List<Long> studentIds,
             @Param("attendanceDate") LocalDate attendanceDate);
 
+    /**
+     * Loads the current mark of every (student, date) pair in the batch without hydrating entities.
+     * The IN x IN predicate may return pairs outside the batch; callers filter by their own keys.
+     */
+    @Query("""
+            SELECT sda.studentId AS studentId, sda.attendanceDate AS attendanceDate,
+                   sda.attendanceType.id AS typeId, sda.notes AS notes
+            FROM StudentDailyAttendance sda
+            WHERE sda.studentId IN :studentIds
+              AND sda.attendanceDate IN :attendanceDates
+            """)
+    List<AttendanceMarkProjection> findMarksByStudentIdsAndDates(
+            @Param("studentIds") Collection<Long> studentIds,
+            @Param("attendanceDates") Collection<LocalDate> attendanceDates);
+
+    /**
+     * Same filter as {@link #findMarksByStudentIdsAndDates}, returning entities with their type and
+     * absence documentation already fetched so mapping them needs no further queries.
+     */
+    @Query("""
+            SELECT sda FROM StudentDailyAttendance sda
+            JOIN FETCH sda.attendanceType
+            LEFT JOIN FETCH sda.absenceDocumentation
+            WHERE sda.studentId IN :studentIds
+              AND sda.attendanceDate IN :attendanceDates
+            """)
+    List<StudentDailyAttendance> findWithDetailsByStudentIdsAndDates(
+            @Param("studentIds") Collection<Long> studentIds,
+            @Param("attendanceDates") Collection<LocalDate> attendanceDates);
+
     @Query("""
             SELECT DISTINCT sda.attendanceDate FROM StudentDailyAttendance sda
             WHERE sda.studentId IN :studentIds
@@ -119,11 +167,26 @@ public interface StudentDailyAttendanceRepository extends JpaRepository<StudentD
             @Param("endDate") LocalDate endDate
     );
 
+    /**
+     * Same aggregates as {@link #summarizeAttendanceForStudents}, for the active students of the
+     * given sections, without loading the students first.
+     */
     @Query("""
-            SELECT COUNT(DISTINCT sda.studentId)
-            FROM StudentDailyAttendance sda
-            WHERE sda.attendanceDate = :date
-              AND sda.attendanceType.isPresentMark = true
+            SELECT sda.studentId as studentId,
+                   SUM(CASE WHEN sda.attendanceType.isPresentMark = true THEN 1 ELSE 0 END) as presentCount,
+                   SUM(CASE WHEN sda.attendanceType.isAbsenceMark = true THEN 1 ELSE 0 END) as absentCount,
+                   SUM(CASE WHEN sda.attendanceType.isLateMark = true THEN 1 ELSE 0 END) as lateCount,
+                   COUNT(sda.id) as totalCount
+            FROM StudentDailyAttendance sda, Student st
+            WHERE st.id = sda.studentId
+              AND st.isActive = true
+              AND st.section.id IN :sectionIds
+              AND sda.attendanceDate BETWEEN :startDate AND :endDate
+            GROUP BY sda.studentId
             """)
-    long countDistinctPresentStudentsByDate(@Param("date") LocalDate date);
+    List<StudentAttendanceAggregateProjection> summarizeAttendanceForActiveStudentsInSections(
+            @Param("sectionIds") List<Long> sectionIds,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
 }
\ No newline at end of file
@@ -16,6 +16,7 @@ import com.project.edusync.ams.model.exception.AttendanceProcessingException;
 import com.project.edusync.ams.model.exception.AttendanceRecordNotFoundException;
 import com.project.edusync.ams.model.exception.InvalidAttendanceTypeException;
 import com.project.edusync.ams.model.repository.AttendanceTypeRepository;
+import com.project.edusync.ams.model.repository.StudentDailyAttendanceBatchWriter;
 import com.project.edusync.ams.model.repository.StudentDailyAttendanceRepository;
 import com.project.edusync.ams.model.repository.AbsenceDocumentationRepository;
 import com.project.edusync.ams.model.service.StudentAttendanceService;
@@ -24,10 +25,10 @@ import com.project.edusync.hrms.model.enums.DayType;
 import com.project.edusync.hrms.repository.AcademicCalendarEventRepository;
 import com.project.edusync.uis.repository.StaffRepository;
 import com.project.edusync.uis.repository.StudentRepository;
+import com.project.edusync.uis.service.StudentDashboardCacheInvalidator;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
@@ -61,10 +62,11 @@ public class StudentAttendanceServiceImpl implements StudentAttendanceService {
     private final AcademicClassRepository academicClassRepository;
     private final SectionRepository sectionRepository;
     private final AcademicCalendarEventRepository academicCalendarEventRepository;
+    private final StudentDailyAttendanceBatchWriter attendanceBatchWriter;
+    private final StudentDashboardCacheInvalidator dashboardCacheInvalidator;
 
     @Override
     @Transactional
-    @CacheEvict(value = {"dashboard", "dashboardOverview"}, allEntries = true)
     public List<StudentAttendanceResponseDTO> markAttendanceBatch(List<StudentAttendanceRequestDTO> requests, Long performedByStaffId) {
         if (requests == null || requests.isEmpty()) {
             return Collections.emptyList();
@@ -82,7 +84,7 @@ public class StudentAttendanceServiceImpl implements StudentAttendanceService {
 
         // Collect unique uppercased short codes
         Set<String> shortCodes = requests.stream()
-                .map(r -> Optional.ofNullable(r.getAttendanceShortCode()).orElse("").trim().toUpperCase())
+                .map(StudentAttendanceServiceImpl::normalizeShortCode)
                 .filter(s -> !s.isEmpty())
                 .collect(Collectors.toSet());
 
@@ -102,59 +104,79 @@ public class StudentAttendanceServiceImpl implements StudentAttendanceService {
             }
         }
 
-        List<StudentDailyAttendance> savedEntities = new ArrayList<>(requests.size());
-
+        // Row-level validation first, so a bad row fails the batch before anything is read or written
         for (StudentAttendanceRequestDTO req : requests) {
-            // Row-level validation
-            Long resolvedStudentId = resolveStudentId(req);
+            if (req.getStudentUuid() == null && req.getStudentId() == null) {
+                throw new AttendanceProcessingException("studentUuid is required (or deprecated studentId during transition)");
+            }
             validateAttendanceDateWindow(req.getAttendanceDate());
-            String sc = Optional.ofNullable(req.getAttendanceShortCode()).orElse("").trim().toUpperCase();
-            if (sc.isEmpty()) {
+            if (normalizeShortCode(req).isEmpty()) {
                 throw new InvalidAttendanceTypeException("attendanceShortCode is required (e.g., P, A, L)");
             }
+        }
 
-            AttendanceType attendanceType = shortCodeToType.get(sc);
-            if (attendanceType == null) {
-                // Defensive: try a direct lookup
-                attendanceType = attendanceTypeRepository.findByShortCodeIgnoreCase(sc)
-                        .orElseThrow(() -> new InvalidAttendanceTypeException("Attendance short code not found: " + sc));
-            }
+        // One query for every student UUID in the batch
+        Map<UUID, Long> studentIdsByUuid = resolveStudentIdsByUuid(requests);
 
-            // Upsert by unique (studentId + date)
-            Optional<StudentDailyAttendance> existingOpt = studentRepo.findByStudentIdAndAttendanceDate(resolvedStudentId, req.getAttendanceDate());
-            StudentDailyAttendance entity;
-            if (existingOpt.isPresent()) {
-                entity = existingOpt.get();
-
-                // If same attendance type and same notes, skip update to avoid churn
-                AttendanceType currentType = entity.getAttendanceType();
-                boolean sameType = currentType != null && Objects.equals(currentType.getId(), attendanceType.getId());
-                boolean sameNotes = Objects.equals(entity.getNotes(), req.getNotes());
-                if (sameType && sameNotes) {
-                    savedEntities.add(entity);
-                    continue;
-                }
-            } else {
-                entity = new StudentDailyAttendance();
-                entity.setStudentId(resolvedStudentId);
-                entity.setAttendanceDate(req.getAttendanceDate());
-            }
+        // Key each row by (studentId, date); if a student appears twice the last row wins, as before
+        List<AttendanceKey> requestKeys = new ArrayList<>(requests.size());
+        Map<AttendanceKey, StudentAttendanceRequestDTO> latestByKey = new LinkedHashMap<>();
+        for (StudentAttendanceRequestDTO req : requests) {
+            Long studentId = req.getStudentUuid() != null
+                    ? studentIdsByUuid.get(req.getStudentUuid())
+                    : req.getStudentId();
+            AttendanceKey key = new AttendanceKey(studentId, req.getAttendanceDate());
+            requestKeys.add(key);
+            latestByKey.put(key, req);
+        }
+
+        Set<Long> studentIds = latestByKey.keySet().stream().map(AttendanceKey::studentId).collect(Collectors.toSet());
+        Set<LocalDate> dates = latestByKey.keySet().stream().map(AttendanceKey::attendanceDate).collect(Collectors.toSet());
 
-            // Set relationship to AttendanceType entity
-            entity.setAttendanceType(attendanceType);
+        // One query for the current marks of the whole batch
+        Map<AttendanceKey, StudentDailyAttendanceRepository.AttendanceMarkProjection> existingByKey = new HashMap<>();
+        for (StudentDailyAttendanceRepository.AttendanceMarkProjection mark
+                : studentRepo.findMarksByStudentIdsAndDates(studentIds, dates)) {
+            existingByKey.put(new AttendanceKey(mark.getStudentId(), mark.getAttendanceDate()), mark);
+        }
+
+        List<StudentDailyAttendanceBatchWriter.Mark> marks = new ArrayList<>(latestByKey.size());
+        for (Map.Entry<AttendanceKey, StudentAttendanceRequestDTO> entry : latestByKey.entrySet()) {
+            AttendanceKey key = entry.getKey();
+            StudentAttendanceRequestDTO req = entry.getValue();
+            AttendanceType attendanceType = shortCodeToType.get(normalizeShortCode(req));
+
+            // If same attendance type and same notes, skip update to avoid churn
+            StudentDailyAttendanceRepository.AttendanceMarkProjection existing = existingByKey.get(key);
+            if (existing != null
+                    && Objects.equals(existing.getTypeId(), attendanceType.getId())
+                    && Objects.equals(existing.getNotes(), req.getNotes())) {
+                continue;
+            }
 
             // TakenBy staff id - use performedByStaffId if present, else DTO's takenBy
-            entity.setTakenByStaffId(Optional.ofNullable(performedByStaffId).orElseGet(() -> resolveTakenByStaffId(req)));
-            entity.setNotes(req.getNotes());
+            Long takenByStaffId = Optional.ofNullable(performedByStaffId).orElseGet(() -> resolveTakenByStaffId(req));
+            marks.add(new StudentDailyAttendanceBatchWriter.Mark(
+                    key.studentId(), key.attendanceDate(), takenByStaffId, attendanceType.getId(), req.getNotes()));
+        }
 
-            StudentDailyAttendance saved = studentRepo.save(entity);
-            savedEntities.add(saved);
+        // One multi-row INSERT ... ON CONFLICT DO UPDATE for everything that changed
+        attendanceBatchWriter.upsert(marks);
+        // Only the students whose mark actually changed need a fresh dashboard
+        dashboardCacheInvalidator.evictStudents(marks.stream()
+                .map(StudentDailyAttendanceBatchWriter.Mark::studentId)
+                .collect(Collectors.toSet()));
+
+        // Read the final rows back in one query and answer in request order
+        Map<AttendanceKey, StudentDailyAttendance> savedByKey = new HashMap<>();
+        for (StudentDailyAttendance saved : studentRepo.findWithDetailsByStudentIdsAndDates(studentIds, dates)) {
+            savedByKey.put(new AttendanceKey(saved.getStudentId(), saved.getAttendanceDate()), saved);
         }
 
         // Map to response DTOs
-        return savedEntities.stream()
-                .map(this::toResponseDto)
-                .collect(Collectors.toList());
+        return toResponseDtos(requestKeys.stream()
+                .map(savedByKey::get)
+                .collect(Collectors.toList()));
     }
 
     @Override
@@ -202,7 +224,7 @@ public class StudentAttendanceServiceImpl implements StudentAttendanceService {
         }
 
         Page<StudentDailyAttendance> page = studentRepo.findAll(spec, pageable);
-        List<StudentAttendanceResponseDTO> dtoList = page.getContent().stream().map(this::toResponseDto).collect(Collectors.toList());
+        List<StudentAttendanceResponseDTO> dtoList = toResponseDtos(page.getContent());
         return new PageImpl<>(dtoList, pageable, page.getTotalElements());
     }
 
@@ -215,7 +237,6 @@ public class StudentAttendanceServiceImpl implements StudentAttendanceService {
 
     @Override
     @Transactional
-    @CacheEvict(value = {"dashboard", "dashboardOverview"}, allEntries = true)
     public StudentAttendanceResponseDTO updateAttendance(UUID recordUuid, StudentAttendanceRequestDTO req, Long performedByStaffId) {
         StudentDailyAttendance existing = studentRepo.findByUuid(recordUuid)
                 .orElseThrow(() -> new AttendanceRecordNotFoundException("Attendance record not found with uuid: " + recordUuid));
@@ -242,12 +263,12 @@ public class StudentAttendanceServiceImpl implements StudentAttendanceService {
         if (performedByStaffId != null) existing.setTakenByStaffId(performedByStaffId);
 
         StudentDailyAttendance saved = studentRepo.save(existing);
+        dashboardCacheInvalidator.evictStudents(List.of(saved.getStudentId()));
         return toResponseDto(saved);
     }
 
     @Override
     @Transactional
-    @CacheEvict(value = {"dashboard", "dashboardOverview"}, allEntries = true)
     public void deleteAttendance(UUID recordUuid, Long performedByStaffId) {
         StudentDailyAttendance existing = studentRepo.findByUuid(recordUuid)
                 .orElseThrow(() -> new AttendanceRecordNotFoundException("Attendance record not found with uuid: " + recordUuid));
@@ -268,6 +289,7 @@ public class StudentAttendanceServiceImpl implements StudentAttendanceService {
         } catch (Exception ex) {
             throw new AttendanceProcessingException("Failed to delete attendance record: " + ex.getMessage());
         }
+        dashboardCacheInvalidator.evictStudents(List.of(existing.getStudentId()));
     }
 
     @Override
@@ -322,8 +344,43 @@ public class StudentAttendanceServiceImpl implements StudentAttendanceService {
     /* ------------------ Helper: map entity -> DTO ------------------ */
 
     private StudentAttendanceResponseDTO toResponseDto(StudentDailyAttendance e) {
-        if (e == null) return null;
+        return toResponseDtos(Collections.singletonList(e)).get(0);
+    }
+
+    /**
+     * Maps a page of records, resolving student and staff UUIDs and names (UIS) with one query per entity type.
+     */
+    private List<StudentAttendanceResponseDTO> toResponseDtos(List<StudentDailyAttendance> entities) {
+        Set<Long> studentIds = new HashSet<>();
+        Set<Long> staffIds = new HashSet<>();
+        for (StudentDailyAttendance e : entities) {
+            if (e == null) continue;
+            if (e.getStudentId() != null) studentIds.add(e.getStudentId());
+            if (e.getTakenByStaffId() != null) staffIds.add(e.getTakenByStaffId());
+        }
+
+        Map<Long, PersonRef> students = new HashMap<>();
+        if (!studentIds.isEmpty()) {
+            for (StudentRepository.StudentNameProjection s : studentRepository.findNamesByIdIn(studentIds)) {
+                students.put(s.getId(), PersonRef.of(s.getUuid(), s.getFirstName(), s.getLastName()));
+            }
+        }
+
+        Map<Long, PersonRef> staff = new HashMap<>();
+        if (!staffIds.isEmpty()) {
+            for (StaffRepository.StaffNameProjection s : staffRepository.findNamesByIdIn(staffIds)) {
+                staff.put(s.getId(), PersonRef.of(s.getUuid(), s.getFirstName(), s.getLastName()));
+            }
+        }
 
+        List<StudentAttendanceResponseDTO> dtos = new ArrayList<>(entities.size());
+        for (StudentDailyAttendance e : entities) {
+            dtos.add(e == null ? null : toResponseDto(e, students.get(e.getStudentId()), staff.get(e.getTakenByStaffId())));
+        }
+        return dtos;
+    }
+
+    private StudentAttendanceResponseDTO toResponseDto(StudentDailyAttendance e, PersonRef student, PersonRef takenBy) {
         AttendanceTypeResponseDTO typeDto = null;
         AttendanceType at = e.getAttendanceType();
         if (at != null) {
@@ -349,23 +406,11 @@ public class StudentAttendanceServiceImpl implements StudentAttendanceService {
             );
         }
 
-        // studentFullName and takenByStaffName are not part of the entity and require external lookup (UIS).
-        String studentFullName = null;
-        String takenByStaffName = null;
-
-        String studentUuid = null;
-        if (e.getStudentId() != null) {
-            studentUuid = studentRepository.findById(e.getStudentId())
-                    .map(s -> s.getUuid() == null ? null : s.getUuid().toString())
-                    .orElse(null);
-        }
-
-        String takenByStaffUuid = null;
-        if (e.getTakenByStaffId() != null) {
-            takenByStaffUuid = staffRepository.findById(e.getTakenByStaffId())
-                    .map(s -> s.getUuid() == null ? null : s.getUuid().toString())
-                    .orElse(null);
-        }
+        // Denormalized from UIS; resolved in bulk by toResponseDtos
+        String studentUuid = student == null ? null : student.uuid();
+        String studentFullName = student == null ? null : student.fullName();
+        String takenByStaffUuid = takenBy == null ? null : takenBy.uuid();
+        String takenByStaffName = takenBy == null ? null : takenBy.fullName();
 
         // IMPORTANT: convert UUID to String to match DTO constructor signature
         String uuidStr = null;
@@ -392,14 +437,40 @@ public class StudentAttendanceServiceImpl implements StudentAttendanceService {
         );
     }
 
-    private Long resolveStudentId(StudentAttendanceRequestDTO req) {
-        if (req.getStudentUuid() != null) {
-            return resolveStudentIdFromUuid(req.getStudentUuid());
+    private Map<UUID, Long> resolveStudentIdsByUuid(List<StudentAttendanceRequestDTO> requests) {
+        Set<UUID> studentUuids = requests.stream()
+                .map(StudentAttendanceRequestDTO::getStudentUuid)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (studentUuids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<UUID, Long> idsByUuid = new HashMap<>();
+        for (StudentRepository.StudentIdProjection student : studentRepository.findIdsByUuidIn(studentUuids)) {
+            idsByUuid.put(student.getUuid(), student.getId());
+        }
+        for (UUID studentUuid : studentUuids) {
+            if (!idsByUuid.containsKey(studentUuid)) {
+                throw new AttendanceProcessingException("Student not found for uuid: " + studentUuid);
+            }
         }
-        if (req.getStudentId() != null) {
-            return req.getStudentId();
+        return idsByUuid;
+    }
+
+    private static String normalizeShortCode(StudentAttendanceRequestDTO req) {
+        return Optional.ofNullable(req.getAttendanceShortCode()).orElse("").trim().toUpperCase();
+    }
+
+    private record AttendanceKey(Long studentId, LocalDate attendanceDate) {
+    }
+
+    private record PersonRef(String uuid, String fullName) {
+
+        static PersonRef of(UUID uuid, String firstName, String lastName) {
+            String fullName = (Optional.ofNullable(firstName).orElse("") + " " + Optional.ofNullable(lastName).orElse("")).trim();
+            return new PersonRef(uuid == null ? null : uuid.toString(), fullName.isEmpty() ? null : fullName);
         }
-        throw new AttendanceProcessingException("studentUuid is required (or deprecated studentId during transition)");
     }
 
     private Long resolveTakenByStaffId(StudentAttendanceRequestDTO req) {
@@ -1,5 +1,6 @@
 package com.project.edusync.common.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
@@ -33,5 +34,122 @@ public class AsyncExecutorConfig {
         executor.initialize();
         return executor;
     }
-}
 
+    /**
+     * Runs background bulk-import jobs. Deliberately small and bounded: imports are
+     * long and DB-heavy, and a full queue should be reported to the caller (AbortPolicy)
+     * rather than pushed back onto a Tomcat worker thread.
+     */
+    @Bean(name = "bulkImportExecutor")
+    public Executor bulkImportExecutor(
+            @Value("${edusync.bulk-import.jobs.concurrency:2}") int concurrency,
+            @Value("${edusync.bulk-import.jobs.queue-capacity:20}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("bulk-import-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Runs timetable generation jobs (CPU-bound genetic search). At most one job per core by
+     * default; a small queue absorbs bursts and anything beyond it is rejected (AbortPolicy) so the
+     * caller gets an immediate "busy" answer instead of a thread per request.
+     */
+    @Bean(name = "timetableSolverExecutor")
+    public Executor timetableSolverExecutor(
+            @Value("${edusync.timetable.solver.concurrency:0}") int concurrency,
+            @Value("${edusync.timetable.solver.queue-capacity:10}") int queueCapacity) {
+        int threads = concurrency > 0 ? concurrency : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("timetable-solver-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Renders shards of batch ID card PDFs. Rendering is CPU-bound, so one thread per core by
+     * default; when the queue is full the submitting request thread renders the shard itself.
+     */
+    @Bean(name = "idCardPdfExecutor")
+    public Executor idCardPdfExecutor(
+            @Value("${edusync.id-card.batch.concurrency:0}") int concurrency,
+            @Value("${edusync.id-card.batch.queue-capacity:200}") int queueCapacity) {
+        int threads = concurrency > 0 ? concurrency : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("id-card-pdf-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Downloads images embedded into generated PDFs (see PdfImageAssetCache). The work is waiting
+     * on the image host, so the pool is wider than the core count; a full queue falls back to the
+     * calling thread.
+     */
+    @Bean(name = "pdfAssetFetchExecutor")
+    public Executor pdfAssetFetchExecutor(
+            @Value("${edusync.pdf.image-cache.fetch-concurrency:8}") int concurrency,
+            @Value("${edusync.pdf.image-cache.fetch-queue-capacity:500}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("pdf-asset-fetch-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Uploads answer-sheet pages to the storage backend (see AnswerSheetStorageService). Uploads
+     * wait on the network, so the pool is wider than the core count; a full queue falls back to
+     * the calling thread.
+     */
+    @Bean(name = "answerSheetUploadExecutor")
+    public Executor answerSheetUploadExecutor(
+            @Value("${app.evaluation.upload.concurrency:8}") int concurrency,
+            @Value("${app.evaluation.upload.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("answer-sheet-upload-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Sends queued mail (see MailDispatcher). Each thread holds at most one SMTP connection, so the
+     * pool size caps concurrent connections to the mail server. Tasks are only wake-ups for rows
+     * already in mail_queue, so a full queue drops them (DiscardPolicy) and the scheduled poll
+     * catches up.
+     */
+    @Bean(name = "mailDispatchExecutor")
+    public Executor mailDispatchExecutor(
+            @Value("${app.mail.dispatch.concurrency:2}") int concurrency,
+            @Value("${app.mail.dispatch.queue-capacity:10}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("mail-dispatch-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
@@ -1,5 +1,6 @@
 package com.project.edusync.common.config;
 
+import com.project.edusync.common.security.UserDetailsCacheInvalidator;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.Cache;
@@ -9,6 +10,9 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 
@@ -18,6 +22,7 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 
 import org.springframework.boot.autoconfigure.cache.RedisCacheManagerBuilderCustomizer;
@@ -112,7 +117,27 @@ public class CacheConfig {
                 .withCacheConfiguration(
                         CacheNames.MASTER_DASHBOARD_ANALYTICS,
                         redisCacheConfiguration().entryTtl(Duration.ofMinutes(5))
+                )
+                .withCacheConfiguration(
+                        CacheNames.STUDENT_DASHBOARD_KEYS,
+                        redisCacheConfiguration().entryTtl(Duration.ofMinutes(10))
                 );
     }
-}
 
+    /**
+     * Subscribes this node to user-details invalidations so role, status and password changes
+     * made on any node evict the principal from every node's near-cache.
+     */
+    @Bean
+    public RedisMessageListenerContainer userDetailsInvalidationListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            UserDetailsCacheInvalidator userDetailsCacheInvalidator) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+                (message, pattern) -> userDetailsCacheInvalidator.onInvalidationMessage(
+                        new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(userDetailsCacheInvalidator.getChannel()));
+        return container;
+    }
+}
@@ -7,6 +7,9 @@ public final class CacheNames {
     public static final String SCHEDULE_STUDENTS = "scheduleStudents";
     public static final String TEACHER_DASHBOARD_SUMMARY = "teacherDashboardSummaryV2";
     public static final String MASTER_DASHBOARD_ANALYTICS = "masterDashboardAnalytics";
+    public static final String STUDENT_DASHBOARD = "dashboard";
+    public static final String STUDENT_DASHBOARD_OVERVIEW = "dashboardOverview";
+    public static final String STUDENT_DASHBOARD_KEYS = "dashboardKeys";
 
     private CacheNames() {
     }
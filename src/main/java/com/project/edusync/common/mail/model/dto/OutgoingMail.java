@@ -0,0 +1,10 @@
+package com.project.edusync.common.mail.model.dto;
+
+import java.util.Map;
+
+/**
+ * A templated message to enqueue: the Thymeleaf template is rendered with {@code variables}
+ * when the message is sent, not when it is enqueued.
+ */
+public record OutgoingMail(String template, String recipient, String subject, Map<String, String> variables) {
+}
@@ -0,0 +1,69 @@
+package com.project.edusync.common.mail.model.entity;
+
+import com.project.edusync.common.mail.model.enums.QueuedMailStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * One outgoing email in {@code mail_queue}, written by {@code MailQueueWriter} and sent by
+ * {@code MailDispatcher}. Template variables can hold secrets such as reset links, so they are
+ * cleared once the message is sent.
+ */
+@Entity
+@Table(name = "mail_queue")
+@Getter
+@Setter
+@NoArgsConstructor
+public class QueuedMail {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Thymeleaf template name, e.g. {@code email/password-reset-email}. */
+    @Column(nullable = false, length = 100)
+    private String template;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Column(nullable = false)
+    private String subject;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
+    private Map<String, String> variables;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private QueuedMailStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+}
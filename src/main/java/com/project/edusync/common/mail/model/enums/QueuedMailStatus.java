@@ -0,0 +1,7 @@
+package com.project.edusync.common.mail.model.enums;
+
+public enum QueuedMailStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
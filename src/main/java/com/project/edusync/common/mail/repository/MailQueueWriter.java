@@ -0,0 +1,58 @@
+package com.project.edusync.common.mail.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.edusync.common.mail.model.dto.OutgoingMail;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Enqueues outgoing mail into {@code mail_queue} with one JDBC batch, in the caller's transaction
+ * when there is one. {@code QueuedMail} uses an IDENTITY key, so Hibernate could not batch these
+ * inserts for a bulk import.
+ */
+@Repository
+@Slf4j
+@RequiredArgsConstructor
+public class MailQueueWriter {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO mail_queue (template, recipient, subject, variables, status, attempts, next_attempt_at, created_at)
+            VALUES (?, ?, ?, CAST(? AS jsonb), 'PENDING', 0, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Transactional
+    public void enqueue(List<OutgoingMail> mails) {
+        if (mails.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, mails, mails.size(), (ps, mail) -> {
+            ps.setString(1, mail.template());
+            ps.setString(2, mail.recipient());
+            ps.setString(3, mail.subject());
+            ps.setString(4, toJson(mail));
+            ps.setTimestamp(5, now);
+            ps.setTimestamp(6, now);
+        });
+        log.debug("[MailQueueWriter] Enqueued {} message(s)", mails.size());
+    }
+
+    private String toJson(OutgoingMail mail) {
+        try {
+            return objectMapper.writeValueAsString(mail.variables());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize variables for " + mail.template(), e);
+        }
+    }
+}
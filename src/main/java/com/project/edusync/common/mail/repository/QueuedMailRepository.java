@@ -0,0 +1,34 @@
+package com.project.edusync.common.mail.repository;
+
+import com.project.edusync.common.mail.model.entity.QueuedMail;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface QueuedMailRepository extends JpaRepository<QueuedMail, Long> {
+
+    /**
+     * Locks up to {@code limit} due messages, oldest first, skipping rows another dispatcher holds.
+     */
+    @Query(value = """
+            SELECT * FROM mail_queue
+            WHERE status = 'PENDING'
+              AND next_attempt_at <= :now
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<QueuedMail> claimDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM QueuedMail m WHERE m.status = com.project.edusync.common.mail.model.enums.QueuedMailStatus.SENT AND m.sentAt < :before")
+    int deleteSentBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,263 @@
+package com.project.edusync.common.mail.service;
+
+import com.project.edusync.common.mail.model.entity.QueuedMail;
+import com.project.edusync.common.mail.model.enums.QueuedMailStatus;
+import com.project.edusync.common.mail.repository.QueuedMailRepository;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Sends {@code mail_queue} on the bounded {@code mailDispatchExecutor}.
+ *
+ * <p>A pass claims up to {@code batch-size} due messages with {@code FOR UPDATE SKIP LOCKED} in a
+ * short transaction that leases them by pushing {@code next_attempt_at} out by {@code lease-ms}.
+ * It then renders them and hands them to {@link JavaMailSender#send(MimeMessage...)} with no
+ * transaction open, which delivers the whole batch over one SMTP connection, and records the
+ * outcomes in a second short transaction. A slow mail server therefore never holds a database
+ * connection or row locks. If the node dies mid-send, the lease runs out and the messages are
+ * sent again. The executor's thread count caps the number of open SMTP connections. Messages the server rejected for their address, and messages whose
+ * template cannot be rendered, are marked {@code FAILED}. Everything else that failed is retried
+ * with exponential backoff until {@code max-attempts}.</p>
+ *
+ * <p>Enqueuing code calls {@link #dispatchAfterCommit()} to send right after its transaction
+ * commits. The scheduled poll picks up retries and anything a full executor queue dropped.</p>
+ */
+@Slf4j
+@Component
+public class MailDispatcher {
+
+    private static final String PENDING_DISPATCH = MailDispatcher.class.getName() + ".pendingDispatch";
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final QueuedMailRepository mailRepository;
+    private final JavaMailSender mailSender;
+    private final TemplateEngine templateEngine;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor mailDispatchExecutor;
+    private final String mailFrom;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration retention;
+    private final Duration lease;
+
+    public MailDispatcher(QueuedMailRepository mailRepository,
+                          JavaMailSender mailSender,
+                          TemplateEngine templateEngine,
+                          TransactionTemplate transactionTemplate,
+                          @Qualifier("mailDispatchExecutor") Executor mailDispatchExecutor,
+                          @Value("${spring.mail.from}") String mailFrom,
+                          @Value("${app.mail.dispatch.batch-size:50}") int batchSize,
+                          @Value("${app.mail.dispatch.max-attempts:6}") int maxAttempts,
+                          @Value("${app.mail.dispatch.initial-backoff-ms:60000}") long initialBackoffMs,
+                          @Value("${app.mail.dispatch.max-backoff-ms:3600000}") long maxBackoffMs,
+                          @Value("${app.mail.dispatch.retention-days:7}") int retentionDays,
+                          @Value("${app.mail.dispatch.lease-ms:600000}") long leaseMs) {
+        this.mailRepository = mailRepository;
+        this.mailSender = mailSender;
+        this.templateEngine = templateEngine;
+        this.transactionTemplate = transactionTemplate;
+        this.mailDispatchExecutor = mailDispatchExecutor;
+        this.mailFrom = mailFrom;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoff = Duration.ofMillis(Math.max(1, initialBackoffMs));
+        this.maxBackoff = Duration.ofMillis(Math.max(initialBackoffMs, maxBackoffMs));
+        this.retention = Duration.ofDays(Math.max(1, retentionDays));
+        this.lease = Duration.ofMillis(Math.max(1, leaseMs));
+    }
+
+    /**
+     * Starts a dispatch pass once the current transaction commits, or right away without one.
+     * Several calls in one transaction start a single pass.
+     */
+    public void dispatchAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            dispatchAsync();
+            return;
+        }
+        if (TransactionSynchronizationManager.hasResource(PENDING_DISPATCH)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(PENDING_DISPATCH, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dispatchAsync();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(PENDING_DISPATCH);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.dispatch.poll-interval-ms:30000}")
+    public void dispatch() {
+        try {
+            int claimed;
+            do {
+                claimed = dispatchBatch();
+            } while (claimed == batchSize);
+        } catch (RuntimeException e) {
+            log.error("Mail dispatch pass failed", e);
+        }
+    }
+
+    @Scheduled(cron = "${app.mail.dispatch.purge-cron:0 45 3 * * *}")
+    public void purgeSent() {
+        int deleted = mailRepository.deleteSentBefore(LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            log.info("Mail queue: purged {} sent messages", deleted);
+        }
+    }
+
+    private void dispatchAsync() {
+        // Rejected when the executor queue is full; the queued rows are then sent by the next pass.
+        mailDispatchExecutor.execute(this::dispatch);
+    }
+
+    private int dispatchBatch() {
+        List<QueuedMail> due = claim(LocalDateTime.now());
+        if (due.isEmpty()) {
+            return 0;
+        }
+        send(due, LocalDateTime.now());
+        transactionTemplate.executeWithoutResult(status -> mailRepository.saveAll(due));
+        log.debug("[MailDispatcher] Processed {} queued message(s)", due.size());
+        return due.size();
+    }
+
+    /** Locks due messages only long enough to lease them to this pass. */
+    private List<QueuedMail> claim(LocalDateTime now) {
+        List<QueuedMail> due = transactionTemplate.execute(status -> {
+            List<QueuedMail> claimed = mailRepository.claimDue(now, batchSize);
+            claimed.forEach(mail -> mail.setNextAttemptAt(now.plus(lease)));
+            return claimed;
+        });
+        return due == null ? List.of() : due;
+    }
+
+    /** Renders and sends the claimed messages, updating each one with its outcome. */
+    private void send(List<QueuedMail> due, LocalDateTime now) {
+        Map<MimeMessage, QueuedMail> rendered = new LinkedHashMap<>();
+        for (QueuedMail mail : due) {
+            try {
+                rendered.put(render(mail), mail);
+            } catch (MessagingException | RuntimeException e) {
+                mail.setAttempts(mail.getAttempts() + 1);
+                markFailed(mail, e.getMessage());
+            }
+        }
+        if (rendered.isEmpty()) {
+            return;
+        }
+
+        try {
+            mailSender.send(rendered.keySet().toArray(MimeMessage[]::new));
+            rendered.values().forEach(mail -> markSent(mail, now));
+        } catch (MailSendException e) {
+            Map<Object, Exception> failures = e.getFailedMessages();
+            rendered.forEach((message, mail) -> {
+                Exception failure = failures.isEmpty() ? e : failures.get(message);
+                if (failure == null) {
+                    markSent(mail, now);
+                } else if (isRejectedAddress(failure)) {
+                    mail.setAttempts(mail.getAttempts() + 1);
+                    markFailed(mail, failure.getMessage());
+                } else {
+                    retryLater(mail, failure.getMessage(), now);
+                }
+            });
+        } catch (MailException e) {
+            log.warn("Mail queue: sending {} messages failed: {}", rendered.size(), e.getMessage());
+            rendered.values().forEach(mail -> retryLater(mail, e.getMessage(), now));
+        }
+    }
+
+    private MimeMessage render(QueuedMail mail) throws MessagingException {
+        Context context = new Context();
+        if (mail.getVariables() != null) {
+            mail.getVariables().forEach(context::setVariable);
+        }
+        String htmlContent = templateEngine.process(mail.getTemplate(), context);
+
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, "UTF-8");
+        helper.setFrom(mailFrom);
+        helper.setTo(mail.getRecipient());
+        helper.setSubject(mail.getSubject());
+        helper.setText(htmlContent, true);
+        return mimeMessage;
+    }
+
+    private static boolean isRejectedAddress(Exception failure) {
+        return failure instanceof SendFailedException sendFailed
+                && sendFailed.getInvalidAddresses() != null
+                && sendFailed.getInvalidAddresses().length > 0;
+    }
+
+    private void markSent(QueuedMail mail, LocalDateTime now) {
+        mail.setStatus(QueuedMailStatus.SENT);
+        mail.setAttempts(mail.getAttempts() + 1);
+        mail.setSentAt(now);
+        mail.setLastError(null);
+        mail.setVariables(null);
+    }
+
+    private void retryLater(QueuedMail mail, String error, LocalDateTime now) {
+        int attempts = mail.getAttempts() + 1;
+        mail.setAttempts(attempts);
+        if (attempts >= maxAttempts) {
+            markFailed(mail, error);
+            return;
+        }
+        mail.setLastError(truncate(error));
+        mail.setNextAttemptAt(now.plus(backoff(attempts)));
+    }
+
+    private void markFailed(QueuedMail mail, String error) {
+        mail.setStatus(QueuedMailStatus.FAILED);
+        mail.setLastError(truncate(error));
+        log.error("Mail queue: giving up on {} to {} after {} attempts: {}",
+                mail.getTemplate(), mail.getRecipient(), mail.getAttempts(), error);
+    }
+
+    /** initial-backoff doubled per failed attempt, capped at max-backoff. */
+    Duration backoff(int attempts) {
+        int doublings = Math.min(attempts - 1, 30);
+        Duration delay = initialBackoff.multipliedBy(1L << doublings);
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private static String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
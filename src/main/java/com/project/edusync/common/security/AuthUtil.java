@@ -1,5 +1,8 @@
 package com.project.edusync.common.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.project.edusync.common.exception.iam.InsufficientAuthenticationException;
 import com.project.edusync.iam.model.entity.Permission;
 import com.project.edusync.iam.model.entity.Role;
@@ -25,7 +28,12 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
+import java.util.HexFormat;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -133,11 +141,39 @@ public class AuthUtil {
     @Value("${app.jwt.refresh-expirationTime}")
     private long jwtRefreshExpirationTime;
 
+    @Value("${app.jwt.verified-token-cache.max-size:10000}")
+    private long verifiedTokenCacheMaxSize = 10_000;
+
     private SecretKey _signingKey;
 
+    // Recently verified access tokens, keyed by SHA-256 of the token so raw bearer tokens are
+    // not retained on the heap. Each entry expires together with its token.
+    private Cache<String, VerifiedToken> verifiedTokenCache;
+
     @PostConstruct
     public void init() {
         this._signingKey = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        this.verifiedTokenCache = Caffeine.newBuilder()
+                .maximumSize(verifiedTokenCacheMaxSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+                        return Math.max(0L, Duration.between(Instant.now(), value.expiresAt()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken value, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken value, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
         log.info("JWT signing key initialized successfully.");
     }
 
@@ -210,12 +246,61 @@ public class AuthUtil {
                 .getPayload();
     }
 
+    /**
+     * Verifies the token's signature and expiry and returns its claims as an immutable holder.
+     * A token verified recently is served from a bounded cache until it expires, so repeat
+     * requests with the same token skip the signature check. Invalid tokens are never cached
+     * and fail with the same JJWT exceptions as before.
+     */
+    public VerifiedToken verifyToken(String token) {
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("JWT token is empty.");
+        }
+        String cacheKey = hashToken(token);
+        VerifiedToken cached = verifiedTokenCache.getIfPresent(cacheKey);
+        if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+            log.trace("Token served from verified-token cache.");
+            return cached;
+        }
+
+        Claims claims = getAllClaimsFromToken(token);
+        List<String> authorities = claims.get("authorities") instanceof List<?> list
+                ? list.stream().map(String::valueOf).toList()
+                : List.of();
+        VerifiedToken verified = new VerifiedToken(
+                claims.getSubject(),
+                toLong(claims.get("user_id")),
+                toLong(claims.get("academic_year_id")),
+                authorities,
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null);
+        if (verified.expiresAt() != null) {
+            verifiedTokenCache.put(cacheKey, verified);
+        }
+        return verified;
+    }
+
+    private String hashToken(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private Long toLong(Object claimValue) {
+        if (claimValue instanceof Number number) {
+            return number.longValue();
+        }
+        return null;
+    }
+
     /**
      * Extracts the username (subject) from the token.
      */
     public String getUsernameFromToken(String token) {
         log.trace("Extracting username from token.");
-        String username = getAllClaimsFromToken(token).getSubject();
+        String username = verifyToken(token).username();
         log.trace("Extracted username '{}' from token.", username);
         return username;
     }
@@ -225,10 +310,7 @@ public class AuthUtil {
      */
     public List<GrantedAuthority> getAuthoritiesFromToken(String token) {
         log.trace("Extracting authorities from token.");
-        Claims claims = getAllClaimsFromToken(token);
-
-        @SuppressWarnings("unchecked")
-        List<String> authorities = (List<String>) claims.get("authorities");
+        List<String> authorities = verifyToken(token).authorities();
 
         if (authorities == null || authorities.isEmpty()) {
             log.trace("No 'authorities' claim found in token or claim is empty.");
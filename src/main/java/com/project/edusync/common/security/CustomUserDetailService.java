@@ -5,7 +5,7 @@ import com.github.benmanes.caffeine.cache.Caffeine;
 import com.project.edusync.common.exception.ResourceNotFoundException;
 import com.project.edusync.iam.model.entity.User;
 import com.project.edusync.iam.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -14,16 +14,24 @@ import org.springframework.stereotype.Service;
 import java.time.Duration;
 
 @Service
-@RequiredArgsConstructor
 public class CustomUserDetailService implements UserDetailsService {
 
     private final UserRepository userRepository;
 
-    // Local cache avoids Redis/Jackson serialization of JPA graphs while cutting auth DB pressure.
-    private final Cache<String, UserDetails> userDetailsCache = Caffeine.newBuilder()
-            .expireAfterWrite(Duration.ofMinutes(5))
-            .maximumSize(2000)
-            .build();
+    // Local near-cache avoids Redis/Jackson serialization of JPA graphs while cutting auth DB pressure.
+    // Entries are evicted cluster-wide by UserDetailsCacheInvalidator when roles, status or password
+    // change, so the TTL only bounds staleness if an invalidation message is lost.
+    private final Cache<String, UserDetails> userDetailsCache;
+
+    public CustomUserDetailService(UserRepository userRepository,
+                                   @Value("${app.security.user-details-cache.ttl:5m}") Duration ttl,
+                                   @Value("${app.security.user-details-cache.max-size:2000}") long maxSize) {
+        this.userRepository = userRepository;
+        this.userDetailsCache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .build();
+    }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
@@ -31,4 +39,14 @@ public class CustomUserDetailService implements UserDetailsService {
                 .map(User.class::cast)
                 .orElseThrow(() -> new ResourceNotFoundException("UserDetails not found user : " + key)));
     }
+
+    /** Drops one principal from this node's cache. */
+    public void evict(String username) {
+        userDetailsCache.invalidate(username);
+    }
+
+    /** Drops every principal from this node's cache, e.g. after a role's permissions change. */
+    public void evictAll() {
+        userDetailsCache.invalidateAll();
+    }
 }
@@ -57,12 +57,13 @@ public class JWTFilter extends OncePerRequestFilter {
             filterChain.doFilter(request, response);
             return;
         }
-        String username = null;
+        VerifiedToken verifiedToken;
 
         try {
-            // Extract username from token. Authorities are resolved from DB-backed UserDetails
-            // to avoid 403s caused by stale tokens after role/permission changes.
-            username = authUtil.getUsernameFromToken(token);
+            // Verify the token once; every claim below is read from the result. Authorities are
+            // resolved from DB-backed UserDetails to avoid 403s caused by stale tokens after
+            // role/permission changes.
+            verifiedToken = authUtil.verifyToken(token);
 
         } catch (ExpiredJwtException e) {
             log.warn("JWT token has expired: {}", e.getMessage());
@@ -80,6 +81,7 @@ public class JWTFilter extends OncePerRequestFilter {
         }
 
         // 3. Check if username was found and context is not set
+        String username = verifiedToken.username();
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
             UserDetails userDetails = customUserDetailService.loadUserByUsername(username);
@@ -94,8 +96,8 @@ public class JWTFilter extends OncePerRequestFilter {
 
             // Claims are passed as authentication details so AuthUtil can safely access them later.
             Map<String, Object> details = new HashMap<>();
-            details.put("user_id", authUtil.getClaimValueFromToken(token, "user_id"));
-            details.put("academic_year_id", authUtil.getClaimValueFromToken(token, "academic_year_id"));
+            details.put("user_id", verifiedToken.userId());
+            details.put("academic_year_id", verifiedToken.academicYearId());
             authToken.setDetails(details);
 
             // 5. Set the Authentication in SecurityContextHolder
@@ -0,0 +1,87 @@
+package com.project.edusync.common.security;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps every node's {@link CustomUserDetailService} near-cache coherent.
+ *
+ * <p>Services call {@link #invalidate(String)} when a user's roles, active flag or password
+ * change, and {@link #invalidateAll()} when a role's permissions change. After the surrounding
+ * transaction commits, the entry is evicted locally and the username is published on a Redis
+ * channel; every node (this one included) evicts it again on receipt. If Redis is unavailable
+ * the local eviction still happens and other nodes fall back to the cache TTL.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserDetailsCacheInvalidator {
+
+    /** Payload meaning "evict everything". Usernames never contain '*'. */
+    static final String ALL_USERS = "*";
+
+    private final CustomUserDetailService customUserDetailService;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @Value("${app.security.user-details-cache.invalidation-channel:edusync:user-details:invalidate}")
+    private String channel;
+
+    public void invalidate(String username) {
+        if (username == null || username.isBlank()) {
+            return;
+        }
+        afterCommit(() -> {
+            customUserDetailService.evict(username);
+            publish(username);
+        });
+    }
+
+    public void invalidateAll() {
+        afterCommit(() -> {
+            customUserDetailService.evictAll();
+            publish(ALL_USERS);
+        });
+    }
+
+    /**
+     * Applies an invalidation message received from the Redis channel.
+     */
+    public void onInvalidationMessage(String payload) {
+        if (ALL_USERS.equals(payload)) {
+            customUserDetailService.evictAll();
+        } else if (payload != null && !payload.isBlank()) {
+            customUserDetailService.evict(payload);
+        }
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    private void publish(String payload) {
+        try {
+            stringRedisTemplate.convertAndSend(channel, payload);
+        } catch (RuntimeException ex) {
+            log.warn("Failed to publish user-details invalidation for '{}'; other nodes will rely on cache TTL. Cause: {}",
+                    payload, ex.getMessage());
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.project.edusync.common.security;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Immutable view of an access token whose signature and expiry have already been checked.
+ * Produced once per request by {@link AuthUtil#verifyToken(String)}, so callers never need
+ * to re-parse the JWT to read its claims.
+ */
+public record VerifiedToken(
+        String username,
+        Long userId,
+        Long academicYearId,
+        List<String> authorities,
+        Instant expiresAt
+) {
+    public VerifiedToken {
+        authorities = authorities == null ? List.of() : List.copyOf(authorities);
+    }
+}
@@ -3,19 +3,37 @@ package com.project.edusync.common.service;
 import com.project.edusync.iam.model.entity.User;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 public interface EmailService {
 
+    /**
+     * A newly created account to welcome.
+     */
+    record WelcomeRecipient(String email, String username) {
+    }
+
     /**
      * Sends a password reset email to a user.
-     * This implementation should be asynchronous.
+     * The email is queued in the caller's transaction and sent after it commits.
      *
      * @param user The user to send the email to.
      * @param token The single-use password reset token.
      */
     void sendPasswordResetEmail(User user, String token);
-// TODO:
-    // We can add other email methods here later, e.g.:
-    // void sendWelcomeEmail(User user);
-    // void sendInvoiceEmail(Invoice invoice, User user);
-}
\ No newline at end of file
+
+    /**
+     * Sends a welcome email to a newly created user. The password is never included.
+     *
+     * @param user The new user.
+     */
+    void sendWelcomeEmail(User user);
+
+    /**
+     * Queues welcome emails for many new users at once, e.g. one bulk-import chunk.
+     *
+     * @param recipients The new accounts.
+     */
+    void sendWelcomeEmails(List<WelcomeRecipient> recipients);
+}
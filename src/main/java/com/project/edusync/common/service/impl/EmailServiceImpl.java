@@ -1,66 +1,71 @@
 package com.project.edusync.common.service.impl;
 
+import com.project.edusync.common.mail.model.dto.OutgoingMail;
+import com.project.edusync.common.mail.repository.MailQueueWriter;
+import com.project.edusync.common.mail.service.MailDispatcher;
 import com.project.edusync.common.service.EmailService;
 import com.project.edusync.iam.model.entity.User;
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.thymeleaf.TemplateEngine;
-import org.thymeleaf.context.Context;
 
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Queues templated emails in {@code mail_queue}; {@link MailDispatcher} renders and sends them
+ * once the caller's transaction commits, retrying failed deliveries.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class EmailServiceImpl implements EmailService {
 
-    private final JavaMailSender javaMailSender;
-    private final TemplateEngine templateEngine;
+    static final String PASSWORD_RESET_TEMPLATE = "email/password-reset-email";
+    static final String WELCOME_TEMPLATE = "email/welcome-email";
 
-    @Value("${spring.mail.from}")
-    private String mailFrom;
+    private final MailQueueWriter mailQueueWriter;
+    private final MailDispatcher mailDispatcher;
 
     @Value("${app.frontend.url}")
     private String frontendUrl;
 
-    @Async // Run this method in a separate thread
+    @Value("${app.mail.welcome-enabled:true}")
+    private boolean welcomeEnabled;
+
     @Override
     public void sendPasswordResetEmail(User user, String token) {
-        log.info("Attempting to send password reset email to: {}", user.getEmail());
+        log.info("Queueing password reset email to: {}", user.getEmail());
 
-        // 1. Construct the full reset URL for the frontend
         // Example: http://localhost:3000/reset-password?token=...
         String resetLink = frontendUrl + "/reset-password?token=" + token;
+        enqueue(List.of(new OutgoingMail(PASSWORD_RESET_TEMPLATE, user.getEmail(),
+                "EduSync - Password Reset Request",
+                Map.of("username", user.getUsername(), "resetLink", resetLink))));
+    }
 
-        // 2. Prepare the Thymeleaf context
-        Context context = new Context();
-        context.setVariable("username", user.getUsername()); //
-        context.setVariable("resetLink", resetLink);
-
-        try {
-            // 3. Process the HTML template
-            String htmlContent = templateEngine.process("email/password-reset-email", context);
-
-            // 4. Create and send the MIME message
-            MimeMessage mimeMessage = javaMailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, "UTF-8");
-
-            helper.setFrom(mailFrom);
-            helper.setTo(user.getEmail()); //
-            helper.setSubject("EduSync - Password Reset Request");
-            helper.setText(htmlContent, true); // true = HTML
-
-            javaMailSender.send(mimeMessage);
-            log.info("Password reset email sent successfully to: {}", user.getEmail());
+    @Override
+    public void sendWelcomeEmail(User user) {
+        sendWelcomeEmails(List.of(new WelcomeRecipient(user.getEmail(), user.getUsername())));
+    }
 
-        } catch (MessagingException e) {
-            log.error("Failed to send password reset email to: {}", user.getEmail(), e);
-            // In a production app, you might add this to a retry queue
+    @Override
+    public void sendWelcomeEmails(List<WelcomeRecipient> recipients) {
+        if (!welcomeEnabled || recipients.isEmpty()) {
+            return;
         }
+        String loginLink = frontendUrl + "/login";
+        enqueue(recipients.stream()
+                .map(recipient -> new OutgoingMail(WELCOME_TEMPLATE, recipient.email(),
+                        "Welcome to EduSync",
+                        Map.of("username", recipient.username(), "loginLink", loginLink)))
+                .toList());
+        log.info("Queued {} welcome email(s)", recipients.size());
+    }
+
+    private void enqueue(List<OutgoingMail> mails) {
+        mailQueueWriter.enqueue(mails);
+        mailDispatcher.dispatchAfterCommit();
     }
-}
\ No newline at end of file
+}
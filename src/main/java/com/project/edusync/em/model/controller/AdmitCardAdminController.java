@@ -4,6 +4,7 @@ import com.project.edusync.em.model.dto.RequestDTO.AdmitCardGenerateRequestDTO;
 import com.project.edusync.em.model.dto.ResponseDTO.AdmitCardGenerationProgressDTO;
 import com.project.edusync.em.model.dto.ResponseDTO.AdmitCardGenerationResponseDTO;
 import com.project.edusync.em.model.dto.ResponseDTO.ScheduleAdmitCardStatusDTO;
+import com.project.edusync.em.model.enums.AdmitCardBatchFormat;
 import com.project.edusync.em.model.service.AdmitCardService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -12,6 +13,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.UUID;
@@ -40,13 +42,15 @@ public class AdmitCardAdminController {
     }
 
     @PostMapping("/generate-batch")
-    public ResponseEntity<byte[]> generateBatch(@Valid @RequestBody AdmitCardGenerateRequestDTO requestDTO) {
-        byte[] pdf = admitCardService.generateBatchAdmitCardsPdf(requestDTO.getExamId(), requestDTO.getScheduleId());
+    public ResponseEntity<StreamingResponseBody> generateBatch(@Valid @RequestBody AdmitCardGenerateRequestDTO requestDTO) {
+        boolean zip = requestDTO.getFormat() == AdmitCardBatchFormat.ZIP;
+        StreamingResponseBody body = admitCardService.streamBatchAdmitCards(
+                requestDTO.getExamId(), requestDTO.getScheduleId(), requestDTO.getFormat());
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION,
-                        "attachment; filename=admit-cards-batch-" + requestDTO.getExamId() + ".pdf")
-                .contentType(MediaType.APPLICATION_PDF)
-                .body(pdf);
+                        "attachment; filename=admit-cards-batch-" + requestDTO.getExamId() + (zip ? ".zip" : ".pdf"))
+                .contentType(zip ? MediaType.parseMediaType("application/zip") : MediaType.APPLICATION_PDF)
+                .body(body);
     }
 
     @GetMapping("/status/{examUuid}")
@@ -1,5 +1,6 @@
 package com.project.edusync.em.model.dto.RequestDTO;
 
+import com.project.edusync.em.model.enums.AdmitCardBatchFormat;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 import java.util.UUID;
@@ -12,4 +13,7 @@ public class AdmitCardGenerateRequestDTO {
 
     // Optional: when provided, generate only for this specific schedule's students
     private Long scheduleId;
+
+    // Optional: batch download output, PDF (default) or ZIP of per-section PDFs
+    private AdmitCardBatchFormat format;
 }
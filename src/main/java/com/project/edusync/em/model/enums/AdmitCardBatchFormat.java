@@ -0,0 +1,11 @@
+package com.project.edusync.em.model.enums;
+
+/**
+ * Output of a batch admit card download.
+ */
+public enum AdmitCardBatchFormat {
+    /** One PDF with every card, grouped by class and section. */
+    PDF,
+    /** A ZIP archive with one PDF per class section. */
+    ZIP
+}
@@ -5,9 +5,12 @@ import com.project.edusync.em.model.enums.AnswerSheetStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -44,5 +47,17 @@ public interface AnswerSheetRepository extends JpaRepository<AnswerSheet, Long>
     boolean existsByExamScheduleIdAndStudentId(Long scheduleId, Long studentId);
 
     long countByExamScheduleIdAndUploadedByTeacherIdAndStatus(Long scheduleId, Long teacherId, AnswerSheetStatus status);
-}
 
+    @Modifying
+    @Query("""
+            UPDATE AnswerSheet a
+            SET a.status = :status,
+                a.updatedAt = :now,
+                a.updatedBy = :updatedBy
+            WHERE a.id IN :answerSheetIds
+            """)
+    int updateStatusByIds(@Param("answerSheetIds") Collection<Long> answerSheetIds,
+                          @Param("status") AnswerSheetStatus status,
+                          @Param("updatedBy") String updatedBy,
+                          @Param("now") LocalDateTime now);
+}
@@ -2,15 +2,29 @@ package com.project.edusync.em.model.repository;
 
 import com.project.edusync.em.model.entity.EvaluationResult;
 import com.project.edusync.em.model.enums.EvaluationResultStatus;
+import com.project.edusync.iam.model.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface EvaluationResultRepository extends JpaRepository<EvaluationResult, Long> {
 
+    interface StatusCountProjection {
+        EvaluationResultStatus getStatus();
+        long getResultCount();
+    }
+
+    interface ResultSheetIdProjection {
+        Long getResultId();
+        Long getAnswerSheetId();
+    }
+
     Optional<EvaluationResult> findByAnswerSheetId(Long answerSheetId);
 
     @Query("""
@@ -107,5 +121,78 @@ public interface EvaluationResultRepository extends JpaRepository<EvaluationResu
             """)
     List<EvaluationResult> findAllByIdInAndStatusWithContext(@Param("resultIds") List<Long> resultIds,
                                                              @Param("status") EvaluationResultStatus status);
-}
 
+    @Query("""
+            SELECT er.status AS status, COUNT(er.id) AS resultCount
+            FROM EvaluationResult er
+            JOIN er.answerSheet a
+            JOIN a.examSchedule es
+            WHERE es.exam.id = :examId
+              AND es.academicClass.id = :classId
+            GROUP BY er.status
+            """)
+    List<StatusCountProjection> countByStatusForExamAndClass(@Param("examId") Long examId,
+                                                             @Param("classId") Long classId);
+
+    @Query("""
+            SELECT er.id AS resultId, a.id AS answerSheetId
+            FROM EvaluationResult er
+            JOIN er.answerSheet a
+            JOIN a.examSchedule es
+            WHERE es.exam.id = :examId
+              AND es.academicClass.id = :classId
+              AND er.status = :status
+            """)
+    List<ResultSheetIdProjection> findIdsForExamAndClassByStatus(@Param("examId") Long examId,
+                                                                 @Param("classId") Long classId,
+                                                                 @Param("status") EvaluationResultStatus status);
+
+    @Modifying
+    @Query("""
+            UPDATE EvaluationResult er
+            SET er.status = :approved,
+                er.approvedAt = :now,
+                er.approvedBy = :approvedBy,
+                er.updatedAt = :now,
+                er.updatedBy = :updatedBy
+            WHERE er.status = :submitted
+              AND er.answerSheet.id IN (
+                  SELECT a.id FROM AnswerSheet a
+                  WHERE a.examSchedule.exam.id = :examId
+                    AND a.examSchedule.academicClass.id = :classId
+              )
+            """)
+    int approveForExamAndClass(@Param("examId") Long examId,
+                               @Param("classId") Long classId,
+                               @Param("submitted") EvaluationResultStatus submitted,
+                               @Param("approved") EvaluationResultStatus approved,
+                               @Param("approvedBy") User approvedBy,
+                               @Param("updatedBy") String updatedBy,
+                               @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("""
+            UPDATE EvaluationResult er
+            SET er.status = :published,
+                er.publishedAt = :now,
+                er.updatedAt = :now,
+                er.updatedBy = :updatedBy
+            WHERE er.id IN :resultIds
+              AND er.status = :approved
+            """)
+    int publishByIds(@Param("resultIds") Collection<Long> resultIds,
+                     @Param("approved") EvaluationResultStatus approved,
+                     @Param("published") EvaluationResultStatus published,
+                     @Param("updatedBy") String updatedBy,
+                     @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("""
+            UPDATE EvaluationResult er
+            SET er.approvedBy = :approvedBy
+            WHERE er.id IN :resultIds
+              AND er.approvedBy IS NULL
+            """)
+    int assignMissingApprover(@Param("resultIds") Collection<Long> resultIds,
+                              @Param("approvedBy") User approvedBy);
+}
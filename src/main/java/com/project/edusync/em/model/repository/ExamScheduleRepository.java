@@ -32,6 +32,8 @@ interface AdmitCardScheduleProjection {
 
 List<ExamSchedule> findByExamUuid (UUID examUuid);
 
+List<ExamSchedule> findByExamUuidAndAcademicClassUuid(UUID examUuid, UUID classUuid);
+
 @Query("""
 		SELECT es FROM ExamSchedule es
 		JOIN FETCH es.subject sub
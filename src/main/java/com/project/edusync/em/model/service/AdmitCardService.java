@@ -3,6 +3,8 @@ package com.project.edusync.em.model.service;
 import com.project.edusync.em.model.dto.ResponseDTO.AdmitCardGenerationProgressDTO;
 import com.project.edusync.em.model.dto.ResponseDTO.AdmitCardGenerationResponseDTO;
 import com.project.edusync.em.model.dto.ResponseDTO.ScheduleAdmitCardStatusDTO;
+import com.project.edusync.em.model.enums.AdmitCardBatchFormat;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.UUID;
@@ -13,7 +15,11 @@ public interface AdmitCardService {
 
     AdmitCardGenerationResponseDTO generateAdmitCardsForSchedule(UUID examUuid, Long scheduleId);
 
-    byte[] generateBatchAdmitCardsPdf(UUID examUuid, Long scheduleId);
+    /**
+     * Loads the batch eagerly and returns a body that renders it while the response is written.
+     * A {@code null} format means {@link AdmitCardBatchFormat#PDF}.
+     */
+    StreamingResponseBody streamBatchAdmitCards(UUID examUuid, Long scheduleId, AdmitCardBatchFormat format);
 
     List<ScheduleAdmitCardStatusDTO> getAdmitCardStatusByExam(UUID examUuid);
 
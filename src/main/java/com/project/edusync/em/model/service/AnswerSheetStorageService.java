@@ -0,0 +1,19 @@
+package com.project.edusync.em.model.service;
+
+import java.nio.file.Path;
+
+/**
+ * Storage backend for uploaded answer sheets, selected with {@code app.evaluation.storage.backend}.
+ *
+ * <p>Implementations stream the file from disk and return the reference persisted on the answer
+ * sheet: an absolute URL, or a path relative to the private storage directory. They are called
+ * outside any transaction and from several threads at once.</p>
+ */
+public interface AnswerSheetStorageService {
+
+    /** Stores a scanned answer-sheet PDF under {@code key} (no extension). */
+    String storePdf(Path file, String key);
+
+    /** Stores one page image under {@code key} (no extension). */
+    String storeImage(Path file, String key);
+}
@@ -2,6 +2,7 @@ package com.project.edusync.em.model.service.serviceImpl;
 
 import com.project.edusync.adm.repository.SubjectRepository;
 import com.project.edusync.common.exception.emException.EdusyncException;
+import com.project.edusync.common.exception.finance.PdfGenerationException;
 import com.project.edusync.common.settings.service.AppSettingService;
 import com.project.edusync.em.model.dto.ResponseDTO.AdmitCardGenerationProgressDTO;
 import com.project.edusync.em.model.dto.ResponseDTO.AdmitCardGenerationResponseDTO;
@@ -11,6 +12,7 @@ import com.project.edusync.em.model.dto.internal.admitbatch.ScheduleDTO;
 import com.project.edusync.em.model.dto.internal.admitbatch.SeatDTO;
 import com.project.edusync.em.model.dto.internal.admitbatch.StudentDTO;
 import com.project.edusync.em.model.entity.Exam;
+import com.project.edusync.em.model.enums.AdmitCardBatchFormat;
 import com.project.edusync.em.model.repository.AdmitCardRepository;
 import com.project.edusync.em.model.repository.ExamRepository;
 import com.project.edusync.em.model.repository.ExamScheduleRepository;
@@ -20,16 +22,24 @@ import com.project.edusync.finance.service.PdfGenerationService;
 import com.project.edusync.uis.repository.StudentRepository;
 import jakarta.annotation.Resource;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -37,9 +47,14 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
@@ -60,20 +75,39 @@ public class AdmitCardServiceImpl implements AdmitCardService {
     @Resource(name = "admitCardPdfExecutor")
     private Executor admitCardPdfExecutor;
 
+    /** Cards rendered per shard; a shard never spans two sections. */
+    @Value("${edusync.admit-card.batch.shard-size:50}")
+    private int batchShardSize;
+
     @Override
     public AdmitCardGenerationResponseDTO generateAdmitCards(UUID examUuid) {
-        byte[] pdf = generateBatchAdmitCardsPdf(examUuid, null);
-        return buildGenerationResponse(examUuid, null, pdf.length);
+        long pdfBytes = renderedSize(loadBatch(examUuid, null));
+        return buildGenerationResponse(examUuid, null, pdfBytes);
     }
 
     @Override
     public AdmitCardGenerationResponseDTO generateAdmitCardsForSchedule(UUID examUuid, Long scheduleId) {
-        byte[] pdf = generateBatchAdmitCardsPdf(examUuid, scheduleId);
-        return buildGenerationResponse(examUuid, scheduleId, pdf.length);
+        long pdfBytes = renderedSize(loadBatch(examUuid, scheduleId));
+        return buildGenerationResponse(examUuid, scheduleId, pdfBytes);
     }
 
     @Override
-    public byte[] generateBatchAdmitCardsPdf(UUID examUuid, Long scheduleId) {
+    public StreamingResponseBody streamBatchAdmitCards(UUID examUuid, Long scheduleId, AdmitCardBatchFormat format) {
+        AdmitCardBatch batch = loadBatch(examUuid, scheduleId);
+        if (format == AdmitCardBatchFormat.ZIP) {
+            return outputStream -> writeZip(batch, outputStream);
+        }
+        return outputStream -> writeMergedPdf(batch, outputStream);
+    }
+
+    /**
+     * Everything needed to render a batch, loaded up front so that data errors are reported
+     * before the response starts streaming. Cards are grouped by class section, in print order.
+     */
+    private record AdmitCardBatch(Long examId, Map<String, Object> templateData,
+                                  Map<String, List<AdmitCardData>> cardsBySection) {}
+
+    private AdmitCardBatch loadBatch(UUID examUuid, Long scheduleId) {
         Exam exam = examRepository.findByUuid(examUuid)
                 .orElseThrow(() -> new EdusyncException("EM-404", "Exam not found", HttpStatus.NOT_FOUND));
 
@@ -141,7 +175,6 @@ public class AdmitCardServiceImpl implements AdmitCardService {
         // Build a map: studentId → class/section name from the first schedule they appear in
         Map<Long, String[]> studentClassInfo = new HashMap<>();
 
-        Map<Long, AdmitCardData> admitCardDataByStudentId = new LinkedHashMap<>();
         // Intermediate map to collect schedules before building immutable AdmitCardData
         Map<Long, List<ScheduleDTO>> schedulesPerStudent = new LinkedHashMap<>();
 
@@ -173,10 +206,11 @@ public class AdmitCardServiceImpl implements AdmitCardService {
             }
         }
 
-        // Build final card data with all per-card metadata
+        // Build final card data with all per-card metadata; QR codes are added by the shard that renders the card
         String examTypeName = exam.getExamType() != null ? exam.getExamType().name() : "";
         String issueDateStr = LocalDateTime.now().format(ISSUE_DATE_TIME_FMT);
 
+        List<AdmitCardData> cards = new ArrayList<>(schedulesPerStudent.size());
         for (Map.Entry<Long, List<ScheduleDTO>> entry : schedulesPerStudent.entrySet()) {
             Long studentId = entry.getKey();
             StudentRepository.AdmitCardStudentProjection studentProj = studentsById.get(studentId);
@@ -186,35 +220,30 @@ public class AdmitCardServiceImpl implements AdmitCardService {
             StudentDTO studentDTO = toStudentDTO(studentProj, classInfo[0], classInfo[1]);
 
             String admitCardNumber = "AC-" + exam.getId() + "-" + studentId;
-            String verificationCode = admitCardNumber;
-            String qrCodeBase64;
-            String qrText = admitCardNumber + "|" + studentId + "|" + exam.getId();
-            try {
-                qrCodeBase64 = pdfGenerationService.generateQrCodeBase64(qrText, 100);
-            } catch (Exception e) {
-                qrCodeBase64 = "";
-            }
-
-            admitCardDataByStudentId.put(studentId, AdmitCardData.builder()
+            cards.add(AdmitCardData.builder()
                     .student(studentDTO)
                     .schedules(entry.getValue())
                     .admitCardNumber(admitCardNumber)
-                    .qrCodeBase64(qrCodeBase64)
-                    .verificationCode(verificationCode)
+                    .verificationCode(admitCardNumber)
                     .examType(examTypeName)
                     .issueDate(issueDateStr)
                     .build());
         }
 
-        List<AdmitCardData> cards = admitCardDataByStudentId.values().stream()
-                .sorted(Comparator.comparing((AdmitCardData card) -> card.getStudent().getRollNo(), Comparator.nullsLast(Integer::compareTo))
-                        .thenComparing(card -> card.getStudent().getName(), Comparator.nullsLast(String::compareTo)))
-                .toList();
-
         if (cards.isEmpty()) {
             throw new EdusyncException("EM-400", "No admit card data could be assembled — no students matched schedules", HttpStatus.BAD_REQUEST);
         }
 
+        Map<String, List<AdmitCardData>> cardsBySection = cards.stream()
+                .sorted(Comparator.comparing((AdmitCardData card) -> card.getStudent().getClassName())
+                        .thenComparing(card -> card.getStudent().getSectionName())
+                        .thenComparing(card -> card.getStudent().getRollNo(), Comparator.nullsLast(Integer::compareTo))
+                        .thenComparing(card -> card.getStudent().getName(), Comparator.nullsLast(String::compareTo)))
+                .collect(Collectors.groupingBy(
+                        card -> card.getStudent().getClassName() + " " + card.getStudent().getSectionName(),
+                        LinkedHashMap::new,
+                        Collectors.toList()));
+
         Map<String, Object> templateData = new HashMap<>();
         populateSchoolBrandingData(templateData);
         templateData.put("examName", exam.getName());
@@ -222,9 +251,149 @@ public class AdmitCardServiceImpl implements AdmitCardService {
         templateData.put("examType", examTypeName);
         templateData.put("examSessionTitle", exam.getName() + " (" + exam.getAcademicYear() + ")");
         templateData.put("generatedAt", issueDateStr);
-        templateData.put("cards", cards);
+        // The batch template only shows per-card QR codes; an empty value skips the receipt QR default
+        templateData.put("qrCodeBase64", "");
+
+        return new AdmitCardBatch(exam.getId(), templateData, cardsBySection);
+    }
+
+    /** Renders every shard, then merges them into one PDF in section order. */
+    private void writeMergedPdf(AdmitCardBatch batch, OutputStream outputStream) {
+        List<CompletableFuture<Path>> shards = new ArrayList<>();
+        try {
+            batch.cardsBySection().values().forEach(cards -> shards.addAll(submitShards(batch, cards)));
+            pdfGenerationService.mergePdfFiles(awaitShards(shards), outputStream);
+        } finally {
+            deleteWhenDone(shards);
+        }
+    }
 
-        return pdfGenerationService.generatePdfFromHtml("em/admit-card-batch", templateData);
+    /**
+     * Writes one PDF per section into a ZIP. All shards are submitted up front; sections are
+     * written in order as their shards finish.
+     */
+    private void writeZip(AdmitCardBatch batch, OutputStream outputStream) throws IOException {
+        Map<String, List<CompletableFuture<Path>>> shardsBySection = new LinkedHashMap<>();
+        try (ZipOutputStream zip = new ZipOutputStream(outputStream)) {
+            batch.cardsBySection().forEach((section, cards) -> shardsBySection.put(section, submitShards(batch, cards)));
+
+            Set<String> entryNames = new HashSet<>();
+            for (Map.Entry<String, List<CompletableFuture<Path>>> section : shardsBySection.entrySet()) {
+                List<Path> files = awaitShards(section.getValue());
+                Path sectionPdf = files.size() == 1 ? files.get(0) : Files.createTempFile("admit-cards-section-", ".pdf");
+                try {
+                    if (files.size() > 1) {
+                        pdfGenerationService.mergePdfFiles(files, Files.newOutputStream(sectionPdf));
+                    }
+                    zip.putNextEntry(new ZipEntry(zipEntryName(section.getKey(), entryNames)));
+                    Files.copy(sectionPdf, zip);
+                    zip.closeEntry();
+                } finally {
+                    if (files.size() > 1) {
+                        deleteQuietly(sectionPdf);
+                    }
+                }
+            }
+        } finally {
+            shardsBySection.values().forEach(this::deleteWhenDone);
+        }
+    }
+
+    /** Splits one section's cards into shards of {@code batchShardSize} and submits them for rendering. */
+    private List<CompletableFuture<Path>> submitShards(AdmitCardBatch batch, List<AdmitCardData> cards) {
+        int shardSize = Math.max(1, batchShardSize);
+        List<CompletableFuture<Path>> shards = new ArrayList<>();
+        for (int from = 0; from < cards.size(); from += shardSize) {
+            List<AdmitCardData> shard = cards.subList(from, Math.min(from + shardSize, cards.size()));
+            shards.add(CompletableFuture.supplyAsync(() -> renderShard(batch, shard), admitCardPdfExecutor));
+        }
+        return shards;
+    }
+
+    /** Renders one shard of cards into a temp file. */
+    private Path renderShard(AdmitCardBatch batch, List<AdmitCardData> cards) {
+        Map<String, Object> data = new HashMap<>(batch.templateData());
+        data.put("cards", cards.stream().map(card -> withQrCode(card, batch.examId())).toList());
+
+        Path file = null;
+        try {
+            file = Files.createTempFile("admit-cards-", ".pdf");
+            try (OutputStream out = Files.newOutputStream(file)) {
+                pdfGenerationService.generatePdfFromHtml("em/admit-card-batch", data, out);
+            }
+            return file;
+        } catch (IOException e) {
+            deleteQuietly(file);
+            throw new PdfGenerationException("Failed to render admit card shard", e);
+        } catch (RuntimeException e) {
+            deleteQuietly(file);
+            throw e;
+        }
+    }
+
+    private AdmitCardData withQrCode(AdmitCardData card, Long examId) {
+        String qrCodeBase64;
+        String qrText = card.getAdmitCardNumber() + "|" + card.getStudent().getId() + "|" + examId;
+        try {
+            qrCodeBase64 = pdfGenerationService.generateQrCodeBase64(qrText, 100);
+        } catch (Exception e) {
+            qrCodeBase64 = "";
+        }
+        return card.toBuilder().qrCodeBase64(qrCodeBase64).build();
+    }
+
+    private List<Path> awaitShards(List<CompletableFuture<Path>> shards) {
+        try {
+            CompletableFuture.allOf(shards.toArray(CompletableFuture[]::new)).join();
+            return shards.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new PdfGenerationException("Failed to render admit cards", e.getCause());
+        }
+    }
+
+    /** Deletes each shard's file once it exists; covers shards still running after a failure. */
+    private void deleteWhenDone(List<CompletableFuture<Path>> shards) {
+        shards.forEach(shard -> shard.thenAccept(this::deleteQuietly));
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete temp file {}: {}", file, e.getMessage());
+        }
+    }
+
+    private String zipEntryName(String section, Set<String> usedNames) {
+        String base = "admit-cards-" + section.trim().replaceAll("[^A-Za-z0-9_-]+", "-");
+        String name = base + ".pdf";
+        for (int suffix = 2; !usedNames.add(name); suffix++) {
+            name = base + "-" + suffix + ".pdf";
+        }
+        return name;
+    }
+
+    /** Size of the merged batch PDF, rendered into a counting sink instead of memory. */
+    private long renderedSize(AdmitCardBatch batch) {
+        AtomicLong bytes = new AtomicLong();
+        writeMergedPdf(batch, new OutputStream() {
+            @Override
+            public void write(int b) {
+                bytes.incrementAndGet();
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                bytes.addAndGet(len);
+            }
+        });
+        return bytes.get();
     }
 
     @Override
@@ -303,7 +472,7 @@ public class AdmitCardServiceImpl implements AdmitCardService {
                 .build();
     }
 
-    private AdmitCardGenerationResponseDTO buildGenerationResponse(UUID examUuid, Long scheduleId, int pdfBytes) {
+    private AdmitCardGenerationResponseDTO buildGenerationResponse(UUID examUuid, Long scheduleId, long pdfBytes) {
         Exam exam = examRepository.findByUuid(examUuid)
                 .orElseThrow(() -> new EdusyncException("EM-404", "Exam not found", HttpStatus.NOT_FOUND));
         int generatedCount;
@@ -20,6 +20,7 @@ import com.project.edusync.em.model.enums.EvaluationResultStatus;
 import com.project.edusync.em.model.enums.UploadStatus;
 import com.project.edusync.em.model.repository.*;
 import com.project.edusync.em.model.service.AnswerEvaluationService;
+import com.project.edusync.em.model.service.AnswerSheetStorageService;
 import com.project.edusync.em.model.service.EvaluationAuditService;
 import com.project.edusync.em.model.service.EvaluationDraftStoreService;
 import com.project.edusync.finance.service.PdfGenerationService;
@@ -31,9 +32,6 @@ import com.project.edusync.uis.repository.StudentRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import com.cloudinary.Cloudinary;
-import com.cloudinary.utils.ObjectUtils;
-import com.project.edusync.uis.config.MediaUploadProperties;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.core.io.Resource;
@@ -44,20 +42,26 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
 import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.net.MalformedURLException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -86,6 +90,11 @@ public class AnswerEvaluationServiceImpl implements AnswerEvaluationService {
     private final EvaluationAuditService evaluationAuditService;
     private final EvaluationDraftStoreService evaluationDraftStoreService;
     private final PdfGenerationService pdfGenerationService;
+    private final AnswerSheetStorageService answerSheetStorageService;
+    private final TransactionTemplate transactionTemplate;
+
+    @jakarta.annotation.Resource(name = "answerSheetUploadExecutor")
+    private Executor answerSheetUploadExecutor;
 
     @Value("${app.evaluation.storage.private-dir:uploads-private/answer-sheets}")
     private String privateStorageDir;
@@ -102,19 +111,6 @@ public class AnswerEvaluationServiceImpl implements AnswerEvaluationService {
     @Value("${api.url:/api/v1}")
     private String apiUrl;
 
-    private Cloudinary cloudinary;
-    private final MediaUploadProperties mediaUploadProperties;
-
-    @jakarta.annotation.PostConstruct
-    private void initCloudinary() {
-        MediaUploadProperties.Cloudinary cfg = mediaUploadProperties.getCloudinary();
-        this.cloudinary = new Cloudinary(ObjectUtils.asMap(
-                "cloud_name", cfg.getCloudName(),
-                "api_key", cfg.getApiKey(),
-                "api_secret", cfg.getApiSecret()
-        ));
-    }
-
     private final Map<Long, Deque<Long>> uploadWindow = new ConcurrentHashMap<>();
     private final Map<Long, Object> draftSaveLocks = new ConcurrentHashMap<>();
 
@@ -250,131 +246,148 @@ public class AnswerEvaluationServiceImpl implements AnswerEvaluationService {
         return new PageImpl<>(content, pageable, students.getTotalElements());
     }
 
+    /**
+     * Checks access in a short read-only transaction, uploads the file from a temp copy on disk
+     * with no transaction open, then records the stored URL in a second short transaction.
+     */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     @CacheEvict(value = CacheNames.SCHEDULE_STUDENTS, allEntries = true)
     public AnswerSheetUploadResponseDTO uploadAnswerSheet(Long scheduleId, UUID studentId, MultipartFile file) {
-        Staff teacher = getCurrentTeacher();
-        ensureTeacherCanUpload(scheduleId, teacher.getId());
-        enforceUploadRateLimit(teacher.getId());
-
-        ExamSchedule schedule = getSchedule(scheduleId);
-        Student student = studentRepository.findByUuid(studentId)
-                .orElseThrow(() -> new EdusyncException("EVAL-404", "Student not found", HttpStatus.NOT_FOUND));
+        UploadTarget target = readOnlyTransaction().execute(status -> {
+            Staff teacher = getCurrentTeacher();
+            ensureTeacherCanUpload(scheduleId, teacher.getId());
+            enforceUploadRateLimit(teacher.getId());
 
-        if (schedule.getSection() != null && !Objects.equals(student.getSection().getId(), schedule.getSection().getId())) {
-            throw new EdusyncException("EVAL-400", "Student does not belong to assigned section", HttpStatus.BAD_REQUEST);
-        }
-        if (schedule.getSection() == null && !Objects.equals(student.getSection().getAcademicClass().getId(), schedule.getAcademicClass().getId())) {
-            throw new EdusyncException("EVAL-400", "Student does not belong to assigned class", HttpStatus.BAD_REQUEST);
-        }
+            ExamSchedule schedule = getSchedule(scheduleId);
+            Student student = getValidatedStudentForSchedule(studentId, schedule);
+            return new UploadTarget(teacher.getId(), schedule.getId(), student.getId());
+        });
 
         validatePdfUpload(file);
 
+        String originalName = file.getOriginalFilename();
+        String nameWithoutExtension = originalName != null && originalName.contains(".")
+            ? originalName.substring(0, originalName.lastIndexOf('.'))
+            : (originalName != null ? originalName : "file");
+
+        Path spooled = spoolToDisk(file, ".pdf");
         String fileUrl;
         try {
-            MediaUploadProperties.Cloudinary cfg = mediaUploadProperties.getCloudinary();
-            String folder = cfg.getFolder() != null ? cfg.getFolder() : "answer-sheets";
-            
-            String originalName = file.getOriginalFilename();
-            String nameWithoutExtension = originalName != null && originalName.contains(".") 
-                ? originalName.substring(0, originalName.lastIndexOf('.')) 
-                : (originalName != null ? originalName : "file");
-
-            String publicId = folder + "/" + UUID.randomUUID() + "_" + nameWithoutExtension;
-            
-            var uploadResult = cloudinary.uploader().upload(file.getBytes(), ObjectUtils.asMap(
-                    "public_id", publicId,
-                    "resource_type", "raw",
-                    "flags", "attachment" 
-            ));
-            fileUrl = (String) uploadResult.get("secure_url");
-        } catch (Exception e) {
-            log.error("Cloudinary upload failed", e);
-            throw new EdusyncException("EVAL-500", "Failed to upload answer sheet to storage", HttpStatus.INTERNAL_SERVER_ERROR, e);
-        }
-
-        AnswerSheet answerSheet = answerSheetRepository.findByExamScheduleIdAndStudentId(scheduleId, student.getId())
-                .orElseGet(AnswerSheet::new);
-        answerSheet.setExamSchedule(schedule);
-        answerSheet.setStudent(student);
-        answerSheet.setUploadedByTeacher(teacher);
-        answerSheet.setFileUrl(fileUrl);
-        answerSheet.setStatus(AnswerSheetStatus.UPLOADED);
-
-        AnswerSheet saved = answerSheetRepository.save(answerSheet);
-        Map<String, Object> metadata = new LinkedHashMap<>();
-        metadata.put("scheduleId", schedule.getId());
-        metadata.put("studentId", student.getId());
-        metadata.put("answerSheetStatus", saved.getStatus().name());
-        evaluationAuditService.record(EvaluationAuditEventType.ANSWER_SHEET_UPLOADED, teacher, null, saved, null, metadata);
-        String signedUrl = generateSignedFileUrl(saved.getId());
-        log.info("Answer sheet uploaded: answerSheetId={}, scheduleId={}, studentId={}", saved.getId(), scheduleId, student.getId());
-
-        return AnswerSheetUploadResponseDTO.builder()
-                .answerSheetId(saved.getId())
-                .fileUrl(signedUrl)
-                .status(saved.getStatus())
-                .createdAt(saved.getCreatedAt())
-                .build();
+            fileUrl = answerSheetStorageService.storePdf(spooled, UUID.randomUUID() + "_" + nameWithoutExtension);
+        } finally {
+            deleteQuietly(spooled);
+        }
+
+        return transactionTemplate.execute(status -> {
+            Staff teacher = staffRepository.getReferenceById(target.teacherId());
+            AnswerSheet answerSheet = answerSheetRepository.findByExamScheduleIdAndStudentId(scheduleId, target.studentId())
+                    .orElseGet(AnswerSheet::new);
+            answerSheet.setExamSchedule(examScheduleRepository.getReferenceById(target.scheduleId()));
+            answerSheet.setStudent(studentRepository.getReferenceById(target.studentId()));
+            answerSheet.setUploadedByTeacher(teacher);
+            answerSheet.setFileUrl(fileUrl);
+            answerSheet.setStatus(AnswerSheetStatus.UPLOADED);
+
+            AnswerSheet saved = answerSheetRepository.save(answerSheet);
+            Map<String, Object> metadata = new LinkedHashMap<>();
+            metadata.put("scheduleId", target.scheduleId());
+            metadata.put("studentId", target.studentId());
+            metadata.put("answerSheetStatus", saved.getStatus().name());
+            evaluationAuditService.record(EvaluationAuditEventType.ANSWER_SHEET_UPLOADED, teacher, null, saved, null, metadata);
+            String signedUrl = generateSignedFileUrl(saved.getId());
+            log.info("Answer sheet uploaded: answerSheetId={}, scheduleId={}, studentId={}", saved.getId(), scheduleId, target.studentId());
+
+            return AnswerSheetUploadResponseDTO.builder()
+                    .answerSheetId(saved.getId())
+                    .fileUrl(signedUrl)
+                    .status(saved.getStatus())
+                    .createdAt(saved.getCreatedAt())
+                    .build();
+        });
     }
 
+    /**
+     * Same shape as {@link #uploadAnswerSheet}: pages are uploaded in parallel on the
+     * answer-sheet upload pool with no transaction open, and the sheet and page URLs are saved
+     * together afterwards.
+     */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     @CacheEvict(value = CacheNames.SCHEDULE_STUDENTS, allEntries = true)
     public AnswerSheetImageGroupResponseDTO uploadAnswerSheetImages(Long scheduleId,
                                                                      UUID studentId,
                                                                      List<MultipartFile> files,
                                                                      List<Integer> pageNumbers) {
-        Staff teacher = getCurrentTeacher();
-        ensureTeacherCanUpload(scheduleId, teacher.getId());
-        enforceUploadRateLimit(teacher.getId());
+        UploadTarget target = readOnlyTransaction().execute(status -> {
+            Staff teacher = getCurrentTeacher();
+            ensureTeacherCanUpload(scheduleId, teacher.getId());
+            enforceUploadRateLimit(teacher.getId());
 
-        if (files == null || files.isEmpty()) {
-            throw new EdusyncException("EVAL-400", "At least one image is required", HttpStatus.BAD_REQUEST);
-        }
+            if (files == null || files.isEmpty()) {
+                throw new EdusyncException("EVAL-400", "At least one image is required", HttpStatus.BAD_REQUEST);
+            }
 
-        ExamSchedule schedule = getSchedule(scheduleId);
-        Student student = getValidatedStudentForSchedule(studentId, schedule);
-        List<Integer> resolvedPages = resolvePageNumbers(pageNumbers, files.size());
+            ExamSchedule schedule = getSchedule(scheduleId);
+            Student student = getValidatedStudentForSchedule(studentId, schedule);
+            answerSheetRepository.findByExamScheduleIdAndStudentId(scheduleId, student.getId())
+                    .ifPresent(existing -> ensureSameUploader(existing, teacher.getId()));
+            return new UploadTarget(teacher.getId(), schedule.getId(), student.getId());
+        });
 
-        AnswerSheet answerSheet = answerSheetRepository.findByExamScheduleIdAndStudentId(scheduleId, student.getId())
-                .orElseGet(AnswerSheet::new);
-        if (answerSheet.getId() != null && !Objects.equals(answerSheet.getUploadedByTeacher().getId(), teacher.getId())) {
-            throw new EdusyncException("EVAL-403", "Only the assigned uploader can update these images", HttpStatus.FORBIDDEN);
+        List<Integer> resolvedPages = resolvePageNumbers(pageNumbers, files.size());
+        for (int i = 0; i < files.size(); i++) {
+            validateImageUpload(files.get(i), resolvedPages.get(i));
         }
 
-        answerSheet.setExamSchedule(schedule);
-        answerSheet.setStudent(student);
-        answerSheet.setUploadedByTeacher(teacher);
-        answerSheet.setStatus(AnswerSheetStatus.UPLOADED);
-        AnswerSheet savedSheet = answerSheetRepository.save(answerSheet);
+        List<Path> spooled = new ArrayList<>(files.size());
+        Map<Integer, String> urlsByPage;
+        try {
+            for (MultipartFile file : files) {
+                spooled.add(spoolToDisk(file, imageSuffix(file)));
+            }
+            urlsByPage = storeImages(target, spooled, resolvedPages);
+        } finally {
+            spooled.forEach(this::deleteQuietly);
+        }
 
-        Map<Integer, AnswerSheetImage> existingByPage = answerSheetImageRepository
-                .findByAnswerSheetIdOrderByPageNumberAsc(savedSheet.getId())
-                .stream()
-                .collect(Collectors.toMap(AnswerSheetImage::getPageNumber, image -> image, (left, right) -> left, LinkedHashMap::new));
+        return transactionTemplate.execute(status -> {
+            Staff teacher = staffRepository.getReferenceById(target.teacherId());
+            AnswerSheet answerSheet = answerSheetRepository.findByExamScheduleIdAndStudentId(scheduleId, target.studentId())
+                    .orElseGet(AnswerSheet::new);
+            if (answerSheet.getId() != null) {
+                ensureSameUploader(answerSheet, target.teacherId());
+            }
 
-        List<AnswerSheetImage> toSave = new ArrayList<>();
-        for (int i = 0; i < files.size(); i++) {
-            MultipartFile file = files.get(i);
-            Integer pageNumber = resolvedPages.get(i);
-            validateImageUpload(file, pageNumber);
-            String imageUrl = uploadImageToCloudinary(file, savedSheet.getId(), pageNumber);
-
-            AnswerSheetImage image = existingByPage.getOrDefault(pageNumber, AnswerSheetImage.builder()
-                    .answerSheet(savedSheet)
-                    .pageNumber(pageNumber)
-                    .build());
-            image.setImageUrl(imageUrl);
-            toSave.add(image);
-        }
+            answerSheet.setExamSchedule(examScheduleRepository.getReferenceById(target.scheduleId()));
+            answerSheet.setStudent(studentRepository.getReferenceById(target.studentId()));
+            answerSheet.setUploadedByTeacher(teacher);
+            answerSheet.setStatus(AnswerSheetStatus.UPLOADED);
+            AnswerSheet savedSheet = answerSheetRepository.save(answerSheet);
+
+            Map<Integer, AnswerSheetImage> existingByPage = answerSheetImageRepository
+                    .findByAnswerSheetIdOrderByPageNumberAsc(savedSheet.getId())
+                    .stream()
+                    .collect(Collectors.toMap(AnswerSheetImage::getPageNumber, image -> image, (left, right) -> left, LinkedHashMap::new));
+
+            List<AnswerSheetImage> toSave = new ArrayList<>();
+            urlsByPage.forEach((pageNumber, imageUrl) -> {
+                AnswerSheetImage image = existingByPage.getOrDefault(pageNumber, AnswerSheetImage.builder()
+                        .answerSheet(savedSheet)
+                        .pageNumber(pageNumber)
+                        .build());
+                image.setImageUrl(imageUrl);
+                toSave.add(image);
+            });
 
-        answerSheetImageRepository.saveAll(toSave);
-        Map<String, Object> metadata = new LinkedHashMap<>();
-        metadata.put("scheduleId", scheduleId);
-        metadata.put("studentId", student.getId());
-        metadata.put("uploadedPages", resolvedPages.size());
-        evaluationAuditService.record(EvaluationAuditEventType.ANSWER_SHEET_UPLOADED, teacher, null, savedSheet, null, metadata);
-        return toImageGroupResponse(savedSheet);
+            answerSheetImageRepository.saveAll(toSave);
+            Map<String, Object> metadata = new LinkedHashMap<>();
+            metadata.put("scheduleId", scheduleId);
+            metadata.put("studentId", target.studentId());
+            metadata.put("uploadedPages", resolvedPages.size());
+            evaluationAuditService.record(EvaluationAuditEventType.ANSWER_SHEET_UPLOADED, teacher, null, savedSheet, null, metadata);
+            return toImageGroupResponse(savedSheet);
+        });
     }
 
     @Override
@@ -781,20 +794,13 @@ public class AnswerEvaluationServiceImpl implements AnswerEvaluationService {
     public ClassResultSummaryResponseDTO getClassResultSummary(UUID classId, UUID examId) {
         requireAdmin();
         
-        List<ExamSchedule> allSchedules = examScheduleRepository.findByExamUuid(examId);
-        List<ExamSchedule> classSchedules = allSchedules.stream()
-            .filter(es -> es.getAcademicClass().getUuid().equals(classId))
-            .collect(Collectors.toList());
-            
-        if (classSchedules.isEmpty()) {
-            throw new EdusyncException("EVAL-404", "No schedules found for class and exam", HttpStatus.NOT_FOUND);
-        }
-        
-        Long internalExamId = classSchedules.get(0).getExam().getId();
+        List<ExamSchedule> classSchedules = getClassSchedules(classId, examId);
+        ExamSchedule firstSchedule = classSchedules.get(0);
+        Long internalExamId = firstSchedule.getExam().getId();
         
         List<Object[]> counts = examScheduleRepository.countActiveStudentsPerSchedule(internalExamId);
         long totalStudents = 0;
-        List<Long> classScheduleIds = classSchedules.stream().map(ExamSchedule::getId).collect(Collectors.toList());
+        Set<Long> classScheduleIds = classSchedules.stream().map(ExamSchedule::getId).collect(Collectors.toSet());
         for (Object[] row : counts) {
             Long schedId = ((Number) row[0]).longValue();
             if (classScheduleIds.contains(schedId)) {
@@ -804,22 +810,17 @@ public class AnswerEvaluationServiceImpl implements AnswerEvaluationService {
         
         long absentStudents = studentExamStatusRepository.countAbsentStudentsByClassAndExam(classId, examId);
         
-        List<EvaluationResult> results = evaluationResultRepository.findAllWithContext().stream()
-             .filter(r -> classScheduleIds.contains(r.getAnswerSheet().getExamSchedule().getId()))
-             .collect(Collectors.toList());
-             
-        long evaluatedStudents = results.stream()
-            .filter(r -> r.getStatus() == EvaluationResultStatus.SUBMITTED || 
-                         r.getStatus() == EvaluationResultStatus.APPROVED || 
-                         r.getStatus() == EvaluationResultStatus.PUBLISHED)
-            .count();
+        Map<EvaluationResultStatus, Long> resultCounts = new EnumMap<>(EvaluationResultStatus.class);
+        evaluationResultRepository.countByStatusForExamAndClass(internalExamId, firstSchedule.getAcademicClass().getId())
+                .forEach(row -> resultCounts.put(row.getStatus(), row.getResultCount()));
+        long publishedCount = resultCounts.getOrDefault(EvaluationResultStatus.PUBLISHED, 0L);
+        long approvedCount = resultCounts.getOrDefault(EvaluationResultStatus.APPROVED, 0L);
+        long evaluatedStudents = resultCounts.getOrDefault(EvaluationResultStatus.SUBMITTED, 0L) + approvedCount + publishedCount;
             
         long pendingStudents = totalStudents - absentStudents - evaluatedStudents;
         
         String status = "INCOMPLETE";
         if (pendingStudents <= 0) {
-            long publishedCount = results.stream().filter(r -> r.getStatus() == EvaluationResultStatus.PUBLISHED).count();
-            long approvedCount = results.stream().filter(r -> r.getStatus() == EvaluationResultStatus.APPROVED).count();
             if (publishedCount == evaluatedStudents && evaluatedStudents > 0) {
                 status = "PUBLISHED";
             } else if (approvedCount + publishedCount == evaluatedStudents && evaluatedStudents > 0) {
@@ -831,9 +832,9 @@ public class AnswerEvaluationServiceImpl implements AnswerEvaluationService {
         
         return ClassResultSummaryResponseDTO.builder()
                 .classId(classId)
-                .className(classSchedules.get(0).getAcademicClass().getName())
+                .className(firstSchedule.getAcademicClass().getName())
                 .examId(examId)
-                .examName(classSchedules.get(0).getExam().getName())
+                .examName(firstSchedule.getExam().getName())
                 .totalStudents(totalStudents)
                 .evaluatedStudents(evaluatedStudents)
                 .absentStudents(absentStudents)
@@ -851,46 +852,58 @@ public class AnswerEvaluationServiceImpl implements AnswerEvaluationService {
             throw new EdusyncException("EVAL-409", "Cannot approve class yet. Still " + summary.getPendingStudents() + " students pending evaluation or absent marking.", HttpStatus.CONFLICT);
         }
         
-        List<ExamSchedule> allSchedules = examScheduleRepository.findByExamUuid(examId);
-        List<Long> classScheduleIds = allSchedules.stream()
-            .filter(es -> es.getAcademicClass().getUuid().equals(classId))
-            .map(ExamSchedule::getId)
-            .collect(Collectors.toList());
-            
-        List<EvaluationResult> results = evaluationResultRepository.findAllWithContext().stream()
-             .filter(r -> classScheduleIds.contains(r.getAnswerSheet().getExamSchedule().getId()))
-             .filter(r -> r.getStatus() == EvaluationResultStatus.SUBMITTED)
-             .collect(Collectors.toList());
-             
+        ExamSchedule schedule = getClassSchedules(classId, examId).get(0);
         User currentUser = authUtil.getCurrentUser();
-        for (EvaluationResult result : results) {
-            result.setStatus(EvaluationResultStatus.APPROVED);
-            result.setApprovedAt(LocalDateTime.now());
-            result.setApprovedBy(currentUser);
-        }
-        evaluationResultRepository.saveAll(results);
-        return results.size();
+        return evaluationResultRepository.approveForExamAndClass(
+                schedule.getExam().getId(),
+                schedule.getAcademicClass().getId(),
+                EvaluationResultStatus.SUBMITTED,
+                EvaluationResultStatus.APPROVED,
+                currentUser,
+                currentUser.getUsername(),
+                LocalDateTime.now());
     }
 
     @Override
     @Transactional
     public int publishClassResults(UUID classId, UUID examId) {
         requireAdmin();
-        List<ExamSchedule> allSchedules = examScheduleRepository.findByExamUuid(examId);
-        List<Long> classScheduleIds = allSchedules.stream()
-            .filter(es -> es.getAcademicClass().getUuid().equals(classId))
-            .map(ExamSchedule::getId)
-            .collect(Collectors.toList());
-            
-        List<EvaluationResult> results = evaluationResultRepository.findAllWithContext().stream()
-             .filter(r -> classScheduleIds.contains(r.getAnswerSheet().getExamSchedule().getId()))
-             .filter(r -> r.getStatus() == EvaluationResultStatus.APPROVED)
-             .collect(Collectors.toList());
-             
-        if (results.isEmpty()) return 0;
-        
-        List<Long> resultIds = results.stream().map(EvaluationResult::getId).collect(Collectors.toList());
-        return publishResultsBulk(resultIds);
+        ExamSchedule schedule = getClassSchedules(classId, examId).get(0);
+        List<EvaluationResultRepository.ResultSheetIdProjection> approved = evaluationResultRepository.findIdsForExamAndClassByStatus(
+                schedule.getExam().getId(), schedule.getAcademicClass().getId(), EvaluationResultStatus.APPROVED);
+        if (approved.isEmpty()) return 0;
+
+        List<Long> resultIds = approved.stream().map(EvaluationResultRepository.ResultSheetIdProjection::getResultId).toList();
+        List<Long> answerSheetIds = approved.stream().map(EvaluationResultRepository.ResultSheetIdProjection::getAnswerSheetId).toList();
+        LocalDateTime now = LocalDateTime.now();
+        User currentUser = authUtil.getCurrentUser();
+
+        int published = evaluationResultRepository.publishByIds(resultIds, EvaluationResultStatus.APPROVED,
+                EvaluationResultStatus.PUBLISHED, currentUser.getUsername(), now);
+        evaluationResultRepository.assignMissingApprover(resultIds, currentUser);
+        answerSheetRepository.updateStatusByIds(answerSheetIds, AnswerSheetStatus.FINAL, currentUser.getUsername(), now);
+
+        for (EvaluationResultRepository.ResultSheetIdProjection row : approved) {
+            evaluationDraftStoreService.deleteDraft(row.getAnswerSheetId());
+            Map<String, Object> metadata = new LinkedHashMap<>();
+            metadata.put("resultId", row.getResultId());
+            metadata.put("status", EvaluationResultStatus.PUBLISHED.name());
+            metadata.put("publishedAt", now.toString());
+            metadata.put("bulk", true);
+            evaluationAuditService.record(EvaluationAuditEventType.MARKS_PUBLISHED, null, null,
+                    answerSheetRepository.getReferenceById(row.getAnswerSheetId()),
+                    evaluationResultRepository.getReferenceById(row.getResultId()),
+                    metadata);
+        }
+        return published;
+    }
+
+    private List<ExamSchedule> getClassSchedules(UUID classId, UUID examId) {
+        List<ExamSchedule> classSchedules = examScheduleRepository.findByExamUuidAndAcademicClassUuid(examId, classId);
+        if (classSchedules.isEmpty()) {
+            throw new EdusyncException("EVAL-404", "No schedules found for class and exam", HttpStatus.NOT_FOUND);
+        }
+        return classSchedules;
     }
 
     @Override
@@ -1061,8 +1074,8 @@ public class AnswerEvaluationServiceImpl implements AnswerEvaluationService {
             throw new EdusyncException("EVAL-400", "Only PDF uploads are allowed", HttpStatus.BAD_REQUEST);
         }
 
-        try {
-            byte[] header = file.getBytes();
+        try (InputStream in = file.getInputStream()) {
+            byte[] header = in.readNBytes(PDF_MAGIC.length());
             if (header.length < 5) {
                 throw new EdusyncException("EVAL-400", "Invalid PDF file", HttpStatus.BAD_REQUEST);
             }
@@ -1098,20 +1111,70 @@ public class AnswerEvaluationServiceImpl implements AnswerEvaluationService {
         }
     }
 
-    private String uploadImageToCloudinary(MultipartFile file, Long answerSheetId, Integer pageNumber) {
+    /** Identifies the sheet being uploaded, checked in the first transaction and reused in the last. */
+    private record UploadTarget(Long teacherId, Long scheduleId, Long studentId) {}
+
+    private TransactionTemplate readOnlyTransaction() {
+        TransactionTemplate readOnly = new TransactionTemplate(Objects.requireNonNull(transactionTemplate.getTransactionManager()));
+        readOnly.setReadOnly(true);
+        return readOnly;
+    }
+
+    private void ensureSameUploader(AnswerSheet answerSheet, Long teacherId) {
+        if (!Objects.equals(answerSheet.getUploadedByTeacher().getId(), teacherId)) {
+            throw new EdusyncException("EVAL-403", "Only the assigned uploader can update these images", HttpStatus.FORBIDDEN);
+        }
+    }
+
+    /** Uploads all pages in parallel and returns the stored URL of each page, in request order. */
+    private Map<Integer, String> storeImages(UploadTarget target, List<Path> files, List<Integer> pageNumbers) {
+        Map<Integer, CompletableFuture<String>> uploads = new LinkedHashMap<>();
+        for (int i = 0; i < files.size(); i++) {
+            Path file = files.get(i);
+            Integer pageNumber = pageNumbers.get(i);
+            String key = "images/" + target.scheduleId() + "/" + target.studentId() + "/page-" + pageNumber + "-" + UUID.randomUUID();
+            uploads.put(pageNumber, CompletableFuture.supplyAsync(
+                    () -> answerSheetStorageService.storeImage(file, key), answerSheetUploadExecutor));
+        }
         try {
-            MediaUploadProperties.Cloudinary cfg = mediaUploadProperties.getCloudinary();
-            String folder = cfg.getFolder() != null ? cfg.getFolder() : "answer-sheets";
-            String publicId = folder + "/images/" + answerSheetId + "/page-" + pageNumber + "-" + UUID.randomUUID();
-            Map<?, ?> uploadResult = cloudinary.uploader().upload(file.getBytes(), ObjectUtils.asMap(
-                    "public_id", publicId,
-                    "resource_type", "image",
-                    "overwrite", true
-            ));
-            return (String) uploadResult.get("secure_url");
-        } catch (Exception e) {
-            log.error("Cloudinary image upload failed for answerSheetId={}, page={}", answerSheetId, pageNumber, e);
-            throw new EdusyncException("EVAL-500", "Failed to upload answer sheet image", HttpStatus.INTERNAL_SERVER_ERROR, e);
+            CompletableFuture.allOf(uploads.values().toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new EdusyncException("EVAL-500", "Failed to upload answer sheet image", HttpStatus.INTERNAL_SERVER_ERROR, e.getCause());
+        }
+
+        Map<Integer, String> urlsByPage = new LinkedHashMap<>();
+        uploads.forEach((pageNumber, upload) -> urlsByPage.put(pageNumber, upload.join()));
+        return urlsByPage;
+    }
+
+    /** Copies the upload to a temp file so that storage backends stream it from disk. */
+    private Path spoolToDisk(MultipartFile file, String suffix) {
+        Path spooled = null;
+        try {
+            spooled = Files.createTempFile("answer-sheet-", suffix);
+            file.transferTo(spooled);
+            return spooled;
+        } catch (IOException e) {
+            deleteQuietly(spooled);
+            throw new EdusyncException("EVAL-500", "Failed to buffer uploaded file", HttpStatus.INTERNAL_SERVER_ERROR, e);
+        }
+    }
+
+    private String imageSuffix(MultipartFile file) {
+        return "image/png".equalsIgnoreCase(file.getContentType()) ? ".png" : ".jpg";
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete temp upload {}: {}", file, e.getMessage());
         }
     }
 
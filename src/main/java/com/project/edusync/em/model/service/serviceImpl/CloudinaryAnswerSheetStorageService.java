@@ -0,0 +1,72 @@
+package com.project.edusync.em.model.service.serviceImpl;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.utils.ObjectUtils;
+import com.project.edusync.common.exception.emException.EdusyncException;
+import com.project.edusync.em.model.service.AnswerSheetStorageService;
+import com.project.edusync.uis.config.MediaUploadProperties;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.evaluation.storage", name = "backend", havingValue = "cloudinary", matchIfMissing = true)
+public class CloudinaryAnswerSheetStorageService implements AnswerSheetStorageService {
+
+    private final MediaUploadProperties mediaUploadProperties;
+
+    private Cloudinary cloudinary;
+
+    @PostConstruct
+    void initCloudinary() {
+        MediaUploadProperties.Cloudinary cfg = mediaUploadProperties.getCloudinary();
+        this.cloudinary = new Cloudinary(ObjectUtils.asMap(
+                "cloud_name", cfg.getCloudName(),
+                "api_key", cfg.getApiKey(),
+                "api_secret", cfg.getApiSecret()
+        ));
+    }
+
+    @Override
+    public String storePdf(Path file, String key) {
+        try {
+            Map<?, ?> uploadResult = cloudinary.uploader().upload(file.toFile(), ObjectUtils.asMap(
+                    "public_id", publicId(key),
+                    "resource_type", "raw",
+                    "flags", "attachment"
+            ));
+            return (String) uploadResult.get("secure_url");
+        } catch (Exception e) {
+            log.error("Cloudinary upload failed", e);
+            throw new EdusyncException("EVAL-500", "Failed to upload answer sheet to storage", HttpStatus.INTERNAL_SERVER_ERROR, e);
+        }
+    }
+
+    @Override
+    public String storeImage(Path file, String key) {
+        try {
+            Map<?, ?> uploadResult = cloudinary.uploader().upload(file.toFile(), ObjectUtils.asMap(
+                    "public_id", publicId(key),
+                    "resource_type", "image",
+                    "overwrite", true
+            ));
+            return (String) uploadResult.get("secure_url");
+        } catch (Exception e) {
+            log.error("Cloudinary image upload failed for key={}", key, e);
+            throw new EdusyncException("EVAL-500", "Failed to upload answer sheet image", HttpStatus.INTERNAL_SERVER_ERROR, e);
+        }
+    }
+
+    private String publicId(String key) {
+        String folder = mediaUploadProperties.getCloudinary().getFolder();
+        return (folder != null ? folder : "answer-sheets") + "/" + key;
+    }
+}
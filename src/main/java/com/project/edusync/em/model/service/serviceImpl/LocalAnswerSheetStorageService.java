@@ -0,0 +1,60 @@
+package com.project.edusync.em.model.service.serviceImpl;
+
+import com.project.edusync.common.exception.emException.EdusyncException;
+import com.project.edusync.em.model.service.AnswerSheetStorageService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Keeps answer sheets in the private storage directory and returns paths relative to it, which
+ * the signed-download endpoint already resolves. Meant for local development and for load-testing
+ * the upload pipeline without a remote service; page images are not served to browsers.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "app.evaluation.storage", name = "backend", havingValue = "local")
+public class LocalAnswerSheetStorageService implements AnswerSheetStorageService {
+
+    private final Path root;
+
+    public LocalAnswerSheetStorageService(
+            @Value("${app.evaluation.storage.private-dir:uploads-private/answer-sheets}") String privateStorageDir) {
+        this.root = Paths.get(privateStorageDir).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public String storePdf(Path file, String key) {
+        return store(file, key + ".pdf");
+    }
+
+    @Override
+    public String storeImage(Path file, String key) {
+        String fileName = file.getFileName().toString();
+        int dot = fileName.lastIndexOf('.');
+        return store(file, dot >= 0 ? key + fileName.substring(dot) : key);
+    }
+
+    private String store(Path file, String relativePath) {
+        Path target = root.resolve(relativePath).normalize();
+        if (!target.startsWith(root)) {
+            throw new EdusyncException("EVAL-400", "Invalid storage key", HttpStatus.BAD_REQUEST);
+        }
+        try {
+            Files.createDirectories(target.getParent());
+            Files.copy(file, target, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.error("Local answer sheet storage failed for {}", target, e);
+            throw new EdusyncException("EVAL-500", "Failed to store answer sheet file", HttpStatus.INTERNAL_SERVER_ERROR, e);
+        }
+        return root.relativize(target).toString().replace('\\', '/');
+    }
+}
@@ -1,6 +1,9 @@
 package com.project.edusync.enrollment.controller;
 
+import com.project.edusync.enrollment.service.BulkImportJobService;
 import com.project.edusync.enrollment.service.BulkImportService;
+import com.project.edusync.enrollment.service.ImportErrorReportStore;
+import com.project.edusync.enrollment.model.dto.BulkImportJobDTO;
 import com.project.edusync.enrollment.model.dto.BulkImportReportDTO;
 import com.project.edusync.enrollment.model.dto.BulkRoomImportReportDTO;
 import io.swagger.v3.oas.annotations.Operation;
@@ -11,6 +14,10 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -18,6 +25,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.UUID;
 
 /**
  * Controller to handle bulk user registration via CSV upload.
@@ -37,6 +45,16 @@ import java.io.IOException;
  * If {@code X-Session-Id} is omitted, the import still runs — just without SSE
  * updates.
  * </p>
+ * <p>
+ * The {@code /jobs/**} variants run the same imports as background jobs: they
+ * return {@code 202 Accepted} with a job id immediately, and
+ * {@code GET /jobs/{jobId}} reports persisted progress from any node.
+ * </p>
+ * <p>
+ * Reports carry only the first failed rows inline; when any row failed,
+ * {@code errorReportId} points to the full error CSV at
+ * {@code GET /errors/{errorReportId}}.
+ * </p>
  */
 @RestController
 @AllArgsConstructor
@@ -46,6 +64,8 @@ import java.io.IOException;
 public class BulkImportController {
 
         private final BulkImportService bulkImportService;
+        private final BulkImportJobService bulkImportJobService;
+        private final ImportErrorReportStore importErrorReportStore;
 
         private boolean isLikelyCsv(MultipartFile file) {
                 String contentType = file.getContentType() != null ? file.getContentType().toLowerCase() : "";
@@ -205,4 +225,100 @@ public class BulkImportController {
                                                         java.util.List.of("Error processing file: " + e.getMessage())));
                 }
         }
+
+        @PostMapping(value = "/jobs/{userType}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+        @Operation(summary = "Queue a students/staff import as a background job", description = "Spools the CSV, queues the import on the bulk-import executor and returns the job immediately. "
+                        +
+                        "If X-Session-Id is a UUID it becomes the job id, so an already-open SSE stream keeps receiving row events.", security = {
+                                        @SecurityRequirement(name = "bearerAuth") })
+        @ApiResponses({
+                        @ApiResponse(responseCode = "202", description = "Import job queued"),
+                        @ApiResponse(responseCode = "400", description = "Invalid CSV or unsupported userType"),
+                        @ApiResponse(responseCode = "503", description = "Import queue is full")
+        })
+        public ResponseEntity<BulkImportJobDTO> submitImportJob(
+                        @Parameter(description = "Target import type: students | staff", required = true) @PathVariable String userType,
+                        @Parameter(description = "CSV file containing import rows", required = true) @RequestParam("file") MultipartFile file,
+                        @Parameter(description = "Optional SSE session ID (UUID) to use as the job id") @RequestHeader(value = "X-Session-Id", required = false) String sessionId)
+                        throws IOException {
+
+                log.info("[BulkImportController] Job submission for userType='{}', file='{}', sessionId='{}'",
+                                userType, file.getOriginalFilename(), sessionId);
+                if (file.isEmpty() || !isLikelyCsv(file)) {
+                        return ResponseEntity.badRequest().build();
+                }
+                return ResponseEntity.status(HttpStatus.ACCEPTED)
+                                .body(bulkImportJobService.submitUserImport(file, userType, sessionId));
+        }
+
+        @PostMapping(value = "/jobs/students-with-guardians", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+        @Operation(summary = "Queue a students-with-guardians import as a background job", security = {
+                        @SecurityRequirement(name = "bearerAuth") })
+        @ApiResponses({
+                        @ApiResponse(responseCode = "202", description = "Import job queued"),
+                        @ApiResponse(responseCode = "400", description = "Missing or invalid CSV files"),
+                        @ApiResponse(responseCode = "503", description = "Import queue is full")
+        })
+        public ResponseEntity<BulkImportJobDTO> submitStudentsWithGuardiansJob(
+                        @Parameter(description = "students.csv file", required = true) @RequestParam("studentsFile") MultipartFile studentsFile,
+                        @Parameter(description = "guardians.csv file", required = true) @RequestParam("guardiansFile") MultipartFile guardiansFile,
+                        @Parameter(description = "Optional SSE session ID (UUID) to use as the job id") @RequestHeader(value = "X-Session-Id", required = false) String sessionId)
+                        throws IOException {
+
+                if (studentsFile.isEmpty() || guardiansFile.isEmpty()
+                                || !isLikelyCsv(studentsFile) || !isLikelyCsv(guardiansFile)) {
+                        return ResponseEntity.badRequest().build();
+                }
+                return ResponseEntity.status(HttpStatus.ACCEPTED)
+                                .body(bulkImportJobService.submitStudentsWithGuardiansImport(studentsFile,
+                                                guardiansFile, sessionId));
+        }
+
+        @PostMapping(value = "/jobs/rooms", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+        @PreAuthorize("hasAnyAuthority('ROLE_SCHOOL_ADMIN', 'ROLE_SUPER_ADMIN')")
+        @Operation(summary = "Queue a rooms import as a background job", security = {
+                        @SecurityRequirement(name = "bearerAuth") })
+        @ApiResponses({
+                        @ApiResponse(responseCode = "202", description = "Import job queued"),
+                        @ApiResponse(responseCode = "400", description = "Invalid CSV"),
+                        @ApiResponse(responseCode = "403", description = "Forbidden - requires SCHOOL_ADMIN or SUPER_ADMIN"),
+                        @ApiResponse(responseCode = "503", description = "Import queue is full")
+        })
+        public ResponseEntity<BulkImportJobDTO> submitRoomImportJob(
+                        @Parameter(description = "Rooms CSV file", required = true) @RequestParam("file") MultipartFile file,
+                        @Parameter(description = "Optional SSE session ID (UUID) to use as the job id") @RequestHeader(value = "X-Session-Id", required = false) String sessionId)
+                        throws IOException {
+
+                if (file.isEmpty() || !isLikelyCsv(file)) {
+                        return ResponseEntity.badRequest().build();
+                }
+                return ResponseEntity.status(HttpStatus.ACCEPTED)
+                                .body(bulkImportJobService.submitRoomImport(file, sessionId));
+        }
+
+        @GetMapping("/jobs/{jobId}")
+        @Operation(summary = "Get bulk import job status", description = "Returns the persisted counters, errors and status of a background import job. Served by any node.")
+        @ApiResponses({
+                        @ApiResponse(responseCode = "200", description = "Job found"),
+                        @ApiResponse(responseCode = "404", description = "Unknown job id")
+        })
+        public ResponseEntity<BulkImportJobDTO> getImportJob(
+                        @Parameter(description = "Job id returned on submission", required = true) @PathVariable UUID jobId) {
+                return ResponseEntity.ok(bulkImportJobService.getJob(jobId));
+        }
+
+        @GetMapping("/errors/{reportId}")
+        @Operation(summary = "Download the error CSV of an import", description = "Returns every failed row (rowNumber, identifier, errorMessage) of the import that produced the given errorReportId.")
+        @ApiResponses({
+                        @ApiResponse(responseCode = "200", description = "Error CSV"),
+                        @ApiResponse(responseCode = "404", description = "Unknown or expired report id")
+        })
+        public ResponseEntity<Resource> downloadErrorReport(
+                        @Parameter(description = "errorReportId from the import report or job", required = true) @PathVariable String reportId) {
+                HttpHeaders headers = new HttpHeaders();
+                headers.setContentType(MediaType.parseMediaType("text/csv"));
+                headers.setContentDispositionFormData("attachment", "import-errors-" + reportId + ".csv");
+                return new ResponseEntity<>(new FileSystemResource(importErrorReportStore.resolve(reportId)), headers,
+                                HttpStatus.OK);
+        }
 }
@@ -0,0 +1,38 @@
+package com.project.edusync.enrollment.model.dto;
+
+import com.project.edusync.enrollment.model.enums.BulkImportJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Snapshot of a background bulk-import job, returned on submission and by the
+ * status polling endpoint.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkImportJobDTO {
+
+    /** Job id; also usable as the SSE session id on {@code /bulk-import/stream/{jobId}}. */
+    private UUID jobId;
+    private String importType;
+    private BulkImportJobStatus status;
+    private String fileName;
+    private int totalRows;
+    private int successCount;
+    private int failureCount;
+    private List<String> errorMessages;
+    private String failureReason;
+    private String errorReportId;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private LocalDateTime updatedAt;
+}
@@ -18,6 +18,8 @@ public class BulkImportReportDTO {
     private int successCount;
     private int failureCount;
     private List<String> errorMessages = new ArrayList<>();
+    // Id of the downloadable error CSV (GET /bulk-import/errors/{id}); null when no row failed
+    private String errorReportId;
 
     // Constructor for simple failure cases
     public BulkImportReportDTO(String status, String errorMessage) {
@@ -0,0 +1,40 @@
+package com.project.edusync.enrollment.model.dto;
+
+import com.project.edusync.adm.model.entity.Section;
+import com.project.edusync.uis.model.enums.Gender;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * A fully parsed and field-validated row from students.csv.
+ *
+ * <p>Rows are parsed one at a time but written in chunks, so the parsed values
+ * are held here until the chunk-level duplicate checks and the batch insert run.</p>
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class StudentImportRow {
+
+    /** Row number in the CSV (header = 1, first data row = 2). */
+    private int rowNumber;
+
+    /** Human-readable identifier for SSE events (email or row-N). */
+    private String identifier;
+
+    private String firstName;
+    private String lastName;
+    private String middleName;
+    private String email;
+    private LocalDate dateOfBirth;
+    private Integer rollNo;
+    private Gender gender;
+    private String enrollmentNumber;
+    private LocalDate enrollmentDate;
+    private Section section;
+}
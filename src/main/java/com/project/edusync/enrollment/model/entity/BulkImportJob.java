@@ -0,0 +1,101 @@
+package com.project.edusync.enrollment.model.entity;
+
+import com.project.edusync.enrollment.model.enums.BulkImportJobStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Persistent state of one background bulk-import job.
+ *
+ * <p>The id doubles as the SSE session id, so a client that subscribed to
+ * {@code /bulk-import/stream/{id}} on the executing node still receives live
+ * row events, while any node can answer a status poll from this row.</p>
+ */
+@Entity
+@Table(name = "bulk_import_jobs")
+@Getter
+@Setter
+@NoArgsConstructor
+public class BulkImportJob {
+
+    @Id
+    private UUID id;
+
+    /** students | staff | students-with-guardians | rooms */
+    @Column(name = "import_type", nullable = false, length = 40)
+    private String importType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private BulkImportJobStatus status;
+
+    @Column(name = "file_name")
+    private String fileName;
+
+    @Column(name = "total_rows", nullable = false)
+    private int totalRows;
+
+    @Column(name = "success_count", nullable = false)
+    private int successCount;
+
+    @Column(name = "failure_count", nullable = false)
+    private int failureCount;
+
+    /** Row-level errors, capped at edusync.bulk-import.jobs.max-stored-errors. */
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "error_messages", columnDefinition = "jsonb")
+    private List<String> errorMessages = new ArrayList<>();
+
+    /** Fatal error that aborted the job, if any. */
+    @Column(name = "failure_reason", columnDefinition = "TEXT")
+    private String failureReason;
+
+    /** Id of the full error CSV served by {@code GET /bulk-import/errors/{id}}, if any row failed. */
+    @Column(name = "error_report_id", length = 36)
+    private String errorReportId;
+
+    @Column(name = "created_by", length = 100)
+    private String createdBy;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        LocalDateTime now = LocalDateTime.now();
+        if (createdAt == null) {
+            createdAt = now;
+        }
+        updatedAt = now;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,12 @@
+package com.project.edusync.enrollment.model.enums;
+
+public enum BulkImportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED;
+
+    public boolean isTerminal() {
+        return this == COMPLETED || this == FAILED;
+    }
+}
@@ -0,0 +1,42 @@
+package com.project.edusync.enrollment.repository;
+
+import com.project.edusync.enrollment.model.entity.BulkImportJob;
+import com.project.edusync.enrollment.model.enums.BulkImportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.UUID;
+
+public interface BulkImportJobRepository extends JpaRepository<BulkImportJob, UUID> {
+
+    /**
+     * Fails jobs whose owning node stopped heartbeating (crash, restart, redeploy).
+     * Their counters and errors up to the last flush are kept.
+     */
+    @Modifying
+    @Query("""
+            UPDATE BulkImportJob j
+            SET j.status = com.project.edusync.enrollment.model.enums.BulkImportJobStatus.FAILED,
+                j.failureReason = :reason,
+                j.finishedAt = :now,
+                j.updatedAt = :now
+            WHERE j.status IN :activeStatuses
+              AND j.updatedAt < :staleBefore
+            """)
+    int failStaleJobs(@Param("activeStatuses") Collection<BulkImportJobStatus> activeStatuses,
+                      @Param("staleBefore") LocalDateTime staleBefore,
+                      @Param("reason") String reason,
+                      @Param("now") LocalDateTime now);
+
+    /**
+     * Heartbeat for jobs owned by the calling node, so they are not swept as stale
+     * while queued or between progress flushes.
+     */
+    @Modifying
+    @Query("UPDATE BulkImportJob j SET j.updatedAt = :now WHERE j.id IN :ids")
+    int touch(@Param("ids") Collection<UUID> ids, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,37 @@
+package com.project.edusync.enrollment.service;
+
+import com.project.edusync.enrollment.model.dto.BulkImportJobDTO;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Runs bulk imports as background jobs on a bounded executor and persists their
+ * progress, so the upload request returns immediately and any node can report status.
+ */
+public interface BulkImportJobService {
+
+    /**
+     * Queues a students or staff import.
+     *
+     * @param file      The CSV file; spooled to disk before the request returns.
+     * @param userType  "students" or "staff".
+     * @param sessionId Optional client-generated UUID. When present it becomes the job id,
+     *                  so a client that already subscribed to the SSE stream with it keeps
+     *                  receiving live row events.
+     * @return The queued job.
+     */
+    BulkImportJobDTO submitUserImport(MultipartFile file, String userType, String sessionId) throws IOException;
+
+    BulkImportJobDTO submitStudentsWithGuardiansImport(MultipartFile studentsFile,
+                                                       MultipartFile guardiansFile,
+                                                       String sessionId) throws IOException;
+
+    BulkImportJobDTO submitRoomImport(MultipartFile file, String sessionId) throws IOException;
+
+    /**
+     * Returns the persisted state of a job. Works on any node.
+     */
+    BulkImportJobDTO getJob(UUID jobId);
+}
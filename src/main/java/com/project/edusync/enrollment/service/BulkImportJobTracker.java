@@ -0,0 +1,183 @@
+package com.project.edusync.enrollment.service;
+
+import com.project.edusync.enrollment.model.dto.BulkImportProgressEvent;
+import com.project.edusync.enrollment.model.entity.BulkImportJob;
+import com.project.edusync.enrollment.model.enums.BulkImportJobStatus;
+import com.project.edusync.enrollment.repository.BulkImportJobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mirrors bulk-import progress into the {@code bulk_import_jobs} table.
+ *
+ * <p>The import service already emits one {@link BulkImportProgressEvent} per row for SSE.
+ * This tracker receives the same events for sessions that belong to a background job
+ * and writes the running counters and errors to the job row, throttled to at most one
+ * write per {@link #FLUSH_INTERVAL_MS}. Terminal state is always written.</p>
+ *
+ * <p>Each node heartbeats the jobs it owns; jobs whose heartbeat stops (node crash or
+ * restart) are marked FAILED by whichever node sweeps first, keeping the partial report.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BulkImportJobTracker {
+
+    private static final long FLUSH_INTERVAL_MS = 1000L;
+    private static final long STALE_AFTER_MINUTES = 10L;
+    private static final Set<BulkImportJobStatus> ACTIVE_STATUSES =
+            Set.of(BulkImportJobStatus.QUEUED, BulkImportJobStatus.RUNNING);
+
+    private final BulkImportJobRepository jobRepository;
+
+    @Value("${edusync.bulk-import.jobs.max-stored-errors:1000}")
+    private int maxStoredErrors = 1000;
+
+    /** Jobs owned by this node, keyed by job id string (== SSE session id). */
+    private final Map<String, LocalJobState> localJobs = new ConcurrentHashMap<>();
+
+    public BulkImportJob createQueued(UUID jobId, String importType, String fileName, String createdBy) {
+        BulkImportJob job = new BulkImportJob();
+        job.setId(jobId);
+        job.setImportType(importType);
+        job.setStatus(BulkImportJobStatus.QUEUED);
+        job.setFileName(fileName);
+        job.setCreatedBy(createdBy);
+        BulkImportJob saved = jobRepository.save(job);
+        localJobs.put(jobId.toString(), new LocalJobState(jobId));
+        return saved;
+    }
+
+    public void markRunning(UUID jobId) {
+        jobRepository.findById(jobId).ifPresent(job -> {
+            job.setStatus(BulkImportJobStatus.RUNNING);
+            job.setStartedAt(LocalDateTime.now());
+            jobRepository.save(job);
+        });
+    }
+
+    /**
+     * Called for every progress event the import service emits. Ignores sessions that
+     * are not background jobs owned by this node.
+     */
+    public void onEvent(String sessionId, BulkImportProgressEvent event) {
+        if (sessionId == null) {
+            return;
+        }
+        LocalJobState state = localJobs.get(sessionId);
+        if (state == null) {
+            return;
+        }
+        String eventType = event.getEventType();
+        if ("ROW_SUCCESS".equals(eventType) || "ROW_FAILURE".equals(eventType)) {
+            state.processedRows = Math.max(state.processedRows, event.getRowNumber());
+            state.successCount = event.getSuccessCount();
+            state.failureCount = event.getFailureCount();
+            if ("ROW_FAILURE".equals(eventType) && state.errors.size() < maxStoredErrors) {
+                state.errors.add(String.format("Row %d: %s", event.getRowNumber() + 1, event.getErrorMessage()));
+            }
+            long now = System.currentTimeMillis();
+            if (now - state.lastFlushMillis >= FLUSH_INTERVAL_MS) {
+                flush(state);
+                state.lastFlushMillis = now;
+            }
+        }
+    }
+
+    public void complete(UUID jobId, boolean failed, int totalRows, int successCount, int failureCount,
+                         List<String> errorMessages, String errorReportId) {
+        localJobs.remove(jobId.toString());
+        jobRepository.findById(jobId).ifPresent(job -> {
+            job.setStatus(failed ? BulkImportJobStatus.FAILED : BulkImportJobStatus.COMPLETED);
+            job.setTotalRows(totalRows);
+            job.setSuccessCount(successCount);
+            job.setFailureCount(failureCount);
+            job.setErrorMessages(capErrors(errorMessages));
+            job.setErrorReportId(errorReportId);
+            if (failed && !errorMessages.isEmpty()) {
+                job.setFailureReason(errorMessages.get(errorMessages.size() - 1));
+            }
+            job.setFinishedAt(LocalDateTime.now());
+            jobRepository.save(job);
+        });
+    }
+
+    public void fail(UUID jobId, String reason) {
+        LocalJobState state = localJobs.remove(jobId.toString());
+        jobRepository.findById(jobId).ifPresent(job -> {
+            job.setStatus(BulkImportJobStatus.FAILED);
+            job.setFailureReason(reason);
+            if (state != null) {
+                job.setTotalRows(state.processedRows);
+                job.setSuccessCount(state.successCount);
+                job.setFailureCount(state.failureCount);
+                job.setErrorMessages(new ArrayList<>(state.errors));
+            }
+            job.setFinishedAt(LocalDateTime.now());
+            jobRepository.save(job);
+        });
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    @Transactional
+    public void heartbeatAndSweep() {
+        LocalDateTime now = LocalDateTime.now();
+        if (!localJobs.isEmpty()) {
+            jobRepository.touch(localJobs.values().stream().map(s -> s.jobId).toList(), now);
+        }
+        int swept = jobRepository.failStaleJobs(ACTIVE_STATUSES, now.minusMinutes(STALE_AFTER_MINUTES),
+                "Import interrupted: the node running this job stopped before it finished.", now);
+        if (swept > 0) {
+            log.warn("Marked {} stale bulk import job(s) as FAILED", swept);
+        }
+    }
+
+    private void flush(LocalJobState state) {
+        try {
+            jobRepository.findById(state.jobId).ifPresent(job -> {
+                job.setTotalRows(state.processedRows);
+                job.setSuccessCount(state.successCount);
+                job.setFailureCount(state.failureCount);
+                job.setErrorMessages(new ArrayList<>(state.errors));
+                jobRepository.save(job);
+            });
+        } catch (Exception e) {
+            // Progress persistence must never abort the import itself.
+            log.warn("Failed to persist progress for bulk import job {}: {}", state.jobId, e.getMessage());
+        }
+    }
+
+    private List<String> capErrors(List<String> errorMessages) {
+        if (errorMessages.size() <= maxStoredErrors) {
+            return new ArrayList<>(errorMessages);
+        }
+        List<String> capped = new ArrayList<>(errorMessages.subList(0, maxStoredErrors));
+        capped.add(String.format("... %d more error(s) not stored", errorMessages.size() - maxStoredErrors));
+        return capped;
+    }
+
+    private static class LocalJobState {
+        private final UUID jobId;
+        private final List<String> errors = new ArrayList<>();
+        private int processedRows;
+        private int successCount;
+        private int failureCount;
+        private long lastFlushMillis;
+
+        private LocalJobState(UUID jobId) {
+            this.jobId = jobId;
+        }
+    }
+}
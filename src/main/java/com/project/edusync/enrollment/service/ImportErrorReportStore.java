@@ -0,0 +1,87 @@
+package com.project.edusync.enrollment.service;
+
+import com.project.edusync.common.exception.ResourceNotFoundException;
+import com.project.edusync.enrollment.util.ImportErrorReport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+/**
+ * Owns the directory where bulk-import error CSVs are written and served from.
+ *
+ * <p>Files are named {@code <reportId>.csv} and purged nightly after
+ * {@code edusync.bulk-import.error-report.retention-days}. In a multi-node deployment the
+ * directory must be on a shared volume for downloads to work from any node.</p>
+ */
+@Slf4j
+@Component
+public class ImportErrorReportStore {
+
+    private final Path directory;
+    private final int inlineLimit;
+    private final int retentionDays;
+
+    public ImportErrorReportStore(
+            @Value("${edusync.bulk-import.error-report.dir:uploads-private/bulk-import-errors}") String directory,
+            @Value("${edusync.bulk-import.error-report.inline-limit:200}") int inlineLimit,
+            @Value("${edusync.bulk-import.error-report.retention-days:7}") int retentionDays) {
+        this.directory = Paths.get(directory).toAbsolutePath().normalize();
+        this.inlineLimit = inlineLimit;
+        this.retentionDays = retentionDays;
+    }
+
+    /** Starts a new error report for one import run. The caller must close it. */
+    public ImportErrorReport open() {
+        return new ImportErrorReport(directory, inlineLimit);
+    }
+
+    /**
+     * Resolves a report id to its file.
+     *
+     * @throws ResourceNotFoundException if the id is malformed, unknown or already purged.
+     */
+    public Path resolve(String reportId) {
+        try {
+            UUID.fromString(reportId);
+        } catch (IllegalArgumentException e) {
+            throw new ResourceNotFoundException("ImportErrorReport", "id", reportId);
+        }
+        Path file = directory.resolve(reportId + ".csv");
+        if (!Files.isRegularFile(file)) {
+            throw new ResourceNotFoundException("ImportErrorReport", "id", reportId);
+        }
+        return file;
+    }
+
+    @Scheduled(cron = "0 15 3 * * ?")
+    public void purgeExpired() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        Instant cutoff = Instant.now().minus(retentionDays, ChronoUnit.DAYS);
+        int purged = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.csv")) {
+            for (Path file : files) {
+                if (Files.getLastModifiedTime(file).toInstant().isBefore(cutoff)) {
+                    Files.deleteIfExists(file);
+                    purged++;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to purge bulk import error reports in {}: {}", directory, e.getMessage());
+        }
+        if (purged > 0) {
+            log.info("Purged {} expired bulk import error report(s)", purged);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.project.edusync.enrollment.service.impl;
+
+import com.project.edusync.common.exception.ResourceNotFoundException;
+import com.project.edusync.common.exception.enrollment.BulkImportException;
+import com.project.edusync.enrollment.model.dto.BulkImportJobDTO;
+import com.project.edusync.enrollment.model.dto.BulkImportReportDTO;
+import com.project.edusync.enrollment.model.dto.BulkRoomImportReportDTO;
+import com.project.edusync.enrollment.model.entity.BulkImportJob;
+import com.project.edusync.enrollment.repository.BulkImportJobRepository;
+import com.project.edusync.enrollment.service.BulkImportJobService;
+import com.project.edusync.enrollment.service.BulkImportJobTracker;
+import com.project.edusync.enrollment.service.BulkImportService;
+import com.project.edusync.enrollment.service.SseEmitterRegistry;
+import com.project.edusync.enrollment.util.SpooledImportFile;
+import jakarta.annotation.Resource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Background runner for bulk imports.
+ *
+ * <p>Uploads are spooled to temp files on the request thread, a job row is written in
+ * QUEUED state, and the actual import runs on {@code bulkImportExecutor} through the
+ * unchanged {@link BulkImportService}. The job id is used as the SSE session id, so live
+ * events still flow through {@link SseEmitterRegistry} on the executing node while
+ * {@link BulkImportJobTracker} persists counters and errors for every other node.</p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BulkImportJobServiceImpl implements BulkImportJobService {
+
+    private static final Set<String> USER_IMPORT_TYPES = Set.of("students", "staff");
+    private static final String TYPE_STUDENTS_WITH_GUARDIANS = "students-with-guardians";
+    private static final String TYPE_ROOMS = "rooms";
+
+    private final BulkImportService bulkImportService;
+    private final BulkImportJobTracker jobTracker;
+    private final BulkImportJobRepository jobRepository;
+    private final SseEmitterRegistry sseEmitterRegistry;
+    private final AuditorAware<String> auditorAware;
+
+    @Resource(name = "bulkImportExecutor")
+    private Executor bulkImportExecutor;
+
+    @Override
+    public BulkImportJobDTO submitUserImport(MultipartFile file, String userType, String sessionId) throws IOException {
+        if (userType == null || !USER_IMPORT_TYPES.contains(userType.toLowerCase())) {
+            throw new BulkImportException("Invalid userType: " + userType, HttpStatus.BAD_REQUEST);
+        }
+        SpooledImportFile spooled = SpooledImportFile.spool(file);
+        UUID jobId = resolveJobId(sessionId);
+        BulkImportJob job = jobTracker.createQueued(jobId, userType.toLowerCase(), file.getOriginalFilename(),
+                currentAuditor());
+
+        dispatch(jobId, List.of(spooled), () -> {
+            BulkImportReportDTO report = bulkImportService.importUsers(spooled, userType, jobId.toString());
+            completeFromReport(jobId, report);
+        });
+        return toDto(job);
+    }
+
+    @Override
+    public BulkImportJobDTO submitStudentsWithGuardiansImport(MultipartFile studentsFile,
+                                                              MultipartFile guardiansFile,
+                                                              String sessionId) throws IOException {
+        SpooledImportFile spooledStudents = SpooledImportFile.spool(studentsFile);
+        SpooledImportFile spooledGuardians;
+        try {
+            spooledGuardians = SpooledImportFile.spool(guardiansFile);
+        } catch (IOException e) {
+            spooledStudents.delete();
+            throw e;
+        }
+        UUID jobId = resolveJobId(sessionId);
+        BulkImportJob job = jobTracker.createQueued(jobId, TYPE_STUDENTS_WITH_GUARDIANS,
+                studentsFile.getOriginalFilename(), currentAuditor());
+
+        dispatch(jobId, List.of(spooledStudents, spooledGuardians), () -> {
+            BulkImportReportDTO report = bulkImportService.importStudentsWithGuardians(spooledStudents,
+                    spooledGuardians, jobId.toString());
+            completeFromReport(jobId, report);
+        });
+        return toDto(job);
+    }
+
+    @Override
+    public BulkImportJobDTO submitRoomImport(MultipartFile file, String sessionId) throws IOException {
+        SpooledImportFile spooled = SpooledImportFile.spool(file);
+        UUID jobId = resolveJobId(sessionId);
+        BulkImportJob job = jobTracker.createQueued(jobId, TYPE_ROOMS, file.getOriginalFilename(), currentAuditor());
+
+        dispatch(jobId, List.of(spooled), () -> {
+            BulkRoomImportReportDTO report = bulkImportService.importRooms(spooled, jobId.toString());
+            jobTracker.complete(jobId, "FAILED".equals(report.status()) && report.totalRows() == 0,
+                    report.totalRows(), report.successCount(), report.failureCount(), report.errorMessages(), null);
+        });
+        return toDto(job);
+    }
+
+    @Override
+    public BulkImportJobDTO getJob(UUID jobId) {
+        return jobRepository.findById(jobId)
+                .map(this::toDto)
+                .orElseThrow(() -> new ResourceNotFoundException("BulkImportJob", "id", jobId));
+    }
+
+    private void dispatch(UUID jobId, List<SpooledImportFile> files, ImportTask task) {
+        try {
+            bulkImportExecutor.execute(() -> {
+                try {
+                    jobTracker.markRunning(jobId);
+                    task.run();
+                } catch (Exception e) {
+                    log.error("Bulk import job {} failed", jobId, e);
+                    jobTracker.fail(jobId, "Fatal Error: " + e.getMessage());
+                    sseEmitterRegistry.completeWithError(jobId.toString(), e);
+                } finally {
+                    files.forEach(SpooledImportFile::delete);
+                }
+            });
+            log.info("Bulk import job {} queued", jobId);
+        } catch (RejectedExecutionException e) {
+            files.forEach(SpooledImportFile::delete);
+            jobTracker.fail(jobId, "Rejected: too many imports are already queued.");
+            throw new BulkImportException("Too many imports are already running. Please retry shortly.",
+                    HttpStatus.SERVICE_UNAVAILABLE, e);
+        }
+    }
+
+    private void completeFromReport(UUID jobId, BulkImportReportDTO report) {
+        jobTracker.complete(jobId, "FAILED".equals(report.getStatus()), report.getTotalRows(),
+                report.getSuccessCount(), report.getFailureCount(), report.getErrorMessages(),
+                report.getErrorReportId());
+    }
+
+    private UUID resolveJobId(String sessionId) {
+        if (sessionId != null && !sessionId.isBlank()) {
+            try {
+                return UUID.fromString(sessionId.trim());
+            } catch (IllegalArgumentException ignored) {
+                log.warn("X-Session-Id '{}' is not a UUID; generating a new job id", sessionId);
+            }
+        }
+        return UUID.randomUUID();
+    }
+
+    private String currentAuditor() {
+        return auditorAware.getCurrentAuditor().orElse("SYSTEM");
+    }
+
+    private BulkImportJobDTO toDto(BulkImportJob job) {
+        return BulkImportJobDTO.builder()
+                .jobId(job.getId())
+                .importType(job.getImportType())
+                .status(job.getStatus())
+                .fileName(job.getFileName())
+                .totalRows(job.getTotalRows())
+                .successCount(job.getSuccessCount())
+                .failureCount(job.getFailureCount())
+                .errorMessages(job.getErrorMessages() != null ? List.copyOf(job.getErrorMessages()) : List.of())
+                .failureReason(job.getFailureReason())
+                .errorReportId(job.getErrorReportId())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .updatedAt(job.getUpdatedAt())
+                .build();
+    }
+
+    @FunctionalInterface
+    private interface ImportTask {
+        void run() throws Exception;
+    }
+}
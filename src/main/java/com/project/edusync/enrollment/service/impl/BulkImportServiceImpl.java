@@ -2,6 +2,7 @@ package com.project.edusync.enrollment.service.impl;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.opencsv.CSVReader;
+import com.opencsv.CSVWriter;
 import com.opencsv.exceptions.CsvValidationException;
 import com.project.edusync.adm.model.entity.Building;
 import com.project.edusync.adm.model.entity.Room;
@@ -14,14 +15,21 @@ import com.project.edusync.common.exception.enrollment.DataParsingException;
 import com.project.edusync.common.exception.enrollment.InvalidCsvHeaderException;
 import com.project.edusync.common.exception.enrollment.RelatedResourceNotFoundException;
 import com.project.edusync.common.exception.enrollment.ResourceDuplicateException;
+import com.project.edusync.common.service.EmailService;
 import com.project.edusync.enrollment.model.dto.BulkImportGuardianInputDTO;
 import com.project.edusync.enrollment.model.dto.BulkImportProgressEvent;
 import com.project.edusync.enrollment.model.dto.BulkImportReportDTO;
 import com.project.edusync.enrollment.model.dto.BulkRoomImportReportDTO;
+import com.project.edusync.enrollment.model.dto.StudentImportRow;
+import com.project.edusync.enrollment.service.BulkImportJobTracker;
 import com.project.edusync.enrollment.service.BulkImportService;
+import com.project.edusync.enrollment.service.ImportErrorReportStore;
 import com.project.edusync.enrollment.service.SseEmitterRegistry;
 import com.project.edusync.enrollment.util.CsvValidationHelper;
+import com.project.edusync.enrollment.util.ExternalCsvSorter;
+import com.project.edusync.enrollment.util.ImportErrorReport;
 import com.project.edusync.enrollment.util.RegisterUserByRole;
+import com.project.edusync.enrollment.util.StudentBatchWriter;
 import com.project.edusync.em.model.service.SeatAllocationService;
 import com.project.edusync.iam.model.entity.Role;
 import com.project.edusync.iam.model.entity.User;
@@ -42,6 +50,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -50,10 +59,13 @@ import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -65,16 +77,17 @@ import java.util.stream.Collectors;
 
 /**
  * Service implementation for bulk user import via CSV.
- * This implementation is **resilient** (processing one row at a time) and
+ * This implementation is **resilient** (one bad row never stops the import) and
  * **optimized** (pre-caches static data like Roles and Sections).
  *
  * It orchestrates the import by:
  * 1. Validating the CSV header structure based on userType.
  * 2. Pre-fetching and caching static data (Roles, Sections) for performance.
- * 3. Looping through the CSV file one row at a time.
- * 4. Calling a separate, transactional method for each row.
- * 5. Wrapping each row's processing in a try-catch block to ensure that
- * one bad row does not stop the entire import.
+ * 3. For students, parsing rows into chunks, checking duplicates per chunk with
+ * IN-list queries and writing each chunk in a single JDBC batch.
+ * 4. For staff, calling a separate, transactional method for each row.
+ * 5. Recording a per-row success/failure outcome and SSE event either way; failed rows
+ * are written to a downloadable error CSV rather than kept in memory.
  */
 @Service
 @Slf4j
@@ -128,6 +141,13 @@ public class BulkImportServiceImpl implements BulkImportService {
     @Value("${edusync.bulk-import.default-password:Welcome@123}")
     private String DEFAULT_PASSWORD;
 
+    /** Number of student rows parsed, duplicate-checked and inserted together. */
+    @Value("${edusync.bulk-import.chunk-size:500}")
+    private int chunkSize = 500;
+
+    @Value("${edusync.bulk-import.sort-buffer-rows:50000}")
+    private int sortBufferRows = 50000;
+
     // --- Repositories & Services (all final) ---
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
@@ -141,17 +161,24 @@ public class BulkImportServiceImpl implements BulkImportService {
     private final BuildingRepository buildingRepository;
     private final CsvValidationHelper validationHelper;
     private final RegisterUserByRole registerUserByRole;
+    private final StudentBatchWriter studentBatchWriter;
+    private final PasswordEncoder passwordEncoder;
     private final SseEmitterRegistry sseEmitterRegistry;
+    private final BulkImportJobTracker bulkImportJobTracker;
+    private final ImportErrorReportStore importErrorReportStore;
     private final ObjectMapper objectMapper;
     private final SeatAllocationService seatAllocationService;
+    private final EmailService emailService;
 
     /**
-     * Emits a progress event to the SSE emitter for the given session.
+     * Emits a progress event to the SSE emitter for the given session, and records it
+     * against the background job when the session belongs to one.
      * Silently swallows IO errors so that an SSE glitch never aborts the import.
      */
     private void emitEvent(String sessionId, BulkImportProgressEvent event) {
         if (sessionId == null)
             return;
+        bulkImportJobTracker.onEvent(sessionId, event);
         SseEmitter emitter = sseEmitterRegistry.get(sessionId);
         if (emitter == null)
             return;
@@ -186,8 +213,10 @@ public class BulkImportServiceImpl implements BulkImportService {
         BulkImportReportDTO report = new BulkImportReportDTO();
         report.setStatus("PROCESSING");
         int rowNumber = 1, successCount = 0, failureCount = 0;
+        ImportErrorReport errorReport = importErrorReportStore.open();
 
-        try (Reader reader = new InputStreamReader(file.getInputStream());
+        try (errorReport;
+                Reader reader = new InputStreamReader(file.getInputStream());
                 CSVReader csvReader = new CSVReader(reader)) {
 
             // --- HEADER VALIDATION ---
@@ -216,58 +245,58 @@ public class BulkImportServiceImpl implements BulkImportService {
             log.info("CSV Header validation passed.");
             // --- End Header Validation ---
 
-            String[] row;
-            while ((row = csvReader.readNext()) != null) {
-                rowNumber++;
-                // Extract a human-readable identifier for SSE events (email is col 3)
-                String identifier = (row.length > 3 && row[3] != null && !row[3].isBlank())
-                        ? row[3]
-                        : "row-" + rowNumber;
-                try {
-                    StudentRowProcessingResult studentResult = null;
-                    if (USER_TYPE_STUDENTS.equalsIgnoreCase(userType)) {
-                        studentResult = processStudentRow(row, roleCache, sectionCache, Collections.emptyList());
-                    } else if (USER_TYPE_STAFF.equalsIgnoreCase(userType)) {
+            if (USER_TYPE_STUDENTS.equalsIgnoreCase(userType)) {
+                ImportCounters counters = importStudentRowsInChunks(csvReader, roleCache, sectionCache,
+                        errorReport, sessionId);
+                rowNumber = counters.rowNumber;
+                successCount = counters.successCount;
+                failureCount = counters.failureCount;
+            } else {
+                String[] row;
+                while ((row = csvReader.readNext()) != null) {
+                    rowNumber++;
+                    // Extract a human-readable identifier for SSE events (email is col 3)
+                    String identifier = (row.length > 3 && row[3] != null && !row[3].isBlank())
+                            ? row[3]
+                            : "row-" + rowNumber;
+                    try {
                         routeStaffRowProcessing(row, roleCache);
-                    }
-                    successCount++;
+                        successCount++;
 
-                    // ── Emit ROW_SUCCESS ──────────────────────────────────────────
-                    emitEvent(sessionId, BulkImportProgressEvent.builder()
-                            .rowNumber(rowNumber - 1)
-                            .eventType("ROW_SUCCESS")
-                            .identifier(identifier)
-                            .userType(userType)
-                            .studentEnrollmentNumber(studentResult != null ? studentResult.getEnrollmentNumber() : null)
-                            .guardiansCreated(studentResult != null ? studentResult.getGuardiansCreatedCount() : 0)
-                            .guardiansLinked(studentResult != null ? studentResult.getGuardiansLinkedCount() : 0)
-                            .guardianUsernames(studentResult != null ? studentResult.getGuardianUsernames()
-                                    : Collections.emptyList())
-                            .successCount(successCount)
-                            .failureCount(failureCount)
-                            .build());
+                        // ── Emit ROW_SUCCESS ──────────────────────────────────────
+                        emitEvent(sessionId, BulkImportProgressEvent.builder()
+                                .rowNumber(rowNumber - 1)
+                                .eventType("ROW_SUCCESS")
+                                .identifier(identifier)
+                                .userType(userType)
+                                .guardianUsernames(Collections.emptyList())
+                                .successCount(successCount)
+                                .failureCount(failureCount)
+                                .build());
 
-                } catch (Exception e) {
-                    failureCount++;
-                    String errorMessage = e.getMessage();
-                    String error = String.format("Row %d: %s", rowNumber, errorMessage);
-                    report.getErrorMessages().add(error);
-                    log.warn("Failed to process row {}: {}", rowNumber, errorMessage);
+                    } catch (Exception e) {
+                        failureCount++;
+                        String errorMessage = e.getMessage();
+                        errorReport.record(rowNumber, identifier, errorMessage,
+                                String.format("Row %d: %s", rowNumber, errorMessage));
+                        log.warn("Failed to process row {}: {}", rowNumber, errorMessage);
 
-                    // ── Emit ROW_FAILURE ──────────────────────────────────────────
-                    emitEvent(sessionId, BulkImportProgressEvent.builder()
-                            .rowNumber(rowNumber - 1)
-                            .eventType("ROW_FAILURE")
-                            .identifier(identifier)
-                            .userType(userType)
-                            .errorMessage(errorMessage)
-                            .successCount(successCount)
-                            .failureCount(failureCount)
-                            .build());
+                        // ── Emit ROW_FAILURE ──────────────────────────────────────
+                        emitEvent(sessionId, BulkImportProgressEvent.builder()
+                                .rowNumber(rowNumber - 1)
+                                .eventType("ROW_FAILURE")
+                                .identifier(identifier)
+                                .userType(userType)
+                                .errorMessage(errorMessage)
+                                .successCount(successCount)
+                                .failureCount(failureCount)
+                                .build());
+                    }
                 }
             }
         } catch (CsvValidationException | InvalidCsvHeaderException e) {
             report.setStatus("FAILED");
+            errorReport.applyTo(report);
             report.getErrorMessages().add("Fatal Error: " + e.getMessage());
 
             // ── Emit JOB_FAILED ───────────────────────────────────────────────────
@@ -285,6 +314,7 @@ public class BulkImportServiceImpl implements BulkImportService {
         report.setTotalRows(rowNumber - 1);
         report.setSuccessCount(successCount);
         report.setFailureCount(failureCount);
+        errorReport.applyTo(report);
 
         // ── Emit JOB_COMPLETE ─────────────────────────────────────────────────────
         emitEvent(sessionId, BulkImportProgressEvent.builder()
@@ -297,6 +327,217 @@ public class BulkImportServiceImpl implements BulkImportService {
         return report;
     }
 
+    /**
+     * Set-based import of students.csv rows.
+     *
+     * <p>Rows are parsed and field-validated one at a time, buffered into chunks of
+     * {@code edusync.bulk-import.chunk-size}, and then for each chunk:</p>
+     * <ol>
+     * <li>usernames, emails and enrollment numbers are checked with one IN-list query each;</li>
+     * <li>all surviving rows are written through {@link StudentBatchWriter} in one JDBC batch;</li>
+     * <li>if the batch fails (e.g. a concurrent insert raced the duplicate check), the chunk
+     * falls back to row-by-row inserts so the offending row can be reported on its own.</li>
+     * </ol>
+     * SSE events are emitted in CSV order once the chunk outcome is known.
+     */
+    private ImportCounters importStudentRowsInChunks(CSVReader csvReader,
+            Map<String, Role> roleCache,
+            Map<String, Section> sectionCache,
+            ImportErrorReport errorReport,
+            String sessionId) throws IOException, CsvValidationException {
+        ImportCounters counters = new ImportCounters();
+        // Every imported student gets the same default password, so hash it once per import
+        // rather than paying the BCrypt cost for every row.
+        String encodedPassword = passwordEncoder.encode(DEFAULT_PASSWORD);
+        List<StudentChunkEntry> chunk = new ArrayList<>(chunkSize);
+
+        String[] row;
+        while ((row = csvReader.readNext()) != null) {
+            counters.rowNumber++;
+            String identifier = (row.length > 3 && row[3] != null && !row[3].isBlank())
+                    ? row[3]
+                    : "row-" + counters.rowNumber;
+            try {
+                chunk.add(StudentChunkEntry.parsed(
+                        parseStudentRow(row, counters.rowNumber, identifier, roleCache, sectionCache)));
+            } catch (Exception e) {
+                chunk.add(StudentChunkEntry.failed(counters.rowNumber, identifier, e.getMessage()));
+            }
+            if (chunk.size() >= chunkSize) {
+                flushStudentChunk(chunk, roleCache.get(ROLE_STUDENT), encodedPassword, counters, errorReport,
+                        sessionId);
+                chunk.clear();
+            }
+        }
+        flushStudentChunk(chunk, roleCache.get(ROLE_STUDENT), encodedPassword, counters, errorReport, sessionId);
+        return counters;
+    }
+
+    private StudentImportRow parseStudentRow(String[] row,
+            int rowNumber,
+            String identifier,
+            Map<String, Role> roleCache,
+            Map<String, Section> sectionCache) {
+        String firstName = validationHelper.validateString(row[0], "firstName");
+        String lastName = validationHelper.validateString(row[1], "lastName");
+        String middleName = row[2];
+        String email = validationHelper.validateEmail(row[3]);
+        LocalDate dob = validationHelper.parseDate(row[4], "dateOfBirth");
+        Integer rollNo = validationHelper.parseInt(row[5], "rollNo");
+        Gender gender = validationHelper.parseEnum(Gender.class, row[6], "gender");
+        String enrollmentNumber = validationHelper.validateString(row[7], "enrollmentNumber");
+        LocalDate enrollmentDate = validationHelper.parseDate(row[8], "enrollmentDate");
+        String className = validationHelper.validateString(row[9], "className");
+        String sectionName = validationHelper.validateString(row[10], "sectionName");
+
+        Section section = sectionCache.get(className + ":" + sectionName);
+        if (section == null) {
+            throw new RelatedResourceNotFoundException(
+                    "Section not found for class '" + className + "' and section '" + sectionName + "'.");
+        }
+        if (roleCache.get(ROLE_STUDENT) == null) {
+            throw new RelatedResourceNotFoundException("CRITICAL: " + ROLE_STUDENT + " not found in database.");
+        }
+
+        return StudentImportRow.builder()
+                .rowNumber(rowNumber)
+                .identifier(identifier)
+                .firstName(firstName)
+                .lastName(lastName)
+                .middleName(middleName)
+                .email(email)
+                .dateOfBirth(dob)
+                .rollNo(rollNo)
+                .gender(gender)
+                .enrollmentNumber(enrollmentNumber)
+                .enrollmentDate(enrollmentDate)
+                .section(section)
+                .build();
+    }
+
+    private void flushStudentChunk(List<StudentChunkEntry> chunk,
+            Role studentRole,
+            String encodedPassword,
+            ImportCounters counters,
+            ImportErrorReport errorReport,
+            String sessionId) throws IOException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        // 1. --- Chunk-wide duplicate checks (one query per key) ---
+        List<StudentImportRow> candidates = chunk.stream()
+                .filter(entry -> entry.row != null)
+                .map(entry -> entry.row)
+                .toList();
+        Set<String> existingUsernames = candidates.isEmpty() ? Set.of()
+                : userRepository.findUsernamesThatExist(candidates.stream()
+                        .map(StudentImportRow::getEnrollmentNumber).collect(Collectors.toSet()));
+        Set<String> existingEmails = candidates.isEmpty() ? Set.of()
+                : userRepository.findEmailsThatExist(candidates.stream()
+                        .map(StudentImportRow::getEmail).collect(Collectors.toSet()));
+        Set<String> existingEnrollments = candidates.isEmpty() ? Set.of()
+                : studentRepository.findEnrollmentNumbersThatExist(candidates.stream()
+                        .map(StudentImportRow::getEnrollmentNumber).collect(Collectors.toSet()));
+
+        Set<String> seenUsernames = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+        List<StudentImportRow> writable = new ArrayList<>();
+        for (StudentChunkEntry entry : chunk) {
+            if (entry.row == null) {
+                continue;
+            }
+            StudentImportRow candidate = entry.row;
+            String enrollmentNumber = candidate.getEnrollmentNumber();
+            if (existingUsernames.contains(enrollmentNumber) || !seenUsernames.add(enrollmentNumber)) {
+                entry.errorMessage = "User with username '" + enrollmentNumber + "' already exists.";
+            } else if (existingEmails.contains(candidate.getEmail()) || !seenEmails.add(candidate.getEmail())) {
+                entry.errorMessage = "User with email '" + candidate.getEmail() + "' already exists.";
+            } else if (existingEnrollments.contains(enrollmentNumber)) {
+                entry.errorMessage = "Student with enrollment number '" + enrollmentNumber + "' already exists.";
+            } else {
+                writable.add(candidate);
+            }
+        }
+
+        // 2. --- One JDBC batch for the whole chunk, row-by-row fallback on failure ---
+        boolean batchWritten = false;
+        try {
+            studentBatchWriter.writeStudents(writable, encodedPassword, studentRole);
+            batchWritten = true;
+        } catch (Exception batchFailure) {
+            log.warn("Batch insert failed for {} student row(s), retrying row by row: {}", writable.size(),
+                    batchFailure.getMessage());
+            for (StudentChunkEntry entry : chunk) {
+                if (entry.row == null || entry.errorMessage != null) {
+                    continue;
+                }
+                StudentImportRow candidate = entry.row;
+                try {
+                    registerUserByRole.RegisterStudent(
+                            candidate.getEmail(), candidate.getEnrollmentNumber(), DEFAULT_PASSWORD, studentRole,
+                            candidate.getFirstName(), candidate.getLastName(), candidate.getMiddleName(),
+                            candidate.getDateOfBirth(), candidate.getGender(), candidate.getEnrollmentDate(),
+                            candidate.getSection(), candidate.getRollNo());
+                } catch (Exception rowFailure) {
+                    entry.errorMessage = rowFailure.getMessage();
+                }
+            }
+        }
+
+        // Rows written one by one queue their own welcome email in RegisterUserByRole
+        if (batchWritten) {
+            queueWelcomeEmails(writable);
+        }
+
+        // 3. --- Report per-row outcomes in CSV order ---
+        for (StudentChunkEntry entry : chunk) {
+            if (entry.errorMessage == null) {
+                counters.successCount++;
+                emitEvent(sessionId, BulkImportProgressEvent.builder()
+                        .rowNumber(entry.rowNumber - 1)
+                        .eventType("ROW_SUCCESS")
+                        .identifier(entry.identifier)
+                        .userType(USER_TYPE_STUDENTS)
+                        .studentEnrollmentNumber(entry.row.getEnrollmentNumber())
+                        .guardianUsernames(Collections.emptyList())
+                        .successCount(counters.successCount)
+                        .failureCount(counters.failureCount)
+                        .build());
+            } else {
+                counters.failureCount++;
+                errorReport.record(entry.rowNumber, entry.identifier, entry.errorMessage,
+                        String.format("Row %d: %s", entry.rowNumber, entry.errorMessage));
+                log.warn("Failed to process row {}: {}", entry.rowNumber, entry.errorMessage);
+                emitEvent(sessionId, BulkImportProgressEvent.builder()
+                        .rowNumber(entry.rowNumber - 1)
+                        .eventType("ROW_FAILURE")
+                        .identifier(entry.identifier)
+                        .userType(USER_TYPE_STUDENTS)
+                        .errorMessage(entry.errorMessage)
+                        .successCount(counters.successCount)
+                        .failureCount(counters.failureCount)
+                        .build());
+            }
+        }
+        log.info("Student chunk flushed: rows={}, written={}, successCount={}, failureCount={}", chunk.size(),
+                writable.size(), counters.successCount, counters.failureCount);
+    }
+
+    /**
+     * Queues one chunk's welcome emails with a single batch insert. The students are already
+     * committed, so a queueing failure is logged rather than failing their rows.
+     */
+    private void queueWelcomeEmails(List<StudentImportRow> written) {
+        try {
+            emailService.sendWelcomeEmails(written.stream()
+                    .map(row -> new EmailService.WelcomeRecipient(row.getEmail(), row.getEnrollmentNumber()))
+                    .toList());
+        } catch (Exception e) {
+            log.warn("Could not queue welcome emails for {} imported student(s): {}", written.size(), e.getMessage());
+        }
+    }
+
     /**
      * Processes and validates a single student row.
      * This method is marked @Transactional.
@@ -388,6 +629,20 @@ public class BulkImportServiceImpl implements BulkImportService {
         return rowResult;
     }
 
+    /**
+     * Imports students.csv and guardians.csv together in bounded memory.
+     *
+     * <p>Both files are externally sorted by enrollment number (see {@link ExternalCsvSorter})
+     * and then merge-joined in one pass: each student row is processed with exactly the
+     * guardian rows sharing its enrollment number. Guardian groups that no student row
+     * consumed successfully are spilled to a temp file and linked to already-existing
+     * students afterwards. Heap use is bounded by {@code edusync.bulk-import.sort-buffer-rows}
+     * plus one guardian group, whatever the file sizes.</p>
+     *
+     * <p>Rows are therefore processed in enrollment-number order; row numbers in events and
+     * errors still refer to the original CSV lines. Failed rows go to the downloadable error
+     * CSV of {@link ImportErrorReportStore}.</p>
+     */
     @Override
     public BulkImportReportDTO importStudentsWithGuardians(MultipartFile studentsFile,
             MultipartFile guardiansFile,
@@ -404,18 +659,19 @@ public class BulkImportServiceImpl implements BulkImportService {
         log.info("[StudentsWithGuardians] Cache build complete: roles={}, sections={}", roleCache.size(),
                 sectionCache.size());
 
-        Map<String, List<BulkImportGuardianInputDTO>> guardiansByEnrollment = parseGuardiansFile(guardiansFile);
-        log.info("[StudentsWithGuardians] Guardians parsed successfully. Distinct student references={}",
-                guardiansByEnrollment.size());
-        Set<String> matchedEnrollmentNumbers = new HashSet<>();
+        // Guardian validation errors are fatal for the request, exactly as before.
+        ExternalCsvSorter.SortedCsv guardians = sortGuardiansFile(guardiansFile);
+        log.info("[StudentsWithGuardians] Guardians validated and sorted by studentEnrollmentNumber.");
 
         BulkImportReportDTO report = new BulkImportReportDTO();
         report.setStatus("PROCESSING");
-        int rowNumber = 1;
-        int successCount = 0;
-        int failureCount = 0;
+        ImportCounters counters = new ImportCounters();
+        ImportErrorReport errorReport = importErrorReportStore.open();
+        Path unmatchedSpill = null;
 
-        try (Reader reader = new InputStreamReader(studentsFile.getInputStream());
+        try (guardians;
+                errorReport;
+                Reader reader = new InputStreamReader(studentsFile.getInputStream());
                 CSVReader csvReader = new CSVReader(reader)) {
 
             String[] header = csvReader.readNext();
@@ -431,61 +687,146 @@ public class BulkImportServiceImpl implements BulkImportService {
             }
             log.info("[StudentsWithGuardians] students.csv header validation passed.");
 
-            String[] row;
-            while ((row = csvReader.readNext()) != null) {
-                rowNumber++;
-                String identifier = (row.length > 7 && row[7] != null && !row[7].isBlank()) ? row[7]
-                        : "row-" + rowNumber;
-                try {
-                    String enrollmentNumber = row.length > 7 ? row[7].trim() : "";
-                    List<BulkImportGuardianInputDTO> guardians = guardiansByEnrollment.getOrDefault(
-                            enrollmentNumber,
-                            Collections.emptyList());
-                    log.info("[StudentsWithGuardians] Processing row={} enrollmentNumber='{}' guardiansAttached={}",
-                            rowNumber - 1, enrollmentNumber, guardians.size());
-
-                    StudentRowProcessingResult result = processStudentRow(row, roleCache, sectionCache, guardians);
-                    matchedEnrollmentNumbers.add(enrollmentNumber);
-                    successCount++;
-
-                    emitEvent(sessionId, BulkImportProgressEvent.builder()
-                            .rowNumber(rowNumber - 1)
-                            .eventType("ROW_SUCCESS")
-                            .identifier(identifier)
-                            .userType(USER_TYPE_STUDENTS_WITH_GUARDIANS)
-                            .studentEnrollmentNumber(result.getEnrollmentNumber())
-                            .guardiansCreated(result.getGuardiansCreatedCount())
-                            .guardiansLinked(result.getGuardiansLinkedCount())
-                            .guardianUsernames(result.getGuardianUsernames())
-                            .successCount(successCount)
-                            .failureCount(failureCount)
-                            .build());
-                    log.info(
-                            "[StudentsWithGuardians] Row={} succeeded for enrollmentNumber='{}' (successCount={}, failureCount={})",
-                            rowNumber - 1, enrollmentNumber, successCount, failureCount);
-                } catch (Exception e) {
-                    failureCount++;
-                    String errorMessage = e.getMessage();
-                    report.getErrorMessages().add(String.format("Row %d: %s", rowNumber, errorMessage));
-                    log.warn("[StudentsWithGuardians] Row={} failed. Reason: {}", rowNumber - 1, errorMessage);
-
-                    emitEvent(sessionId, BulkImportProgressEvent.builder()
-                            .rowNumber(rowNumber - 1)
-                            .eventType("ROW_FAILURE")
-                            .identifier(identifier)
-                            .userType(USER_TYPE_STUDENTS_WITH_GUARDIANS)
-                            .errorMessage(errorMessage)
-                            .successCount(successCount)
-                            .failureCount(failureCount)
-                            .build());
+            unmatchedSpill = Files.createTempFile("bulk-import-unmatched-guardians-", ".csv");
+            try (ExternalCsvSorter.SortedCsv students = sortStudentRows(csvReader);
+                    CSVWriter unmatchedWriter = new CSVWriter(
+                            Files.newBufferedWriter(unmatchedSpill, StandardCharsets.UTF_8))) {
+                GuardianGroup group = null;
+                while (students.hasNext()) {
+                    String[] record = students.next();
+                    int rowNumber = Integer.parseInt(record[0]);
+                    String[] row = Arrays.copyOfRange(record, 1, record.length);
+                    String enrollmentNumber = studentEnrollmentKey(row);
+                    if (group == null || !group.enrollmentNumber.equals(enrollmentNumber)) {
+                        spillIfUnmatched(group, unmatchedWriter);
+                        group = nextGuardianGroup(guardians, enrollmentNumber, unmatchedWriter);
+                    }
+                    counters.rowNumber++;
+                    processJoinedStudentRow(row, rowNumber, group, roleCache, sectionCache, counters, errorReport,
+                            sessionId);
+                }
+                spillIfUnmatched(group, unmatchedWriter);
+                while (guardians.hasNext()) {
+                    unmatchedWriter.writeNext(guardians.next(), false);
                 }
             }
 
-            Set<String> unmatchedEnrollmentNumbers = new HashSet<>(guardiansByEnrollment.keySet());
-            unmatchedEnrollmentNumbers.removeAll(matchedEnrollmentNumbers);
+            processUnmatchedGuardians(unmatchedSpill, roleCache, counters, errorReport, sessionId);
+        } catch (CsvValidationException | InvalidCsvHeaderException e) {
+            report.setStatus("FAILED");
+            errorReport.applyTo(report);
+            report.getErrorMessages().add("Fatal Error: " + e.getMessage());
+            log.error("[StudentsWithGuardians] Fatal import failure: {}", e.getMessage());
+            emitEvent(sessionId, BulkImportProgressEvent.builder()
+                    .eventType("JOB_FAILED")
+                    .userType(USER_TYPE_STUDENTS_WITH_GUARDIANS)
+                    .errorMessage("Fatal Error: " + e.getMessage())
+                    .successCount(0)
+                    .failureCount(0)
+                    .build());
+            sseEmitterRegistry.complete(sessionId);
+            return report;
+        } finally {
+            if (unmatchedSpill != null) {
+                Files.deleteIfExists(unmatchedSpill);
+            }
+        }
+
+        int rowNumber = counters.rowNumber;
+        int successCount = counters.successCount;
+        int failureCount = counters.failureCount;
+        report.setStatus("COMPLETED");
+        report.setTotalRows(rowNumber - 1);
+        report.setSuccessCount(successCount);
+        report.setFailureCount(failureCount);
+        errorReport.applyTo(report);
 
-            for (String unmatched : unmatchedEnrollmentNumbers) {
-                rowNumber++;
+        emitEvent(sessionId, BulkImportProgressEvent.builder()
+                .eventType("JOB_COMPLETE")
+                .userType(USER_TYPE_STUDENTS_WITH_GUARDIANS)
+                .totalRows(rowNumber - 1)
+                .successCount(successCount)
+                .failureCount(failureCount)
+                .build());
+        sseEmitterRegistry.complete(sessionId);
+        log.info("[StudentsWithGuardians] Import completed. totalRows={}, successCount={}, failureCount={}",
+                rowNumber - 1, successCount, failureCount);
+        return report;
+    }
+
+    private void processJoinedStudentRow(String[] row,
+            int rowNumber,
+            GuardianGroup group,
+            Map<String, Role> roleCache,
+            Map<String, Section> sectionCache,
+            ImportCounters counters,
+            ImportErrorReport errorReport,
+            String sessionId) throws IOException {
+        String identifier = (row.length > 7 && row[7] != null && !row[7].isBlank()) ? row[7]
+                : "row-" + rowNumber;
+        try {
+            log.info("[StudentsWithGuardians] Processing row={} enrollmentNumber='{}' guardiansAttached={}",
+                    rowNumber - 1, group.enrollmentNumber, group.guardians.size());
+
+            StudentRowProcessingResult result = processStudentRow(row, roleCache, sectionCache, group.guardians);
+            group.matched = true;
+            counters.successCount++;
+
+            emitEvent(sessionId, BulkImportProgressEvent.builder()
+                    .rowNumber(rowNumber - 1)
+                    .eventType("ROW_SUCCESS")
+                    .identifier(identifier)
+                    .userType(USER_TYPE_STUDENTS_WITH_GUARDIANS)
+                    .studentEnrollmentNumber(result.getEnrollmentNumber())
+                    .guardiansCreated(result.getGuardiansCreatedCount())
+                    .guardiansLinked(result.getGuardiansLinkedCount())
+                    .guardianUsernames(result.getGuardianUsernames())
+                    .successCount(counters.successCount)
+                    .failureCount(counters.failureCount)
+                    .build());
+            log.info(
+                    "[StudentsWithGuardians] Row={} succeeded for enrollmentNumber='{}' (successCount={}, failureCount={})",
+                    rowNumber - 1, group.enrollmentNumber, counters.successCount, counters.failureCount);
+        } catch (Exception e) {
+            counters.failureCount++;
+            String errorMessage = e.getMessage();
+            errorReport.record(rowNumber, identifier, errorMessage,
+                    String.format("Row %d: %s", rowNumber, errorMessage));
+            log.warn("[StudentsWithGuardians] Row={} failed. Reason: {}", rowNumber - 1, errorMessage);
+
+            emitEvent(sessionId, BulkImportProgressEvent.builder()
+                    .rowNumber(rowNumber - 1)
+                    .eventType("ROW_FAILURE")
+                    .identifier(identifier)
+                    .userType(USER_TYPE_STUDENTS_WITH_GUARDIANS)
+                    .errorMessage(errorMessage)
+                    .successCount(counters.successCount)
+                    .failureCount(counters.failureCount)
+                    .build());
+        }
+    }
+
+    /**
+     * Links the spilled guardian groups (sorted by enrollment number) to students that
+     * already exist in the database; one group is read into memory at a time.
+     */
+    private void processUnmatchedGuardians(Path unmatchedSpill,
+            Map<String, Role> roleCache,
+            ImportCounters counters,
+            ImportErrorReport errorReport,
+            String sessionId) throws IOException, CsvValidationException {
+        try (CSVReader spillReader = new CSVReader(Files.newBufferedReader(unmatchedSpill, StandardCharsets.UTF_8))) {
+            String[] pending = spillReader.readNext();
+            while (pending != null) {
+                String unmatched = pending[0];
+                List<BulkImportGuardianInputDTO> guardians = new ArrayList<>();
+                while (pending != null && pending[0].equals(unmatched)) {
+                    guardians.add(toGuardianInput(pending));
+                    pending = spillReader.readNext();
+                }
+
+                counters.rowNumber++;
+                int rowNumber = counters.rowNumber;
                 String identifier = unmatched;
                 log.info("[StudentsWithGuardians] Processing unmatched guardian references for student='{}'",
                         unmatched);
@@ -493,11 +834,10 @@ public class BulkImportServiceImpl implements BulkImportService {
                 Optional<Student> existingStudentOpt = studentRepository.findByEnrollmentNumber(unmatched);
                 if (existingStudentOpt.isPresent()) {
                     Student existingStudent = existingStudentOpt.get();
-                    List<BulkImportGuardianInputDTO> guardians = guardiansByEnrollment.get(unmatched);
                     try {
                         StudentRowProcessingResult result = processGuardiansForExistingStudent(existingStudent,
                                 guardians, roleCache);
-                        successCount++;
+                        counters.successCount++;
                         emitEvent(sessionId, BulkImportProgressEvent.builder()
                                 .rowNumber(rowNumber - 1)
                                 .eventType("ROW_SUCCESS")
@@ -507,15 +847,16 @@ public class BulkImportServiceImpl implements BulkImportService {
                                 .guardiansCreated(result.getGuardiansCreatedCount())
                                 .guardiansLinked(result.getGuardiansLinkedCount())
                                 .guardianUsernames(result.getGuardianUsernames())
-                                .successCount(successCount)
-                                .failureCount(failureCount)
+                                .successCount(counters.successCount)
+                                .failureCount(counters.failureCount)
                                 .build());
                         log.info("[StudentsWithGuardians] Row={} succeeded for existing student='{}'", rowNumber - 1,
                                 identifier);
                     } catch (Exception e) {
-                        failureCount++;
+                        counters.failureCount++;
                         String errorMessage = e.getMessage();
-                        report.getErrorMessages().add(String.format("Student '%s': %s", identifier, errorMessage));
+                        errorReport.record(null, identifier, errorMessage,
+                                String.format("Student '%s': %s", identifier, errorMessage));
                         log.warn(
                                 "[StudentsWithGuardians] Failed to link guardians for existing student='{}'. Reason: {}",
                                 identifier, errorMessage);
@@ -525,15 +866,15 @@ public class BulkImportServiceImpl implements BulkImportService {
                                 .identifier(identifier)
                                 .userType(USER_TYPE_STUDENTS_WITH_GUARDIANS)
                                 .errorMessage(errorMessage)
-                                .successCount(successCount)
-                                .failureCount(failureCount)
+                                .successCount(counters.successCount)
+                                .failureCount(counters.failureCount)
                                 .build());
                     }
                 } else {
-                    failureCount++;
+                    counters.failureCount++;
                     String errorMessage = "Guardians file references unknown studentEnrollmentNumber '" + unmatched
                             + "'.";
-                    report.getErrorMessages().add(errorMessage);
+                    errorReport.record(null, identifier, errorMessage, errorMessage);
                     log.warn("[StudentsWithGuardians] {}", errorMessage);
                     emitEvent(sessionId, BulkImportProgressEvent.builder()
                             .rowNumber(rowNumber - 1)
@@ -541,42 +882,59 @@ public class BulkImportServiceImpl implements BulkImportService {
                             .identifier(identifier)
                             .userType(USER_TYPE_STUDENTS_WITH_GUARDIANS)
                             .errorMessage(errorMessage)
-                            .successCount(successCount)
-                            .failureCount(failureCount)
+                            .successCount(counters.successCount)
+                            .failureCount(counters.failureCount)
                             .build());
                 }
             }
-        } catch (CsvValidationException | InvalidCsvHeaderException e) {
-            report.setStatus("FAILED");
-            report.getErrorMessages().add("Fatal Error: " + e.getMessage());
-            log.error("[StudentsWithGuardians] Fatal import failure: {}", e.getMessage());
-            emitEvent(sessionId, BulkImportProgressEvent.builder()
-                    .eventType("JOB_FAILED")
-                    .userType(USER_TYPE_STUDENTS_WITH_GUARDIANS)
-                    .errorMessage("Fatal Error: " + e.getMessage())
-                    .successCount(0)
-                    .failureCount(0)
-                    .build());
-            sseEmitterRegistry.complete(sessionId);
-            return report;
         }
+    }
 
-        report.setStatus("COMPLETED");
-        report.setTotalRows(rowNumber - 1);
-        report.setSuccessCount(successCount);
-        report.setFailureCount(failureCount);
+    /**
+     * Advances the sorted guardians stream to {@code enrollmentNumber}: groups with smaller
+     * keys have no student row in this file and are spilled as unmatched; the rows for the
+     * key itself (possibly none) are returned as the current group.
+     */
+    private GuardianGroup nextGuardianGroup(ExternalCsvSorter.SortedCsv guardians,
+            String enrollmentNumber,
+            CSVWriter unmatchedWriter) {
+        while (guardians.hasNext() && guardians.peek()[0].compareTo(enrollmentNumber) < 0) {
+            unmatchedWriter.writeNext(guardians.next(), false);
+        }
+        GuardianGroup group = new GuardianGroup(enrollmentNumber);
+        while (guardians.hasNext() && guardians.peek()[0].equals(enrollmentNumber)) {
+            String[] guardianRow = guardians.next();
+            group.rows.add(guardianRow);
+            group.guardians.add(toGuardianInput(guardianRow));
+        }
+        return group;
+    }
 
-        emitEvent(sessionId, BulkImportProgressEvent.builder()
-                .eventType("JOB_COMPLETE")
-                .userType(USER_TYPE_STUDENTS_WITH_GUARDIANS)
-                .totalRows(rowNumber - 1)
-                .successCount(successCount)
-                .failureCount(failureCount)
-                .build());
-        sseEmitterRegistry.complete(sessionId);
-        log.info("[StudentsWithGuardians] Import completed. totalRows={}, successCount={}, failureCount={}",
-                rowNumber - 1, successCount, failureCount);
-        return report;
+    private void spillIfUnmatched(GuardianGroup group, CSVWriter unmatchedWriter) {
+        if (group != null && !group.matched) {
+            for (String[] guardianRow : group.rows) {
+                unmatchedWriter.writeNext(guardianRow, false);
+            }
+        }
+    }
+
+    private ExternalCsvSorter.SortedCsv sortStudentRows(CSVReader csvReader)
+            throws IOException, CsvValidationException {
+        // Each record is prefixed with its CSV line number so events keep reporting original rows.
+        return ExternalCsvSorter.sort(() -> {
+            String[] row = csvReader.readNext();
+            if (row == null) {
+                return null;
+            }
+            String[] record = new String[row.length + 1];
+            record[0] = String.valueOf(csvReader.getRecordsRead());
+            System.arraycopy(row, 0, record, 1, row.length);
+            return record;
+        }, record -> record.length > 8 && record[8] != null ? record[8].trim() : "", sortBufferRows);
+    }
+
+    private String studentEnrollmentKey(String[] row) {
+        return row.length > 7 && row[7] != null ? row[7].trim() : "";
     }
 
     @Override
@@ -786,10 +1144,13 @@ public class BulkImportServiceImpl implements BulkImportService {
         return value;
     }
 
-    private Map<String, List<BulkImportGuardianInputDTO>> parseGuardiansFile(MultipartFile guardiansFile)
-            throws IOException {
+    /**
+     * Validates guardians.csv row by row and returns it externally sorted by
+     * studentEnrollmentNumber. Records are stored normalized in GUARDIAN_HEADER column
+     * order, so {@link #toGuardianInput(String[])} can rebuild them without re-validating.
+     */
+    private ExternalCsvSorter.SortedCsv sortGuardiansFile(MultipartFile guardiansFile) throws IOException {
         log.info("[GuardiansCsv] Parsing started for file='{}'", guardiansFile.getOriginalFilename());
-        Map<String, List<BulkImportGuardianInputDTO>> guardiansByEnrollment = new HashMap<>();
 
         try (Reader reader = new InputStreamReader(guardiansFile.getInputStream());
                 CSVReader csvReader = new CSVReader(reader)) {
@@ -797,7 +1158,7 @@ public class BulkImportServiceImpl implements BulkImportService {
             String[] header = csvReader.readNext();
             if (header == null) {
                 log.info("[GuardiansCsv] File has no rows beyond header; continuing with zero guardians.");
-                return guardiansByEnrollment;
+                return ExternalCsvSorter.sort(() -> null, record -> record[0], sortBufferRows);
             }
             List<String> actualHeader = Arrays.asList(header);
             if (!actualHeader.equals(GUARDIAN_HEADER)) {
@@ -807,10 +1168,12 @@ public class BulkImportServiceImpl implements BulkImportService {
             }
             log.info("[GuardiansCsv] Header validation passed.");
 
-            String[] row;
-            int rowNumber = 1;
-            while ((row = csvReader.readNext()) != null) {
-                rowNumber++;
+            ExternalCsvSorter.SortedCsv sorted = ExternalCsvSorter.sort(() -> {
+                String[] row = csvReader.readNext();
+                if (row == null) {
+                    return null;
+                }
+                long rowNumber = csvReader.getRecordsRead();
                 try {
                     BulkImportGuardianInputDTO dto = new BulkImportGuardianInputDTO();
                     dto.setStudentEnrollmentNumber(validationHelper.validateString(row[0], "studentEnrollmentNumber"));
@@ -826,26 +1189,49 @@ public class BulkImportServiceImpl implements BulkImportService {
                     dto.setCanPickup(parseBooleanOrDefault(row, 10, "guardian.canPickup"));
                     dto.setFinancialContact(parseBooleanOrDefault(row, 11, "guardian.financialContact"));
                     dto.setCanViewGrades(parseBooleanOrDefault(row, 12, "guardian.canViewGrades"));
-
-                    guardiansByEnrollment
-                            .computeIfAbsent(dto.getStudentEnrollmentNumber(), key -> new java.util.ArrayList<>())
-                            .add(dto);
                     log.debug(
                             "[GuardiansCsv] Parsed row={} for studentEnrollmentNumber='{}' guardianEmail='{}' guardianPhone='{}'",
                             rowNumber - 1, dto.getStudentEnrollmentNumber(), dto.getEmail(), dto.getPhoneNumber());
+                    return toGuardianRecord(dto);
                 } catch (Exception e) {
                     log.warn("[GuardiansCsv] Invalid row={} reason='{}'", rowNumber - 1, e.getMessage());
                     throw new BulkImportException("guardians.csv row " + rowNumber + " invalid: " + e.getMessage(),
                             HttpStatus.BAD_REQUEST);
                 }
-            }
+            }, record -> record[0], sortBufferRows);
+            log.info("[GuardiansCsv] Parsing completed. Total guardian rows={}", csvReader.getRecordsRead() - 1);
+            return sorted;
         } catch (CsvValidationException e) {
             log.error("[GuardiansCsv] CSV parsing error: {}", e.getMessage());
             throw new BulkImportException("Error reading guardians.csv: " + e.getMessage(), HttpStatus.BAD_REQUEST);
         }
-        log.info("[GuardiansCsv] Parsing completed. Distinct student references={}, total guardian rows={}",
-                guardiansByEnrollment.size(), guardiansByEnrollment.values().stream().mapToInt(List::size).sum());
-        return guardiansByEnrollment;
+    }
+
+    private String[] toGuardianRecord(BulkImportGuardianInputDTO dto) {
+        return new String[]{
+                dto.getStudentEnrollmentNumber(), dto.getFirstName(), dto.getLastName(), dto.getMiddleName(),
+                dto.getEmail(), dto.getPhoneNumber(), dto.getRelationshipType(), dto.getOccupation(),
+                dto.getEmployer(), String.valueOf(dto.isPrimaryContact()), String.valueOf(dto.isCanPickup()),
+                String.valueOf(dto.isFinancialContact()), String.valueOf(dto.isCanViewGrades())
+        };
+    }
+
+    private BulkImportGuardianInputDTO toGuardianInput(String[] record) {
+        BulkImportGuardianInputDTO dto = new BulkImportGuardianInputDTO();
+        dto.setStudentEnrollmentNumber(record[0]);
+        dto.setFirstName(record[1]);
+        dto.setLastName(record[2]);
+        dto.setMiddleName(record[3]);
+        dto.setEmail(record[4]);
+        dto.setPhoneNumber(record[5]);
+        dto.setRelationshipType(record[6]);
+        dto.setOccupation(record[7]);
+        dto.setEmployer(record[8]);
+        dto.setPrimaryContact(Boolean.parseBoolean(record[9]));
+        dto.setCanPickup(Boolean.parseBoolean(record[10]));
+        dto.setFinancialContact(Boolean.parseBoolean(record[11]));
+        dto.setCanViewGrades(Boolean.parseBoolean(record[12]));
+        return dto;
     }
 
     private boolean parseBooleanOrDefault(String[] row, int index, String fieldName) {
@@ -1030,6 +1416,57 @@ public class BulkImportServiceImpl implements BulkImportService {
         }
     }
 
+    /**
+     * Running row/success/failure counters shared across chunk flushes.
+     */
+    private static class ImportCounters {
+        private int rowNumber = 1;
+        private int successCount;
+        private int failureCount;
+    }
+
+    /**
+     * One buffered CSV row: either a parsed row awaiting the chunk write, or a row
+     * that already failed field validation. {@code errorMessage} is filled in when
+     * the row fails at any stage.
+     */
+    private static class StudentChunkEntry {
+        private final int rowNumber;
+        private final String identifier;
+        private final StudentImportRow row;
+        private String errorMessage;
+
+        private StudentChunkEntry(int rowNumber, String identifier, StudentImportRow row, String errorMessage) {
+            this.rowNumber = rowNumber;
+            this.identifier = identifier;
+            this.row = row;
+            this.errorMessage = errorMessage;
+        }
+
+        private static StudentChunkEntry parsed(StudentImportRow row) {
+            return new StudentChunkEntry(row.getRowNumber(), row.getIdentifier(), row, null);
+        }
+
+        private static StudentChunkEntry failed(int rowNumber, String identifier, String errorMessage) {
+            return new StudentChunkEntry(rowNumber, identifier, null, errorMessage);
+        }
+    }
+
+    /**
+     * Guardian rows of one enrollment number during the students/guardians merge-join.
+     * {@code matched} turns true once a student row with that number imports successfully.
+     */
+    private static class GuardianGroup {
+        private final String enrollmentNumber;
+        private final List<String[]> rows = new ArrayList<>();
+        private final List<BulkImportGuardianInputDTO> guardians = new ArrayList<>();
+        private boolean matched;
+
+        private GuardianGroup(String enrollmentNumber) {
+            this.enrollmentNumber = enrollmentNumber;
+        }
+    }
+
     private static class GuardianResolutionResult {
         private final Guardian guardian;
         private final boolean created;
@@ -0,0 +1,211 @@
+package com.project.edusync.enrollment.util;
+
+import com.opencsv.CSVReader;
+import com.opencsv.CSVWriter;
+import com.opencsv.exceptions.CsvValidationException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+
+/**
+ * Stable external merge sort for CSV records.
+ *
+ * <p>Records are buffered up to {@code bufferRows} at a time, sorted in memory by key and
+ * spilled to a temp "run" file; the runs are then k-way merged into one sorted temp file.
+ * Heap use is bounded by the buffer size regardless of input size, which lets the
+ * students-with-guardians import join two arbitrarily large files by enrollment number.</p>
+ *
+ * <p>Equal keys keep their input order (runs are sorted stably and merge ties are broken
+ * by run index).</p>
+ */
+public final class ExternalCsvSorter {
+
+    private ExternalCsvSorter() {
+    }
+
+    /**
+     * Supplies the records to sort, one per call, and null at end of input.
+     */
+    @FunctionalInterface
+    public interface RecordSource {
+        String[] read() throws IOException, CsvValidationException;
+    }
+
+    /**
+     * Sorts the records and returns a reader over the sorted output. Closing the returned
+     * {@link SortedCsv} deletes the temp file.
+     *
+     * @param source     Records to sort (header excluded). Exceptions thrown by the source
+     *                   propagate to the caller after temp files are cleaned up.
+     * @param keyFn      Sort key of a record.
+     * @param bufferRows Max records held in memory at once.
+     */
+    public static SortedCsv sort(RecordSource source, Function<String[], String> keyFn, int bufferRows)
+            throws IOException, CsvValidationException {
+        List<Path> runs = new ArrayList<>();
+        Path sorted = null;
+        try {
+            List<String[]> buffer = new ArrayList<>(Math.min(bufferRows, 4096));
+            String[] record;
+            while ((record = source.read()) != null) {
+                buffer.add(record);
+                if (buffer.size() >= bufferRows) {
+                    runs.add(spill(buffer, keyFn));
+                    buffer.clear();
+                }
+            }
+            if (!buffer.isEmpty() || runs.isEmpty()) {
+                runs.add(spill(buffer, keyFn));
+            }
+            sorted = runs.size() == 1 ? runs.remove(0) : merge(runs, keyFn);
+            return new SortedCsv(sorted);
+        } catch (IOException | CsvValidationException | RuntimeException e) {
+            if (sorted != null) {
+                Files.deleteIfExists(sorted);
+            }
+            throw e;
+        } finally {
+            for (Path run : runs) {
+                Files.deleteIfExists(run);
+            }
+        }
+    }
+
+    private static Path spill(List<String[]> buffer, Function<String[], String> keyFn) throws IOException {
+        buffer.sort(Comparator.comparing(keyFn));
+        Path run = Files.createTempFile("csv-sort-run-", ".csv");
+        try (CSVWriter writer = new CSVWriter(Files.newBufferedWriter(run, StandardCharsets.UTF_8))) {
+            for (String[] record : buffer) {
+                writer.writeNext(record, false);
+            }
+        }
+        return run;
+    }
+
+    private static Path merge(List<Path> runs, Function<String[], String> keyFn) throws IOException {
+        Path merged = Files.createTempFile("csv-sort-merged-", ".csv");
+        List<RunCursor> cursors = new ArrayList<>(runs.size());
+        try (CSVWriter writer = new CSVWriter(Files.newBufferedWriter(merged, StandardCharsets.UTF_8))) {
+            PriorityQueue<RunCursor> heap = new PriorityQueue<>(
+                    Comparator.<RunCursor, String>comparing(c -> c.key).thenComparingInt(c -> c.runIndex));
+            for (int i = 0; i < runs.size(); i++) {
+                RunCursor cursor = new RunCursor(runs.get(i), i, keyFn);
+                cursors.add(cursor);
+                if (cursor.advance()) {
+                    heap.add(cursor);
+                }
+            }
+            while (!heap.isEmpty()) {
+                RunCursor smallest = heap.poll();
+                writer.writeNext(smallest.current, false);
+                if (smallest.advance()) {
+                    heap.add(smallest);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(merged);
+            throw e;
+        } finally {
+            for (RunCursor cursor : cursors) {
+                cursor.close();
+            }
+        }
+        return merged;
+    }
+
+    private static final class RunCursor implements Closeable {
+        private final CSVReader reader;
+        private final int runIndex;
+        private final Function<String[], String> keyFn;
+        private String[] current;
+        private String key;
+
+        private RunCursor(Path run, int runIndex, Function<String[], String> keyFn) throws IOException {
+            this.reader = new CSVReader(Files.newBufferedReader(run, StandardCharsets.UTF_8));
+            this.runIndex = runIndex;
+            this.keyFn = keyFn;
+        }
+
+        private boolean advance() throws IOException {
+            try {
+                current = reader.readNext();
+            } catch (CsvValidationException e) {
+                throw new IOException("Corrupt sort run: " + e.getMessage(), e);
+            }
+            key = current != null ? keyFn.apply(current) : null;
+            return current != null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    /**
+     * Forward-only reader over a sorted temp file, with one record of look-ahead.
+     */
+    public static final class SortedCsv implements Iterator<String[]>, Closeable {
+        private final Path path;
+        private final CSVReader reader;
+        private String[] next;
+
+        private SortedCsv(Path path) throws IOException {
+            this.path = path;
+            this.reader = new CSVReader(Files.newBufferedReader(path, StandardCharsets.UTF_8));
+            this.next = read();
+        }
+
+        /** Returns the next record without consuming it, or null at end of input. */
+        public String[] peek() {
+            return next;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public String[] next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            String[] current = next;
+            try {
+                next = read();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return current;
+        }
+
+        private String[] read() throws IOException {
+            try {
+                return reader.readNext();
+            } catch (CsvValidationException e) {
+                throw new IOException("Corrupt sorted file: " + e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                reader.close();
+            } finally {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
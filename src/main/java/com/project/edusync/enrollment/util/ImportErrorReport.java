@@ -0,0 +1,89 @@
+package com.project.edusync.enrollment.util;
+
+import com.opencsv.CSVWriter;
+import com.project.edusync.enrollment.model.dto.BulkImportReportDTO;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Collects the failed rows of one import.
+ *
+ * <p>Every error is appended to a CSV file ({@code rowNumber,identifier,errorMessage})
+ * that the client can download afterwards; only the first {@code inlineLimit} messages
+ * are kept in memory for the JSON report. The file is created lazily, so clean imports
+ * leave nothing behind.</p>
+ */
+public class ImportErrorReport implements Closeable {
+
+    private static final String[] HEADER = {"rowNumber", "identifier", "errorMessage"};
+
+    private final Path directory;
+    private final int inlineLimit;
+    private final String reportId = UUID.randomUUID().toString();
+    private final List<String> inlineMessages = new ArrayList<>();
+    private CSVWriter writer;
+    private int errorCount;
+
+    public ImportErrorReport(Path directory, int inlineLimit) {
+        this.directory = directory;
+        this.inlineLimit = inlineLimit;
+    }
+
+    /**
+     * Records one failed row.
+     *
+     * @param rowNumber     CSV line number, or null for errors not tied to a single line.
+     * @param identifier    Human-readable key of the row (email, enrollment number...).
+     * @param errorMessage  The raw failure reason, written to the CSV.
+     * @param reportMessage The formatted line shown in the JSON report.
+     */
+    public void record(Integer rowNumber, String identifier, String errorMessage, String reportMessage)
+            throws IOException {
+        errorCount++;
+        if (inlineMessages.size() < inlineLimit) {
+            inlineMessages.add(reportMessage);
+        }
+        if (writer == null) {
+            Files.createDirectories(directory);
+            writer = new CSVWriter(Files.newBufferedWriter(directory.resolve(reportId + ".csv"),
+                    StandardCharsets.UTF_8));
+            writer.writeNext(HEADER, false);
+        }
+        writer.writeNext(new String[]{rowNumber != null ? rowNumber.toString() : "", identifier, errorMessage},
+                false);
+    }
+
+    public int getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * Copies the inline messages and the download id (if any error was written) onto the report.
+     */
+    public void applyTo(BulkImportReportDTO report) {
+        report.getErrorMessages().addAll(inlineMessages);
+        if (errorCount > inlineMessages.size()) {
+            report.getErrorMessages().add(String.format(
+                    "... %d more error(s); download the error report for the full list",
+                    errorCount - inlineMessages.size()));
+        }
+        if (errorCount > 0) {
+            report.setErrorReportId(reportId);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+}
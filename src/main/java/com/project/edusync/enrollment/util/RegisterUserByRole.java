@@ -1,6 +1,7 @@
 package com.project.edusync.enrollment.util;
 
 import com.project.edusync.adm.model.entity.Section;
+import com.project.edusync.common.service.EmailService;
 import com.project.edusync.hrms.model.entity.StaffDesignation;
 import com.project.edusync.hrms.repository.StaffDesignationRepository;
 import com.project.edusync.iam.model.entity.Role;
@@ -62,6 +63,7 @@ public class RegisterUserByRole {
     // --- Utilities ---
     private final PasswordEncoder passwordEncoder;
     private final CsvValidationHelper validationHelper;
+    private final EmailService emailService;
 
 
     /**
@@ -87,6 +89,8 @@ public class RegisterUserByRole {
 
         User savedUser = userRepository.save(user);
         log.info("Successfully created user: {}", user.getUsername());
+        // Queued in the row's transaction, so a rolled-back row sends nothing
+        emailService.sendWelcomeEmail(savedUser);
         return savedUser;
     }
 
@@ -0,0 +1,99 @@
+package com.project.edusync.enrollment.util;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * A {@link MultipartFile} backed by a temp file the upload was spooled to.
+ *
+ * <p>Servlet multipart parts are deleted when the request completes, so a background
+ * import job must copy the upload to disk first and read it from there. This lets the
+ * job reuse the existing {@code BulkImportService} methods unchanged.</p>
+ */
+public class SpooledImportFile implements MultipartFile {
+
+    private final Path path;
+    private final String name;
+    private final String originalFilename;
+    private final String contentType;
+
+    private SpooledImportFile(Path path, String name, String originalFilename, String contentType) {
+        this.path = path;
+        this.name = name;
+        this.originalFilename = originalFilename;
+        this.contentType = contentType;
+    }
+
+    /**
+     * Copies the upload into a new temp file. The caller owns the returned file and
+     * must call {@link #delete()} when done.
+     */
+    public static SpooledImportFile spool(MultipartFile upload) throws IOException {
+        Path tmp = Files.createTempFile("bulk-import-", ".csv");
+        try (InputStream in = upload.getInputStream()) {
+            Files.copy(in, tmp, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        return new SpooledImportFile(tmp, upload.getName(), upload.getOriginalFilename(), upload.getContentType());
+    }
+
+    public void delete() {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // Temp dir cleanup will catch it.
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getOriginalFilename() {
+        return originalFilename;
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return getSize() == 0;
+    }
+
+    @Override
+    public long getSize() {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    @Override
+    public byte[] getBytes() throws IOException {
+        return Files.readAllBytes(path);
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return Files.newInputStream(path);
+    }
+
+    @Override
+    public void transferTo(File dest) throws IOException {
+        Files.copy(path, dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+}
@@ -0,0 +1,150 @@
+package com.project.edusync.enrollment.util;
+
+import com.project.edusync.enrollment.model.dto.StudentImportRow;
+import com.project.edusync.iam.model.entity.Role;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Writes a chunk of already-validated student rows with one JDBC batch per table
+ * (users, user_roles, user_profiles, students).
+ *
+ * <p>The entities use IDENTITY keys, so Hibernate cannot batch these inserts.
+ * Going through JDBC directly turns a chunk of N students into a handful of
+ * round trips instead of ~4N. Generated ids are read back with one IN-list
+ * query per parent table.</p>
+ *
+ * <p>The whole chunk is written in a single transaction: if any statement fails
+ * the chunk is rolled back and the caller is expected to retry row by row to
+ * isolate the offending row.</p>
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class StudentBatchWriter {
+
+    private static final String INSERT_USER_SQL = """
+            INSERT INTO users (uuid, created_at, updated_at, created_by, updated_by,
+                               username, email, password, is_active)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, true)
+            """;
+
+    private static final String INSERT_USER_ROLE_SQL = "INSERT INTO user_roles (id, role_id) VALUES (?, ?)";
+
+    private static final String INSERT_PROFILE_SQL = """
+            INSERT INTO user_profiles (uuid, created_at, updated_at, created_by, updated_by,
+                                       first_name, middle_name, last_name, date_of_birth, gender, user_id)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_STUDENT_SQL = """
+            INSERT INTO students (uuid, created_at, updated_at, created_by, updated_by,
+                                  enrollment_number, enrollment_date, roll_no, is_active, profile_id, section_id)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, true, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final AuditorAware<String> auditorAware;
+
+    /**
+     * Inserts the full User -> UserProfile -> Student graph for every row.
+     *
+     * @param rows            Validated rows; usernames, emails and enrollment numbers
+     *                        must already be checked for duplicates.
+     * @param encodedPassword The pre-hashed default password shared by the chunk.
+     * @param studentRole     The pre-fetched "ROLE_STUDENT".
+     * @return The number of students inserted.
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public int writeStudents(List<StudentImportRow> rows, String encodedPassword, Role studentRole) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String auditor = auditorAware.getCurrentAuditor().orElse("SYSTEM");
+
+        // 1. users
+        jdbcTemplate.batchUpdate(INSERT_USER_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setObject(1, UUID.randomUUID());
+            ps.setTimestamp(2, now);
+            ps.setTimestamp(3, now);
+            ps.setString(4, auditor);
+            ps.setString(5, auditor);
+            ps.setString(6, row.getEnrollmentNumber());
+            ps.setString(7, row.getEmail());
+            ps.setString(8, encodedPassword);
+        });
+        List<String> usernames = rows.stream().map(StudentImportRow::getEnrollmentNumber).toList();
+        Map<String, Long> userIdsByUsername = new HashMap<>();
+        namedParameterJdbcTemplate.query(
+                "SELECT id, username FROM users WHERE username IN (:usernames)",
+                Map.of("usernames", usernames),
+                rs -> {
+                    userIdsByUsername.put(rs.getString("username"), rs.getLong("id"));
+                });
+
+        // 2. user_roles
+        List<Long> userIds = new ArrayList<>(rows.size());
+        for (StudentImportRow row : rows) {
+            userIds.add(userIdsByUsername.get(row.getEnrollmentNumber()));
+        }
+        jdbcTemplate.batchUpdate(INSERT_USER_ROLE_SQL, userIds, userIds.size(), (ps, userId) -> {
+            ps.setLong(1, userId);
+            ps.setLong(2, studentRole.getId());
+        });
+
+        // 3. user_profiles
+        jdbcTemplate.batchUpdate(INSERT_PROFILE_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setObject(1, UUID.randomUUID());
+            ps.setTimestamp(2, now);
+            ps.setTimestamp(3, now);
+            ps.setString(4, auditor);
+            ps.setString(5, auditor);
+            ps.setString(6, row.getFirstName());
+            ps.setString(7, row.getMiddleName());
+            ps.setString(8, row.getLastName());
+            ps.setDate(9, row.getDateOfBirth() != null ? Date.valueOf(row.getDateOfBirth()) : null);
+            ps.setString(10, row.getGender() != null ? row.getGender().name() : null);
+            ps.setLong(11, userIdsByUsername.get(row.getEnrollmentNumber()));
+        });
+        Map<Long, Long> profileIdsByUserId = new HashMap<>();
+        namedParameterJdbcTemplate.query(
+                "SELECT id, user_id FROM user_profiles WHERE user_id IN (:userIds)",
+                Map.of("userIds", userIds),
+                rs -> {
+                    profileIdsByUserId.put(rs.getLong("user_id"), rs.getLong("id"));
+                });
+
+        // 4. students
+        jdbcTemplate.batchUpdate(INSERT_STUDENT_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setObject(1, UUID.randomUUID());
+            ps.setTimestamp(2, now);
+            ps.setTimestamp(3, now);
+            ps.setString(4, auditor);
+            ps.setString(5, auditor);
+            ps.setString(6, row.getEnrollmentNumber());
+            ps.setDate(7, row.getEnrollmentDate() != null ? Date.valueOf(row.getEnrollmentDate()) : null);
+            ps.setInt(8, row.getRollNo());
+            ps.setLong(9, profileIdsByUserId.get(userIdsByUsername.get(row.getEnrollmentNumber())));
+            ps.setLong(10, row.getSection().getId());
+        });
+
+        log.info("[StudentBatchWriter] Inserted {} students in one batch", rows.size());
+        return rows.size();
+    }
+}
@@ -0,0 +1,35 @@
+package com.project.edusync.finance.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One day of the master dashboard attendance rollup: distinct students and staff with a present
+ * mark on {@code statDate}. Written only by {@code DashboardRollupWriter}.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "daily_attendance_stats")
+public class DailyAttendanceStat {
+
+    @Id
+    @Column(name = "stat_date")
+    private LocalDate statDate;
+
+    @Column(name = "present_students", nullable = false)
+    private long presentStudents;
+
+    @Column(name = "present_staff", nullable = false)
+    private long presentStaff;
+
+    @Column(name = "refreshed_at", nullable = false)
+    private LocalDateTime refreshedAt;
+}
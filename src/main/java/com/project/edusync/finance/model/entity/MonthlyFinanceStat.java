@@ -0,0 +1,39 @@
+package com.project.edusync.finance.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One month of the master dashboard finance rollup: invoiced, collected and payroll totals for the
+ * month starting on {@code monthStart}. Written only by {@code DashboardRollupWriter}.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "monthly_finance_stats")
+public class MonthlyFinanceStat {
+
+    @Id
+    @Column(name = "month_start")
+    private LocalDate monthStart;
+
+    @Column(name = "expected_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal expectedAmount;
+
+    @Column(name = "collected_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal collectedAmount;
+
+    @Column(name = "payroll_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal payrollAmount;
+
+    @Column(name = "refreshed_at", nullable = false)
+    private LocalDateTime refreshedAt;
+}
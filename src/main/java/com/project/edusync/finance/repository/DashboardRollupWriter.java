@@ -0,0 +1,205 @@
+package com.project.edusync.finance.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Recomputes ranges of the master dashboard rollups ({@code daily_attendance_stats} and
+ * {@code monthly_finance_stats}) from the source tables, one {@code INSERT ... SELECT ... ON CONFLICT
+ * DO UPDATE} per range. Every day or month in the range gets a row, with zeros where there is no
+ * data, so a refreshed range never keeps stale values.
+ *
+ * <p>The finance rollup counts the same rows the dashboard used to sum directly: invoices by issue
+ * date, {@code SUCCESS} payments by payment date, and active payroll runs that are
+ * {@code PROCESSED}, {@code APPROVED} or {@code DISBURSED} by pay month.</p>
+ */
+@Repository
+@Slf4j
+@RequiredArgsConstructor
+public class DashboardRollupWriter {
+
+    private static final String REFRESH_ATTENDANCE_SQL = """
+            WITH days AS (
+                SELECT CAST(d AS DATE) AS stat_date
+                FROM generate_series(CAST(? AS DATE), CAST(? AS DATE), INTERVAL '1 day') AS d
+            ),
+            students AS (
+                SELECT sda.attendance_date AS stat_date, COUNT(DISTINCT sda.student_id) AS present
+                FROM student_daily_attendance sda
+                JOIN attendance_types t ON t.id = sda.type_id
+                WHERE t.is_present_mark = true
+                  AND sda.attendance_date BETWEEN ? AND ?
+                GROUP BY sda.attendance_date
+            ),
+            staff AS (
+                SELECT sda.attendance_date AS stat_date, COUNT(DISTINCT sda.staff_id) AS present
+                FROM staff_daily_attendance sda
+                JOIN attendance_types t ON t.id = sda.type_id
+                WHERE t.is_present_mark = true
+                  AND sda.attendance_date BETWEEN ? AND ?
+                GROUP BY sda.attendance_date
+            )
+            INSERT INTO daily_attendance_stats (stat_date, present_students, present_staff, refreshed_at)
+            SELECT days.stat_date, COALESCE(students.present, 0), COALESCE(staff.present, 0), ?
+            FROM days
+            LEFT JOIN students ON students.stat_date = days.stat_date
+            LEFT JOIN staff ON staff.stat_date = days.stat_date
+            ON CONFLICT (stat_date) DO UPDATE
+               SET present_students = EXCLUDED.present_students,
+                   present_staff    = EXCLUDED.present_staff,
+                   refreshed_at     = EXCLUDED.refreshed_at
+            """;
+
+    private static final String REFRESH_FINANCE_SQL = """
+            WITH months AS (
+                SELECT CAST(m AS DATE) AS month_start
+                FROM generate_series(CAST(? AS DATE), CAST(? AS DATE), INTERVAL '1 month') AS m
+            ),
+            expected AS (
+                SELECT CAST(date_trunc('month', i.issue_date) AS DATE) AS month_start, SUM(i.total_amount) AS amount
+                FROM invoices i
+                WHERE i.issue_date >= ? AND i.issue_date < ?
+                GROUP BY 1
+            ),
+            collected AS (
+                SELECT CAST(date_trunc('month', p.payment_date) AS DATE) AS month_start, SUM(p.amount_paid) AS amount
+                FROM payments p
+                WHERE p.status = 'SUCCESS'
+                  AND p.payment_date >= ? AND p.payment_date < ?
+                GROUP BY 1
+            ),
+            payroll AS (
+                SELECT make_date(r.pay_year, r.pay_month, 1) AS month_start, SUM(r.total_net) AS amount
+                FROM hrms_payroll_runs r
+                WHERE r.is_active = true
+                  AND r.status IN ('PROCESSED', 'APPROVED', 'DISBURSED')
+                  AND make_date(r.pay_year, r.pay_month, 1) BETWEEN ? AND ?
+                GROUP BY 1
+            )
+            INSERT INTO monthly_finance_stats (month_start, expected_amount, collected_amount, payroll_amount, refreshed_at)
+            SELECT months.month_start,
+                   COALESCE(expected.amount, 0),
+                   COALESCE(collected.amount, 0),
+                   COALESCE(payroll.amount, 0),
+                   ?
+            FROM months
+            LEFT JOIN expected ON expected.month_start = months.month_start
+            LEFT JOIN collected ON collected.month_start = months.month_start
+            LEFT JOIN payroll ON payroll.month_start = months.month_start
+            ON CONFLICT (month_start) DO UPDATE
+               SET expected_amount  = EXCLUDED.expected_amount,
+                   collected_amount = EXCLUDED.collected_amount,
+                   payroll_amount   = EXCLUDED.payroll_amount,
+                   refreshed_at     = EXCLUDED.refreshed_at
+            """;
+
+    private static final String CHANGED_ATTENDANCE_DATES_SQL = """
+            SELECT attendance_date FROM student_daily_attendance WHERE updated_at > ?
+            UNION
+            SELECT attendance_date FROM staff_daily_attendance WHERE updated_at > ?
+            """;
+
+    // Payments are not auditable; payment_date is set when a payment is recorded or verified.
+    private static final String CHANGED_FINANCE_MONTHS_SQL = """
+            SELECT CAST(date_trunc('month', issue_date) AS DATE) FROM invoices WHERE updated_at > ?
+            UNION
+            SELECT CAST(date_trunc('month', payment_date) AS DATE) FROM payments WHERE payment_date > ?
+            UNION
+            SELECT make_date(pay_year, pay_month, 1) FROM hrms_payroll_runs WHERE updated_at > ?
+            """;
+
+    private static final String EARLIEST_ATTENDANCE_DATE_SQL = """
+            SELECT MIN(d) FROM (
+                SELECT MIN(attendance_date) AS d FROM student_daily_attendance
+                UNION ALL
+                SELECT MIN(attendance_date) FROM staff_daily_attendance
+            ) earliest
+            """;
+
+    private static final String EARLIEST_FINANCE_DATE_SQL = """
+            SELECT MIN(d) FROM (
+                SELECT MIN(issue_date) AS d FROM invoices
+                UNION ALL
+                SELECT CAST(MIN(payment_date) AS DATE) FROM payments
+                UNION ALL
+                SELECT MIN(make_date(pay_year, pay_month, 1)) FROM hrms_payroll_runs
+            ) earliest
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Recomputes every day from {@code from} to {@code to}, both inclusive.
+     *
+     * @return The number of rollup rows written.
+     */
+    public int refreshAttendance(LocalDate from, LocalDate to, LocalDateTime refreshedAt) {
+        Date first = Date.valueOf(from);
+        Date last = Date.valueOf(to);
+        int rows = jdbcTemplate.update(REFRESH_ATTENDANCE_SQL,
+                first, last, first, last, first, last, Timestamp.valueOf(refreshedAt));
+        log.debug("[DashboardRollupWriter] Refreshed {} attendance days from {} to {}", rows, from, to);
+        return rows;
+    }
+
+    /**
+     * Recomputes every month from {@code from} to {@code to}, both inclusive.
+     *
+     * @return The number of rollup rows written.
+     */
+    public int refreshFinance(YearMonth from, YearMonth to, LocalDateTime refreshedAt) {
+        Date first = Date.valueOf(from.atDay(1));
+        Date last = Date.valueOf(to.atDay(1));
+        LocalDate end = to.plusMonths(1).atDay(1);
+        int rows = jdbcTemplate.update(REFRESH_FINANCE_SQL,
+                first, last,
+                first, Date.valueOf(end),
+                Timestamp.valueOf(from.atDay(1).atStartOfDay()), Timestamp.valueOf(end.atStartOfDay()),
+                first, last,
+                Timestamp.valueOf(refreshedAt));
+        log.debug("[DashboardRollupWriter] Refreshed {} finance months from {} to {}", rows, from, to);
+        return rows;
+    }
+
+    /**
+     * Attendance dates with a student or staff mark written after {@code since}.
+     */
+    public List<LocalDate> findChangedAttendanceDates(LocalDateTime since) {
+        Timestamp after = Timestamp.valueOf(since);
+        return jdbcTemplate.queryForList(CHANGED_ATTENDANCE_DATES_SQL, LocalDate.class, after, after);
+    }
+
+    /**
+     * Months with an invoice, payment or payroll run written after {@code since}.
+     */
+    public List<YearMonth> findChangedFinanceMonths(LocalDateTime since) {
+        Timestamp after = Timestamp.valueOf(since);
+        return jdbcTemplate.queryForList(CHANGED_FINANCE_MONTHS_SQL, LocalDate.class, after, after, after).stream()
+                .map(YearMonth::from)
+                .toList();
+    }
+
+    /**
+     * The first day with any attendance mark, or {@code null} if there are none.
+     */
+    public LocalDate findEarliestAttendanceDate() {
+        return jdbcTemplate.queryForObject(EARLIEST_ATTENDANCE_DATE_SQL, LocalDate.class);
+    }
+
+    /**
+     * The first month with an invoice, payment or payroll run, or {@code null} if there are none.
+     */
+    public YearMonth findEarliestFinanceMonth() {
+        LocalDate earliest = jdbcTemplate.queryForObject(EARLIEST_FINANCE_DATE_SQL, LocalDate.class);
+        return earliest == null ? null : YearMonth.from(earliest);
+    }
+}
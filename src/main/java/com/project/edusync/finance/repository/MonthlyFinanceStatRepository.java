@@ -0,0 +1,22 @@
+package com.project.edusync.finance.repository;
+
+import com.project.edusync.finance.model.entity.MonthlyFinanceStat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface MonthlyFinanceStatRepository extends JpaRepository<MonthlyFinanceStat, LocalDate> {
+
+    List<MonthlyFinanceStat> findByMonthStartBetweenOrderByMonthStartAsc(LocalDate from, LocalDate to);
+
+    /**
+     * Start time of the last refresh, used as the incremental watermark; {@code null} if never built.
+     */
+    @Query("SELECT MAX(m.refreshedAt) FROM MonthlyFinanceStat m")
+    LocalDateTime findLastRefreshedAt();
+}
@@ -50,13 +50,4 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
             "FROM Payment p " +
             "WHERE p.status = 'SUCCESS'")
     BigDecimal findTotalCollected();
-
-    @Query("""
-            SELECT COALESCE(SUM(p.amountPaid), 0)
-            FROM Payment p
-            WHERE p.status = 'SUCCESS'
-              AND YEAR(p.paymentDate) = :year
-              AND MONTH(p.paymentDate) = :month
-            """)
-    BigDecimal sumCollectedByYearMonth(@Param("year") int year, @Param("month") int month);
 }
\ No newline at end of file
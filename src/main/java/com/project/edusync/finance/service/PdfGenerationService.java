@@ -9,24 +9,36 @@ import com.openhtmltopdf.svgsupport.BatikSVGDrawer;
 import com.project.edusync.common.exception.finance.PdfGenerationException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.multipdf.PDFMergerUtility;
 import org.jsoup.Jsoup;
 import org.jsoup.helper.W3CDom;
 import org.jsoup.nodes.Document;
-import org.springframework.core.io.ClassPathResource;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
-
-import javax.imageio.ImageIO;
-import java.awt.image.BufferedImage;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.net.HttpURLConnection;
-import java.net.URI;
+import java.io.OutputStream;
+import java.io.StringReader;
 import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 @RequiredArgsConstructor
@@ -37,7 +49,24 @@ public class PdfGenerationService {
     private static final String PLACEHOLDER_IMAGE_BASE64 =
             "data:image/png;base64,iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAQAAAC1HAwCAAAAC0lEQVR42mNk+A8AAQUBAScY42YAAAAASUVORK5CYII=";
 
+    // Resources referenced by relative URL in templates resolve against this location
+    private static final String TEMPLATES_BASE_URI = FileSystems.getDefault()
+            .getPath("src/main/resources/templates")
+            .toUri()
+            .toString();
+
+    // DocumentBuilder is not thread-safe; one per rendering thread
+    private static final ThreadLocal<DocumentBuilder> XHTML_PARSER =
+            ThreadLocal.withInitial(PdfGenerationService::newXhtmlParser);
+
     private final TemplateEngine templateEngine;
+    private final PdfImageAssetCache imageAssetCache;
+
+    /** Parse well-formed template output as XML instead of going through Jsoup. */
+    @Value("${edusync.pdf.xhtml-direct:true}")
+    private boolean xhtmlDirect = true;
+
+    private final Set<String> jsoupOnlyTemplates = ConcurrentHashMap.newKeySet();
 
     /**
      * Generates a PDF from a Thymeleaf template using OpenHTMLtoPDF.
@@ -48,35 +77,97 @@ public class PdfGenerationService {
      * @return A byte array (byte[]) of the generated PDF.
      */
     public byte[] generatePdfFromHtml(String templateName, Map<String, Object> data) {
+        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+            generatePdfFromHtml(templateName, data, outputStream);
+            return outputStream.toByteArray();
+        } catch (IOException ex) {
+            throw new PdfGenerationException("Failed to generate PDF", ex);
+        }
+    }
+
+    /**
+     * Same as {@link #generatePdfFromHtml(String, Map)}, but writes the PDF to {@code outputStream}
+     * (e.g. a temp file) instead of buffering it. The stream is not closed.
+     */
+    public void generatePdfFromHtml(String templateName, Map<String, Object> data, OutputStream outputStream) {
         try {
             ensureTemplateDataDefaults(data);
 
+            // Parsed templates are cached by the TemplateEngine (spring.thymeleaf.cache)
             Context context = new Context();
             context.setVariables(data);
             String rawHtml = templateEngine.process(templateName, context);
 
-            Document jsoupDoc = Jsoup.parse(rawHtml);
-            jsoupDoc.outputSettings().syntax(Document.OutputSettings.Syntax.xml);
-            org.w3c.dom.Document w3cDoc = new W3CDom().fromJsoup(jsoupDoc);
+            PdfRendererBuilder builder = new PdfRendererBuilder();
+            builder.useFastMode();
+            builder.useSVGDrawer(new BatikSVGDrawer());
+            builder.withW3cDocument(toW3cDocument(templateName, rawHtml), TEMPLATES_BASE_URI);
+            builder.toStream(outputStream);
+            builder.run();
+        } catch (Exception ex) {
+            log.error("Failed to generate PDF for template {}", templateName, ex);
+            throw new PdfGenerationException("Failed to generate PDF", ex);
+        }
+    }
 
-            try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-                PdfRendererBuilder builder = new PdfRendererBuilder();
-                builder.useFastMode();
-                builder.useSVGDrawer(new BatikSVGDrawer());
+    /**
+     * Parses rendered HTML into the DOM handed to OpenHTMLtoPDF.
+     *
+     * <p>Most templates render to well-formed XHTML, which a plain XML parser reads directly. That
+     * is much cheaper than parsing with Jsoup and copying the result into a W3C DOM. A template
+     * whose output is not well-formed falls back to Jsoup, and is sent straight to Jsoup from then on.</p>
+     */
+    private org.w3c.dom.Document toW3cDocument(String templateName, String rawHtml) {
+        if (xhtmlDirect && !jsoupOnlyTemplates.contains(templateName)) {
+            try {
+                return XHTML_PARSER.get().parse(new InputSource(new StringReader(rawHtml)));
+            } catch (SAXException | IOException ex) {
+                jsoupOnlyTemplates.add(templateName);
+                log.info("Template {} is not well-formed XHTML ({}); rendering it through Jsoup", templateName, ex.getMessage());
+            }
+        }
+        Document jsoupDoc = Jsoup.parse(rawHtml);
+        jsoupDoc.outputSettings().syntax(Document.OutputSettings.Syntax.xml);
+        return new W3CDom().fromJsoup(jsoupDoc);
+    }
 
-                String baseUri = FileSystems.getDefault()
-                        .getPath("src/main/resources/templates")
-                        .toUri()
-                        .toString();
+    private static DocumentBuilder newXhtmlParser() {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setNamespaceAware(true);
+            factory.setValidating(false);
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+            factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
+            factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+            DocumentBuilder parser = factory.newDocumentBuilder();
+            // Parse errors are handled by falling back to Jsoup; keep them off stderr
+            parser.setErrorHandler(new DefaultHandler());
+            return parser;
+        } catch (ParserConfigurationException ex) {
+            throw new IllegalStateException("XML parser does not support the required features", ex);
+        }
+    }
 
-                builder.withW3cDocument(w3cDoc, baseUri);
-                builder.toStream(outputStream);
-                builder.run();
-                return outputStream.toByteArray();
+    /**
+     * Concatenates PDF files, in order, into {@code outputStream}. Pages are buffered in temp files
+     * rather than on the heap, so this works for batches of any size. Closes {@code outputStream}.
+     */
+    public void mergePdfFiles(List<Path> files, OutputStream outputStream) {
+        try (outputStream) {
+            if (files.size() == 1) {
+                Files.copy(files.get(0), outputStream);
+                return;
             }
-        } catch (Exception ex) {
-            log.error("Failed to generate PDF for template {}", templateName, ex);
-            throw new PdfGenerationException("Failed to generate PDF", ex);
+            PDFMergerUtility merger = new PDFMergerUtility();
+            merger.setDestinationStream(outputStream);
+            for (Path file : files) {
+                merger.addSource(file.toFile());
+            }
+            merger.mergeDocuments(MemoryUsageSetting.setupTempFileOnly());
+        } catch (IOException ex) {
+            log.error("Error merging PDFs: {}", ex.getMessage(), ex);
+            throw new PdfGenerationException("Failed to merge batch PDFs", ex);
         }
     }
 
@@ -125,29 +216,20 @@ public class PdfGenerationService {
     }
 
     /**
-     * Loads the school logo from the classpath and encodes it in Base64.
+     * Returns the bundled school logo as a Base64 data URI. Read from the classpath once.
      */
     public String loadSchoolLogoBase64() {
-        try {
-            ClassPathResource resource = new ClassPathResource("static/images/logo.png");
-            if (!resource.exists()) {
-                log.warn("logo.png not found. Using empty string.");
-                return "";
-            }
-            byte[] fileContent = resource.getInputStream().readAllBytes();
-            return "data:image/png;base64," + Base64.getEncoder().encodeToString(fileContent);
-        } catch (IOException e) {
-            log.warn("Could not load logo.png: {}", e.getMessage());
-            return "";
-        }
+        return imageAssetCache.getClasspathLogo();
     }
 
     /**
      * Fetches a remote image and returns it as a Base64-encoded data URI.
      * Returns a placeholder silhouette if the URL is blank or the fetch fails.
+     * Images are served from {@link PdfImageAssetCache} after the first fetch.
      */
     public String fetchRemoteImageAsBase64(String url) {
-        return fetchRemoteImageAsBase64Internal(url, true);
+        String dataUri = imageAssetCache.getDataUri(url);
+        return dataUri != null ? dataUri : PLACEHOLDER_IMAGE_BASE64;
     }
 
     /**
@@ -155,40 +237,16 @@ public class PdfGenerationService {
      * Returns empty string if URL is blank or the fetch fails.
      */
     public String fetchRemoteImageAsBase64OrEmpty(String url) {
-        return fetchRemoteImageAsBase64Internal(url, false);
+        String dataUri = imageAssetCache.getDataUri(url);
+        return dataUri != null ? dataUri : "";
     }
 
-    private String fetchRemoteImageAsBase64Internal(String url, boolean usePlaceholderOnFailure) {
-        if (url == null || url.isBlank()) {
-            return usePlaceholderOnFailure ? PLACEHOLDER_IMAGE_BASE64 : "";
-        }
-        try {
-            HttpURLConnection conn = (HttpURLConnection) URI.create(url).toURL().openConnection();
-            conn.setConnectTimeout(5000);
-            conn.setReadTimeout(10000);
-            conn.setRequestProperty("Accept", "image/*");
-            conn.setInstanceFollowRedirects(true);
-
-            int status = conn.getResponseCode();
-            if (status != 200) {
-                log.warn("Non-200 response ({}) fetching image from: {}", status, url);
-                return usePlaceholderOnFailure ? PLACEHOLDER_IMAGE_BASE64 : "";
-            }
-
-            try (InputStream is = conn.getInputStream()) {
-                BufferedImage image = ImageIO.read(is);
-                if (image == null) {
-                    log.warn("Unsupported image format from {}", url);
-                    return usePlaceholderOnFailure ? PLACEHOLDER_IMAGE_BASE64 : "";
-                }
-
-                ByteArrayOutputStream pngBytes = new ByteArrayOutputStream();
-                ImageIO.write(image, "png", pngBytes);
-                return "data:image/png;base64," + Base64.getEncoder().encodeToString(pngBytes.toByteArray());
-            }
-        } catch (Exception e) {
-            log.warn("Failed to fetch profile image from {}: {}", url, e.getMessage());
-            return usePlaceholderOnFailure ? PLACEHOLDER_IMAGE_BASE64 : "";
-        }
+    /**
+     * Fetches several remote images in parallel, e.g. the photos of one batch of cards.
+     * Failed or blank URLs are left out of the result; look them up with
+     * {@link #fetchRemoteImageAsBase64(String)} to get the placeholder.
+     */
+    public Map<String, String> fetchRemoteImagesAsBase64(Collection<String> urls) {
+        return imageAssetCache.getDataUris(urls);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,248 @@
+package com.project.edusync.finance.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Caches the images embedded into generated PDFs (photos, school logo, signature, header image)
+ * as ready-to-use PNG data URIs.
+ *
+ * <p>Lookups go URL → SHA-256 of the encoded PNG → data URI, so different URLs serving the same
+ * picture share one entry. Images are scaled down to {@code max-dimension} before encoding, and
+ * the asset cache is bounded by the total size of the data URIs ({@code max-bytes}) rather than by
+ * entry count. Concurrent requests for the same URL share one download. Failed downloads are not
+ * cached; callers decide what to show instead.</p>
+ */
+@Slf4j
+@Component
+public class PdfImageAssetCache {
+
+    private static final String CLASSPATH_LOGO = "static/images/logo.png";
+    private static final String PNG_DATA_URI_PREFIX = "data:image/png;base64,";
+
+    private final Cache<String, String> hashByUrl;
+    private final Cache<String, String> dataUriByHash;
+    private final Map<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+    private final Executor fetchExecutor;
+    private final int maxDimension;
+    private final int maxDownloadBytes;
+    private volatile String classpathLogo;
+
+    public PdfImageAssetCache(
+            @Qualifier("pdfAssetFetchExecutor") Executor fetchExecutor,
+            @Value("${edusync.pdf.image-cache.max-bytes:67108864}") long maxBytes,
+            @Value("${edusync.pdf.image-cache.ttl-minutes:30}") long ttlMinutes,
+            @Value("${edusync.pdf.image-cache.max-dimension:600}") int maxDimension,
+            @Value("${edusync.pdf.image-cache.max-download-bytes:10485760}") int maxDownloadBytes) {
+        this.fetchExecutor = fetchExecutor;
+        this.maxDimension = maxDimension;
+        this.maxDownloadBytes = maxDownloadBytes;
+        this.hashByUrl = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .maximumSize(50_000)
+                .build();
+        this.dataUriByHash = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMinutes(ttlMinutes))
+                .maximumWeight(maxBytes)
+                .weigher((String hash, String dataUri) -> dataUri.length())
+                .build();
+    }
+
+    /**
+     * Returns the image at {@code url} as a PNG data URI, downloading it on a cache miss.
+     *
+     * @return the data URI, or {@code null} if the URL is blank or the image could not be loaded.
+     */
+    public String getDataUri(String url) {
+        if (url == null || url.isBlank()) {
+            return null;
+        }
+        String cached = lookup(url);
+        if (cached != null) {
+            return cached;
+        }
+
+        CompletableFuture<String> download = new CompletableFuture<>();
+        CompletableFuture<String> running = inFlight.putIfAbsent(url, download);
+        if (running != null) {
+            return running.join();
+        }
+        try {
+            String dataUri = download(url);
+            download.complete(dataUri);
+            return dataUri;
+        } catch (RuntimeException e) {
+            download.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(url, download);
+        }
+    }
+
+    /**
+     * Loads all {@code urls} in parallel on the asset fetch pool and returns the ones that loaded,
+     * by URL. Blank URLs and duplicates are skipped.
+     */
+    public Map<String, String> getDataUris(Collection<String> urls) {
+        List<String> distinct = urls.stream()
+                .filter(url -> url != null && !url.isBlank())
+                .distinct()
+                .toList();
+        Map<String, CompletableFuture<String>> futures = new LinkedHashMap<>();
+        for (String url : distinct) {
+            futures.put(url, CompletableFuture.supplyAsync(() -> getDataUri(url), fetchExecutor));
+        }
+        CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new)).join();
+
+        Map<String, String> dataUris = new LinkedHashMap<>();
+        futures.forEach((url, future) -> {
+            String dataUri = future.join();
+            if (dataUri != null) {
+                dataUris.put(url, dataUri);
+            }
+        });
+        return dataUris;
+    }
+
+    /**
+     * The bundled {@code logo.png} as a data URI, read from the classpath once.
+     *
+     * @return the data URI, or an empty string if the logo is missing.
+     */
+    public String getClasspathLogo() {
+        String logo = classpathLogo;
+        if (logo == null) {
+            logo = readClasspathLogo();
+            classpathLogo = logo;
+        }
+        return logo;
+    }
+
+    private String lookup(String url) {
+        String hash = hashByUrl.getIfPresent(url);
+        return hash == null ? null : dataUriByHash.getIfPresent(hash);
+    }
+
+    private String download(String url) {
+        try {
+            HttpURLConnection conn = (HttpURLConnection) URI.create(url).toURL().openConnection();
+            conn.setConnectTimeout(5000);
+            conn.setReadTimeout(10000);
+            conn.setRequestProperty("Accept", "image/*");
+            conn.setInstanceFollowRedirects(true);
+
+            int status = conn.getResponseCode();
+            if (status != 200) {
+                log.warn("Non-200 response ({}) fetching image from: {}", status, url);
+                return null;
+            }
+            if (conn.getContentLengthLong() > maxDownloadBytes) {
+                log.warn("Image at {} is {} bytes, over the {} byte limit", url, conn.getContentLengthLong(), maxDownloadBytes);
+                return null;
+            }
+
+            byte[] body;
+            try (InputStream is = conn.getInputStream()) {
+                body = is.readNBytes(maxDownloadBytes + 1);
+            }
+            if (body.length > maxDownloadBytes) {
+                log.warn("Image at {} is over the {} byte limit", url, maxDownloadBytes);
+                return null;
+            }
+
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(body));
+            if (image == null) {
+                log.warn("Unsupported image format from {}", url);
+                return null;
+            }
+
+            byte[] png = encodePng(scaleDown(image));
+            String hash = sha256(png);
+            String dataUri = dataUriByHash.asMap().computeIfAbsent(hash,
+                    ignored -> PNG_DATA_URI_PREFIX + Base64.getEncoder().encodeToString(png));
+            hashByUrl.put(url, hash);
+            return dataUri;
+        } catch (Exception e) {
+            log.warn("Failed to fetch profile image from {}: {}", url, e.getMessage());
+            return null;
+        }
+    }
+
+    /** Scales the image so that neither side exceeds {@code maxDimension}, keeping its aspect ratio. */
+    private BufferedImage scaleDown(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int longest = Math.max(width, height);
+        if (maxDimension <= 0 || longest <= maxDimension) {
+            return image;
+        }
+        double scale = (double) maxDimension / longest;
+        int scaledWidth = Math.max(1, (int) Math.round(width * scale));
+        int scaledHeight = Math.max(1, (int) Math.round(height * scale));
+
+        BufferedImage scaled = new BufferedImage(scaledWidth, scaledHeight, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = scaled.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(image, 0, 0, scaledWidth, scaledHeight, null);
+        } finally {
+            g.dispose();
+        }
+        return scaled;
+    }
+
+    private byte[] encodePng(BufferedImage image) throws IOException {
+        ByteArrayOutputStream pngBytes = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", pngBytes);
+        return pngBytes.toByteArray();
+    }
+
+    private String sha256(byte[] content) throws NoSuchAlgorithmException {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+
+    private String readClasspathLogo() {
+        try {
+            ClassPathResource resource = new ClassPathResource(CLASSPATH_LOGO);
+            if (!resource.exists()) {
+                log.warn("logo.png not found. Using empty string.");
+                return "";
+            }
+            try (InputStream is = resource.getInputStream()) {
+                return PNG_DATA_URI_PREFIX + Base64.getEncoder().encodeToString(is.readAllBytes());
+            }
+        } catch (IOException e) {
+            log.warn("Could not load logo.png: {}", e.getMessage());
+            return "";
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.project.edusync.finance.service.implementation;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuilds the master dashboard rollups at startup when the application is launched with
+ * {@code --rebuild-dashboard-rollups}, e.g. after a bulk import or a manual data fix.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DashboardRollupBackfillRunner implements ApplicationRunner {
+
+    static final String REBUILD_OPTION = "rebuild-dashboard-rollups";
+
+    private final DashboardRollupRefresher dashboardRollupRefresher;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(REBUILD_OPTION)) {
+            return;
+        }
+        log.info("Rebuilding master dashboard rollups (--{})", REBUILD_OPTION);
+        dashboardRollupRefresher.rebuild();
+    }
+}
@@ -0,0 +1,138 @@
+package com.project.edusync.finance.service.implementation;
+
+import com.project.edusync.finance.repository.DailyAttendanceStatRepository;
+import com.project.edusync.finance.repository.DashboardRollupWriter;
+import com.project.edusync.finance.repository.MonthlyFinanceStatRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Keeps the master dashboard rollups ({@code daily_attendance_stats}, {@code monthly_finance_stats})
+ * up to date.
+ *
+ * <p>Each run recomputes the trailing {@code recent-days} / {@code recent-months} window, which
+ * covers today's marks, the attendance edit window and deletions. Older days and months are only
+ * recomputed when a source row was written after the table's watermark, the start time of the
+ * previous run ({@code MAX(refreshed_at)}). An empty table is rebuilt from scratch.</p>
+ */
+@Slf4j
+@Component
+public class DashboardRollupRefresher {
+
+    /** Rows written shortly before the watermark may belong to transactions that committed after it. */
+    private static final Duration WATERMARK_OVERLAP = Duration.ofMinutes(10);
+
+    private final DashboardRollupWriter rollupWriter;
+    private final DailyAttendanceStatRepository dailyAttendanceStatRepository;
+    private final MonthlyFinanceStatRepository monthlyFinanceStatRepository;
+    private final int recentDays;
+    private final int recentMonths;
+
+    public DashboardRollupRefresher(DashboardRollupWriter rollupWriter,
+                                    DailyAttendanceStatRepository dailyAttendanceStatRepository,
+                                    MonthlyFinanceStatRepository monthlyFinanceStatRepository,
+                                    @Value("${app.analytics.rollup.recent-days:14}") int recentDays,
+                                    @Value("${app.analytics.rollup.recent-months:2}") int recentMonths) {
+        this.rollupWriter = rollupWriter;
+        this.dailyAttendanceStatRepository = dailyAttendanceStatRepository;
+        this.monthlyFinanceStatRepository = monthlyFinanceStatRepository;
+        this.recentDays = Math.max(1, recentDays);
+        this.recentMonths = Math.max(1, recentMonths);
+    }
+
+    @Scheduled(fixedDelayString = "${app.analytics.rollup.refresh-interval-ms:300000}",
+            initialDelayString = "${app.analytics.rollup.initial-delay-ms:30000}")
+    @Transactional
+    public void refresh() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        refreshAttendance(startedAt);
+        refreshFinance(startedAt);
+    }
+
+    /**
+     * Drops both rollups and recomputes them from the first day with data.
+     */
+    @Transactional
+    public void rebuild() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        rebuildAttendance(startedAt);
+        rebuildFinance(startedAt);
+    }
+
+    private void refreshAttendance(LocalDateTime startedAt) {
+        LocalDateTime watermark = dailyAttendanceStatRepository.findLastRefreshedAt();
+        if (watermark == null) {
+            rebuildAttendance(startedAt);
+            return;
+        }
+        LocalDate today = startedAt.toLocalDate();
+        LocalDate windowStart = today.minusDays(recentDays - 1L);
+        rollupWriter.refreshAttendance(windowStart, today, startedAt);
+
+        List<LocalDate> olderDates = rollupWriter.findChangedAttendanceDates(watermark.minus(WATERMARK_OVERLAP)).stream()
+                .filter(date -> date.isBefore(windowStart) || date.isAfter(today))
+                .sorted()
+                .toList();
+        for (LocalDate date : olderDates) {
+            rollupWriter.refreshAttendance(date, date, startedAt);
+        }
+        if (!olderDates.isEmpty()) {
+            log.info("Dashboard rollup: refreshed {} attendance days outside the recent window", olderDates.size());
+        }
+    }
+
+    private void refreshFinance(LocalDateTime startedAt) {
+        LocalDateTime watermark = monthlyFinanceStatRepository.findLastRefreshedAt();
+        if (watermark == null) {
+            rebuildFinance(startedAt);
+            return;
+        }
+        YearMonth currentMonth = YearMonth.from(startedAt);
+        YearMonth windowStart = currentMonth.minusMonths(recentMonths - 1L);
+        rollupWriter.refreshFinance(windowStart, currentMonth, startedAt);
+
+        List<YearMonth> olderMonths = rollupWriter.findChangedFinanceMonths(watermark.minus(WATERMARK_OVERLAP)).stream()
+                .filter(month -> month.isBefore(windowStart) || month.isAfter(currentMonth))
+                .sorted()
+                .toList();
+        for (YearMonth month : olderMonths) {
+            rollupWriter.refreshFinance(month, month, startedAt);
+        }
+        if (!olderMonths.isEmpty()) {
+            log.info("Dashboard rollup: refreshed {} finance months outside the recent window", olderMonths.size());
+        }
+    }
+
+    private void rebuildAttendance(LocalDateTime startedAt) {
+        LocalDate today = startedAt.toLocalDate();
+        LocalDate from = today.minusDays(recentDays - 1L);
+        LocalDate earliest = rollupWriter.findEarliestAttendanceDate();
+        if (earliest != null && earliest.isBefore(from)) {
+            from = earliest;
+        }
+        dailyAttendanceStatRepository.deleteAllInBatch();
+        int rows = rollupWriter.refreshAttendance(from, today, startedAt);
+        log.info("Dashboard rollup: rebuilt {} attendance days from {}", rows, from);
+    }
+
+    private void rebuildFinance(LocalDateTime startedAt) {
+        YearMonth currentMonth = YearMonth.from(startedAt);
+        YearMonth from = currentMonth.minusMonths(recentMonths - 1L);
+        YearMonth earliest = rollupWriter.findEarliestFinanceMonth();
+        if (earliest != null && earliest.isBefore(from)) {
+            from = earliest;
+        }
+        monthlyFinanceStatRepository.deleteAllInBatch();
+        int rows = rollupWriter.refreshFinance(from, currentMonth, startedAt);
+        log.info("Dashboard rollup: rebuilt {} finance months from {}", rows, from);
+    }
+}
@@ -16,6 +16,7 @@ import com.project.edusync.finance.utils.NumberToWordsConverter;
 import com.project.edusync.uis.model.entity.Student;
 import com.project.edusync.uis.model.entity.UserProfile;
 import com.project.edusync.uis.repository.StudentRepository;
+import com.project.edusync.uis.service.StudentDashboardCacheInvalidator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -45,6 +46,7 @@ public class InvoiceServiceImpl implements InvoiceService {
 
     private final PdfGenerationService pdfGenerationService;
     private final NumberToWordsConverter numberToWordsConverter;
+    private final StudentDashboardCacheInvalidator dashboardCacheInvalidator;
     // We don't need InvoiceLineItemRepository, as it will be saved by cascade.
 
     @Override
@@ -95,6 +97,7 @@ public class InvoiceServiceImpl implements InvoiceService {
 
         // 7. Save the invoice (and its line items via CascadeType.ALL)
         Invoice savedInvoice = invoiceRepository.save(invoice);
+        dashboardCacheInvalidator.evictStudents(List.of(studentId));
 
         // 8. Map to DTO and return
         return invoiceMapper.toDto(savedInvoice);
@@ -248,6 +251,7 @@ public class InvoiceServiceImpl implements InvoiceService {
 
         // 5. Save and return DTO
         Invoice updatedInvoice = invoiceRepository.save(invoice);
+        dashboardCacheInvalidator.evictStudents(List.of(invoice.getStudent().getId()));
         return invoiceMapper.toDto(updatedInvoice);
     }
 
@@ -271,6 +275,7 @@ public class InvoiceServiceImpl implements InvoiceService {
 
         // 3. Save and return DTO
         Invoice updatedInvoice = invoiceRepository.save(invoice);
+        dashboardCacheInvalidator.evictStudents(List.of(invoice.getStudent().getId()));
         return invoiceMapper.toDto(updatedInvoice);
     }
 
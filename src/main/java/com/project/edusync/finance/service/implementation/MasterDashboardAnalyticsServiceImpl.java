@@ -1,14 +1,12 @@
 package com.project.edusync.finance.service.implementation;
 
-import com.project.edusync.ams.model.repository.StaffDailyAttendanceRepository;
-import com.project.edusync.ams.model.repository.StudentDailyAttendanceRepository;
 import com.project.edusync.common.config.CacheNames;
 import com.project.edusync.finance.dto.dashboard.MasterAnalyticsResponseDTO;
-import com.project.edusync.finance.repository.InvoiceRepository;
-import com.project.edusync.finance.repository.PaymentRepository;
+import com.project.edusync.finance.model.entity.DailyAttendanceStat;
+import com.project.edusync.finance.model.entity.MonthlyFinanceStat;
+import com.project.edusync.finance.repository.DailyAttendanceStatRepository;
+import com.project.edusync.finance.repository.MonthlyFinanceStatRepository;
 import com.project.edusync.finance.service.MasterDashboardAnalyticsService;
-import com.project.edusync.hrms.model.enums.PayrollRunStatus;
-import com.project.edusync.hrms.repository.PayrollRunRepository;
 import com.project.edusync.uis.model.enums.StaffCategory;
 import com.project.edusync.uis.repository.StaffRepository;
 import com.project.edusync.uis.repository.StudentRepository;
@@ -23,11 +21,13 @@ import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.EnumSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -37,11 +37,8 @@ public class MasterDashboardAnalyticsServiceImpl implements MasterDashboardAnaly
     private static final DateTimeFormatter DAY_LABEL = DateTimeFormatter.ofPattern("MMM dd", Locale.ENGLISH);
     private static final Pattern CLASS_NUMBER_PATTERN = Pattern.compile("(\\d{1,2})");
 
-    private final InvoiceRepository invoiceRepository;
-    private final PaymentRepository paymentRepository;
-    private final PayrollRunRepository payrollRunRepository;
-    private final StudentDailyAttendanceRepository studentDailyAttendanceRepository;
-    private final StaffDailyAttendanceRepository staffDailyAttendanceRepository;
+    private final MonthlyFinanceStatRepository monthlyFinanceStatRepository;
+    private final DailyAttendanceStatRepository dailyAttendanceStatRepository;
     private final StudentRepository studentRepository;
     private final StaffRepository staffRepository;
 
@@ -60,24 +57,21 @@ public class MasterDashboardAnalyticsServiceImpl implements MasterDashboardAnaly
         List<MasterAnalyticsResponseDTO.FinancePayrollPoint> points = new ArrayList<>();
         YearMonth currentMonth = YearMonth.now();
 
+        // Rollup maintained by DashboardRollupRefresher; a month without a row has no data yet
+        Map<LocalDate, MonthlyFinanceStat> statsByMonth = monthlyFinanceStatRepository
+                .findByMonthStartBetweenOrderByMonthStartAsc(currentMonth.minusMonths(5).atDay(1), currentMonth.atDay(1))
+                .stream()
+                .collect(Collectors.toMap(MonthlyFinanceStat::getMonthStart, Function.identity()));
+
         for (int i = 5; i >= 0; i--) {
             YearMonth target = currentMonth.minusMonths(i);
-            int year = target.getYear();
-            int month = target.getMonthValue();
-
-            BigDecimal expected = nullSafe(invoiceRepository.sumExpectedByIssueYearMonth(year, month));
-            BigDecimal collected = nullSafe(paymentRepository.sumCollectedByYearMonth(year, month));
-            BigDecimal payroll = nullSafe(payrollRunRepository.sumTotalNetByMonthAndStatuses(
-                    year,
-                    month,
-                    EnumSet.of(PayrollRunStatus.PROCESSED, PayrollRunStatus.APPROVED, PayrollRunStatus.DISBURSED)
-            ));
+            MonthlyFinanceStat stat = statsByMonth.get(target.atDay(1));
 
             points.add(MasterAnalyticsResponseDTO.FinancePayrollPoint.builder()
                     .month(target.format(MONTH_LABEL))
-                    .expected(expected)
-                    .collected(collected)
-                    .payroll(payroll)
+                    .expected(stat == null ? BigDecimal.ZERO : nullSafe(stat.getExpectedAmount()))
+                    .collected(stat == null ? BigDecimal.ZERO : nullSafe(stat.getCollectedAmount()))
+                    .payroll(stat == null ? BigDecimal.ZERO : nullSafe(stat.getPayrollAmount()))
                     .build());
         }
 
@@ -91,16 +85,19 @@ public class MasterDashboardAnalyticsServiceImpl implements MasterDashboardAnaly
         long totalActiveStudents = studentRepository.countByIsActiveTrue();
         long totalActiveStaff = staffRepository.countByIsActiveTrue();
 
+        Map<LocalDate, DailyAttendanceStat> statsByDate = dailyAttendanceStatRepository
+                .findByStatDateBetweenOrderByStatDateAsc(today.minusDays(13), today)
+                .stream()
+                .collect(Collectors.toMap(DailyAttendanceStat::getStatDate, Function.identity()));
+
         for (int i = 13; i >= 0; i--) {
             LocalDate date = today.minusDays(i);
-
-            long presentStudents = studentDailyAttendanceRepository.countDistinctPresentStudentsByDate(date);
-            long presentStaff = staffDailyAttendanceRepository.countDistinctPresentStaffByDate(date);
+            DailyAttendanceStat stat = statsByDate.get(date);
 
             points.add(MasterAnalyticsResponseDTO.AttendancePoint.builder()
                     .day(date.format(DAY_LABEL))
-                    .student(toPercent(presentStudents, totalActiveStudents))
-                    .staff(toPercent(presentStaff, totalActiveStaff))
+                    .student(toPercent(stat == null ? 0L : stat.getPresentStudents(), totalActiveStudents))
+                    .staff(toPercent(stat == null ? 0L : stat.getPresentStaff(), totalActiveStaff))
                     .build());
         }
 
@@ -18,6 +18,7 @@ import com.project.edusync.dashboard.model.DashboardEvent;
 import com.project.edusync.dashboard.service.DashboardEventService;
 import com.project.edusync.uis.model.entity.Student;
 import com.project.edusync.uis.repository.StudentRepository;
+import com.project.edusync.uis.service.StudentDashboardCacheInvalidator;
 import com.razorpay.Order;
 import com.razorpay.RazorpayClient;
 import com.razorpay.Utils;
@@ -26,7 +27,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.json.JSONObject;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -34,6 +34,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -47,6 +48,7 @@ public class PaymentServiceImpl implements PaymentService {
     private final ModelMapper modelMapper; // We keep it for other future methods
     private final RazorpayClient razorpayClient;
     private final DashboardEventService dashboardEventService;
+    private final StudentDashboardCacheInvalidator dashboardCacheInvalidator;
 
     @Value("${app.razorpay.key-id}")
     private String razorpayKeyId;
@@ -55,7 +57,6 @@ public class PaymentServiceImpl implements PaymentService {
 
     @Override
     @Transactional
-    @CacheEvict(value = {"dashboard", "dashboardOverview"}, allEntries = true)
     public PaymentResponseDTO recordOfflinePayment(RecordOfflinePaymentDTO createDTO) {
 
         // 1. Find the related entities
@@ -108,6 +109,7 @@ public class PaymentServiceImpl implements PaymentService {
         // 5. Save both entities in the transaction
         invoiceRepository.save(invoice);
         Payment savedPayment = paymentRepository.save(payment);
+        dashboardCacheInvalidator.evictStudents(List.of(student.getId()));
 
         // Emit dashboard event
         DashboardEvent event = DashboardEvent.builder()
@@ -214,7 +216,6 @@ public class PaymentServiceImpl implements PaymentService {
 
     @Override
     @Transactional
-    @CacheEvict(value = {"dashboard", "dashboardOverview"}, allEntries = true)
     public PaymentResponseDTO verifyOnlinePayment(VerifyPaymentRequestDTO verifyDTO) throws Exception {
         log.info("Verifying payment for Razorpay Order ID: {}", verifyDTO.getOrderId());
 
@@ -261,6 +262,7 @@ public class PaymentServiceImpl implements PaymentService {
 
         invoiceRepository.save(invoice);
         Payment savedPayment = paymentRepository.save(payment);
+        dashboardCacheInvalidator.evictStudents(List.of(invoice.getStudent().getId()));
 
         DashboardEvent event = DashboardEvent.builder()
                 .type("finance")
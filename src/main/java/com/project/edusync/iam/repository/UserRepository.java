@@ -41,6 +41,9 @@ public interface UserRepository extends JpaRepository<User, Integer> {
 
     boolean existsByUsername(String enrollmentNumber);
 
+    @Query("SELECT u.username FROM User u WHERE u.username IN :usernames")
+    Set<String> findUsernamesThatExist(@Param("usernames") Set<String> usernames);
+
     // Custom Query to efficiently fetch all role
     //
     // names for a user
@@ -3,6 +3,7 @@ package com.project.edusync.iam.service.impl;
 import com.project.edusync.common.exception.ResourceNotFoundException;
 import com.project.edusync.common.exception.iam.InvalidCredentialsException;
 import com.project.edusync.common.security.AuthUtil;
+import com.project.edusync.common.security.UserDetailsCacheInvalidator;
 import com.project.edusync.common.service.EmailService;
 import com.project.edusync.iam.model.dto.auth.*;
 import com.project.edusync.iam.model.dto.user.MeResponse;
@@ -49,6 +50,7 @@ public class AuthServiceImpl implements AuthService {
     private final RefreshTokenService refreshTokenService;
     private final PasswordResetTokenService passwordResetTokenService;
     private final EmailService emailService;
+    private final UserDetailsCacheInvalidator userDetailsCacheInvalidator;
 
     @Override
     @Transactional
@@ -169,6 +171,7 @@ public class AuthServiceImpl implements AuthService {
 
         user.setPassword(passwordEncoder.encode(resetPasswordRequest.newPassword()));
         userRepository.save(user);
+        userDetailsCacheInvalidator.invalidate(user.getUsername());
 
         passwordResetTokenService.invalidateToken(resetPasswordRequest.token());
     }
@@ -11,6 +11,7 @@ import com.project.edusync.ams.model.repository.StudentDailyAttendanceRepository
 import com.project.edusync.common.exception.EdusyncException;
 import com.project.edusync.common.exception.ResourceNotFoundException;
 import com.project.edusync.common.exception.iam.UserAlreadyExistsException;
+import com.project.edusync.common.security.UserDetailsCacheInvalidator;
 import com.project.edusync.common.service.EmailService;
 import com.project.edusync.em.model.repository.StudentMarkRepository;
 import com.project.edusync.iam.model.dto.*;
@@ -115,6 +116,7 @@ public class UserManagementServiceImpl implements UserManagementService {
     private final LibrarianMapper librarianMapper;
     private final GuardianMapper guardianMapper;
     private final ProfileService profileService;
+    private final UserDetailsCacheInvalidator userDetailsCacheInvalidator;
 
     // =================================================================================
     // 1. SCHOOL ADMIN
@@ -463,8 +465,8 @@ public class UserManagementServiceImpl implements UserManagementService {
         userProfileRepository.save(profile);
         log.debug("User profile created. Profile ID: {}", profile.getId());
 
-        // 5. Send Welcome Email (Async)
-        // emailService.sendWelcomeEmail(savedUser, rawPassword);
+        // 5. Queue Welcome Email (sent after commit; the password is never emailed)
+        emailService.sendWelcomeEmail(savedUser);
 
         return savedUser;
     }
@@ -502,6 +504,7 @@ public class UserManagementServiceImpl implements UserManagementService {
                 }
             });
             student.setEnrollmentNumber(request.getEnrollmentNumber());
+            userDetailsCacheInvalidator.invalidate(user.getUsername());
             user.setUsername(request.getEnrollmentNumber());
         }
 
@@ -576,6 +579,7 @@ public class UserManagementServiceImpl implements UserManagementService {
                 }
             });
             staff.setEmployeeId(request.getEmployeeId());
+            userDetailsCacheInvalidator.invalidate(user.getUsername());
             user.setUsername(request.getEmployeeId());
         }
 
@@ -744,6 +748,7 @@ public class UserManagementServiceImpl implements UserManagementService {
         student.setActive(false);
         userRepository.save(user);
         studentRepository.save(student);
+        userDetailsCacheInvalidator.invalidate(user.getUsername());
         log.info("Student user deactivated successfully. studentUuid={}, userId={}", studentId, user.getId());
     }
 
@@ -759,6 +764,7 @@ public class UserManagementServiceImpl implements UserManagementService {
         staff.setActive(false);
         userRepository.save(user);
         staffRepository.save(staff);
+        userDetailsCacheInvalidator.invalidate(user.getUsername());
         log.info("Staff user deactivated successfully. staffUuid={}, userId={}", staffId, user.getId());
     }
 
@@ -780,6 +786,7 @@ public class UserManagementServiceImpl implements UserManagementService {
         guardian.setActive(false);
         userRepository.save(user);
         guardianRepository.save(guardian);
+        userDetailsCacheInvalidator.invalidate(user.getUsername());
         log.info("Guardian deactivated successfully. guardianUuid={}, userId={}", guardianId, user.getId());
     }
 
@@ -813,6 +820,7 @@ public class UserManagementServiceImpl implements UserManagementService {
         student.setActive(active);
         userRepository.save(user);
         studentRepository.save(student);
+        userDetailsCacheInvalidator.invalidate(user.getUsername());
 
         log.info("Success: Student user activation updated. studentUuid={}, userId={}, active={}",
                 studentId, user.getId(), active);
@@ -831,6 +839,7 @@ public class UserManagementServiceImpl implements UserManagementService {
         staff.setActive(active);
         userRepository.save(user);
         staffRepository.save(staff);
+        userDetailsCacheInvalidator.invalidate(user.getUsername());
 
         log.info("Success: Staff user activation updated. staffUuid={}, userId={}, active={}",
                 staffId, user.getId(), active);
@@ -855,6 +864,7 @@ public class UserManagementServiceImpl implements UserManagementService {
         guardian.setActive(active);
         userRepository.save(user);
         guardianRepository.save(guardian);
+        userDetailsCacheInvalidator.invalidate(user.getUsername());
 
         log.info("Success: Guardian activation updated. guardianUuid={}, userId={}, active={}",
                 guardianId, user.getId(), active);
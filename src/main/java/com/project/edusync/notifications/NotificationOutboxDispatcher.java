@@ -0,0 +1,188 @@
+package com.project.edusync.notifications;
+
+import com.project.edusync.notifications.model.NotificationOutboxMessage;
+import com.project.edusync.notifications.model.NotificationOutboxStatus;
+import com.project.edusync.notifications.repository.NotificationOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.sns.SnsClient;
+import software.amazon.awssdk.services.sns.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sns.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sns.model.PublishBatchRequest;
+import software.amazon.awssdk.services.sns.model.PublishBatchRequestEntry;
+import software.amazon.awssdk.services.sns.model.PublishBatchResponse;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Drains {@code notification_outbox} to SNS with {@code PublishBatch}, up to ten messages per call.
+ *
+ * <p>Each pass claims a chunk of due rows with {@code FOR UPDATE SKIP LOCKED} and publishes it in
+ * the same transaction, so a message is marked published only if SNS accepted it. Failed entries
+ * are retried with exponential backoff until {@code max-attempts}; entries SNS rejects as sender
+ * faults (e.g. an invalid message) are not retried. Delivery is at least once: a crash between
+ * publishing and commit republishes the chunk, which subscribers detect through the
+ * {@code dedupKey} attribute.</p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.notifications.sns", name = "enabled", havingValue = "true")
+public class NotificationOutboxDispatcher {
+
+    /** SNS accepts at most ten entries per PublishBatch call. */
+    static final int SNS_BATCH_LIMIT = 10;
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final SnsClient snsClient;
+    private final TransactionTemplate transactionTemplate;
+    private final String topicArn;
+    private final int claimSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration retention;
+
+    public NotificationOutboxDispatcher(NotificationOutboxRepository outboxRepository,
+                                        SnsClient snsClient,
+                                        TransactionTemplate transactionTemplate,
+                                        @Value("${app.notifications.sns.topic-arn}") String topicArn,
+                                        @Value("${app.notifications.outbox.claim-size:100}") int claimSize,
+                                        @Value("${app.notifications.outbox.max-attempts:8}") int maxAttempts,
+                                        @Value("${app.notifications.outbox.initial-backoff-ms:2000}") long initialBackoffMs,
+                                        @Value("${app.notifications.outbox.max-backoff-ms:600000}") long maxBackoffMs,
+                                        @Value("${app.notifications.outbox.retention-days:7}") int retentionDays) {
+        this.outboxRepository = outboxRepository;
+        this.snsClient = snsClient;
+        this.transactionTemplate = transactionTemplate;
+        this.topicArn = topicArn;
+        this.claimSize = Math.max(SNS_BATCH_LIMIT, claimSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoff = Duration.ofMillis(Math.max(1, initialBackoffMs));
+        this.maxBackoff = Duration.ofMillis(Math.max(initialBackoffMs, maxBackoffMs));
+        this.retention = Duration.ofDays(Math.max(1, retentionDays));
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.outbox.poll-interval-ms:1000}")
+    public void dispatch() {
+        Integer claimed;
+        do {
+            claimed = transactionTemplate.execute(status -> dispatchChunk(LocalDateTime.now()));
+        } while (claimed != null && claimed == claimSize);
+    }
+
+    @Scheduled(cron = "${app.notifications.outbox.purge-cron:0 30 3 * * *}")
+    public void purgePublished() {
+        int deleted = outboxRepository.deletePublishedBefore(LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            log.info("Notification outbox: purged {} published messages", deleted);
+        }
+    }
+
+    private int dispatchChunk(LocalDateTime now) {
+        List<NotificationOutboxMessage> due = outboxRepository.claimDue(now, claimSize);
+        for (int from = 0; from < due.size(); from += SNS_BATCH_LIMIT) {
+            publish(due.subList(from, Math.min(from + SNS_BATCH_LIMIT, due.size())), now);
+        }
+        return due.size();
+    }
+
+    private void publish(List<NotificationOutboxMessage> batch, LocalDateTime now) {
+        Map<String, NotificationOutboxMessage> byEntryId = new HashMap<>();
+        List<PublishBatchRequestEntry> entries = new ArrayList<>(batch.size());
+        for (NotificationOutboxMessage message : batch) {
+            String entryId = String.valueOf(message.getId());
+            byEntryId.put(entryId, message);
+            entries.add(toEntry(entryId, message));
+        }
+
+        PublishBatchResponse response;
+        try {
+            response = snsClient.publishBatch(PublishBatchRequest.builder()
+                    .topicArn(topicArn)
+                    .publishBatchRequestEntries(entries)
+                    .build());
+        } catch (SdkException e) {
+            log.warn("Notification outbox: PublishBatch of {} messages failed: {}", batch.size(), e.getMessage());
+            batch.forEach(message -> retryLater(message, e.getMessage(), now));
+            return;
+        }
+
+        response.successful().forEach(entry -> {
+            NotificationOutboxMessage message = byEntryId.get(entry.id());
+            message.setStatus(NotificationOutboxStatus.PUBLISHED);
+            message.setPublishedAt(now);
+            message.setLastError(null);
+        });
+        for (BatchResultErrorEntry failure : response.failed()) {
+            NotificationOutboxMessage message = byEntryId.get(failure.id());
+            String error = failure.code() + ": " + failure.message();
+            if (Boolean.TRUE.equals(failure.senderFault())) {
+                message.setAttempts(message.getAttempts() + 1);
+                markFailed(message, error);
+            } else {
+                retryLater(message, error, now);
+            }
+        }
+    }
+
+    private PublishBatchRequestEntry toEntry(String entryId, NotificationOutboxMessage message) {
+        PublishBatchRequestEntry.Builder entry = PublishBatchRequestEntry.builder()
+                .id(entryId)
+                .message(message.getPayload())
+                .messageAttributes(Map.of(
+                        "eventType", stringAttribute(message.getEventType()),
+                        "dedupKey", stringAttribute(message.getDedupKey())));
+        if (topicArn.endsWith(".fifo")) {
+            entry.messageGroupId(message.getEventType())
+                    .messageDeduplicationId(message.getDedupKey());
+        }
+        return entry.build();
+    }
+
+    private void retryLater(NotificationOutboxMessage message, String error, LocalDateTime now) {
+        int attempts = message.getAttempts() + 1;
+        message.setAttempts(attempts);
+        if (attempts >= maxAttempts) {
+            markFailed(message, error);
+            return;
+        }
+        message.setLastError(truncate(error));
+        message.setNextAttemptAt(now.plus(backoff(attempts)));
+    }
+
+    private void markFailed(NotificationOutboxMessage message, String error) {
+        message.setStatus(NotificationOutboxStatus.FAILED);
+        message.setLastError(truncate(error));
+        log.error("Notification outbox: giving up on {} message {} after {} attempts: {}",
+                message.getEventType(), message.getId(), message.getAttempts(), error);
+    }
+
+    /** initial-backoff doubled per failed attempt, capped at max-backoff. */
+    Duration backoff(int attempts) {
+        int doublings = Math.min(attempts - 1, 30);
+        Duration delay = initialBackoff.multipliedBy(1L << doublings);
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private static MessageAttributeValue stringAttribute(String value) {
+        return MessageAttributeValue.builder().dataType("String").stringValue(value).build();
+    }
+
+    private static String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
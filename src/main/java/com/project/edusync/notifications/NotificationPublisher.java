@@ -1,43 +1,72 @@
 package com.project.edusync.notifications;
 
-import org.springframework.stereotype.Service;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.edusync.notifications.repository.NotificationOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import software.amazon.awssdk.services.sns.SnsClient;
-import software.amazon.awssdk.services.sns.model.PublishRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
 
+/**
+ * Writes notifications to the outbox in the caller's transaction; {@link NotificationOutboxDispatcher}
+ * publishes them to SNS in the background.
+ */
+@Slf4j
 @Service
 @ConditionalOnProperty(prefix = "app.notifications.sns", name = "enabled", havingValue = "true")
 public class NotificationPublisher {
 
-    private final SnsClient snsClient;
+    public static final String STUDENT_CREATED = "STUDENT_CREATED";
 
-    public NotificationPublisher(SnsClient snsClient) {
-        this.snsClient = snsClient;
-    }
+    private final NotificationOutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
 
-    private final String TOPIC_ARN =
-            "arn:aws:sns:us-east-1:000000000000:notification-topic";
+    public NotificationPublisher(NotificationOutboxRepository outboxRepository, ObjectMapper objectMapper) {
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+    }
 
     public void studentCreated(
+            UUID studentUuid,
             String studentName,
             String parentEmail,
             String parentPhone
     ) {
+        Objects.requireNonNull(studentUuid, "studentUuid");
+        Map<String, String> payload = new LinkedHashMap<>();
+        payload.put("event", STUDENT_CREATED);
+        payload.put("studentUuid", studentUuid.toString());
+        payload.put("studentName", studentName);
+        payload.put("parentEmail", parentEmail);
+        payload.put("parentPhone", parentPhone);
+        enqueue(STUDENT_CREATED, dedupKey(STUDENT_CREATED, studentUuid), payload);
+    }
 
-        String message = String.format("""
-        {
-          "event":"STUDENT_CREATED",
-          "studentName":"%s",
-          "parentEmail":"%s",
-          "parentPhone":"%s"
+    private void enqueue(String eventType, String dedupKey, Map<String, ?> payload) {
+        String message;
+        try {
+            message = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + eventType + " notification", e);
+        }
+        int inserted = outboxRepository.insertIfAbsent(eventType, dedupKey, message, LocalDateTime.now());
+        if (inserted == 0) {
+            log.debug("[NotificationPublisher] Dropped duplicate {} notification", eventType);
         }
-        """, studentName, parentEmail, parentPhone);
-
-        snsClient.publish(
-                PublishRequest.builder()
-                        .topicArn(TOPIC_ARN)
-                        .message(message)
-                        .build()
-        );
     }
-}
\ No newline at end of file
+
+    /**
+     * Identifies the event by the entity it happened to, never by its content: two students with the
+     * same name and parent contact are two notifications, while the same student's event enqueued
+     * twice is one.
+     */
+    static String dedupKey(String eventType, UUID entityUuid) {
+        return eventType + ":" + entityUuid;
+    }
+}
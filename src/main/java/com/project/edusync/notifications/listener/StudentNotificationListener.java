@@ -19,14 +19,20 @@ public class StudentNotificationListener {
         this.notificationPublisher = notificationPublisher;
     }
 
+    /**
+     * Runs inside the creating transaction so the outbox row commits or rolls back with the student;
+     * nothing is sent over the network on this thread.
+     */
     @TransactionalEventListener(
-            phase = TransactionPhase.AFTER_COMMIT
+            phase = TransactionPhase.BEFORE_COMMIT,
+            fallbackExecution = true
     )
     public void handleStudentCreated(
             StudentCreatedEvent event
     ) {
 
         notificationPublisher.studentCreated(
+                event.getStudentUuid(),
                 event.getStudentName(),
                 event.getParentEmail(),
                 event.getParentPhone()
@@ -0,0 +1,7 @@
+package com.project.edusync.notifications.model;
+
+public enum NotificationOutboxStatus {
+    PENDING,
+    PUBLISHED,
+    FAILED
+}
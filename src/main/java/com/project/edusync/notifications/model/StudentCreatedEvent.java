@@ -1,21 +1,30 @@
 package com.project.edusync.notifications.model;
 
+import java.util.UUID;
+
 public class StudentCreatedEvent {
 
+    private final UUID studentUuid;
     private final String studentName;
     private final String parentEmail;
     private final String parentPhone;
 
     public StudentCreatedEvent(
+            UUID studentUuid,
             String studentName,
             String parentEmail,
             String parentPhone
     ) {
+        this.studentUuid = studentUuid;
         this.studentName = studentName;
         this.parentEmail = parentEmail;
         this.parentPhone = parentPhone;
     }
 
+    public UUID getStudentUuid() {
+        return studentUuid;
+    }
+
     public String getStudentName() {
         return studentName;
     }
@@ -0,0 +1,52 @@
+package com.project.edusync.notifications.repository;
+
+import com.project.edusync.notifications.model.NotificationOutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutboxMessage, Long> {
+
+    /**
+     * Enqueues a message in the caller's transaction unless one with the same dedup key is still stored.
+     *
+     * @return 1 if the message was enqueued, 0 if it was a duplicate.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO notification_outbox (event_type, dedup_key, payload, status, attempts, next_attempt_at, created_at)
+            VALUES (:eventType, :dedupKey, :payload, 'PENDING', 0, :now, :now)
+            ON CONFLICT (dedup_key) DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("eventType") String eventType,
+                       @Param("dedupKey") String dedupKey,
+                       @Param("payload") String payload,
+                       @Param("now") LocalDateTime now);
+
+    /**
+     * Locks up to {@code limit} due messages, oldest first. Rows locked by another node's dispatcher
+     * are skipped, so several nodes can drain the outbox without publishing a message twice.
+     */
+    @Query(value = """
+            SELECT * FROM notification_outbox
+            WHERE status = 'PENDING'
+              AND next_attempt_at <= :now
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<NotificationOutboxMessage> claimDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM NotificationOutboxMessage m WHERE m.status = com.project.edusync.notifications.model.NotificationOutboxStatus.PUBLISHED AND m.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") LocalDateTime before);
+}
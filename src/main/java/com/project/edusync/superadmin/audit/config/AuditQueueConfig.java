@@ -1,6 +1,7 @@
 package com.project.edusync.superadmin.audit.config;
 
 import com.project.edusync.superadmin.audit.model.entity.AuditLog;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -10,9 +11,12 @@ import java.util.concurrent.LinkedBlockingQueue;
 @Configuration
 public class AuditQueueConfig {
 
+    /**
+     * In-memory buffer between request threads and {@code AuditAsyncWriter}. When it is full,
+     * events overflow to the on-disk spill file rather than being dropped.
+     */
     @Bean
-    public BlockingQueue<AuditLog> auditLogQueue() {
-        return new LinkedBlockingQueue<>(10_000);
+    public BlockingQueue<AuditLog> auditLogQueue(@Value("${app.audit.queue-capacity:10000}") int capacity) {
+        return new LinkedBlockingQueue<>(capacity);
     }
 }
-
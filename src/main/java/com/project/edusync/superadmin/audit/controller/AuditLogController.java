@@ -1,5 +1,6 @@
 package com.project.edusync.superadmin.audit.controller;
 
+import com.project.edusync.superadmin.audit.model.dto.AuditLogCursorPageDto;
 import com.project.edusync.superadmin.audit.model.dto.AuditLogResponseDto;
 import com.project.edusync.superadmin.audit.service.AuditLogService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -46,5 +47,21 @@ public class AuditLogController {
 
         return ResponseEntity.ok(auditLogService.search(actor, action, entityType, from, to, pageable));
     }
-}
 
+    @GetMapping("/audit-logs/cursor")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    @Operation(summary = "Search audit logs with keyset pagination (no total count)",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<AuditLogCursorPageDto> searchByCursor(
+            @RequestParam(value = "actor", required = false) String actor,
+            @RequestParam(value = "action", required = false) String action,
+            @RequestParam(value = "entityType", required = false) String entityType,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "50") int size) {
+
+        int clampedSize = Math.min(Math.max(size, 1), 200);
+        return ResponseEntity.ok(auditLogService.searchByCursor(actor, action, entityType, from, to, cursor, clampedSize));
+    }
+}
@@ -0,0 +1,14 @@
+package com.project.edusync.superadmin.audit.model.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset audit search. {@code nextCursor} is opaque and {@code null} on the last page;
+ * no total count is computed.
+ */
+public record AuditLogCursorPageDto(
+        List<AuditLogResponseDto> items,
+        String nextCursor,
+        boolean hasMore
+) {
+}
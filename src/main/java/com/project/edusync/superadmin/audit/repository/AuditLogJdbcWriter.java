@@ -0,0 +1,54 @@
+package com.project.edusync.superadmin.audit.repository;
+
+import com.project.edusync.superadmin.audit.model.entity.AuditLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Inserts audit events with one JDBC batch per flush. Ids come from {@code audit_logs_id_seq}
+ * inside the statement, so no per-row sequence round trip is needed.
+ *
+ * <p>The batch runs in one transaction: the driver may split it into several multi-row INSERTs,
+ * and a batch that fails halfway is spilled and replayed as a whole, so none of it may commit.</p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class AuditLogJdbcWriter {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO audit_logs (id, actor_username, actor_role, action, entity_type, entity_id,
+                                    entity_display_name, change_payload, ip_address, user_agent, event_timestamp)
+            VALUES (nextval('audit_logs_id_seq'), ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public void insertAll(List<AuditLog> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> insertBatch(batch));
+    }
+
+    private void insertBatch(List<AuditLog> batch) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, event) -> {
+            ps.setString(1, event.getActorUsername());
+            ps.setString(2, event.getActorRole());
+            ps.setString(3, event.getAction());
+            ps.setString(4, event.getEntityType());
+            ps.setString(5, event.getEntityId());
+            ps.setString(6, event.getEntityDisplayName());
+            ps.setString(7, event.getChangePayload());
+            ps.setString(8, event.getIpAddress());
+            ps.setString(9, event.getUserAgent());
+            ps.setObject(10, OffsetDateTime.ofInstant(event.getTimestamp(), ZoneOffset.UTC));
+        });
+    }
+}
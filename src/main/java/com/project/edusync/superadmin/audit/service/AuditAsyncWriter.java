@@ -1,43 +1,233 @@
 package com.project.edusync.superadmin.audit.service;
 
 import com.project.edusync.superadmin.audit.model.entity.AuditLog;
-import com.project.edusync.superadmin.audit.repository.AuditLogRepository;
-import lombok.RequiredArgsConstructor;
+import com.project.edusync.superadmin.audit.repository.AuditLogJdbcWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Drains the audit queue into the database on a dedicated thread.
+ *
+ * <p>Batch size and pacing follow the load: while a backlog remains the next batch is taken
+ * immediately and the batch size doubles (up to {@code max-batch-size}); when idle the thread
+ * waits up to {@code max-flush-interval-ms} for the next event and the batch size shrinks back.
+ * Events that cannot be queued or written are appended to {@link AuditSpillFile} and replayed
+ * once the database keeps up again. On shutdown the queue is drained before the thread exits.</p>
+ *
+ * <p>Metrics: {@code edusync.audit.queue.depth}, {@code edusync.audit.batch.size},
+ * {@code edusync.audit.flush} (timer), {@code edusync.audit.events.spilled},
+ * {@code edusync.audit.events.replayed} and {@code edusync.audit.events.dropped}.</p>
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
-public class AuditAsyncWriter {
+public class AuditAsyncWriter implements SmartLifecycle {
+
+    // Stop after the web server has finished in-flight requests, so their audit events are flushed too
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+    private static final long REPLAY_RETRY_DELAY_MS = 30_000;
 
     private final BlockingQueue<AuditLog> auditLogQueue;
-    private final AuditLogRepository auditLogRepository;
+    private final AuditLogJdbcWriter auditLogJdbcWriter;
+    private final AuditSpillFile auditSpillFile;
+    private final int minBatchSize;
+    private final int maxBatchSize;
+    private final long maxFlushIntervalMs;
+    private final long shutdownTimeoutMs;
 
-    @Scheduled(fixedDelay = 500)
-    @Transactional
-    public void flush() {
-        List<AuditLog> batch = new ArrayList<>(200);
-        auditLogQueue.drainTo(batch, 200);
+    private final Timer flushTimer;
+    private final Counter spilledCounter;
+    private final Counter replayedCounter;
+    private final Counter droppedCounter;
 
-        if (batch.isEmpty()) {
-            return;
+    private volatile boolean running;
+    private volatile int batchSize;
+    private long nextReplayAttemptAt;
+    private Thread worker;
+
+    public AuditAsyncWriter(BlockingQueue<AuditLog> auditLogQueue,
+                            AuditLogJdbcWriter auditLogJdbcWriter,
+                            AuditSpillFile auditSpillFile,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.audit.min-batch-size:100}") int minBatchSize,
+                            @Value("${app.audit.max-batch-size:5000}") int maxBatchSize,
+                            @Value("${app.audit.max-flush-interval-ms:500}") long maxFlushIntervalMs,
+                            @Value("${app.audit.shutdown-timeout-ms:30000}") long shutdownTimeoutMs) {
+        this.auditLogQueue = auditLogQueue;
+        this.auditLogJdbcWriter = auditLogJdbcWriter;
+        this.auditSpillFile = auditSpillFile;
+        this.minBatchSize = minBatchSize;
+        this.maxBatchSize = maxBatchSize;
+        this.maxFlushIntervalMs = maxFlushIntervalMs;
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+        this.batchSize = minBatchSize;
+
+        Gauge.builder("edusync.audit.queue.depth", auditLogQueue, Collection::size)
+                .description("Audit events waiting to be written")
+                .register(meterRegistry);
+        Gauge.builder("edusync.audit.batch.size", this, writer -> writer.batchSize)
+                .description("Current adaptive audit batch size")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("edusync.audit.flush")
+                .description("Latency of one audit batch insert")
+                .register(meterRegistry);
+        this.spilledCounter = Counter.builder("edusync.audit.events.spilled")
+                .description("Audit events written to the local spill file")
+                .register(meterRegistry);
+        this.replayedCounter = Counter.builder("edusync.audit.events.replayed")
+                .description("Audit events replayed from the spill file into the database")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("edusync.audit.events.dropped")
+                .description("Audit events lost because neither the queue nor the spill file accepted them")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Hands an event to the pipeline without blocking the caller. A full queue means the database
+     * is not keeping up, so the event goes to the spill file instead of being dropped.
+     */
+    public void enqueue(AuditLog event) {
+        if (!auditLogQueue.offer(event)) {
+            spill(List.of(event));
         }
+    }
 
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::run, "audit-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread current = worker;
+        if (current != null) {
+            try {
+                current.join(shutdownTimeoutMs);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // Anything the writer could not flush in time is kept on disk for the next start
+        List<AuditLog> leftover = new ArrayList<>();
+        auditLogQueue.drainTo(leftover);
+        if (!leftover.isEmpty()) {
+            log.warn("Audit writer did not drain in time; spilling {} event(s) to disk", leftover.size());
+            spill(leftover);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    void run() {
+        replaySpilled();
+        while (running || !auditLogQueue.isEmpty()) {
+            try {
+                List<AuditLog> batch = nextBatch();
+                if (batch.isEmpty()) {
+                    replaySpilled();
+                    continue;
+                }
+                flush(batch);
+                adaptBatchSize();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.error("Audit writer loop error: {}", ex.getMessage(), ex);
+            }
+        }
+    }
+
+    /**
+     * Waits up to the flush interval for the first event, then takes whatever else is already
+     * queued, up to the current batch size.
+     */
+    List<AuditLog> nextBatch() throws InterruptedException {
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        AuditLog first = auditLogQueue.poll(maxFlushIntervalMs, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return batch;
+        }
+        batch.add(first);
+        auditLogQueue.drainTo(batch, batchSize - 1);
+        return batch;
+    }
+
+    void flush(List<AuditLog> batch) {
+        Timer.Sample sample = Timer.start();
         try {
-            auditLogRepository.saveAll(batch);
+            auditLogJdbcWriter.insertAll(batch);
             log.debug("Audit batch flushed: size={}", batch.size());
-        } catch (Exception ex) {
-            log.error("Audit batch write failed: size={}, error={}", batch.size(), ex.getMessage(), ex);
+        } catch (RuntimeException ex) {
+            log.error("Audit batch write failed, spilling to disk: size={}, error={}", batch.size(), ex.getMessage());
+            spill(batch);
+            nextReplayAttemptAt = System.currentTimeMillis() + REPLAY_RETRY_DELAY_MS;
+        } finally {
+            sample.stop(flushTimer);
         }
     }
-}
 
+    void adaptBatchSize() {
+        int depth = auditLogQueue.size();
+        if (depth >= batchSize) {
+            batchSize = Math.min(maxBatchSize, batchSize * 2);
+        } else if (depth < batchSize / 4) {
+            batchSize = Math.max(minBatchSize, batchSize / 2);
+        }
+    }
+
+    /** Replays the spill file while the queue is idle; backs off after a failure. */
+    void replaySpilled() {
+        if (!auditSpillFile.hasPending() || System.currentTimeMillis() < nextReplayAttemptAt) {
+            return;
+        }
+        try {
+            int replayed = auditSpillFile.replay(maxBatchSize, auditLogJdbcWriter::insertAll);
+            if (replayed > 0) {
+                replayedCounter.increment(replayed);
+                log.info("Replayed {} spilled audit event(s)", replayed);
+            }
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Audit spill replay failed, retrying in {} ms: {}", REPLAY_RETRY_DELAY_MS, ex.getMessage());
+            nextReplayAttemptAt = System.currentTimeMillis() + REPLAY_RETRY_DELAY_MS;
+        }
+    }
 
+    int getBatchSize() {
+        return batchSize;
+    }
 
+    private void spill(List<AuditLog> events) {
+        try {
+            auditSpillFile.append(events);
+            spilledCounter.increment(events.size());
+        } catch (IOException ex) {
+            droppedCounter.increment(events.size());
+            log.error("Audit spill file unavailable - dropping {} event(s): {}", events.size(), ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.project.edusync.superadmin.audit.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+/**
+ * Creates the monthly {@code audit_logs} partitions ahead of time.
+ *
+ * <p>The table is range-partitioned on {@code event_timestamp} by the Flyway migration, which also
+ * defines {@code ensure_audit_logs_partition(date)}. Rows for a month without a partition would land
+ * in {@code audit_logs_default}, so this keeps {@code app.audit.partitions-ahead} months ready.
+ * Only active where Flyway manages the schema.</p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spring.flyway.enabled", havingValue = "true", matchIfMissing = true)
+public class AuditLogPartitionMaintainer {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int partitionsAhead;
+
+    public AuditLogPartitionMaintainer(JdbcTemplate jdbcTemplate,
+                                       @Value("${app.audit.partitions-ahead:3}") int partitionsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.partitionsAhead = partitionsAhead;
+    }
+
+    @Scheduled(cron = "0 45 2 * * ?")
+    public void ensureUpcomingPartitions() {
+        LocalDate month = LocalDate.now(ZoneOffset.UTC).withDayOfMonth(1);
+        try {
+            for (int i = 0; i <= partitionsAhead; i++) {
+                jdbcTemplate.queryForList("SELECT ensure_audit_logs_partition(?)", month.plusMonths(i));
+            }
+            log.debug("Audit log partitions ensured through {}", month.plusMonths(partitionsAhead));
+        } catch (DataAccessException ex) {
+            log.warn("Could not create upcoming audit log partitions: {}", ex.getMessage());
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.project.edusync.superadmin.audit.service;
 
+import com.project.edusync.superadmin.audit.model.dto.AuditLogCursorPageDto;
 import com.project.edusync.superadmin.audit.model.dto.AuditLogResponseDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -24,6 +25,16 @@ public interface AuditLogService {
                                      Instant from,
                                      Instant to,
                                      Pageable pageable);
-}
-
 
+    /**
+     * Keyset variant of {@link #search}: newest first, ordered by (timestamp, id), starting after
+     * {@code cursor} (or at the newest entry when it is blank). Does not count matching rows.
+     */
+    AuditLogCursorPageDto searchByCursor(String actor,
+                                         String action,
+                                         String entityType,
+                                         Instant from,
+                                         Instant to,
+                                         String cursor,
+                                         int size);
+}
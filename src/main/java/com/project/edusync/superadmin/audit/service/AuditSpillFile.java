@@ -0,0 +1,139 @@
+package com.project.edusync.superadmin.audit.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.edusync.superadmin.audit.model.entity.AuditLog;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Local append-only overflow for audit events (one JSON object per line).
+ *
+ * <p>Events land here when the in-memory queue is full or a database flush fails, and are
+ * replayed into the database once it keeps up again (and at startup). Replay first moves the
+ * file aside, so new overflow can keep appending while old events are being written.</p>
+ */
+@Slf4j
+@Component
+public class AuditSpillFile {
+
+    private final Path file;
+    private final Path replayFile;
+    private final ObjectMapper objectMapper;
+    private final Object appendLock = new Object();
+
+    public AuditSpillFile(@Value("${app.audit.spill-file:data/audit/audit-spill.jsonl}") String file,
+                          ObjectMapper objectMapper) {
+        this.file = Paths.get(file).toAbsolutePath().normalize();
+        this.replayFile = this.file.resolveSibling(this.file.getFileName() + ".replaying");
+        this.objectMapper = objectMapper;
+    }
+
+    public void append(Collection<AuditLog> events) throws IOException {
+        List<String> lines = new ArrayList<>(events.size());
+        for (AuditLog event : events) {
+            lines.add(objectMapper.writeValueAsString(event));
+        }
+        appendLines(lines);
+    }
+
+    public boolean hasPending() {
+        return Files.exists(file) || Files.exists(replayFile);
+    }
+
+    /**
+     * Feeds spilled events to {@code sink} in batches. If a batch fails, it and every event after
+     * it are appended back to the spill file and the exception is rethrown.
+     *
+     * @return The number of events written to the sink.
+     */
+    public int replay(int batchSize, Consumer<List<AuditLog>> sink) throws IOException {
+        synchronized (appendLock) {
+            // A leftover .replaying file means a previous replay was interrupted; finish it first.
+            if (!Files.exists(replayFile)) {
+                if (!Files.exists(file)) {
+                    return 0;
+                }
+                Files.move(file, replayFile, StandardCopyOption.ATOMIC_MOVE);
+            }
+        }
+
+        int replayed = 0;
+        try (BufferedReader reader = Files.newBufferedReader(replayFile, StandardCharsets.UTF_8)) {
+            List<AuditLog> batch = new ArrayList<>(batchSize);
+            List<String> batchLines = new ArrayList<>(batchSize);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    batch.add(objectMapper.readValue(line, AuditLog.class));
+                    batchLines.add(line);
+                } catch (JsonProcessingException ex) {
+                    // Most likely a line torn by a crash mid-write
+                    log.warn("Skipping unreadable audit spill line: {}", ex.getOriginalMessage());
+                    continue;
+                }
+                if (batch.size() >= batchSize) {
+                    replayed += writeOrRequeue(batch, batchLines, reader, sink);
+                    batch.clear();
+                    batchLines.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                replayed += writeOrRequeue(batch, batchLines, reader, sink);
+            }
+        }
+        Files.deleteIfExists(replayFile);
+        return replayed;
+    }
+
+    private int writeOrRequeue(List<AuditLog> batch, List<String> batchLines, BufferedReader rest,
+                               Consumer<List<AuditLog>> sink) throws IOException {
+        try {
+            sink.accept(batch);
+            return batch.size();
+        } catch (RuntimeException ex) {
+            List<String> remaining = new ArrayList<>(batchLines);
+            String line;
+            while ((line = rest.readLine()) != null) {
+                if (!line.isBlank()) {
+                    remaining.add(line);
+                }
+            }
+            appendLines(remaining);
+            rest.close();
+            Files.deleteIfExists(replayFile);
+            throw ex;
+        }
+    }
+
+    private void appendLines(List<String> lines) throws IOException {
+        synchronized (appendLock) {
+            Files.createDirectories(file.getParent());
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (String line : lines) {
+                    writer.write(line);
+                    writer.newLine();
+                }
+            }
+        }
+    }
+}
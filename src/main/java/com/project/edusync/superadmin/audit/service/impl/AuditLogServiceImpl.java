@@ -3,15 +3,20 @@ package com.project.edusync.superadmin.audit.service.impl;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.edusync.common.exception.EdusyncException;
+import com.project.edusync.superadmin.audit.model.dto.AuditLogCursorPageDto;
 import com.project.edusync.superadmin.audit.model.dto.AuditLogResponseDto;
 import com.project.edusync.superadmin.audit.model.entity.AuditLog;
 import com.project.edusync.superadmin.audit.repository.AuditLogRepository;
+import com.project.edusync.superadmin.audit.service.AuditAsyncWriter;
 import com.project.edusync.superadmin.audit.service.AuditLogService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -19,18 +24,23 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.BlockingQueue;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AuditLogServiceImpl implements AuditLogService {
 
+    private static final Sort KEYSET_SORT = Sort.by(Sort.Order.desc("timestamp"), Sort.Order.desc("id"));
+
     private final AuditLogRepository auditLogRepository;
-    private final BlockingQueue<AuditLog> auditLogQueue;
+    private final AuditAsyncWriter auditAsyncWriter;
     private final ObjectMapper objectMapper;
 
     @Override
@@ -57,10 +67,7 @@ public class AuditLogServiceImpl implements AuditLogService {
             logEntry.setUserAgent(userAgent);
             logEntry.setTimestamp(Instant.now());
 
-            boolean accepted = auditLogQueue.offer(logEntry);
-            if (!accepted) {
-                log.warn("Audit queue at capacity - dropping event: action={}, actor={}", action, actorInfo.username());
-            }
+            auditAsyncWriter.enqueue(logEntry);
         } catch (Exception ex) {
             log.error("Failed to write audit log action={} entityType={} entityId={}", action, entityType, entityId, ex);
         }
@@ -105,10 +112,51 @@ public class AuditLogServiceImpl implements AuditLogService {
                                             Instant to,
                                             Pageable pageable) {
 
+        return auditLogRepository.findAll(filterSpec(actor, action, entityType, from, to), pageable).map(this::toResponse);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public AuditLogCursorPageDto searchByCursor(String actor,
+                                                String action,
+                                                String entityType,
+                                                Instant from,
+                                                Instant to,
+                                                String cursor,
+                                                int size) {
+
+        Specification<AuditLog> spec = filterSpec(actor, action, entityType, from, to);
+        if (StringUtils.hasText(cursor)) {
+            Cursor after = Cursor.decode(cursor);
+            spec = spec.and((root, query, cb) -> cb.or(
+                    cb.lessThan(root.get("timestamp"), after.timestamp()),
+                    cb.and(cb.equal(root.get("timestamp"), after.timestamp()),
+                            cb.lessThan(root.get("id"), after.id()))));
+        }
+
+        // One extra row tells us whether another page exists, without a COUNT(*)
+        List<AuditLog> rows = auditLogRepository.findBy(spec, query -> query
+                .sortBy(KEYSET_SORT)
+                .limit(size + 1)
+                .all());
+
+        boolean hasMore = rows.size() > size;
+        List<AuditLog> pageRows = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            AuditLog last = pageRows.get(pageRows.size() - 1);
+            nextCursor = new Cursor(last.getTimestamp(), last.getId()).encode();
+        }
+        return new AuditLogCursorPageDto(pageRows.stream().map(this::toResponse).toList(), nextCursor, hasMore);
+    }
+
+    private Specification<AuditLog> filterSpec(String actor, String action, String entityType, Instant from, Instant to) {
         Specification<AuditLog> spec = (root, query, cb) -> cb.conjunction();
 
         if (StringUtils.hasText(actor)) {
-            spec = spec.and((root, query, cb) -> cb.like(cb.lower(root.get("actorUsername")), "%" + actor.trim().toLowerCase() + "%"));
+            // lower(actor_username) LIKE '%x%' is served by the trigram index on the same expression
+            String pattern = "%" + escapeLike(actor.trim().toLowerCase()) + "%";
+            spec = spec.and((root, query, cb) -> cb.like(cb.lower(root.get("actorUsername")), pattern, '\\'));
         }
         if (StringUtils.hasText(action)) {
             spec = spec.and((root, query, cb) -> cb.equal(root.get("action"), action.trim()));
@@ -122,8 +170,30 @@ public class AuditLogServiceImpl implements AuditLogService {
         if (to != null) {
             spec = spec.and((root, query, cb) -> cb.lessThanOrEqualTo(root.get("timestamp"), to));
         }
+        return spec;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /** Position of the last row of a page: {@code base64url("<timestamp>|<id>")}. */
+    private record Cursor(Instant timestamp, Long id) {
 
-        return auditLogRepository.findAll(spec, pageable).map(this::toResponse);
+        String encode() {
+            String raw = timestamp + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String token) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+                int separator = raw.lastIndexOf('|');
+                return new Cursor(Instant.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+            } catch (IllegalArgumentException | DateTimeParseException | StringIndexOutOfBoundsException ex) {
+                throw new EdusyncException("Invalid audit log cursor", HttpStatus.BAD_REQUEST);
+            }
+        }
     }
 
     private String serializePayload(Map<String, Object> payload) {
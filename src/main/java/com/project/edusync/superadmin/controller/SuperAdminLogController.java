@@ -6,12 +6,14 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("${api.url}/super")
@@ -26,8 +28,18 @@ public class SuperAdminLogController {
     @Operation(summary = "Read recent application logs", security = @SecurityRequirement(name = "bearerAuth"))
     public ResponseEntity<LogTailResponseDto> tailLogs(
             @RequestParam(value = "lines", required = false) Integer lines,
-            @RequestParam(value = "level", required = false) String level) {
-        return ResponseEntity.ok(applicationLogService.tailLogs(lines, level));
+            @RequestParam(value = "level", required = false) String level,
+            @RequestParam(value = "traceId", required = false) String traceId) {
+        return ResponseEntity.ok(applicationLogService.tailLogs(lines, level, traceId));
+    }
+
+    @GetMapping(value = "/logs/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    @Operation(summary = "Follow application logs as they are written (SSE)", security = @SecurityRequirement(name = "bearerAuth"))
+    public SseEmitter followLogs(
+            @RequestParam(value = "level", required = false) String level,
+            @RequestParam(value = "traceId", required = false) String traceId) {
+        return applicationLogService.followLogs(level, traceId);
     }
 }
 
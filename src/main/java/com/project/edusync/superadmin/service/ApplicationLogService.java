@@ -1,9 +1,19 @@
 package com.project.edusync.superadmin.service;
 
 import com.project.edusync.superadmin.model.dto.LogTailResponseDto;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 public interface ApplicationLogService {
 
     LogTailResponseDto tailLogs(Integer lines, String level);
-}
 
+    /**
+     * Returns the most recent entries, optionally restricted to one level and/or one MDC traceId.
+     */
+    LogTailResponseDto tailLogs(Integer lines, String level, String traceId);
+
+    /**
+     * Streams entries appended to the log file from now on as {@code log} SSE events.
+     */
+    SseEmitter followLogs(String level, String traceId);
+}
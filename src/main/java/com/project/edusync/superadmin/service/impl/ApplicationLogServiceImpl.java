@@ -4,29 +4,37 @@ import com.project.edusync.common.exception.EdusyncException;
 import com.project.edusync.superadmin.model.dto.LogEntryDto;
 import com.project.edusync.superadmin.model.dto.LogTailResponseDto;
 import com.project.edusync.superadmin.service.ApplicationLogService;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.io.File;
 import java.io.IOException;
-import java.io.RandomAccessFile;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+@Slf4j
 @Service
 public class ApplicationLogServiceImpl implements ApplicationLogService {
 
     private static final int DEFAULT_LINES = 200;
     private static final int MAX_LINES = 2000;
     private static final Set<String> ALLOWED_LEVELS = Set.of("ERROR", "WARN", "INFO", "DEBUG");
+    private static final Pattern TRACE_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
     private static final Pattern LOG_ENTRY_START = Pattern.compile(
             "\\d{4}-\\d{2}-\\d{2}\\s+\\d{2}:\\d{2}:\\d{2}\\.\\d{3}\\s+(TRACE|DEBUG|INFO|WARN|ERROR)\\s+"
     );
@@ -46,17 +54,80 @@ public class ApplicationLogServiceImpl implements ApplicationLogService {
     @Value("${logging.file.name:}")
     private String configuredLogFile;
 
+    @Value("${edusync.logs.follow.timeout-ms:1800000}")
+    private long followTimeoutMs = 1_800_000L;
+
+    // Live SSE subscribers; all of them share one read position in the log file.
+    private final List<LogFollower> followers = new CopyOnWriteArrayList<>();
+    private long followPosition = -1;
+    private Object followFileKey;
+
     @Override
     public LogTailResponseDto tailLogs(Integer lines, String level) {
+        return tailLogs(lines, level, null);
+    }
+
+    @Override
+    public LogTailResponseDto tailLogs(Integer lines, String level, String traceId) {
         int requestedLines = normalizeLines(lines);
-        String normalizedLevel = normalizeLevel(level);
+        LogFilter filter = new LogFilter(normalizeLevel(level), normalizeTraceId(traceId));
 
         Path logPath = resolveConfiguredLogPath();
-        List<LogEntryDto> entries = tailEntries(logPath.toFile(), requestedLines, normalizedLevel);
+        List<LogEntryDto> entries = tailEntries(logPath, requestedLines, filter);
 
         return new LogTailResponseDto(logPath.toString(), entries.size(), entries);
     }
 
+    @Override
+    public SseEmitter followLogs(String level, String traceId) {
+        LogFilter filter = new LogFilter(normalizeLevel(level), normalizeTraceId(traceId));
+        resolveConfiguredLogPath();
+
+        SseEmitter emitter = new SseEmitter(followTimeoutMs);
+        LogFollower follower = new LogFollower(emitter, filter);
+        emitter.onCompletion(() -> followers.remove(follower));
+        emitter.onTimeout(() -> followers.remove(follower));
+        emitter.onError(ex -> followers.remove(follower));
+        followers.add(follower);
+        return emitter;
+    }
+
+    /**
+     * Pushes lines appended since the previous poll to every follower. Only runs file I/O while
+     * someone is subscribed; a rotated or truncated file is re-read from the start.
+     */
+    @Scheduled(fixedDelayString = "${edusync.logs.follow.poll-interval-ms:1000}")
+    public synchronized void pollFollowers() {
+        if (followers.isEmpty()) {
+            followPosition = -1;
+            return;
+        }
+
+        try {
+            Path logPath = resolveConfiguredLogPath();
+            BasicFileAttributes attributes = Files.readAttributes(logPath, BasicFileAttributes.class);
+            if (followPosition < 0) {
+                // First subscriber: start streaming from the current end of the file
+                followPosition = attributes.size();
+                followFileKey = attributes.fileKey();
+                return;
+            }
+            if (!Objects.equals(followFileKey, attributes.fileKey()) || attributes.size() < followPosition) {
+                followPosition = 0;
+                followFileKey = attributes.fileKey();
+            }
+
+            followPosition = LogFileReader.readForward(logPath, followPosition, LogFileReader.DEFAULT_BLOCK_SIZE,
+                    line -> {
+                        for (LogFollower follower : followers) {
+                            collectMatches(line, follower.filter(), entry -> send(follower, entry));
+                        }
+                    });
+        } catch (IOException | EdusyncException ex) {
+            log.warn("Unable to follow application log file: {}", ex.getMessage());
+        }
+    }
+
     private Path resolveConfiguredLogPath() {
         if (configuredLogFile == null || configuredLogFile.isBlank()) {
             throw new EdusyncException("No log file configured. Set logging.file.name to enable this endpoint.", HttpStatus.NOT_FOUND);
@@ -74,28 +145,18 @@ public class ApplicationLogServiceImpl implements ApplicationLogService {
         return path;
     }
 
-    private List<LogEntryDto> tailEntries(File file, int maxResults, String levelFilter) {
+    private List<LogEntryDto> tailEntries(Path file, int maxResults, LogFilter filter) {
         List<LogEntryDto> reversedEntries = new ArrayList<>();
 
-        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
-            long pointer = raf.length() - 1;
-            StringBuilder lineBuilder = new StringBuilder();
-
-            while (pointer >= 0 && reversedEntries.size() < maxResults) {
-                raf.seek(pointer);
-                int read = raf.read();
-
-                if (read == '\n') {
-                    appendIfMatches(reversedEntries, lineBuilder, levelFilter);
-                } else if (read != '\r') {
-                    lineBuilder.append((char) read);
+        try {
+            LogFileReader.readBackward(file, LogFileReader.DEFAULT_BLOCK_SIZE, line -> {
+                List<LogEntryDto> lineEntries = new ArrayList<>(1);
+                collectMatches(line, filter, lineEntries::add);
+                for (int i = lineEntries.size() - 1; i >= 0 && reversedEntries.size() < maxResults; i--) {
+                    reversedEntries.add(lineEntries.get(i));
                 }
-                pointer--;
-            }
-
-            if (!lineBuilder.isEmpty() && reversedEntries.size() < maxResults) {
-                appendIfMatches(reversedEntries, lineBuilder, levelFilter);
-            }
+                return reversedEntries.size() < maxResults;
+            });
         } catch (IOException ex) {
             throw new EdusyncException("Unable to read application log file.", HttpStatus.INTERNAL_SERVER_ERROR, ex);
         }
@@ -104,26 +165,31 @@ public class ApplicationLogServiceImpl implements ApplicationLogService {
         return reversedEntries;
     }
 
-    private void appendIfMatches(List<LogEntryDto> collector, StringBuilder reversedLine, String levelFilter) {
-        String line = reversedLine.reverse().toString();
-        reversedLine.setLength(0);
-
-        if (line.isBlank()) {
+    private void collectMatches(String line, LogFilter filter, Consumer<LogEntryDto> collector) {
+        if (line.isBlank() || !filter.mayMatch(line)) {
             return;
         }
 
         for (String candidate : splitCompoundLine(line)) {
-            if (candidate.isBlank()) {
+            if (candidate.isBlank() || !filter.mayMatch(candidate)) {
                 continue;
             }
 
             LogEntryDto entry = parseEntry(candidate);
-            if (levelFilter == null || levelFilter.equals(entry.level())) {
-                collector.add(entry);
+            if (filter.level() == null || filter.level().equals(entry.level())) {
+                collector.accept(entry);
             }
         }
     }
 
+    private void send(LogFollower follower, LogEntryDto entry) {
+        try {
+            follower.emitter().send(SseEmitter.event().name("log").data(entry));
+        } catch (IOException | IllegalStateException ex) {
+            followers.remove(follower);
+        }
+    }
+
     private List<String> splitCompoundLine(String line) {
         List<Integer> starts = new ArrayList<>();
         Matcher matcher = LOG_ENTRY_START.matcher(line);
@@ -177,6 +243,17 @@ public class ApplicationLogServiceImpl implements ApplicationLogService {
         return Math.min(lines, MAX_LINES);
     }
 
+    private String normalizeTraceId(String traceId) {
+        if (traceId == null || traceId.isBlank()) {
+            return null;
+        }
+        String normalized = traceId.trim();
+        if (!TRACE_ID.matcher(normalized).matches()) {
+            throw new EdusyncException("Invalid traceId.", HttpStatus.BAD_REQUEST);
+        }
+        return normalized;
+    }
+
     private String normalizeLevel(String level) {
         if (level == null || level.isBlank()) {
             return null;
@@ -187,6 +264,22 @@ public class ApplicationLogServiceImpl implements ApplicationLogService {
         }
         return normalized;
     }
-}
 
+    /**
+     * Level and MDC traceId filter. {@link #mayMatch} is a plain substring check on the raw line
+     * so non-matching lines are dropped before any regex parsing.
+     */
+    private record LogFilter(String level, String traceId) {
 
+        boolean mayMatch(String line) {
+            if (traceId != null && !line.contains("[" + traceId + "]")) {
+                return false;
+            }
+            // Lines that do not parse are reported as INFO, so an INFO filter has to look at every line
+            return level == null || "INFO".equals(level) || line.contains(level);
+        }
+    }
+
+    private record LogFollower(SseEmitter emitter, LogFilter filter) {
+    }
+}
@@ -0,0 +1,142 @@
+package com.project.edusync.superadmin.service.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Block-oriented line reader for the application log file.
+ *
+ * <p>Reads fixed-size blocks through a {@link FileChannel} and splits lines on the {@code '\n'}
+ * byte before decoding, so a multi-byte UTF-8 character is never cut in half (0x0A cannot occur
+ * inside a UTF-8 sequence). A trailing {@code '\r'} is stripped.</p>
+ */
+final class LogFileReader {
+
+    static final int DEFAULT_BLOCK_SIZE = 64 * 1024;
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private LogFileReader() {
+    }
+
+    /**
+     * Reads lines from the end of the file towards the start.
+     *
+     * @param consumer Receives each line, newest first; returning {@code false} stops the scan.
+     */
+    static void readBackward(Path file, int blockSize, Predicate<String> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer block = ByteBuffer.allocate(blockSize);
+            byte[] buf = block.array();
+            // Tail of a line that started in an earlier block (bytes already read, logically after buf)
+            byte[] carry = EMPTY;
+            long position = channel.size();
+
+            while (position > 0) {
+                int length = (int) Math.min(blockSize, position);
+                position -= length;
+                readFully(channel, block, position, length);
+
+                int end = length;
+                for (int i = length - 1; i >= 0; i--) {
+                    if (buf[i] == '\n') {
+                        String line = lineOf(buf, i + 1, end, carry);
+                        carry = EMPTY;
+                        if (!consumer.test(line)) {
+                            return;
+                        }
+                        end = i;
+                    }
+                }
+                carry = prepend(buf, end, carry);
+            }
+
+            if (carry.length > 0) {
+                consumer.test(decode(carry, 0, carry.length));
+            }
+        }
+    }
+
+    /**
+     * Reads every complete line written after {@code fromPosition}.
+     *
+     * @return The offset just after the last complete line; a partially written last line is left
+     *         for the next call.
+     */
+    static long readForward(Path file, long fromPosition, int blockSize, Consumer<String> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = fromPosition;
+            long lineStart = fromPosition;
+            ByteBuffer block = ByteBuffer.allocate(blockSize);
+            byte[] buf = block.array();
+            ByteArrayOutputStream pending = new ByteArrayOutputStream();
+
+            while (position < size) {
+                block.clear();
+                int read = channel.read(block, position);
+                if (read <= 0) {
+                    break;
+                }
+                int segmentStart = 0;
+                for (int i = 0; i < read; i++) {
+                    if (buf[i] == '\n') {
+                        pending.write(buf, segmentStart, i - segmentStart);
+                        byte[] line = pending.toByteArray();
+                        pending.reset();
+                        consumer.accept(decode(line, 0, line.length));
+                        segmentStart = i + 1;
+                        lineStart = position + i + 1;
+                    }
+                }
+                pending.write(buf, segmentStart, read - segmentStart);
+                position += read;
+            }
+            return lineStart;
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer block, long position, int length) throws IOException {
+        block.clear().limit(length);
+        while (block.hasRemaining()) {
+            if (channel.read(block, position + block.position()) < 0) {
+                throw new IOException("Log file shrank while it was being read");
+            }
+        }
+    }
+
+    private static byte[] prepend(byte[] buf, int length, byte[] carry) {
+        if (length == 0) {
+            return carry;
+        }
+        byte[] joined = new byte[length + carry.length];
+        System.arraycopy(buf, 0, joined, 0, length);
+        System.arraycopy(carry, 0, joined, length, carry.length);
+        return joined;
+    }
+
+    /** Decodes {@code buf[from, to)} followed by the bytes carried over from the next block. */
+    private static String lineOf(byte[] buf, int from, int to, byte[] carry) {
+        if (carry.length == 0) {
+            return decode(buf, from, to - from);
+        }
+        byte[] joined = new byte[(to - from) + carry.length];
+        System.arraycopy(buf, from, joined, 0, to - from);
+        System.arraycopy(carry, 0, joined, to - from, carry.length);
+        return decode(joined, 0, joined.length);
+    }
+
+    private static String decode(byte[] bytes, int offset, int length) {
+        if (length > 0 && bytes[offset + length - 1] == '\r') {
+            length--;
+        }
+        return new String(bytes, offset, length, StandardCharsets.UTF_8);
+    }
+}
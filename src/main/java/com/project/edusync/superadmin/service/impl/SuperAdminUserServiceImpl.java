@@ -3,6 +3,7 @@ package com.project.edusync.superadmin.service.impl;
 import com.project.edusync.common.exception.EdusyncException;
 import com.project.edusync.common.exception.ResourceNotFoundException;
 import com.project.edusync.common.model.dto.response.MessageResponse;
+import com.project.edusync.common.security.UserDetailsCacheInvalidator;
 import com.project.edusync.common.settings.service.AppSettingService;
 import com.project.edusync.iam.model.entity.User;
 import com.project.edusync.iam.repository.RefreshTokenRepository;
@@ -50,6 +51,7 @@ public class SuperAdminUserServiceImpl implements SuperAdminUserService {
     private final RefreshTokenRepository refreshTokenRepository;
     private final PasswordEncoder passwordEncoder;
     private final AppSettingService appSettingService;
+    private final UserDetailsCacheInvalidator userDetailsCacheInvalidator;
 
     private static final Map<String, String> GUARDIAN_SORT_FIELDS = Map.of(
             "createdAt", "createdAt",
@@ -118,6 +120,7 @@ public class SuperAdminUserServiceImpl implements SuperAdminUserService {
         // Existing login flow treats null lastLoginTimestamp as must-change-password state.
         user.setLastLoginTimestamp(null);
         userRepository.save(user);
+        userDetailsCacheInvalidator.invalidate(user.getUsername());
 
         return new SuperAdminResetPasswordResponseDto("Password reset successfully.", temporaryPassword);
     }
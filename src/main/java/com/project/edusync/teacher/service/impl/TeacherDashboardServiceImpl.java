@@ -82,7 +82,9 @@ public class TeacherDashboardServiceImpl implements TeacherDashboardService {
             );
         }
 
-        bySection.values().forEach(acc -> acc.studentCount = studentRepository.countBySection_IdAndIsActiveTrue(acc.section.getId()));
+        Map<Long, Long> studentCounts = activeStudentCountsBySection(
+                bySection.values().stream().map(acc -> acc.section.getId()).toList());
+        bySection.values().forEach(acc -> acc.studentCount = studentCounts.getOrDefault(acc.section.getId(), 0L));
 
         return bySection.values().stream()
                 .map(acc -> TeacherMyClassesResponseDto.builder()
@@ -108,11 +110,20 @@ public class TeacherDashboardServiceImpl implements TeacherDashboardService {
     public List<TeacherMyClassesResponseDto> getMyClassTeacherSections(Long currentUserId) {
         Staff staff = resolveStaffFromCurrentUser(currentUserId);
         List<Section> sections = sectionRepository.findAllActiveByClassTeacherId(staff.getId());
+        if (sections.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> sectionIds = sections.stream().map(Section::getId).toList();
+        Map<Long, List<Schedule>> schedulesBySection = scheduleRepository
+                .findAllActiveByTeacherStaffIdAndSectionIdIn(staff.getId(), sectionIds)
+                .stream()
+                .collect(Collectors.groupingBy(schedule -> schedule.getSection().getId()));
+        Map<Long, Long> studentCounts = activeStudentCountsBySection(sectionIds);
 
         return sections.stream().map(section -> {
-                    List<Schedule> schedules = scheduleRepository.findAllActiveByTeacherStaffIdAndSectionId(staff.getId(), section.getId());
                     Map<UUID, TeacherMyClassesResponseDto.SubjectItem> subjectsByUuid = new LinkedHashMap<>();
-                    for (Schedule schedule : schedules) {
+                    for (Schedule schedule : schedulesBySection.getOrDefault(section.getId(), List.of())) {
                         subjectsByUuid.putIfAbsent(
                                 schedule.getSubject().getUuid(),
                                 TeacherMyClassesResponseDto.SubjectItem.builder()
@@ -123,7 +134,7 @@ public class TeacherDashboardServiceImpl implements TeacherDashboardService {
                         );
                     }
 
-                    long studentCount = studentRepository.countBySection_IdAndIsActiveTrue(section.getId());
+                    long studentCount = studentCounts.getOrDefault(section.getId(), 0L);
                     return TeacherMyClassesResponseDto.builder()
                             .classUuid(section.getAcademicClass().getUuid())
                             .className(section.getAcademicClass().getName())
@@ -343,16 +354,15 @@ public class TeacherDashboardServiceImpl implements TeacherDashboardService {
             return emptySummary(targetDate, isOnLeaveToday);
         }
 
-        List<Student> students = studentRepository.findTeacherStudents(sectionIds, null, null, false, "%", Pageable.unpaged()).getContent();
-        List<Long> studentIds = students.stream().map(Student::getId).toList();
-        long totalStudents = studentIds.size();
+        // Counts and per-student aggregates come straight from grouped queries; no Student entities are loaded
+        long totalStudents = activeStudentCountsBySection(sectionIds).values().stream().mapToLong(Long::longValue).sum();
 
-        Map<Long, StudentDailyAttendanceRepository.StudentAttendanceAggregateProjection> today =
-                attendanceSummaryByStudent(studentIds, targetDate, targetDate);
-        long present = today.values().stream().mapToLong(p -> safe(p.getPresentCount())).sum();
-        long absent = today.values().stream().mapToLong(p -> safe(p.getAbsentCount())).sum();
-        long late = today.values().stream().mapToLong(p -> safe(p.getLateCount())).sum();
-        long marked = today.values().stream().mapToLong(p -> safe(p.getTotalCount())).sum();
+        List<StudentDailyAttendanceRepository.StudentAttendanceAggregateProjection> today =
+                studentDailyAttendanceRepository.summarizeAttendanceForActiveStudentsInSections(sectionIds, targetDate, targetDate);
+        long present = today.stream().mapToLong(p -> safe(p.getPresentCount())).sum();
+        long absent = today.stream().mapToLong(p -> safe(p.getAbsentCount())).sum();
+        long late = today.stream().mapToLong(p -> safe(p.getLateCount())).sum();
+        long marked = today.stream().mapToLong(p -> safe(p.getTotalCount())).sum();
 
         List<Schedule> teacherSchedules = scheduleRepository.findAllActiveByTeacherStaffIdWithReferences(staff.getId());
         DayOfWeek targetDay = targetDate.getDayOfWeek();
@@ -360,10 +370,11 @@ public class TeacherDashboardServiceImpl implements TeacherDashboardService {
                 .filter(s -> mapDayOfWeek(s.getTimeslot().getDayOfWeek()) == targetDay)
                 .count();
 
-        Map<Long, StudentDailyAttendanceRepository.StudentAttendanceAggregateProjection> ytd =
-                attendanceSummaryByStudent(studentIds, currentAcademicStart(targetDate), targetDate);
-        long atRisk = ytd.values().stream().filter(p -> percentAsDouble(safe(p.getPresentCount()), safe(p.getTotalCount())) < 75.0d).count();
-        long belowThreshold = ytd.values().stream().filter(p -> percentAsDouble(safe(p.getPresentCount()), safe(p.getTotalCount())) < 90.0d).count();
+        List<StudentDailyAttendanceRepository.StudentAttendanceAggregateProjection> ytd =
+                studentDailyAttendanceRepository.summarizeAttendanceForActiveStudentsInSections(
+                        sectionIds, currentAcademicStart(targetDate), targetDate);
+        long atRisk = ytd.stream().filter(p -> percentAsDouble(safe(p.getPresentCount()), safe(p.getTotalCount())) < 75.0d).count();
+        long belowThreshold = ytd.stream().filter(p -> percentAsDouble(safe(p.getPresentCount()), safe(p.getTotalCount())) < 90.0d).count();
 
         TeacherDashboardSummaryResponseDto.NextClass nextClass = findNextClass(teacherSchedules, targetDate);
 
@@ -475,6 +486,16 @@ public class TeacherDashboardServiceImpl implements TeacherDashboardService {
         return "%" + value.trim().toLowerCase() + "%";
     }
 
+    private Map<Long, Long> activeStudentCountsBySection(List<Long> sectionIds) {
+        if (sectionIds.isEmpty()) {
+            return Map.of();
+        }
+        return studentRepository.countActiveBySectionIds(sectionIds).stream()
+                .collect(Collectors.toMap(
+                        StudentRepository.SectionStudentCountProjection::getSectionId,
+                        StudentRepository.SectionStudentCountProjection::getStudentCount));
+    }
+
     private Map<Long, StudentDailyAttendanceRepository.StudentAttendanceAggregateProjection> attendanceSummaryByStudent(
             List<Long> studentIds,
             LocalDate startDate,
@@ -13,6 +13,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.UUID;
 
@@ -78,27 +79,27 @@ public class IdCardController {
     @GetMapping("/students/batch")
     @Operation(summary = "Batch Generate Student ID Cards",
                description = "Generates ID cards for all active students in a section (by UUID), rendered on A4 pages (4 cards per page).")
-    public ResponseEntity<byte[]> downloadBatchStudentIdCards(
+    public ResponseEntity<StreamingResponseBody> downloadBatchStudentIdCards(
             @RequestParam @Parameter(description = "UUID of the section") UUID sectionId,
             @RequestParam(defaultValue = "classic") @Parameter(description = "Template style: classic, modern, or minimal") String template) {
         log.info("Admin request: batch generate student ID cards for sectionId={}, template={}", sectionId, template);
-        byte[] pdf = idCardService.generateBatchStudentIdCards(sectionId, template);
+        StreamingResponseBody pdf = idCardService.generateBatchStudentIdCards(sectionId, template);
         return buildPdfResponse(pdf, "student-ids-section-" + sectionId + ".pdf");
     }
 
     @GetMapping("/staff/batch")
     @Operation(summary = "Batch Generate Staff ID Cards",
                description = "Generates ID cards for all active staff members, rendered on A4 pages (4 cards per page).")
-    public ResponseEntity<byte[]> downloadBatchStaffIdCards(
+    public ResponseEntity<StreamingResponseBody> downloadBatchStaffIdCards(
             @RequestParam(defaultValue = "classic") @Parameter(description = "Template style: classic, modern, or minimal") String template) {
         log.info("Admin request: batch generate staff ID cards, template={}", template);
-        byte[] pdf = idCardService.generateBatchStaffIdCards(template);
+        StreamingResponseBody pdf = idCardService.generateBatchStaffIdCards(template);
         return buildPdfResponse(pdf, "staff-ids-batch.pdf");
     }
 
     // ── Helper ───────────────────────────────────────────────────────────
 
-    private ResponseEntity<byte[]> buildPdfResponse(byte[] pdf, String filename) {
+    private <T> ResponseEntity<T> buildPdfResponse(T pdf, String filename) {
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_PDF_VALUE)
                 .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + filename + "\"")
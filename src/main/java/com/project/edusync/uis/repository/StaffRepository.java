@@ -10,11 +10,20 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.List;
+import java.util.UUID;
 
 public interface StaffRepository extends JpaRepository<Staff, Long> {
 
+    interface StaffNameProjection {
+        Long getId();
+        UUID getUuid();
+        String getFirstName();
+        String getLastName();
+    }
+
     boolean existsByEmployeeId(String employeeId);
 
     Optional<Staff> findByEmployeeId(String employeeId);
@@ -83,6 +92,17 @@ public interface StaffRepository extends JpaRepository<Staff, Long> {
 
     Optional<Staff> findByUuid(java.util.UUID uuid);
 
+    /**
+     * UUID and display name for a page of staff, without loading the entity graph.
+     */
+    @Query("""
+            SELECT st.id AS id, st.uuid AS uuid, up.firstName AS firstName, up.lastName AS lastName
+            FROM Staff st
+            LEFT JOIN st.userProfile up
+            WHERE st.id IN :ids
+            """)
+    List<StaffNameProjection> findNamesByIdIn(@Param("ids") Collection<Long> ids);
+
     Optional<Staff> findByUserProfile_User_Id(Long userId);
 
     @Query("""
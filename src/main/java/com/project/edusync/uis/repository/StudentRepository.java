@@ -8,8 +8,10 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 public interface StudentRepository extends JpaRepository<Student, Long> {
@@ -24,8 +26,28 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
         Long getClassId();
     }
 
+    interface StudentIdProjection {
+        UUID getUuid();
+        Long getId();
+    }
+
+    interface StudentNameProjection {
+        Long getId();
+        UUID getUuid();
+        String getFirstName();
+        String getLastName();
+    }
+
+    interface SectionStudentCountProjection {
+        Long getSectionId();
+        long getStudentCount();
+    }
+
     boolean existsByEnrollmentNumber(String enrollmentNumber);
 
+    @Query("SELECT s.enrollmentNumber FROM Student s WHERE s.enrollmentNumber IN :enrollmentNumbers")
+    Set<String> findEnrollmentNumbersThatExist(@Param("enrollmentNumbers") Set<String> enrollmentNumbers);
+
     Optional<Student> findByEnrollmentNumber(String enrollmentNumber);
 
     Optional<Student> findByUserProfile(UserProfile profile);
@@ -72,6 +94,35 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
 
     Optional<Student> findByUuid(java.util.UUID uuid);
 
+    /**
+     * Resolves many public UUIDs to internal ids in one round trip (e.g. a section's attendance batch).
+     */
+    @Query("SELECT s.uuid AS uuid, s.id AS id FROM Student s WHERE s.uuid IN :uuids")
+    List<StudentIdProjection> findIdsByUuidIn(@Param("uuids") Collection<UUID> uuids);
+
+    /**
+     * UUID and display name for a page of students, without loading the entity graph.
+     */
+    @Query("""
+            SELECT s.id AS id, s.uuid AS uuid, up.firstName AS firstName, up.lastName AS lastName
+            FROM Student s
+            LEFT JOIN s.userProfile up
+            WHERE s.id IN :ids
+            """)
+    List<StudentNameProjection> findNamesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Login user ids of the given students, e.g. to evict their dashboard cache entries.
+     */
+    @Query("""
+            SELECT u.id
+            FROM Student s
+            JOIN s.userProfile up
+            JOIN up.user u
+            WHERE s.id IN :ids
+            """)
+    List<Long> findUserIdsByIdIn(@Param("ids") Collection<Long> ids);
+
     Optional<Student> findByUserProfile_User_Id(Long userId);
 
     long countByIsActiveTrue();
@@ -144,6 +195,18 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
 
     long countBySection_IdAndIsActiveTrue(Long sectionId);
 
+    /**
+     * Active students per section in one grouped query; sections without students are absent.
+     */
+    @Query("""
+            SELECT s.section.id AS sectionId, COUNT(s) AS studentCount
+            FROM Student s
+            WHERE s.isActive = true
+              AND s.section.id IN :sectionIds
+            GROUP BY s.section.id
+            """)
+    List<SectionStudentCountProjection> countActiveBySectionIds(@Param("sectionIds") Collection<Long> sectionIds);
+
     @Query("SELECT s FROM Student s " +
            "JOIN FETCH s.userProfile up " +
            "JOIN FETCH up.user u " +
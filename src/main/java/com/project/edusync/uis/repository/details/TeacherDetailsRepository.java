@@ -3,13 +3,23 @@ package com.project.edusync.uis.repository.details;
 import com.project.edusync.uis.model.entity.details.TeacherDetails;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface TeacherDetailsRepository extends JpaRepository<TeacherDetails, Long> {
 
+    interface QualifiedTeacherProjection {
+        UUID getSubjectId();
+
+        Long getTeacherId();
+
+        String getFirstName();
+    }
+
     Optional<TeacherDetails> findByStaff_Id(Long staffId);
 
     @Query("SELECT t FROM TeacherDetails t WHERE t.id = :teacherId AND t.staff.isActive = true")
@@ -20,6 +30,22 @@ public interface TeacherDetailsRepository extends JpaRepository<TeacherDetails,
             "WHERE ts.uuid = :subjectId AND ts.isActive = true AND t.staff.isActive = true")
     List<TeacherDetails> findQualifiedTeachersForSubject(UUID subjectId);
 
+    /**
+     * Same qualification rules as {@link #findQualifiedTeachersForSubject}, for many subjects in one
+     * query: one row per (subject, teacher).
+     */
+    @Query("""
+            SELECT ts.uuid AS subjectId, t.id AS teacherId, up.firstName AS firstName
+            FROM TeacherDetails t
+            JOIN t.teachableSubjects ts
+            JOIN t.staff st
+            LEFT JOIN st.userProfile up
+            WHERE ts.uuid IN :subjectIds
+              AND ts.isActive = true
+              AND st.isActive = true
+            """)
+    List<QualifiedTeacherProjection> findQualifiedTeachersForSubjects(@Param("subjectIds") Collection<UUID> subjectIds);
+
     @Query("SELECT DISTINCT t FROM TeacherDetails t JOIN FETCH t.teachableSubjects ts WHERE t.staff.isActive = true AND ts.isActive = true")
     List<TeacherDetails> findAllActiveWithSubjects();
 
@@ -1,5 +1,7 @@
 package com.project.edusync.uis.service;
 
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
 import java.util.UUID;
 
 /**
@@ -35,20 +37,25 @@ public interface IdCardService {
      * Generates a batch PDF containing ID cards for all active students
      * in a given section (identified by UUID), rendered on A4 pages (4 cards per page).
      *
+     * <p>
+     * Entity data is read (and a missing section reported) when this method is called; the
+     * cards are rendered while the returned body is written to the response.
+     * </p>
+     *
      * @param sectionUuid The UUID of the section whose students to generate cards for.
      * @param template    The template style ("classic", "modern", "minimal").
-     * @return PDF bytes containing all student ID cards on A4 sheets.
+     * @return A body that renders and streams the merged PDF of all student ID cards.
      */
-    byte[] generateBatchStudentIdCards(UUID sectionUuid, String template);
+    StreamingResponseBody generateBatchStudentIdCards(UUID sectionUuid, String template);
 
     /**
      * Generates a batch PDF containing ID cards for all staff members,
      * rendered on A4 pages (4 cards per page).
      *
      * @param template The template style ("classic", "modern", "minimal").
-     * @return PDF bytes containing all staff ID cards on A4 sheets.
+     * @return A body that renders and streams the merged PDF of all staff ID cards.
      */
-    byte[] generateBatchStaffIdCards(String template);
+    StreamingResponseBody generateBatchStaffIdCards(String template);
 
     /**
      * Generates the ID card PDF for the currently authenticated user.
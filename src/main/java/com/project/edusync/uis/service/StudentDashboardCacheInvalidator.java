@@ -0,0 +1,146 @@
+package com.project.edusync.uis.service;
+
+import com.project.edusync.common.config.CacheNames;
+import com.project.edusync.uis.repository.StudentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Evicts the student dashboard caches of the students touched by an attendance, invoice or
+ * payment write, instead of clearing the caches for everyone.
+ *
+ * <p>Dashboard entries are keyed by {@code userId:academicYearId}. Every cache miss calls
+ * {@link #track(Long, Long)}, which records the academic year under the user in the
+ * {@link CacheNames#STUDENT_DASHBOARD_KEYS} index, so an eviction knows which keys exist without
+ * scanning Redis. Writers call {@link #evictStudents(Collection)}; the affected users are
+ * collected for the whole transaction and evicted once, after it commits.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StudentDashboardCacheInvalidator {
+
+    private static final String PENDING_USERS = StudentDashboardCacheInvalidator.class.getName() + ".pendingUsers";
+
+    private final CacheManager cacheManager;
+    private final StudentRepository studentRepository;
+
+    /**
+     * Records that a dashboard is about to be cached for {@code userId} and {@code academicYearId}.
+     * The index entry is rewritten on every miss so that it outlives the dashboard entries.
+     */
+    public void track(Long userId, Long academicYearId) {
+        Cache index = cacheManager.getCache(CacheNames.STUDENT_DASHBOARD_KEYS);
+        if (index == null || userId == null) {
+            return;
+        }
+        try {
+            Set<String> years = cachedYears(index, userId);
+            years.add(String.valueOf(academicYearId));
+            index.put(userId, years);
+        } catch (RuntimeException ex) {
+            log.warn("Failed to record dashboard cache key for userId={}; entry will expire by TTL. Cause: {}",
+                    userId, ex.getMessage());
+        }
+    }
+
+    /**
+     * Evicts the dashboards of the given students once the current transaction commits, or right
+     * away when there is no transaction.
+     */
+    public void evictStudents(Collection<Long> studentIds) {
+        Set<Long> ids = studentIds.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return;
+        }
+        evictUsers(studentRepository.findUserIdsByIdIn(ids));
+    }
+
+    /**
+     * Evicts the dashboards of the given users once the current transaction commits, or right
+     * away when there is no transaction.
+     */
+    public void evictUsers(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evictNow(userIds);
+            return;
+        }
+        pendingUsers().addAll(userIds);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<Long> pendingUsers() {
+        Set<Long> pending = (Set<Long>) TransactionSynchronizationManager.getResource(PENDING_USERS);
+        if (pending != null) {
+            return pending;
+        }
+        Set<Long> created = new LinkedHashSet<>();
+        TransactionSynchronizationManager.bindResource(PENDING_USERS, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evictNow(created);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(PENDING_USERS);
+            }
+        });
+        return created;
+    }
+
+    private void evictNow(Collection<Long> userIds) {
+        Cache index = cacheManager.getCache(CacheNames.STUDENT_DASHBOARD_KEYS);
+        Cache dashboard = cacheManager.getCache(CacheNames.STUDENT_DASHBOARD);
+        Cache overview = cacheManager.getCache(CacheNames.STUDENT_DASHBOARD_OVERVIEW);
+        if (index == null) {
+            return;
+        }
+        int evicted = 0;
+        for (Long userId : new LinkedHashSet<>(userIds)) {
+            try {
+                for (String year : cachedYears(index, userId)) {
+                    String key = userId + ":" + year;
+                    evict(dashboard, key);
+                    evict(overview, key);
+                    evicted++;
+                }
+                index.evict(userId);
+            } catch (RuntimeException ex) {
+                log.warn("Failed to evict dashboard cache for userId={}; entries will expire by TTL. Cause: {}",
+                        userId, ex.getMessage());
+            }
+        }
+        log.debug("Evicted {} dashboard cache keys for {} users", evicted, userIds.size());
+    }
+
+    private static void evict(Cache cache, String key) {
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+
+    private static Set<String> cachedYears(Cache index, Long userId) {
+        Set<String> years = new LinkedHashSet<>();
+        Cache.ValueWrapper cached = index.get(userId);
+        if (cached != null && cached.get() instanceof Collection<?> values) {
+            values.forEach(value -> years.add(String.valueOf(value)));
+        }
+        return years;
+    }
+}
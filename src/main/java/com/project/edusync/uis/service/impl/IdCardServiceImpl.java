@@ -1,23 +1,36 @@
 package com.project.edusync.uis.service.impl;
 
 import com.project.edusync.common.exception.ResourceNotFoundException;
+import com.project.edusync.common.exception.finance.PdfGenerationException;
 import com.project.edusync.common.settings.service.AppSettingService;
 import com.project.edusync.finance.service.PdfGenerationService;
 import com.project.edusync.uis.model.entity.*;
 import com.project.edusync.uis.repository.StaffRepository;
 import com.project.edusync.uis.repository.StudentRepository;
 import com.project.edusync.uis.service.IdCardService;
+import jakarta.annotation.Resource;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.multipdf.PDFMergerUtility;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
-import java.io.ByteArrayOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.Month;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 /**
@@ -31,6 +44,11 @@ import java.util.stream.Collectors;
  * <p>
  * Supports 3 template styles: "classic", "modern", "minimal".
  * </p>
+ * <p>
+ * Batch downloads read all entity data inside the transaction, then render the cards in shards
+ * on the {@code idCardPdfExecutor} pool, each shard into a temp file, and stream the merged
+ * document to the response.
+ * </p>
  */
 @Slf4j
 @Service
@@ -43,10 +61,23 @@ public class IdCardServiceImpl implements IdCardService {
     private final AppSettingService appSettingService;
     private final TemplateEngine templateEngine;
 
+    @Resource(name = "idCardPdfExecutor")
+    private Executor idCardPdfExecutor;
+
+    /** Cards rendered per shard; each shard is one task on the executor and one temp file. */
+    @Value("${edusync.id-card.batch.shard-size:50}")
+    private int batchShardSize;
 
     private static final Set<String> VALID_TEMPLATES = Set.of("classic", "modern", "minimal");
     private static final String ID_CARD_TEMPLATE_BASE = "id-card/";
 
+    /**
+     * Card data read from the entities, minus the photo, QR code and barcode. Those are produced
+     * by {@link #completeCard(PreparedCard, Map)}, which needs no persistence context.
+     */
+    private record PreparedCard(String label, Map<String, Object> data, String photoUrl,
+                                String qrContent, String barcodeText) {}
+
     // ── Single Card Generation ───────────────────────────────────────────
 
     @Override
@@ -124,7 +155,7 @@ public class IdCardServiceImpl implements IdCardService {
 
     @Override
     @Transactional(readOnly = true)
-    public byte[] generateBatchStudentIdCards(UUID sectionUuid, String template) {
+    public StreamingResponseBody generateBatchStudentIdCards(UUID sectionUuid, String template) {
         String tmpl = resolveTemplate(template);
         log.info("Generating batch student ID cards for sectionUuid={}, template={}", sectionUuid, tmpl);
 
@@ -133,21 +164,19 @@ public class IdCardServiceImpl implements IdCardService {
             throw new ResourceNotFoundException("Students", "sectionUuid", sectionUuid.toString());
         }
 
-        // Generate each student's card individually (front + back = 2 pages per student)
-        // then merge all into one PDF
-        List<byte[]> individualPdfs = students.stream()
-                .map(student -> {
-                    Map<String, Object> data = buildStudentCardData(student);
-                    return pdfGenerationService.generatePdfFromHtml(resolveStudentTemplateName(tmpl), data);
-                })
-                .collect(Collectors.toList());
+        // Read everything from the entities now; rendering happens after the transaction has ended
+        Map<String, Object> branding = loadSchoolBranding();
+        List<PreparedCard> cards = students.stream()
+                .map(student -> prepareStudentCard(student, branding))
+                .toList();
 
-        return mergePdfs(individualPdfs);
+        String templateName = resolveStudentTemplateName(tmpl);
+        return outputStream -> renderBatch(templateName, cards, outputStream);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public byte[] generateBatchStaffIdCards(String template) {
+    public StreamingResponseBody generateBatchStaffIdCards(String template) {
         String tmpl = resolveTemplate(template);
         log.info("Generating batch staff ID cards for all active staff, template={}", tmpl);
 
@@ -162,45 +191,95 @@ public class IdCardServiceImpl implements IdCardService {
             throw new ResourceNotFoundException("Staff", "filter", "active");
         }
 
-        List<byte[]> individualPdfs = staffList.stream()
-                .map(staff -> {
-                    Map<String, Object> data = buildStaffCardData(staff);
-                    return pdfGenerationService.generatePdfFromHtml(resolveStaffTemplateName(tmpl), data);
-                })
-                .collect(Collectors.toList());
+        Map<String, Object> branding = loadSchoolBranding();
+        List<PreparedCard> cards = staffList.stream()
+                .map(staff -> prepareStaffCard(staff, branding))
+                .toList();
 
-        return mergePdfs(individualPdfs);
+        String templateName = resolveStaffTemplateName(tmpl);
+        return outputStream -> renderBatch(templateName, cards, outputStream);
     }
 
     /**
-     * Merges multiple PDF byte arrays into a single PDF using Apache PDFBox.
+     * Renders the cards in shards of {@code batchShardSize} on the ID card executor and merges
+     * the shard files into {@code outputStream}, in card order. Shard files are deleted afterwards.
      */
-    private byte[] mergePdfs(List<byte[]> pdfs) {
+    private void renderBatch(String templateName, List<PreparedCard> cards, OutputStream outputStream) {
+        int shardSize = Math.max(1, batchShardSize);
+        long startedAt = System.currentTimeMillis();
+        List<CompletableFuture<Path>> shards = new ArrayList<>();
         try {
-            org.apache.pdfbox.multipdf.PDFMergerUtility merger = new org.apache.pdfbox.multipdf.PDFMergerUtility();
-            ByteArrayOutputStream mergedOutput = new ByteArrayOutputStream();
-            merger.setDestinationStream(mergedOutput);
+            for (int from = 0; from < cards.size(); from += shardSize) {
+                List<PreparedCard> shard = cards.subList(from, Math.min(from + shardSize, cards.size()));
+                shards.add(CompletableFuture.supplyAsync(() -> renderShard(templateName, shard), idCardPdfExecutor));
+            }
+            CompletableFuture.allOf(shards.toArray(CompletableFuture[]::new)).join();
+            pdfGenerationService.mergePdfFiles(shards.stream().map(CompletableFuture::join).toList(), outputStream);
+            log.info("Rendered {} ID cards in {} shards in {} ms", cards.size(), shards.size(),
+                    System.currentTimeMillis() - startedAt);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof PdfGenerationException pdfException) {
+                throw pdfException;
+            }
+            throw new PdfGenerationException("Failed to render batch ID cards", e.getCause());
+        } finally {
+            // Also covers shards still running when a sibling failed
+            shards.forEach(shard -> shard.thenAccept(this::deleteQuietly));
+        }
+    }
 
-            for (byte[] pdf : pdfs) {
-                merger.addSource(new java.io.ByteArrayInputStream(pdf));
+    /**
+     * Renders one shard of cards into a temp file. Only this shard's card PDFs are held in memory.
+     */
+    private Path renderShard(String templateName, List<PreparedCard> shard) {
+        Path file = null;
+        try {
+            file = Files.createTempFile("id-cards-", ".pdf");
+            PDFMergerUtility merger = new PDFMergerUtility();
+            merger.setDestinationFileName(file.toString());
+            // Download the shard's photos in parallel instead of one by one while rendering
+            Map<String, String> photos = pdfGenerationService.fetchRemoteImagesAsBase64(
+                    shard.stream().map(PreparedCard::photoUrl).toList());
+            for (PreparedCard card : shard) {
+                byte[] pdf = pdfGenerationService.generatePdfFromHtml(templateName, completeCard(card, photos));
+                merger.addSource(new ByteArrayInputStream(pdf));
             }
+            merger.mergeDocuments(MemoryUsageSetting.setupTempFileOnly());
+            return file;
+        } catch (IOException e) {
+            deleteQuietly(file);
+            throw new PdfGenerationException("Failed to render ID card shard", e);
+        } catch (RuntimeException e) {
+            deleteQuietly(file);
+            throw e;
+        }
+    }
 
-            merger.mergeDocuments(org.apache.pdfbox.io.MemoryUsageSetting.setupMainMemoryOnly());
-            return mergedOutput.toByteArray();
-        } catch (Exception e) {
-            log.error("Error merging PDFs: {}", e.getMessage(), e);
-            throw new com.project.edusync.common.exception.finance.PdfGenerationException("Failed to merge batch PDFs", e);
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete temp file {}: {}", file, e.getMessage());
         }
     }
 
     // ── Data Builders ────────────────────────────────────────────────────
 
     private Map<String, Object> buildStudentCardData(Student student) {
-        UserProfile profile = student.getUserProfile();
-        Map<String, Object> data = new HashMap<>();
+        return completeCard(prepareStudentCard(student, loadSchoolBranding()), Map.of());
+    }
 
+    private Map<String, Object> buildStaffCardData(Staff staff) {
+        return completeCard(prepareStaffCard(staff, loadSchoolBranding()), Map.of());
+    }
+
+    private PreparedCard prepareStudentCard(Student student, Map<String, Object> branding) {
+        UserProfile profile = student.getUserProfile();
         // School branding from AppSettings
-        populateSchoolBranding(data);
+        Map<String, Object> data = new HashMap<>(branding);
 
         // Student info
         String fullName = buildFullName(profile.getFirstName(), profile.getMiddleName(), profile.getLastName());
@@ -223,45 +302,22 @@ public class IdCardServiceImpl implements IdCardService {
         // Emergency Contact — first primary-contact guardian
         populateEmergencyContact(student, data);
 
-        // Photo
-        data.put("photoBase64", pdfGenerationService.fetchRemoteImageAsBase64(profile.getProfileUrl()));
-
         // QR Code — rich vCard format
-        String schoolName = (String) data.get("schoolName");
-        try {
-            String qrContent = buildStudentVCard(fullName, schoolName,
-                    (String) data.get("className"), (String) data.get("sectionName"),
-                    safe(student.getEnrollmentNumber()),
-                    student.getRollNo() != null ? String.valueOf(student.getRollNo()) : "",
-                    safe(profile.getBloodGroup()));
-            data.put("qrCodeBase64", pdfGenerationService.generateQrCodeBase64(qrContent, 150));
-        } catch (Exception e) {
-            log.error("Failed to generate QR code for student {}: {}", student.getId(), e.getMessage());
-            data.put("qrCodeBase64", "");
-        }
+        String qrContent = buildStudentVCard(fullName, (String) data.get("schoolName"),
+                (String) data.get("className"), (String) data.get("sectionName"),
+                safe(student.getEnrollmentNumber()),
+                student.getRollNo() != null ? String.valueOf(student.getRollNo()) : "",
+                safe(profile.getBloodGroup()));
 
         // Barcode — enrollment number
-        try {
-            String enrollNum = safe(student.getEnrollmentNumber());
-            if (!enrollNum.isEmpty()) {
-                data.put("barcodeBase64", pdfGenerationService.generateBarcodeBase64(enrollNum, 200, 40));
-            } else {
-                data.put("barcodeBase64", "");
-            }
-        } catch (Exception e) {
-            log.error("Failed to generate barcode for student {}: {}", student.getId(), e.getMessage());
-            data.put("barcodeBase64", "");
-        }
-
-        return data;
+        return new PreparedCard("student " + student.getId(), data, profile.getProfileUrl(),
+                qrContent, safe(student.getEnrollmentNumber()));
     }
 
-    private Map<String, Object> buildStaffCardData(Staff staff) {
+    private PreparedCard prepareStaffCard(Staff staff, Map<String, Object> branding) {
         UserProfile profile = staff.getUserProfile();
-        Map<String, Object> data = new HashMap<>();
-
         // School branding
-        populateSchoolBranding(data);
+        Map<String, Object> data = new HashMap<>(branding);
 
         // Staff info
         String fullName = buildFullName(profile.getFirstName(), profile.getMiddleName(), profile.getLastName());
@@ -287,39 +343,51 @@ public class IdCardServiceImpl implements IdCardService {
         data.put("emergencyContactPhone", "");
         data.put("emergencyContactRelation", "");
 
+        // QR Code — rich vCard format
+        String qrContent = buildStaffVCard(fullName, (String) data.get("schoolName"),
+                safe(staff.getJobTitle()),
+                staff.getDepartment() != null ? staff.getDepartment().name() : "",
+                safe(staff.getEmployeeId()));
+
+        // Barcode — employee ID
+        return new PreparedCard("staff " + staff.getId(), data, profile.getProfileUrl(),
+                qrContent, safe(staff.getEmployeeId()));
+    }
+
+    /**
+     * Adds the photo, QR code and barcode to a prepared card. Touches no entities, so batch
+     * rendering runs it on the worker threads.
+     *
+     * @param photos Photos already fetched for this card's batch, by URL; anything missing is fetched here.
+     */
+    private Map<String, Object> completeCard(PreparedCard card, Map<String, String> photos) {
+        Map<String, Object> data = card.data();
+
         // Photo
-        data.put("photoBase64", pdfGenerationService.fetchRemoteImageAsBase64(profile.getProfileUrl()));
+        String photo = card.photoUrl() != null ? photos.get(card.photoUrl()) : null;
+        data.put("photoBase64", photo != null ? photo : pdfGenerationService.fetchRemoteImageAsBase64(card.photoUrl()));
 
-        // QR Code — rich vCard format
-        String schoolName = (String) data.get("schoolName");
         try {
-            String qrContent = buildStaffVCard(fullName, schoolName,
-                    safe(staff.getJobTitle()),
-                    staff.getDepartment() != null ? staff.getDepartment().name() : "",
-                    safe(staff.getEmployeeId()));
-            data.put("qrCodeBase64", pdfGenerationService.generateQrCodeBase64(qrContent, 150));
+            data.put("qrCodeBase64", pdfGenerationService.generateQrCodeBase64(card.qrContent(), 150));
         } catch (Exception e) {
-            log.error("Failed to generate QR code for staff {}: {}", staff.getId(), e.getMessage());
+            log.error("Failed to generate QR code for {}: {}", card.label(), e.getMessage());
             data.put("qrCodeBase64", "");
         }
 
-        // Barcode — employee ID
         try {
-            String empId = safe(staff.getEmployeeId());
-            if (!empId.isEmpty()) {
-                data.put("barcodeBase64", pdfGenerationService.generateBarcodeBase64(empId, 200, 40));
+            if (!card.barcodeText().isEmpty()) {
+                data.put("barcodeBase64", pdfGenerationService.generateBarcodeBase64(card.barcodeText(), 200, 40));
             } else {
                 data.put("barcodeBase64", "");
             }
         } catch (Exception e) {
-            log.error("Failed to generate barcode for staff {}: {}", staff.getId(), e.getMessage());
+            log.error("Failed to generate barcode for {}: {}", card.label(), e.getMessage());
             data.put("barcodeBase64", "");
         }
 
         return data;
     }
 
-
     // ── vCard Builders ───────────────────────────────────────────────────
 
     private String buildStudentVCard(String name, String school, String className,
@@ -443,7 +511,12 @@ public class IdCardServiceImpl implements IdCardService {
 
     // ── School Branding ──────────────────────────────────────────────────
 
-    private void populateSchoolBranding(Map<String, Object> data) {
+    /**
+     * Loads the school branding values and images. Batch generation calls this once and copies
+     * the result into every card.
+     */
+    private Map<String, Object> loadSchoolBranding() {
+        Map<String, Object> data = new HashMap<>();
         data.put("schoolName", appSettingService.getValue("school.name", "My School"));
         data.put("primaryColor", appSettingService.getValue("school.primary_color", "#1e3a5f"));
         data.put("accentColor", appSettingService.getValue("school.accent_color", "#c9a84c"));
@@ -480,6 +553,7 @@ public class IdCardServiceImpl implements IdCardService {
         } else {
             data.put("signatureBase64", "");
         }
+        return data;
     }
 
     // ── Utility ──────────────────────────────────────────────────────────
@@ -8,6 +8,7 @@ import com.project.edusync.adm.repository.ScheduleRepository;
 import com.project.edusync.ams.model.entity.AttendanceAudit;
 import com.project.edusync.ams.model.repository.AttendanceAuditRepository;
 import com.project.edusync.ams.model.repository.StudentDailyAttendanceRepository;
+import com.project.edusync.common.config.CacheNames;
 import com.project.edusync.em.model.entity.ExamSchedule;
 import com.project.edusync.em.model.repository.ExamScheduleRepository;
 import com.project.edusync.em.model.repository.StudentMarkRepository;
@@ -17,6 +18,7 @@ import com.project.edusync.uis.model.dto.dashboard.OverviewResponseDTO;
 import com.project.edusync.uis.model.entity.Student;
 import com.project.edusync.uis.repository.StudentRepository;
 import com.project.edusync.uis.service.DashboardAggregatorService;
+import com.project.edusync.uis.service.StudentDashboardCacheInvalidator;
 import com.project.edusync.uis.service.StudentDashboardService;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import lombok.RequiredArgsConstructor;
@@ -56,12 +58,14 @@ public class StudentDashboardServiceImpl implements StudentDashboardService, Das
     private final AttendanceAuditRepository attendanceAuditRepository;
     private final ExamScheduleRepository examScheduleRepository;
     private final StudentMarkRepository studentMarkRepository;
+    private final StudentDashboardCacheInvalidator dashboardCacheInvalidator;
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "dashboard", key = "#userId")
+    @Cacheable(value = CacheNames.STUDENT_DASHBOARD, key = "#userId + ':' + #academicYearId")
     public IntelligenceResponseDTO getDashboardIntelligence(Long userId, Long academicYearId) {
         long startedAt = System.nanoTime();
+        dashboardCacheInvalidator.track(userId, academicYearId);
         log.info("Starting dashboard aggregation for userId={} academicYearId={}", userId, academicYearId);
         if (academicYearId == null) {
             log.warn("academicYearId is null for userId={}; using current timetable and default aggregation scope", userId);
@@ -121,9 +125,10 @@ public class StudentDashboardServiceImpl implements StudentDashboardService, Das
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "dashboardOverview", key = "#userId")
+    @Cacheable(value = CacheNames.STUDENT_DASHBOARD_OVERVIEW, key = "#userId + ':' + #academicYearId")
     public OverviewResponseDTO getDashboardOverview(Long userId, Long academicYearId) {
         long startedAt = System.nanoTime();
+        dashboardCacheInvalidator.track(userId, academicYearId);
         log.info("Starting dashboard overview aggregation for userId={} academicYearId={}", userId, academicYearId);
 
         Student student = studentRepository.findByUserProfile_User_Id(userId)
@@ -0,0 +1,23 @@
+-- Persistent state for background bulk-import jobs.
+-- Any node can serve progress polling from this table; the job itself runs on one node.
+
+CREATE TABLE IF NOT EXISTS bulk_import_jobs (
+    id UUID PRIMARY KEY,
+    import_type VARCHAR(40) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    file_name VARCHAR(255),
+    total_rows INTEGER NOT NULL DEFAULT 0,
+    success_count INTEGER NOT NULL DEFAULT 0,
+    failure_count INTEGER NOT NULL DEFAULT 0,
+    error_messages JSONB,
+    failure_reason TEXT,
+    created_by VARCHAR(100),
+    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    started_at TIMESTAMP WITHOUT TIME ZONE,
+    finished_at TIMESTAMP WITHOUT TIME ZONE,
+    updated_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT ck_bulk_import_jobs_status CHECK (status IN ('QUEUED', 'RUNNING', 'COMPLETED', 'FAILED'))
+);
+
+CREATE INDEX IF NOT EXISTS idx_bulk_import_jobs_status_updated_at ON bulk_import_jobs(status, updated_at);
+CREATE INDEX IF NOT EXISTS idx_bulk_import_jobs_created_at ON bulk_import_jobs(created_at);
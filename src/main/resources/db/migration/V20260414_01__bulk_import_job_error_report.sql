@@ -0,0 +1,3 @@
+-- Link a finished bulk-import job to its downloadable error CSV.
+ALTER TABLE bulk_import_jobs
+    ADD COLUMN IF NOT EXISTS error_report_id VARCHAR(36);
@@ -0,0 +1,120 @@
+-- Audit log search at scale.
+--  * audit_logs becomes RANGE-partitioned by month on event_timestamp, so time-bounded
+--    searches only scan the relevant months. Existing rows stay where they are: the old
+--    table is attached as one partition covering everything before the current month.
+--  * (event_timestamp DESC, id DESC) backs keyset pagination without a COUNT(*).
+--  * lower(actor_username) gets a trigram index for the "contains" actor filter, or a
+--    prefix index when pg_trgm cannot be installed.
+-- Future months are created ahead of time by AuditLogPartitionMaintainer; anything outside
+-- the known months lands in audit_logs_default instead of failing the insert.
+
+DO $$
+BEGIN
+    CREATE EXTENSION IF NOT EXISTS pg_trgm;
+EXCEPTION WHEN insufficient_privilege THEN
+    RAISE NOTICE 'pg_trgm is not available; audit actor search falls back to a prefix index';
+END $$;
+
+CREATE OR REPLACE FUNCTION ensure_audit_logs_partition(p_month DATE) RETURNS VOID AS $$
+DECLARE
+    v_start DATE := date_trunc('month', p_month)::date;
+    v_end   DATE := (date_trunc('month', p_month) + INTERVAL '1 month')::date;
+    v_name  TEXT := 'audit_logs_' || to_char(v_start, 'YYYY_MM');
+BEGIN
+    IF to_regclass(v_name) IS NULL THEN
+        EXECUTE format('CREATE TABLE %I PARTITION OF audit_logs FOR VALUES FROM (%L) TO (%L)',
+                       v_name, v_start, v_end);
+    END IF;
+END;
+$$ LANGUAGE plpgsql;
+
+-- AuditLog's @SequenceGenerator and AuditLogJdbcWriter both draw ids from this sequence
+CREATE SEQUENCE IF NOT EXISTS audit_logs_id_seq START WITH 1 INCREMENT BY 1;
+
+DO $$
+DECLARE
+    v_cutoff DATE := date_trunc('month', now())::date;
+    v_pkey   TEXT;
+    i        INT;
+BEGIN
+    IF to_regclass('public.audit_logs') IS NULL THEN
+        CREATE TABLE audit_logs (
+            id                  BIGINT       NOT NULL,
+            actor_username      VARCHAR(100),
+            actor_role          VARCHAR(100),
+            action              VARCHAR(100) NOT NULL,
+            entity_type         VARCHAR(100),
+            entity_id           VARCHAR(120),
+            entity_display_name VARCHAR(255),
+            change_payload      TEXT,
+            ip_address          VARCHAR(64),
+            user_agent          VARCHAR(500),
+            event_timestamp     TIMESTAMP(6) WITH TIME ZONE NOT NULL
+        ) PARTITION BY RANGE (event_timestamp);
+
+    ELSIF NOT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = 'public.audit_logs'::regclass) THEN
+        ALTER TABLE audit_logs RENAME TO audit_logs_legacy;
+
+        -- Same column types as the existing table, whatever version of Hibernate created it
+        CREATE TABLE audit_logs (LIKE audit_logs_legacy INCLUDING DEFAULTS)
+            PARTITION BY RANGE (event_timestamp);
+
+        FOR i IN 0..3 LOOP
+            PERFORM ensure_audit_logs_partition((v_cutoff + make_interval(months => i))::date);
+        END LOOP;
+
+        -- Rows from the current month move to their monthly partition; older rows stay put
+        WITH moved AS (
+            DELETE FROM audit_logs_legacy WHERE event_timestamp >= v_cutoff RETURNING *
+        )
+        INSERT INTO audit_logs SELECT * FROM moved;
+
+        -- Every partition must carry the parent's (id, event_timestamp) key, so the legacy
+        -- single-column primary key is replaced before the table is attached
+        SELECT conname INTO v_pkey FROM pg_constraint
+        WHERE conrelid = 'public.audit_logs_legacy'::regclass AND contype = 'p';
+        IF v_pkey IS NOT NULL THEN
+            EXECUTE format('ALTER TABLE audit_logs_legacy DROP CONSTRAINT %I', v_pkey);
+        END IF;
+        ALTER TABLE audit_logs_legacy ADD CONSTRAINT audit_logs_legacy_pkey PRIMARY KEY (id, event_timestamp);
+
+        -- A validated CHECK matching the partition bound lets ATTACH skip its own full-table
+        -- scan under the exclusive lock; VALIDATE only needs a SHARE UPDATE EXCLUSIVE lock
+        EXECUTE format('ALTER TABLE audit_logs_legacy ADD CONSTRAINT audit_logs_legacy_bound '
+                       'CHECK (event_timestamp < %L::timestamptz) NOT VALID', v_cutoff);
+        ALTER TABLE audit_logs_legacy VALIDATE CONSTRAINT audit_logs_legacy_bound;
+
+        EXECUTE format('ALTER TABLE audit_logs ATTACH PARTITION audit_logs_legacy FOR VALUES FROM (MINVALUE) TO (%L)',
+                       v_cutoff);
+
+        -- The partition bound now enforces the same rule
+        ALTER TABLE audit_logs_legacy DROP CONSTRAINT audit_logs_legacy_bound;
+    END IF;
+
+    FOR i IN 0..3 LOOP
+        PERFORM ensure_audit_logs_partition((v_cutoff + make_interval(months => i))::date);
+    END LOOP;
+
+    IF to_regclass('public.audit_logs_default') IS NULL THEN
+        CREATE TABLE audit_logs_default PARTITION OF audit_logs DEFAULT;
+    END IF;
+
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint
+                   WHERE conrelid = 'public.audit_logs'::regclass AND contype = 'p') THEN
+        ALTER TABLE audit_logs ADD CONSTRAINT audit_logs_pkey_partitioned PRIMARY KEY (id, event_timestamp);
+    END IF;
+END $$;
+
+-- Keyset pagination: ORDER BY event_timestamp DESC, id DESC with a (timestamp, id) cursor
+CREATE INDEX IF NOT EXISTS idx_audit_logs_ts_id ON audit_logs (event_timestamp DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_audit_logs_action_ts ON audit_logs (action, event_timestamp DESC);
+CREATE INDEX IF NOT EXISTS idx_audit_logs_entity_type_ts ON audit_logs (entity_type, event_timestamp DESC);
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_extension WHERE extname = 'pg_trgm') THEN
+        EXECUTE 'CREATE INDEX IF NOT EXISTS idx_audit_logs_actor_trgm ON audit_logs USING gin (lower(actor_username) gin_trgm_ops)';
+    ELSE
+        EXECUTE 'CREATE INDEX IF NOT EXISTS idx_audit_logs_actor_prefix ON audit_logs (lower(actor_username) text_pattern_ops)';
+    END IF;
+END $$;
@@ -0,0 +1,23 @@
+-- Pre-aggregated series for the master analytics dashboard.
+-- Kept up to date by DashboardRollupRefresher; rebuilt on first run or with --rebuild-dashboard-rollups.
+
+CREATE TABLE IF NOT EXISTS daily_attendance_stats (
+    stat_date        DATE PRIMARY KEY,
+    present_students BIGINT    NOT NULL,
+    present_staff    BIGINT    NOT NULL,
+    refreshed_at     TIMESTAMP NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS monthly_finance_stats (
+    month_start      DATE PRIMARY KEY,
+    expected_amount  NUMERIC(14, 2) NOT NULL,
+    collected_amount NUMERIC(14, 2) NOT NULL,
+    payroll_amount   NUMERIC(14, 2) NOT NULL,
+    refreshed_at     TIMESTAMP      NOT NULL
+);
+
+-- The refresher looks up rows changed since its watermark.
+CREATE INDEX IF NOT EXISTS idx_student_daily_attendance_updated_at ON student_daily_attendance (updated_at);
+CREATE INDEX IF NOT EXISTS idx_staff_daily_attendance_updated_at ON staff_daily_attendance (updated_at);
+CREATE INDEX IF NOT EXISTS idx_invoices_updated_at ON invoices (updated_at);
+CREATE INDEX IF NOT EXISTS idx_payments_payment_date ON payments (payment_date);
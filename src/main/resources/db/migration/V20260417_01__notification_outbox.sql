@@ -0,0 +1,23 @@
+-- Transactional outbox for SNS notifications.
+-- Rows are written with the change that caused them and published by NotificationOutboxDispatcher.
+
+CREATE TABLE IF NOT EXISTS notification_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    event_type VARCHAR(64) NOT NULL,
+    dedup_key VARCHAR(64) NOT NULL,
+    payload TEXT NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    last_error VARCHAR(1000),
+    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    published_at TIMESTAMP WITHOUT TIME ZONE,
+    CONSTRAINT uk_notification_outbox_dedup_key UNIQUE (dedup_key),
+    CONSTRAINT ck_notification_outbox_status CHECK (status IN ('PENDING', 'PUBLISHED', 'FAILED'))
+);
+
+-- The dispatcher only ever scans due pending rows.
+CREATE INDEX IF NOT EXISTS idx_notification_outbox_pending
+    ON notification_outbox (next_attempt_at, id) WHERE status = 'PENDING';
+CREATE INDEX IF NOT EXISTS idx_notification_outbox_published_at
+    ON notification_outbox (published_at) WHERE status = 'PUBLISHED';
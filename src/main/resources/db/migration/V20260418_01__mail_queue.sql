@@ -0,0 +1,21 @@
+-- Persistent queue for outgoing email.
+-- Rows are written with the change that triggers the mail and sent by MailDispatcher, with retries.
+
+CREATE TABLE IF NOT EXISTS mail_queue (
+    id BIGSERIAL PRIMARY KEY,
+    template VARCHAR(100) NOT NULL,
+    recipient VARCHAR(255) NOT NULL,
+    subject VARCHAR(255) NOT NULL,
+    variables JSONB,
+    status VARCHAR(16) NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    last_error VARCHAR(1000),
+    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    sent_at TIMESTAMP WITHOUT TIME ZONE,
+    CONSTRAINT ck_mail_queue_status CHECK (status IN ('PENDING', 'SENT', 'FAILED'))
+);
+
+-- The dispatcher only ever scans due pending rows.
+CREATE INDEX IF NOT EXISTS idx_mail_queue_pending ON mail_queue (next_attempt_at, id) WHERE status = 'PENDING';
+CREATE INDEX IF NOT EXISTS idx_mail_queue_sent_at ON mail_queue (sent_at) WHERE status = 'SENT';
@@ -0,0 +1,202 @@
+package com.project.edusync.adm.service.impl;
+
+import com.project.edusync.adm.model.dto.request.ScheduleRequestDto;
+import com.project.edusync.adm.model.entity.*;
+import com.project.edusync.adm.repository.*;
+import com.project.edusync.uis.model.entity.Staff;
+import com.project.edusync.uis.model.entity.UserProfile;
+import com.project.edusync.uis.model.entity.details.TeacherDetails;
+import com.project.edusync.uis.repository.details.TeacherDetailsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.cache.CacheManager;
+
+import java.time.LocalTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class AutoScheduleServiceImplTest {
+
+    private static final Long SUBJECT_TEACHER_ID = 21L;
+
+    @Mock
+    private ScheduleRepository scheduleRepository;
+    @Mock
+    private SectionRepository sectionRepository;
+    @Mock
+    private SubjectRepository subjectRepository;
+    @Mock
+    private TeacherDetailsRepository teacherDetailsRepository;
+    @Mock
+    private RoomRepository roomRepository;
+    @Mock
+    private TimeslotRepository timeslotRepository;
+    @Mock
+    private CacheManager cacheManager;
+
+    @InjectMocks
+    private ScheduleServiceImpl scheduleService;
+
+    private final Subject subject = subject();
+    private final List<Timeslot> timeslots = new ArrayList<>();
+    private final List<Room> rooms = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        // Two days of three periods, listed out of order so the first period is not simply the first slot
+        for (short day = 1; day <= 2; day++) {
+            for (int hour : new int[]{10, 8, 9}) {
+                Timeslot timeslot = new Timeslot();
+                timeslot.setUuid(UUID.randomUUID());
+                timeslot.setDayOfWeek(day);
+                timeslot.setStartTime(LocalTime.of(hour, 0));
+                timeslot.setEndTime(LocalTime.of(hour, 45));
+                timeslots.add(timeslot);
+                when(timeslotRepository.findActiveById(timeslot.getUuid())).thenReturn(Optional.of(timeslot));
+            }
+            short d = day;
+            when(timeslotRepository.findActiveTeachingByDayOfWeek(eq(d), any())).thenReturn(timeslots.stream()
+                    .filter(ts -> ts.getDayOfWeek() == d && ts.getStartTime().getHour() == 8)
+                    .toList());
+        }
+        for (int i = 0; i < 4; i++) {
+            Room room = new Room();
+            room.setUuid(UUID.randomUUID());
+            room.setName("Room " + i);
+            rooms.add(room);
+            when(roomRepository.findActiveById(room.getUuid())).thenReturn(Optional.of(room));
+        }
+        when(subjectRepository.findActiveById(subject.getUuid())).thenReturn(Optional.of(subject));
+        teacher(SUBJECT_TEACHER_ID);
+        when(scheduleRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void generatedSolutionsPassBulkReplaceForEverySectionOfAJointRun() {
+        Section sectionA = section("A", teacher(900L));
+        Section sectionB = section("B", teacher(901L));
+        TimetableSnapshot snapshot = snapshot(sectionA, sectionB);
+
+        for (int run = 0; run < 25; run++) {
+            AutoScheduleServiceImpl.Individual individual = AutoScheduleServiceImpl.Individual.random(snapshot);
+
+            Map<UUID, List<ScheduleRequestDto>> rows = AutoScheduleServiceImpl.toScheduleRows(individual);
+            assertFalse(rows.isEmpty());
+            for (Map.Entry<UUID, List<ScheduleRequestDto>> entry : rows.entrySet()) {
+                assertEquals(entry.getValue().size(),
+                        scheduleService.replaceSectionScheduleBulk(entry.getKey(), entry.getValue()).size());
+            }
+        }
+    }
+
+    @Test
+    void sectionWithoutClassTeacherLeavesFirstPeriodsEmpty() {
+        Section section = section("A", null);
+        TimetableSnapshot snapshot = snapshot(section);
+
+        for (int run = 0; run < 25; run++) {
+            AutoScheduleServiceImpl.Individual individual = AutoScheduleServiceImpl.Individual.random(snapshot);
+
+            assertTrue(individual.getGeneMap().values().stream().noneMatch(gene -> gene.getTimeslot().firstPeriod()));
+            List<ScheduleRequestDto> rows = AutoScheduleServiceImpl.toScheduleRows(individual).get(section.getUuid());
+            assertEquals(rows.size(), scheduleService.replaceSectionScheduleBulk(section.getUuid(), rows).size());
+        }
+    }
+
+    @Test
+    void fitnessPenalisesFirstPeriodTaughtByAnotherTeacher() {
+        TimetableSnapshot snapshot = snapshot(section("A", teacher(900L)));
+        TimetableSnapshot.SectionPlan plan = snapshot.sections().get(0);
+        TimetableSnapshot.SlotRef firstPeriod = snapshot.slots().stream()
+                .filter(TimetableSnapshot.SlotRef::firstPeriod)
+                .findFirst()
+                .orElseThrow();
+
+        AutoScheduleServiceImpl.Individual classTeacher = individual(plan, firstPeriod, plan.classTeacher(), snapshot);
+        AutoScheduleServiceImpl.Individual subjectTeacher = individual(plan, firstPeriod,
+                snapshot.qualifiedTeachers(subject.getUuid()).get(0), snapshot);
+        classTeacher.calculateFitness(snapshot.conflicts());
+        subjectTeacher.calculateFitness(snapshot.conflicts());
+
+        assertEquals(0, classTeacher.getFitness());
+        assertEquals(-1000, subjectTeacher.getFitness());
+    }
+
+    private AutoScheduleServiceImpl.Individual individual(TimetableSnapshot.SectionPlan plan, TimetableSnapshot.SlotRef slot,
+                                                          TimetableSnapshot.TeacherRef teacher, TimetableSnapshot snapshot) {
+        AutoScheduleServiceImpl.Gene gene = AutoScheduleServiceImpl.Gene.builder()
+                .section(plan)
+                .timeslot(slot)
+                .subject(plan.demands().get(0).subject())
+                .teacher(teacher)
+                .room(snapshot.rooms().get(0))
+                .build();
+        Map<AutoScheduleServiceImpl.GeneKey, AutoScheduleServiceImpl.Gene> genes = new HashMap<>();
+        genes.put(new AutoScheduleServiceImpl.GeneKey(plan.index(), slot.key()), gene);
+        return AutoScheduleServiceImpl.Individual.builder().geneMap(genes).build();
+    }
+
+    private TimetableSnapshot snapshot(Section... sections) {
+        CurriculumMap curriculumMap = new CurriculumMap();
+        curriculumMap.setSubject(subject);
+        curriculumMap.setPeriodsPerWeek((short) 5);
+
+        List<TimetableSnapshot.SectionInput> inputs = Arrays.stream(sections)
+                .map(section -> new TimetableSnapshot.SectionInput(section.getUuid(), section.getSectionName(),
+                        List.of(curriculumMap),
+                        section.getClassTeacher() == null ? null : section.getClassTeacher().getId(),
+                        section.getClassTeacher() == null ? null : section.getClassTeacher().getUserProfile().getFirstName()))
+                .toList();
+        return TimetableSnapshot.of(timeslots, inputs,
+                List.of(new TimetableSnapshot.QualifiedTeacher(subject.getUuid(), SUBJECT_TEACHER_ID, "Ravi")),
+                rooms, List.of());
+    }
+
+    private Section section(String name, Staff classTeacher) {
+        AcademicClass academicClass = new AcademicClass();
+        academicClass.setName("Class 10");
+        Section section = new Section();
+        section.setUuid(UUID.randomUUID());
+        section.setSectionName(name);
+        section.setAcademicClass(academicClass);
+        section.setClassTeacher(classTeacher);
+        when(sectionRepository.findById(section.getUuid())).thenReturn(Optional.of(section));
+        return section;
+    }
+
+    /** A teacher whose TeacherDetails and Staff rows share {@code id}. */
+    private Staff teacher(Long id) {
+        UserProfile userProfile = new UserProfile();
+        userProfile.setFirstName("T" + id);
+        Staff staff = new Staff();
+        staff.setId(id);
+        staff.setUserProfile(userProfile);
+        TeacherDetails teacherDetails = new TeacherDetails();
+        teacherDetails.setId(id);
+        teacherDetails.setStaff(staff);
+        when(teacherDetailsRepository.findActiveById(id)).thenReturn(Optional.of(teacherDetails));
+        return staff;
+    }
+
+    private static Subject subject() {
+        Subject subject = new Subject();
+        subject.setUuid(UUID.randomUUID());
+        subject.setName("Mathematics");
+        return subject;
+    }
+}
@@ -0,0 +1,163 @@
+package com.project.edusync.adm.service.impl;
+
+import com.project.edusync.adm.model.entity.CurriculumMap;
+import com.project.edusync.adm.model.entity.Room;
+import com.project.edusync.adm.model.entity.Subject;
+import com.project.edusync.adm.model.entity.Timeslot;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScheduleConflictIndexTest {
+
+    private static final UUID SUBJECT_ID = UUID.randomUUID();
+
+    private final UUID monday1 = UUID.randomUUID();
+    private final UUID monday2 = UUID.randomUUID();
+    private final Long busyTeacher = 1L;
+    private final Long freeTeacher = 2L;
+    private final UUID busyRoom = UUID.randomUUID();
+    private final UUID freeRoom = UUID.randomUUID();
+
+    @Test
+    void flagsOnlyTheExactTeacherAndRoomSlotPairs() {
+        ScheduleConflictIndex index = ScheduleConflictIndex.build(List.of(monday1, monday2),
+                List.of(busyTeacher, freeTeacher), List.of(busyRoom, freeRoom),
+                List.of(new ScheduleConflictIndex.Occupancy(busyTeacher, busyRoom, monday1)));
+
+        assertTrue(index.isTeacherBusy(index.teacherOf(busyTeacher), index.slotOf(monday1)));
+        assertFalse(index.isTeacherBusy(index.teacherOf(busyTeacher), index.slotOf(monday2)));
+        assertFalse(index.isTeacherBusy(index.teacherOf(freeTeacher), index.slotOf(monday1)));
+        assertTrue(index.isRoomBusy(index.roomOf(busyRoom), index.slotOf(monday1)));
+        assertFalse(index.isRoomBusy(index.roomOf(freeRoom), index.slotOf(monday1)));
+        assertEquals(ScheduleConflictIndex.FREE, index.teacherOf(null));
+    }
+
+    @Test
+    void parallelEvaluationPenalisesEachTeacherAndRoomClash() {
+        TimetableSnapshot snapshot = TimetableSnapshot.of(
+                List.of(timeslot(monday1), timeslot(monday2)),
+                List.of(section("A")),
+                List.of(new TimetableSnapshot.QualifiedTeacher(SUBJECT_ID, busyTeacher, "Busy"),
+                        new TimetableSnapshot.QualifiedTeacher(SUBJECT_ID, freeTeacher, "Free")),
+                List.of(room(busyRoom), room(freeRoom)),
+                List.of(new ScheduleConflictIndex.Occupancy(busyTeacher, busyRoom, monday1),
+                        new ScheduleConflictIndex.Occupancy(busyTeacher, null, monday2)));
+
+        AutoScheduleServiceImpl.Individual bothClash = individual(gene(snapshot, 0, 0, busyTeacher, 0));
+        AutoScheduleServiceImpl.Individual teacherClash = individual(gene(snapshot, 0, 1, busyTeacher, 0));
+        AutoScheduleServiceImpl.Individual clean = individual(gene(snapshot, 0, 0, freeTeacher, 1));
+        List<AutoScheduleServiceImpl.Individual> population = new ArrayList<>(List.of(bothClash, teacherClash, clean));
+
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            AutoScheduleServiceImpl.evaluateFitness(population, snapshot.conflicts(), pool);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(-2000, bothClash.getFitness());
+        assertEquals(-1000, teacherClash.getFitness());
+        assertEquals(0, clean.getFitness());
+    }
+
+    @Test
+    void jointRunPenalisesTeacherAndRoomSharedBetweenItsSections() {
+        TimetableSnapshot snapshot = TimetableSnapshot.of(
+                List.of(timeslot(monday1), timeslot(monday2)),
+                List.of(section("A"), section("B")),
+                List.of(new TimetableSnapshot.QualifiedTeacher(SUBJECT_ID, busyTeacher, "Busy"),
+                        new TimetableSnapshot.QualifiedTeacher(SUBJECT_ID, freeTeacher, "Free")),
+                List.of(room(busyRoom), room(freeRoom)),
+                List.of());
+
+        AutoScheduleServiceImpl.Individual sameSlot = individual(
+                gene(snapshot, 0, 0, freeTeacher, 1), gene(snapshot, 1, 0, freeTeacher, 1));
+        AutoScheduleServiceImpl.Individual roomShared = individual(
+                gene(snapshot, 0, 0, busyTeacher, 1), gene(snapshot, 1, 0, freeTeacher, 1));
+        AutoScheduleServiceImpl.Individual differentSlots = individual(
+                gene(snapshot, 0, 0, freeTeacher, 1), gene(snapshot, 1, 1, freeTeacher, 1));
+
+        sameSlot.calculateFitness(snapshot.conflicts());
+        roomShared.calculateFitness(snapshot.conflicts());
+        differentSlots.calculateFitness(snapshot.conflicts());
+
+        assertEquals(-2000, sameSlot.getFitness());
+        assertEquals(-1000, roomShared.getFitness());
+        assertEquals(0, differentSlots.getFitness());
+    }
+
+    @Test
+    void snapshotGroupsQualifiedTeachersBySubject() {
+        TimetableSnapshot snapshot = TimetableSnapshot.of(
+                List.of(timeslot(monday1)),
+                List.of(section("A")),
+                List.of(new TimetableSnapshot.QualifiedTeacher(SUBJECT_ID, busyTeacher, "Busy")),
+                List.of(room(freeRoom)),
+                List.of());
+
+        assertEquals(List.of(busyTeacher), snapshot.qualifiedTeachers(SUBJECT_ID).stream()
+                .map(TimetableSnapshot.TeacherRef::id).toList());
+        assertTrue(snapshot.qualifiedTeachers(UUID.randomUUID()).isEmpty());
+        assertEquals(3, snapshot.sections().get(0).demands().get(0).periodsPerWeek());
+    }
+
+    private AutoScheduleServiceImpl.Individual individual(AutoScheduleServiceImpl.Gene... genes) {
+        Map<AutoScheduleServiceImpl.GeneKey, AutoScheduleServiceImpl.Gene> geneMap = new HashMap<>();
+        for (AutoScheduleServiceImpl.Gene gene : genes) {
+            geneMap.put(new AutoScheduleServiceImpl.GeneKey(gene.getSection().index(), gene.getTimeslot().key()), gene);
+        }
+        return AutoScheduleServiceImpl.Individual.builder()
+                .geneMap(geneMap)
+                .build();
+    }
+
+    private AutoScheduleServiceImpl.Gene gene(TimetableSnapshot snapshot, int section, int slot, Long teacherId, int room) {
+        TimetableSnapshot.SectionPlan plan = snapshot.sections().get(section);
+        return AutoScheduleServiceImpl.Gene.builder()
+                .section(plan)
+                .timeslot(snapshot.slots().get(slot))
+                .subject(plan.demands().get(0).subject())
+                .teacher(snapshot.qualifiedTeachers(SUBJECT_ID).stream()
+                        .filter(t -> t.id().equals(teacherId))
+                        .findFirst()
+                        .orElseThrow())
+                .room(snapshot.rooms().get(room))
+                .build();
+    }
+
+    private TimetableSnapshot.SectionInput section(String name) {
+        return new TimetableSnapshot.SectionInput(UUID.randomUUID(), name, List.of(curriculum()), null, null);
+    }
+
+    private CurriculumMap curriculum() {
+        Subject subject = new Subject();
+        subject.setUuid(SUBJECT_ID);
+        subject.setName("Mathematics");
+        CurriculumMap curriculumMap = new CurriculumMap();
+        curriculumMap.setSubject(subject);
+        curriculumMap.setPeriodsPerWeek((short) 3);
+        return curriculumMap;
+    }
+
+    private Timeslot timeslot(UUID uuid) {
+        Timeslot timeslot = new Timeslot();
+        timeslot.setUuid(uuid);
+        return timeslot;
+    }
+
+    private Room room(UUID uuid) {
+        Room room = new Room();
+        room.setUuid(uuid);
+        return room;
+    }
+}
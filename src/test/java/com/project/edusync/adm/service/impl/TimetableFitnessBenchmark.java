@@ -0,0 +1,157 @@
+package com.project.edusync.adm.service.impl;
+
+import com.project.edusync.adm.model.entity.CurriculumMap;
+import com.project.edusync.adm.model.entity.Room;
+import com.project.edusync.adm.model.entity.Schedule;
+import com.project.edusync.adm.model.entity.Subject;
+import com.project.edusync.adm.model.entity.Timeslot;
+import com.project.edusync.uis.model.entity.details.TeacherDetails;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fitness evaluation of one GA generation (50 individuals) against a synthetic school of 100
+ * sections: 40 teaching slots, 150 teachers, 80 rooms and 35 periods per section, i.e. ~3,500
+ * schedules of the other 99 sections.
+ *
+ * <p>{@code linearScan} is the previous per-gene {@code anyMatch} over every schedule and is kept
+ * only as the baseline. Not picked up by surefire; run {@link #main} from the IDE.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TimetableFitnessBenchmark {
+
+    private static final int SECTIONS = 100;
+    private static final int SLOTS = 40;
+    private static final int TEACHERS = 150;
+    private static final int ROOMS = 80;
+    private static final int PERIODS_PER_SECTION = 35;
+    private static final int POPULATION = 50;
+
+    private List<Schedule> otherSchedules;
+    private TimetableSnapshot snapshot;
+    private List<AutoScheduleServiceImpl.Individual> population;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        List<Timeslot> timeslots = new ArrayList<>();
+        for (int i = 0; i < SLOTS; i++) {
+            Timeslot timeslot = new Timeslot();
+            timeslot.setUuid(UUID.randomUUID());
+            timeslots.add(timeslot);
+        }
+        List<TeacherDetails> teachers = new ArrayList<>();
+        for (long i = 1; i <= TEACHERS; i++) {
+            TeacherDetails teacher = new TeacherDetails();
+            teacher.setId(i);
+            teachers.add(teacher);
+        }
+        List<Room> rooms = new ArrayList<>();
+        for (int i = 0; i < ROOMS; i++) {
+            Room room = new Room();
+            room.setUuid(UUID.randomUUID());
+            rooms.add(room);
+        }
+        Subject subject = new Subject();
+        subject.setUuid(UUID.randomUUID());
+        CurriculumMap curriculumMap = new CurriculumMap();
+        curriculumMap.setSubject(subject);
+        curriculumMap.setPeriodsPerWeek((short) PERIODS_PER_SECTION);
+
+        otherSchedules = new ArrayList<>();
+        List<ScheduleConflictIndex.Occupancy> occupancy = new ArrayList<>();
+        for (int section = 1; section < SECTIONS; section++) {
+            for (int period = 0; period < PERIODS_PER_SECTION; period++) {
+                Schedule schedule = new Schedule();
+                schedule.setTimeslot(timeslots.get(period));
+                schedule.setTeacher(teachers.get(random.nextInt(TEACHERS)));
+                schedule.setRoom(rooms.get(random.nextInt(ROOMS)));
+                otherSchedules.add(schedule);
+                occupancy.add(new ScheduleConflictIndex.Occupancy(schedule.getTeacher().getId(),
+                        schedule.getRoom().getUuid(), schedule.getTimeslot().getUuid()));
+            }
+        }
+        List<TimetableSnapshot.QualifiedTeacher> qualified = teachers.stream()
+                .map(t -> new TimetableSnapshot.QualifiedTeacher(subject.getUuid(), t.getId(), "T" + t.getId()))
+                .toList();
+        List<TimetableSnapshot.SectionInput> solved = List.of(
+                new TimetableSnapshot.SectionInput(UUID.randomUUID(), "A", List.of(curriculumMap), null, null));
+        snapshot = TimetableSnapshot.of(timeslots, solved, qualified, rooms, occupancy);
+
+        population = new ArrayList<>();
+        for (int i = 0; i < POPULATION; i++) {
+            population.add(AutoScheduleServiceImpl.Individual.random(snapshot));
+        }
+        pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Benchmark
+    public void indexedParallel(Blackhole blackhole) {
+        AutoScheduleServiceImpl.evaluateFitness(population, snapshot.conflicts(), pool);
+        blackhole.consume(population.get(0).getFitness());
+    }
+
+    @Benchmark
+    public void indexedSequential(Blackhole blackhole) {
+        for (AutoScheduleServiceImpl.Individual individual : population) {
+            individual.calculateFitness(snapshot.conflicts());
+        }
+        blackhole.consume(population.get(0).getFitness());
+    }
+
+    @Benchmark
+    public void linearScan(Blackhole blackhole) {
+        for (AutoScheduleServiceImpl.Individual individual : population) {
+            int score = 0;
+            for (AutoScheduleServiceImpl.Gene gene : individual.getGeneMap().values()) {
+                boolean teacherConflict = otherSchedules.stream().anyMatch(s ->
+                        s.getTeacher().getId().equals(gene.getTeacher().id())
+                                && s.getTimeslot().getUuid().equals(gene.getTimeslot().uuid()));
+                if (teacherConflict) score -= 1000;
+                boolean roomConflict = otherSchedules.stream().anyMatch(s ->
+                        s.getRoom().getUuid().equals(gene.getRoom().uuid())
+                                && s.getTimeslot().getUuid().equals(gene.getTimeslot().uuid()));
+                if (roomConflict) score -= 1000;
+            }
+            blackhole.consume(score);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TimetableFitnessBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,245 @@
+package com.project.edusync.adm.service.impl;
+
+import com.project.edusync.adm.exception.InvalidRequestException;
+import com.project.edusync.adm.model.dto.request.TimetableRepairRequestDto;
+import com.project.edusync.adm.model.dto.response.TimetableRepairResponseDto;
+import com.project.edusync.adm.model.entity.Room;
+import com.project.edusync.adm.model.entity.Schedule;
+import com.project.edusync.adm.model.entity.Section;
+import com.project.edusync.adm.model.entity.Subject;
+import com.project.edusync.adm.model.entity.Timeslot;
+import com.project.edusync.adm.model.enums.TimetableChangeType;
+import com.project.edusync.adm.repository.RoomRepository;
+import com.project.edusync.adm.repository.ScheduleRepository;
+import com.project.edusync.adm.repository.SectionRepository;
+import com.project.edusync.adm.repository.TimeslotRepository;
+import com.project.edusync.uis.model.entity.details.TeacherDetails;
+import com.project.edusync.uis.repository.details.TeacherDetailsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TimetableRepairServiceImplTest {
+
+    @Mock
+    private SectionRepository sectionRepository;
+    @Mock
+    private ScheduleRepository scheduleRepository;
+    @Mock
+    private TimeslotRepository timeslotRepository;
+    @Mock
+    private RoomRepository roomRepository;
+    @Mock
+    private TeacherDetailsRepository teacherDetailsRepository;
+
+    @InjectMocks
+    private TimetableRepairServiceImpl timetableRepairService;
+
+    private final UUID sectionId = UUID.randomUUID();
+    private final Subject maths = subject("Mathematics");
+    private final Subject english = subject("English");
+    private final Timeslot first = timeslot(9);
+    private final Timeslot second = timeslot(10);
+    private final Timeslot third = timeslot(11);
+    private final Room classroom = room("Room 101");
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(timetableRepairService, "timeBudgetMs", 300L);
+    }
+
+    private void givenSectionWithOneClassroom() {
+        Section section = new Section();
+        section.setUuid(sectionId);
+        section.setSectionName("A");
+        when(sectionRepository.findByUuid(sectionId)).thenReturn(Optional.of(section));
+        when(timeslotRepository.findAllActive()).thenReturn(List.of(first, second, third));
+        when(roomRepository.findAllActive()).thenReturn(List.of(classroom));
+    }
+
+    @Test
+    void teacherUnavailable_assignsFreeSubstituteInSameSlot() {
+        givenSectionWithOneClassroom();
+        Schedule mathsLesson = lesson(maths, 1L, first);
+        Schedule englishLesson = lesson(english, 2L, second);
+        when(scheduleRepository.findAllActiveWithReferencesBySectionUuid(sectionId)).thenReturn(List.of(mathsLesson, englishLesson));
+        when(teacherDetailsRepository.findQualifiedTeachersForSubjects(anyCollection()))
+                .thenReturn(List.of(qualified(maths, 1L), qualified(maths, 3L)));
+        when(teacherDetailsRepository.getReferenceById(3L)).thenReturn(teacher(3L));
+
+        TimetableRepairResponseDto response = timetableRepairService.repairSectionSchedule(sectionId, teacherOut(1L));
+
+        assertTrue(response.isApplied());
+        assertEquals(1, response.getRepaired().size());
+        assertEquals(TimetableRepairResponseDto.RepairAction.REASSIGN, response.getRepaired().get(0).getAction());
+        assertEquals(3L, mathsLesson.getTeacher().getId());
+        assertEquals(first, mathsLesson.getTimeslot());
+        assertEquals(2L, englishLesson.getTeacher().getId());
+        assertTrue(response.getUnresolved().isEmpty());
+        verify(scheduleRepository).saveAll(List.of(mathsLesson));
+    }
+
+    @Test
+    void teacherOutForOneSlot_movesLessonToFreeSlotWhenNoSubstituteIsFree_dryRun() {
+        givenSectionWithOneClassroom();
+        Schedule mathsLesson = lesson(maths, 1L, first);
+        Schedule englishLesson = lesson(english, 2L, second);
+        when(scheduleRepository.findAllActiveWithReferencesBySectionUuid(sectionId)).thenReturn(List.of(mathsLesson, englishLesson));
+        when(teacherDetailsRepository.findQualifiedTeachersForSubjects(anyCollection()))
+                .thenReturn(List.of(qualified(maths, 1L), qualified(maths, 3L)));
+        // The only substitute teaches another section in the first slot
+        when(scheduleRepository.findActiveOccupancyExcludingSections(List.of(sectionId)))
+                .thenReturn(List.of(occupancy(3L, UUID.randomUUID(), first.getUuid())));
+
+        TimetableRepairRequestDto request = teacherOut(1L);
+        request.setTimeslotIds(List.of(first.getUuid()));
+        request.setDryRun(true);
+        TimetableRepairResponseDto response = timetableRepairService.repairSectionSchedule(sectionId, request);
+
+        assertFalse(response.isApplied());
+        assertEquals(1, response.getRepaired().size());
+        TimetableRepairResponseDto.RepairedLessonDto repair = response.getRepaired().get(0);
+        assertEquals(TimetableRepairResponseDto.RepairAction.MOVE, repair.getAction());
+        assertEquals(third.getUuid(), repair.getAfter().getTimeslot().getUuid());
+        assertEquals(1L, repair.getAfter().getTeacher().getId());
+        assertEquals(first.getUuid(), repair.getBefore().getTimeslot().getUuid());
+        // Dry run leaves the rows alone
+        assertEquals(first, mathsLesson.getTimeslot());
+        verify(scheduleRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void roomUnavailable_reportsLessonsWithoutFreeRoomAsUnresolved() {
+        givenSectionWithOneClassroom();
+        Schedule mathsLesson = lesson(maths, 1L, first);
+        Schedule englishLesson = lesson(english, 2L, second);
+        when(scheduleRepository.findAllActiveWithReferencesBySectionUuid(sectionId)).thenReturn(List.of(mathsLesson, englishLesson));
+
+        TimetableRepairRequestDto request = new TimetableRepairRequestDto();
+        request.setChangeType(TimetableChangeType.ROOM_UNAVAILABLE);
+        request.setRoomId(classroom.getUuid());
+        TimetableRepairResponseDto response = timetableRepairService.repairSectionSchedule(sectionId, request);
+
+        assertFalse(response.isApplied());
+        assertTrue(response.getRepaired().isEmpty());
+        assertEquals(2, response.getUnresolved().size());
+        verifyNoInteractions(teacherDetailsRepository);
+        verify(scheduleRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void teacherChangeWithoutTeacherId_isRejected() {
+        TimetableRepairRequestDto request = new TimetableRepairRequestDto();
+        request.setChangeType(TimetableChangeType.TEACHER_UNAVAILABLE);
+
+        assertThrows(InvalidRequestException.class, () -> timetableRepairService.repairSectionSchedule(sectionId, request));
+        verifyNoInteractions(scheduleRepository);
+    }
+
+    private TimetableRepairRequestDto teacherOut(Long teacherId) {
+        TimetableRepairRequestDto request = new TimetableRepairRequestDto();
+        request.setChangeType(TimetableChangeType.TEACHER_UNAVAILABLE);
+        request.setTeacherId(teacherId);
+        return request;
+    }
+
+    private Schedule lesson(Subject subject, Long teacherId, Timeslot timeslot) {
+        Schedule schedule = new Schedule();
+        schedule.setUuid(UUID.randomUUID());
+        schedule.setSubject(subject);
+        schedule.setTeacher(teacher(teacherId));
+        schedule.setRoom(classroom);
+        schedule.setTimeslot(timeslot);
+        schedule.setIsActive(true);
+        return schedule;
+    }
+
+    private TeacherDetails teacher(Long id) {
+        TeacherDetails teacher = new TeacherDetails();
+        teacher.setId(id);
+        return teacher;
+    }
+
+    private Subject subject(String name) {
+        Subject subject = new Subject();
+        subject.setUuid(UUID.randomUUID());
+        subject.setName(name);
+        return subject;
+    }
+
+    private Timeslot timeslot(int hour) {
+        Timeslot timeslot = new Timeslot();
+        timeslot.setUuid(UUID.randomUUID());
+        timeslot.setDayOfWeek((short) 1);
+        timeslot.setStartTime(LocalTime.of(hour, 0));
+        timeslot.setEndTime(LocalTime.of(hour, 45));
+        return timeslot;
+    }
+
+    private Room room(String name) {
+        Room room = new Room();
+        room.setUuid(UUID.randomUUID());
+        room.setName(name);
+        room.setRoomType("CLASSROOM");
+        return room;
+    }
+
+    private TeacherDetailsRepository.QualifiedTeacherProjection qualified(Subject subject, Long teacherId) {
+        return new TeacherDetailsRepository.QualifiedTeacherProjection() {
+            @Override
+            public UUID getSubjectId() {
+                return subject.getUuid();
+            }
+
+            @Override
+            public Long getTeacherId() {
+                return teacherId;
+            }
+
+            @Override
+            public String getFirstName() {
+                return "T" + teacherId;
+            }
+        };
+    }
+
+    private ScheduleRepository.SlotOccupancyProjection occupancy(Long teacherId, UUID roomId, UUID timeslotId) {
+        return new ScheduleRepository.SlotOccupancyProjection() {
+            @Override
+            public Long getTeacherId() {
+                return teacherId;
+            }
+
+            @Override
+            public UUID getRoomId() {
+                return roomId;
+            }
+
+            @Override
+            public UUID getTimeslotId() {
+                return timeslotId;
+            }
+        };
+    }
+}
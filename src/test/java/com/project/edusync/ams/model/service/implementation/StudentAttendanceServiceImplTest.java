@@ -1,11 +1,13 @@
 package com.project.edusync.ams.model.service.implementation;
 
 import com.project.edusync.ams.model.dto.request.StudentAttendanceRequestDTO;
+import com.project.edusync.ams.model.dto.response.StudentAttendanceResponseDTO;
 import com.project.edusync.ams.model.entity.AttendanceType;
 import com.project.edusync.ams.model.entity.StudentDailyAttendance;
 import com.project.edusync.ams.model.exception.AttendanceProcessingException;
 import com.project.edusync.ams.model.repository.AbsenceDocumentationRepository;
 import com.project.edusync.ams.model.repository.AttendanceTypeRepository;
+import com.project.edusync.ams.model.repository.StudentDailyAttendanceBatchWriter;
 import com.project.edusync.ams.model.repository.StudentDailyAttendanceRepository;
 import com.project.edusync.ams.model.service.AttendanceEditWindowService;
 import com.project.edusync.adm.repository.AcademicClassRepository;
@@ -13,6 +15,7 @@ import com.project.edusync.adm.repository.SectionRepository;
 import com.project.edusync.hrms.repository.AcademicCalendarEventRepository;
 import com.project.edusync.uis.repository.StaffRepository;
 import com.project.edusync.uis.repository.StudentRepository;
+import com.project.edusync.uis.service.StudentDashboardCacheInvalidator;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -22,6 +25,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -64,6 +68,12 @@ class StudentAttendanceServiceImplTest {
     @Mock
     private AcademicCalendarEventRepository academicCalendarEventRepository;
 
+    @Mock
+    private StudentDailyAttendanceBatchWriter attendanceBatchWriter;
+
+    @Mock
+    private StudentDashboardCacheInvalidator dashboardCacheInvalidator;
+
     @InjectMocks
     private StudentAttendanceServiceImpl service;
 
@@ -114,10 +124,11 @@ class StudentAttendanceServiceImplTest {
 
         when(academicCalendarEventRepository.existsByDateAndDayTypeInAndAppliesToStudentsTrueAndIsActiveTrue(eq(boundaryDate), anyCollection())).thenReturn(false);
         when(attendanceTypeRepository.findByShortCodeIgnoreCase("P")).thenReturn(Optional.of(presentType));
-        when(studentRepo.findByStudentIdAndAttendanceDate(1L, boundaryDate)).thenReturn(Optional.empty());
-        when(studentRepo.save(any(StudentDailyAttendance.class))).thenAnswer(invocation -> invocation.getArgument(0));
-        when(studentRepository.findById(anyLong())).thenReturn(Optional.empty());
-        when(staffRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(studentRepo.findMarksByStudentIdsAndDates(Set.of(1L), Set.of(boundaryDate))).thenReturn(List.of());
+        when(studentRepo.findWithDetailsByStudentIdsAndDates(Set.of(1L), Set.of(boundaryDate)))
+                .thenReturn(List.of(savedAttendance(1L, boundaryDate, presentType, "boundary")));
+        when(studentRepository.findNamesByIdIn(Set.of(1L))).thenReturn(List.of());
+        when(staffRepository.findNamesByIdIn(Set.of(7L))).thenReturn(List.of());
 
         StudentAttendanceRequestDTO request = new StudentAttendanceRequestDTO(
                 null,
@@ -130,7 +141,51 @@ class StudentAttendanceServiceImplTest {
         );
 
         assertEquals(1, service.markAttendanceBatch(List.of(request), 7L).size());
-        verify(studentRepo).save(any(StudentDailyAttendance.class));
+        verify(attendanceBatchWriter).upsert(List.of(
+                new StudentDailyAttendanceBatchWriter.Mark(1L, boundaryDate, 7L, presentType.getId(), "boundary")));
+    }
+
+    @Test
+    void markAttendanceBatch_resolvesUuidsInOneQueryAndSkipsUnchangedMarks() {
+        AttendanceType presentType = attendanceType("P");
+        LocalDate today = LocalDate.now();
+        UUID unchangedUuid = UUID.randomUUID();
+        UUID changedUuid = UUID.randomUUID();
+
+        when(academicCalendarEventRepository.existsByDateAndDayTypeInAndAppliesToStudentsTrueAndIsActiveTrue(eq(today), anyCollection())).thenReturn(false);
+        when(attendanceTypeRepository.findByShortCodeIgnoreCase("P")).thenReturn(Optional.of(presentType));
+        when(studentRepository.findIdsByUuidIn(Set.of(unchangedUuid, changedUuid)))
+                .thenReturn(List.of(studentId(unchangedUuid, 1L), studentId(changedUuid, 2L)));
+        when(studentRepo.findMarksByStudentIdsAndDates(Set.of(1L, 2L), Set.of(today)))
+                .thenReturn(List.of(existingMark(1L, today, presentType.getId(), "on time"),
+                        existingMark(2L, today, 99L, null)));
+        when(studentRepo.findWithDetailsByStudentIdsAndDates(Set.of(1L, 2L), Set.of(today)))
+                .thenReturn(List.of(savedAttendance(2L, today, presentType, null),
+                        savedAttendance(1L, today, presentType, "on time")));
+        UUID staffUuid = UUID.randomUUID();
+        when(studentRepository.findNamesByIdIn(Set.of(1L, 2L))).thenReturn(List.of(
+                studentName(1L, unchangedUuid, "Asha", "Rao"),
+                studentName(2L, changedUuid, "Vikram", null)));
+        when(staffRepository.findNamesByIdIn(Set.of(7L))).thenReturn(List.of(staffName(7L, staffUuid, "Meera", "Iyer")));
+
+        List<StudentAttendanceRequestDTO> requests = List.of(
+                new StudentAttendanceRequestDTO(unchangedUuid, null, "P", today, null, null, "on time"),
+                new StudentAttendanceRequestDTO(changedUuid, null, "p", today, null, null, null));
+
+        List<StudentAttendanceResponseDTO> responses = service.markAttendanceBatch(requests, 7L);
+
+        assertEquals(List.of(1L, 2L), responses.stream().map(StudentAttendanceResponseDTO::getStudentId).toList());
+        assertEquals(List.of("Asha Rao", "Vikram"), responses.stream().map(StudentAttendanceResponseDTO::getStudentFullName).toList());
+        assertEquals(changedUuid.toString(), responses.get(1).getStudentUuid());
+        assertEquals("Meera Iyer", responses.get(0).getTakenByStaffName());
+        assertEquals(staffUuid.toString(), responses.get(0).getTakenByStaffUuid());
+        verify(attendanceBatchWriter).upsert(List.of(
+                new StudentDailyAttendanceBatchWriter.Mark(2L, today, 7L, presentType.getId(), null)));
+        verify(dashboardCacheInvalidator).evictStudents(Set.of(2L));
+        verify(studentRepository, never()).findByUuid(any(UUID.class));
+        verify(studentRepo, never()).findByStudentIdAndAttendanceDate(anyLong(), any(LocalDate.class));
+        verify(studentRepository, never()).findById(anyLong());
+        verify(staffRepository, never()).findById(anyLong());
     }
 
     @Test
@@ -197,6 +252,103 @@ class StudentAttendanceServiceImplTest {
         verify(studentRepo, never()).save(any(StudentDailyAttendance.class));
     }
 
+    private StudentDailyAttendance savedAttendance(Long studentId, LocalDate date, AttendanceType type, String notes) {
+        StudentDailyAttendance attendance = new StudentDailyAttendance();
+        attendance.setStudentId(studentId);
+        attendance.setAttendanceDate(date);
+        attendance.setTakenByStaffId(7L);
+        attendance.setAttendanceType(type);
+        attendance.setNotes(notes);
+        return attendance;
+    }
+
+    private StudentRepository.StudentIdProjection studentId(UUID uuid, Long id) {
+        return new StudentRepository.StudentIdProjection() {
+            @Override
+            public UUID getUuid() {
+                return uuid;
+            }
+
+            @Override
+            public Long getId() {
+                return id;
+            }
+        };
+    }
+
+    private StudentRepository.StudentNameProjection studentName(Long id, UUID uuid, String firstName, String lastName) {
+        return new StudentRepository.StudentNameProjection() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public UUID getUuid() {
+                return uuid;
+            }
+
+            @Override
+            public String getFirstName() {
+                return firstName;
+            }
+
+            @Override
+            public String getLastName() {
+                return lastName;
+            }
+        };
+    }
+
+    private StaffRepository.StaffNameProjection staffName(Long id, UUID uuid, String firstName, String lastName) {
+        return new StaffRepository.StaffNameProjection() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public UUID getUuid() {
+                return uuid;
+            }
+
+            @Override
+            public String getFirstName() {
+                return firstName;
+            }
+
+            @Override
+            public String getLastName() {
+                return lastName;
+            }
+        };
+    }
+
+    private StudentDailyAttendanceRepository.AttendanceMarkProjection existingMark(Long studentId, LocalDate date,
+                                                                                   Long typeId, String notes) {
+        return new StudentDailyAttendanceRepository.AttendanceMarkProjection() {
+            @Override
+            public Long getStudentId() {
+                return studentId;
+            }
+
+            @Override
+            public LocalDate getAttendanceDate() {
+                return date;
+            }
+
+            @Override
+            public Long getTypeId() {
+                return typeId;
+            }
+
+            @Override
+            public String getNotes() {
+                return notes;
+            }
+        };
+    }
+
     private AttendanceType attendanceType(String shortCode) {
         AttendanceType type = new AttendanceType();
         type.setId(1L);
@@ -0,0 +1,207 @@
+package com.project.edusync.common.mail.service;
+
+import com.project.edusync.common.mail.model.entity.QueuedMail;
+import com.project.edusync.common.mail.model.enums.QueuedMailStatus;
+import com.project.edusync.common.mail.repository.QueuedMailRepository;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.IContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+/**
+ * Sends through a real {@link JavaMailSenderImpl} to a {@link FakeSmtpServer} on localhost.
+ */
+@ExtendWith(MockitoExtension.class)
+class MailDispatcherTest {
+
+    @Mock
+    private QueuedMailRepository mailRepository;
+    @Mock
+    private TemplateEngine templateEngine;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private FakeSmtpServer smtpServer;
+    private final AtomicBoolean inTransaction = new AtomicBoolean();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        smtpServer = new FakeSmtpServer(Set.of("unknown@example.com"));
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            inTransaction.set(true);
+            try {
+                return invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null);
+            } finally {
+                inTransaction.set(false);
+            }
+        });
+        lenient().doAnswer(invocation -> {
+            inTransaction.set(true);
+            try {
+                invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            } finally {
+                inTransaction.set(false);
+            }
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        lenient().when(templateEngine.process(anyString(), any(IContext.class))).thenReturn("<p>Welcome</p>");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        smtpServer.close();
+    }
+
+    @Test
+    void sendsAClaimedBatchOverOneSmtpConnection() {
+        List<QueuedMail> due = mails(25);
+        when(mailRepository.claimDue(any(), anyInt())).thenReturn(due);
+
+        dispatcher(smtpServer.port()).dispatch();
+
+        assertEquals(1, smtpServer.connections());
+        assertEquals(25, smtpServer.deliveredTo().size());
+        due.forEach(mail -> {
+            assertEquals(QueuedMailStatus.SENT, mail.getStatus());
+            assertNotNull(mail.getSentAt());
+            assertNull(mail.getVariables());
+        });
+    }
+
+    @Test
+    void sendsWithNoTransactionOpenAndSavesOutcomesAfterwards() {
+        List<QueuedMail> due = mails(3);
+        when(mailRepository.claimDue(any(), anyInt())).thenReturn(due);
+        List<Boolean> transactionOpenDuringSend = new ArrayList<>();
+        List<LocalDateTime> leasedUntil = new ArrayList<>();
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl() {
+            @Override
+            public void send(MimeMessage... mimeMessages) {
+                transactionOpenDuringSend.add(inTransaction.get());
+                due.forEach(mail -> leasedUntil.add(mail.getNextAttemptAt()));
+                super.send(mimeMessages);
+            }
+        };
+        configure(mailSender, smtpServer.port());
+
+        new MailDispatcher(mailRepository, mailSender, templateEngine, transactionTemplate, Runnable::run,
+                "no-reply@example.com", 50, 6, 60000, 3600000, 7, 600000).dispatch();
+
+        assertEquals(List.of(false), transactionOpenDuringSend);
+        leasedUntil.forEach(until -> assertTrue(until.isAfter(LocalDateTime.now().plusMinutes(9))));
+        InOrder order = inOrder(mailRepository);
+        order.verify(mailRepository).claimDue(any(), anyInt());
+        order.verify(mailRepository).saveAll(due);
+        due.forEach(mail -> assertEquals(QueuedMailStatus.SENT, mail.getStatus()));
+    }
+
+    @Test
+    void rejectedRecipientFailsWithoutHoldingBackTheRestOfTheBatch() {
+        List<QueuedMail> due = mails(3);
+        due.get(1).setRecipient("unknown@example.com");
+        when(mailRepository.claimDue(any(), anyInt())).thenReturn(due);
+
+        dispatcher(smtpServer.port()).dispatch();
+
+        assertEquals(List.of("user0@example.com", "user2@example.com"), smtpServer.deliveredTo());
+        assertEquals(QueuedMailStatus.SENT, due.get(0).getStatus());
+        assertEquals(QueuedMailStatus.FAILED, due.get(1).getStatus());
+        assertEquals(1, due.get(1).getAttempts());
+        assertEquals(QueuedMailStatus.SENT, due.get(2).getStatus());
+    }
+
+    @Test
+    void unreachableServerRetriesTheBatchWithBackoff() throws IOException {
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        }
+        List<QueuedMail> due = mails(2);
+        when(mailRepository.claimDue(any(), anyInt())).thenReturn(due);
+
+        dispatcher(closedPort).dispatch();
+
+        due.forEach(mail -> {
+            assertEquals(QueuedMailStatus.PENDING, mail.getStatus());
+            assertEquals(1, mail.getAttempts());
+            assertTrue(mail.getNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(30)));
+            assertNotNull(mail.getLastError());
+            assertNotNull(mail.getVariables());
+        });
+    }
+
+    @Test
+    void backoffDoublesUpToTheCap() {
+        MailDispatcher dispatcher = dispatcher(smtpServer.port());
+
+        assertEquals(Duration.ofMinutes(1), dispatcher.backoff(1));
+        assertEquals(Duration.ofMinutes(4), dispatcher.backoff(3));
+        assertEquals(Duration.ofHours(1), dispatcher.backoff(10));
+    }
+
+    private MailDispatcher dispatcher(int port) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        configure(mailSender, port);
+        return new MailDispatcher(mailRepository, mailSender, templateEngine, transactionTemplate, Runnable::run,
+                "no-reply@example.com", 50, 6, 60000, 3600000, 7, 600000);
+    }
+
+    private static void configure(JavaMailSenderImpl mailSender, int port) {
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(port);
+        Properties properties = new Properties();
+        properties.put("mail.smtp.connectiontimeout", "2000");
+        properties.put("mail.smtp.timeout", "2000");
+        mailSender.setJavaMailProperties(properties);
+    }
+
+    private static List<QueuedMail> mails(int count) {
+        return IntStream.range(0, count).mapToObj(i -> {
+            QueuedMail mail = new QueuedMail();
+            mail.setId((long) i + 1);
+            mail.setTemplate("email/welcome-email");
+            mail.setRecipient("user" + i + "@example.com");
+            mail.setSubject("Welcome to EduSync");
+            mail.setVariables(Map.of("username", "user" + i, "loginLink", "http://localhost:3000/login"));
+            mail.setStatus(QueuedMailStatus.PENDING);
+            mail.setNextAttemptAt(LocalDateTime.now());
+            mail.setCreatedAt(LocalDateTime.now());
+            return mail;
+        }).toList();
+    }
+}
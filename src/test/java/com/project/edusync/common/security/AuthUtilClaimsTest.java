@@ -4,6 +4,7 @@ import com.project.edusync.iam.model.entity.Permission;
 import com.project.edusync.iam.model.entity.Role;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import io.jsonwebtoken.security.SignatureException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -14,6 +15,8 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class AuthUtilClaimsTest {
@@ -58,4 +61,31 @@ class AuthUtilClaimsTest {
 
         assertEquals(academicYearId, authUtil.getCurrentAcademicYearId());
     }
+
+    @Test
+    void verifyToken_parsesOnceAndServesRepeatCallsFromCache() {
+        AuthUtil authUtil = new AuthUtil();
+        ReflectionTestUtils.setField(authUtil, "secretKey", "01234567890123456789012345678901");
+        ReflectionTestUtils.setField(authUtil, "jwtExpirationTime", 3600000L);
+        authUtil.init();
+
+        Role role = new Role();
+        role.setName("ROLE_TEACHER");
+        String token = authUtil.generateAccessToken("teacher.user", Set.of(role), 7L, 2026L);
+
+        VerifiedToken first = authUtil.verifyToken(token);
+        assertEquals("teacher.user", first.username());
+        assertEquals(7L, first.userId());
+        assertEquals(2026L, first.academicYearId());
+        assertEquals(java.util.List.of("ROLE_TEACHER"), first.authorities());
+        assertSame(first, authUtil.verifyToken(token));
+
+        // A token signed with another key is rejected, never served from the cache.
+        AuthUtil otherIssuer = new AuthUtil();
+        ReflectionTestUtils.setField(otherIssuer, "secretKey", "abcdefghijabcdefghijabcdefghij12");
+        ReflectionTestUtils.setField(otherIssuer, "jwtExpirationTime", 3600000L);
+        otherIssuer.init();
+        String forged = otherIssuer.generateAccessToken("teacher.user", Set.of(role), 7L, 2026L);
+        assertThrows(SignatureException.class, () -> authUtil.verifyToken(forged));
+    }
 }
@@ -0,0 +1,103 @@
+package com.project.edusync.common.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.project.edusync.iam.model.entity.Permission;
+import com.project.edusync.iam.model.entity.Role;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request JWT cost in {@link JWTFilter}: the previous {@code getUsernameFromToken} plus two
+ * {@code getClaimValueFromToken} calls against a single {@link AuthUtil#verifyToken}.
+ *
+ * <p>The token carries a student role with 20 permissions. With {@code cached=false} the
+ * verified-token cache is emptied before every invocation, so both paths verify the signature;
+ * with {@code cached=true} the token was verified once before measuring. Not picked up by
+ * surefire; run {@link #main} from the IDE.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final int PERMISSIONS = 20;
+
+    @Param({"false", "true"})
+    public boolean cached;
+
+    private AuthUtil authUtil;
+    private Cache<?, ?> verifiedTokenCache;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        authUtil = new AuthUtil();
+        ReflectionTestUtils.setField(authUtil, "secretKey", "01234567890123456789012345678901");
+        ReflectionTestUtils.setField(authUtil, "jwtExpirationTime", 3_600_000L);
+        authUtil.init();
+        verifiedTokenCache = (Cache<?, ?>) ReflectionTestUtils.getField(authUtil, "verifiedTokenCache");
+
+        Set<Permission> permissions = new HashSet<>();
+        for (int i = 0; i < PERMISSIONS; i++) {
+            Permission permission = new Permission();
+            permission.setName("module" + i + ":read:own");
+            permissions.add(permission);
+        }
+        Role role = new Role();
+        role.setName("ROLE_STUDENT");
+        role.setPermissions(permissions);
+        token = authUtil.generateAccessToken("student.user", Set.of(role), 42L, 2026L);
+        authUtil.verifyToken(token);
+    }
+
+    // A signature check takes tens of microseconds, well above the per-invocation setup overhead
+    @Setup(Level.Invocation)
+    public void resetCache() {
+        if (!cached) {
+            verifiedTokenCache.invalidateAll();
+        }
+    }
+
+    @Benchmark
+    public void tripleParse(Blackhole blackhole) {
+        blackhole.consume(authUtil.getUsernameFromToken(token));
+        blackhole.consume(authUtil.getClaimValueFromToken(token, "user_id"));
+        blackhole.consume(authUtil.getClaimValueFromToken(token, "academic_year_id"));
+    }
+
+    @Benchmark
+    public void verifyOnce(Blackhole blackhole) {
+        VerifiedToken verified = authUtil.verifyToken(token);
+        blackhole.consume(verified.username());
+        blackhole.consume(verified.userId());
+        blackhole.consume(verified.academicYearId());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,59 @@
+package com.project.edusync.common.security;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class UserDetailsCacheInvalidatorTest {
+
+    private static final String CHANNEL = "edusync:user-details:invalidate";
+
+    @Mock
+    private CustomUserDetailService customUserDetailService;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @InjectMocks
+    private UserDetailsCacheInvalidator invalidator;
+
+    @Test
+    void invalidateEvictsLocallyAndPublishesUsername() {
+        ReflectionTestUtils.setField(invalidator, "channel", CHANNEL);
+
+        invalidator.invalidate("teacher01");
+
+        verify(customUserDetailService).evict("teacher01");
+        verify(stringRedisTemplate).convertAndSend(CHANNEL, "teacher01");
+    }
+
+    @Test
+    void invalidateStillEvictsLocallyWhenRedisIsDown() {
+        ReflectionTestUtils.setField(invalidator, "channel", CHANNEL);
+        doThrow(new RedisConnectionFailureException("down"))
+                .when(stringRedisTemplate).convertAndSend(CHANNEL, "teacher01");
+
+        invalidator.invalidate("teacher01");
+
+        verify(customUserDetailService).evict("teacher01");
+    }
+
+    @Test
+    void wildcardMessageEvictsEveryPrincipal() {
+        invalidator.onInvalidationMessage(UserDetailsCacheInvalidator.ALL_USERS);
+
+        verify(customUserDetailService).evictAll();
+        verify(customUserDetailService, never()).evict(anyString());
+    }
+}
@@ -0,0 +1,196 @@
+package com.project.edusync.em.model.service.serviceImpl;
+
+import com.project.edusync.adm.model.entity.AcademicClass;
+import com.project.edusync.common.exception.emException.EdusyncException;
+import com.project.edusync.common.security.AuthUtil;
+import com.project.edusync.em.model.dto.ResponseDTO.ClassResultSummaryResponseDTO;
+import com.project.edusync.em.model.entity.Exam;
+import com.project.edusync.em.model.entity.ExamSchedule;
+import com.project.edusync.em.model.enums.AnswerSheetStatus;
+import com.project.edusync.em.model.enums.EvaluationAuditEventType;
+import com.project.edusync.em.model.enums.EvaluationResultStatus;
+import com.project.edusync.em.model.repository.AnswerSheetRepository;
+import com.project.edusync.em.model.repository.EvaluationResultRepository;
+import com.project.edusync.em.model.repository.ExamScheduleRepository;
+import com.project.edusync.em.model.repository.StudentExamStatusRepository;
+import com.project.edusync.em.model.service.EvaluationAuditService;
+import com.project.edusync.em.model.service.EvaluationDraftStoreService;
+import com.project.edusync.iam.model.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AnswerEvaluationServiceImplTest {
+
+    private static final Long EXAM_ID = 9L;
+    private static final Long CLASS_ID = 4L;
+
+    @Mock
+    private AnswerSheetRepository answerSheetRepository;
+    @Mock
+    private EvaluationResultRepository evaluationResultRepository;
+    @Mock
+    private ExamScheduleRepository examScheduleRepository;
+    @Mock
+    private StudentExamStatusRepository studentExamStatusRepository;
+    @Mock
+    private AuthUtil authUtil;
+    @Mock
+    private EvaluationAuditService evaluationAuditService;
+    @Mock
+    private EvaluationDraftStoreService evaluationDraftStoreService;
+
+    @InjectMocks
+    private AnswerEvaluationServiceImpl answerEvaluationService;
+
+    private final UUID classUuid = UUID.randomUUID();
+    private final UUID examUuid = UUID.randomUUID();
+    private User admin;
+
+    @BeforeEach
+    void setUp() {
+        admin = mock(User.class);
+        doReturn(List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))).when(admin).getAuthorities();
+        when(authUtil.getCurrentUser()).thenReturn(admin);
+    }
+
+    @Test
+    void classSummaryCountsResultsForTheExamAndClassOnly() {
+        when(examScheduleRepository.findByExamUuidAndAcademicClassUuid(examUuid, classUuid))
+                .thenReturn(List.of(schedule(11L), schedule(12L)));
+        when(examScheduleRepository.countActiveStudentsPerSchedule(EXAM_ID)).thenReturn(List.of(
+                new Object[]{11L, 20L}, new Object[]{12L, 20L}, new Object[]{99L, 35L}));
+        when(studentExamStatusRepository.countAbsentStudentsByClassAndExam(classUuid, examUuid)).thenReturn(2L);
+        when(evaluationResultRepository.countByStatusForExamAndClass(EXAM_ID, CLASS_ID)).thenReturn(List.of(
+                statusCount(EvaluationResultStatus.SUBMITTED, 10),
+                statusCount(EvaluationResultStatus.APPROVED, 20),
+                statusCount(EvaluationResultStatus.PUBLISHED, 8),
+                statusCount(EvaluationResultStatus.DRAFT, 3)));
+
+        ClassResultSummaryResponseDTO summary = answerEvaluationService.getClassResultSummary(classUuid, examUuid);
+
+        assertEquals(40, summary.getTotalStudents());
+        assertEquals(38, summary.getEvaluatedStudents());
+        assertEquals(2, summary.getAbsentStudents());
+        assertEquals(0, summary.getPendingStudents());
+        assertEquals("READY_FOR_APPROVAL", summary.getStatus());
+        verify(evaluationResultRepository, never()).findAllWithContext();
+    }
+
+    @Test
+    void classSummaryRejectsUnknownClassAndExam() {
+        when(examScheduleRepository.findByExamUuidAndAcademicClassUuid(examUuid, classUuid)).thenReturn(List.of());
+
+        assertThrows(EdusyncException.class, () -> answerEvaluationService.getClassResultSummary(classUuid, examUuid));
+    }
+
+    @Test
+    void approveClassResultsUpdatesSubmittedResultsInOneStatement() {
+        when(examScheduleRepository.findByExamUuidAndAcademicClassUuid(examUuid, classUuid)).thenReturn(List.of(schedule(11L)));
+        when(examScheduleRepository.countActiveStudentsPerSchedule(EXAM_ID)).thenReturn(List.<Object[]>of(new Object[]{11L, 3L}));
+        when(evaluationResultRepository.countByStatusForExamAndClass(EXAM_ID, CLASS_ID))
+                .thenReturn(List.of(statusCount(EvaluationResultStatus.SUBMITTED, 3)));
+        when(admin.getUsername()).thenReturn("admin");
+        when(evaluationResultRepository.approveForExamAndClass(eq(EXAM_ID), eq(CLASS_ID),
+                eq(EvaluationResultStatus.SUBMITTED), eq(EvaluationResultStatus.APPROVED),
+                eq(admin), eq("admin"), any(LocalDateTime.class))).thenReturn(3);
+
+        assertEquals(3, answerEvaluationService.approveClassResults(classUuid, examUuid));
+    }
+
+    @Test
+    void publishClassResultsUpdatesResultsAndSheetsInBulkAndAuditsEachResult() {
+        when(examScheduleRepository.findByExamUuidAndAcademicClassUuid(examUuid, classUuid)).thenReturn(List.of(schedule(11L)));
+        when(evaluationResultRepository.findIdsForExamAndClassByStatus(EXAM_ID, CLASS_ID, EvaluationResultStatus.APPROVED))
+                .thenReturn(List.of(resultIds(101L, 201L), resultIds(102L, 202L)));
+        when(admin.getUsername()).thenReturn("admin");
+        when(evaluationResultRepository.publishByIds(eq(List.of(101L, 102L)), eq(EvaluationResultStatus.APPROVED),
+                eq(EvaluationResultStatus.PUBLISHED), eq("admin"), any(LocalDateTime.class))).thenReturn(2);
+
+        assertEquals(2, answerEvaluationService.publishClassResults(classUuid, examUuid));
+
+        verify(evaluationResultRepository).assignMissingApprover(List.of(101L, 102L), admin);
+        verify(answerSheetRepository).updateStatusByIds(eq(List.of(201L, 202L)), eq(AnswerSheetStatus.FINAL),
+                eq("admin"), any(LocalDateTime.class));
+        verify(evaluationDraftStoreService).deleteDraft(201L);
+        verify(evaluationDraftStoreService).deleteDraft(202L);
+        verify(evaluationAuditService, times(2)).record(eq(EvaluationAuditEventType.MARKS_PUBLISHED),
+                isNull(), isNull(), any(), any(), anyMap());
+    }
+
+    @Test
+    void publishClassResultsWithNothingApprovedDoesNotUpdate() {
+        when(examScheduleRepository.findByExamUuidAndAcademicClassUuid(examUuid, classUuid)).thenReturn(List.of(schedule(11L)));
+        when(evaluationResultRepository.findIdsForExamAndClassByStatus(EXAM_ID, CLASS_ID, EvaluationResultStatus.APPROVED))
+                .thenReturn(List.of());
+
+        assertEquals(0, answerEvaluationService.publishClassResults(classUuid, examUuid));
+        verify(evaluationResultRepository, never()).publishByIds(any(), any(), any(), any(), any());
+    }
+
+    private ExamSchedule schedule(Long id) {
+        Exam exam = new Exam();
+        exam.setId(EXAM_ID);
+        exam.setUuid(examUuid);
+        exam.setName("Mid Term");
+        AcademicClass academicClass = new AcademicClass();
+        academicClass.setId(CLASS_ID);
+        academicClass.setUuid(classUuid);
+        academicClass.setName("Grade 10");
+        ExamSchedule schedule = new ExamSchedule();
+        schedule.setId(id);
+        schedule.setExam(exam);
+        schedule.setAcademicClass(academicClass);
+        return schedule;
+    }
+
+    private static EvaluationResultRepository.StatusCountProjection statusCount(EvaluationResultStatus status, long count) {
+        return new EvaluationResultRepository.StatusCountProjection() {
+            @Override
+            public EvaluationResultStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public long getResultCount() {
+                return count;
+            }
+        };
+    }
+
+    private static EvaluationResultRepository.ResultSheetIdProjection resultIds(Long resultId, Long answerSheetId) {
+        return new EvaluationResultRepository.ResultSheetIdProjection() {
+            @Override
+            public Long getResultId() {
+                return resultId;
+            }
+
+            @Override
+            public Long getAnswerSheetId() {
+                return answerSheetId;
+            }
+        };
+    }
+}
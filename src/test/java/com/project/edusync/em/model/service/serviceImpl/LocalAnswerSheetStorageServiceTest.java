@@ -0,0 +1,57 @@
+package com.project.edusync.em.model.service.serviceImpl;
+
+import com.project.edusync.common.exception.emException.EdusyncException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LocalAnswerSheetStorageServiceTest {
+
+    @TempDir
+    Path root;
+
+    @TempDir
+    Path uploads;
+
+    private LocalAnswerSheetStorageService storageService;
+
+    @BeforeEach
+    void setUp() {
+        storageService = new LocalAnswerSheetStorageService(root.toString());
+    }
+
+    @Test
+    void storePdfCopiesFileAndReturnsPathRelativeToRoot() throws IOException {
+        Path upload = Files.write(uploads.resolve("upload.tmp"), "%PDF-1.7".getBytes());
+
+        String stored = storageService.storePdf(upload, "abc_scan");
+
+        assertEquals("abc_scan.pdf", stored);
+        assertArrayEquals(Files.readAllBytes(upload), Files.readAllBytes(root.resolve(stored)));
+    }
+
+    @Test
+    void storeImageKeepsTheSpooledFileExtension() throws IOException {
+        Path upload = Files.write(uploads.resolve("answer-sheet-1.png"), new byte[]{1, 2, 3});
+
+        String stored = storageService.storeImage(upload, "images/7/42/page-1-x");
+
+        assertEquals("images/7/42/page-1-x.png", stored);
+        assertArrayEquals(new byte[]{1, 2, 3}, Files.readAllBytes(root.resolve(stored)));
+    }
+
+    @Test
+    void keysCannotEscapeTheStorageRoot() throws IOException {
+        Path upload = Files.write(uploads.resolve("upload.tmp"), new byte[]{1});
+
+        assertThrows(EdusyncException.class, () -> storageService.storePdf(upload, "../outside"));
+    }
+}
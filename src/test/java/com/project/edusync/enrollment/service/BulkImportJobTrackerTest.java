@@ -0,0 +1,91 @@
+package com.project.edusync.enrollment.service;
+
+import com.project.edusync.enrollment.model.dto.BulkImportProgressEvent;
+import com.project.edusync.enrollment.model.entity.BulkImportJob;
+import com.project.edusync.enrollment.model.enums.BulkImportJobStatus;
+import com.project.edusync.enrollment.repository.BulkImportJobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BulkImportJobTrackerTest {
+
+    @Mock
+    private BulkImportJobRepository jobRepository;
+
+    @InjectMocks
+    private BulkImportJobTracker tracker;
+
+    private UUID jobId;
+    private BulkImportJob job;
+
+    @BeforeEach
+    void setUp() {
+        jobId = UUID.randomUUID();
+        when(jobRepository.save(any(BulkImportJob.class))).thenAnswer(invocation -> {
+            job = invocation.getArgument(0);
+            return job;
+        });
+        tracker.createQueued(jobId, "students", "students.csv", "admin");
+    }
+
+    @Test
+    void onEvent_ignoresSessionsThatAreNotLocalJobs() {
+        tracker.onEvent(UUID.randomUUID().toString(), rowFailure(1, "bad email"));
+
+        verify(jobRepository, never()).findById(any());
+    }
+
+    @Test
+    void onEvent_throttlesProgressWrites() {
+        when(jobRepository.findById(jobId)).thenAnswer(invocation -> Optional.of(job));
+
+        tracker.onEvent(jobId.toString(), rowFailure(1, "bad email"));
+        tracker.onEvent(jobId.toString(), rowFailure(2, "bad date"));
+        tracker.onEvent(jobId.toString(), rowFailure(3, "duplicate"));
+
+        // one write on creation + one throttled progress flush
+        verify(jobRepository, times(2)).save(any(BulkImportJob.class));
+        assertEquals(1, job.getFailureCount());
+        assertEquals(List.of("Row 2: bad email"), job.getErrorMessages());
+    }
+
+    @Test
+    void complete_writesTerminalStateAndStopsTracking() {
+        when(jobRepository.findById(jobId)).thenAnswer(invocation -> Optional.of(job));
+
+        tracker.complete(jobId, false, 3, 2, 1, List.of("Row 4: duplicate"), null);
+        tracker.onEvent(jobId.toString(), rowFailure(4, "late event"));
+
+        assertEquals(BulkImportJobStatus.COMPLETED, job.getStatus());
+        assertEquals(3, job.getTotalRows());
+        assertEquals(2, job.getSuccessCount());
+        assertEquals(List.of("Row 4: duplicate"), job.getErrorMessages());
+        verify(jobRepository, times(1)).findById(jobId);
+    }
+
+    private BulkImportProgressEvent rowFailure(int rowNumber, String message) {
+        return BulkImportProgressEvent.builder()
+                .eventType("ROW_FAILURE")
+                .rowNumber(rowNumber)
+                .errorMessage(message)
+                .successCount(0)
+                .failureCount(rowNumber)
+                .build();
+    }
+}
@@ -0,0 +1,166 @@
+package com.project.edusync.enrollment.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.edusync.adm.model.entity.AcademicClass;
+import com.project.edusync.adm.model.entity.Section;
+import com.project.edusync.adm.repository.SectionRepository;
+import com.project.edusync.common.service.EmailService;
+import com.project.edusync.enrollment.model.dto.BulkImportReportDTO;
+import com.project.edusync.enrollment.model.dto.StudentImportRow;
+import com.project.edusync.enrollment.service.impl.BulkImportServiceImpl;
+import com.project.edusync.enrollment.util.CsvValidationHelper;
+import com.project.edusync.enrollment.util.ImportErrorReport;
+import com.project.edusync.enrollment.util.RegisterUserByRole;
+import com.project.edusync.enrollment.util.StudentBatchWriter;
+import com.project.edusync.iam.model.entity.Role;
+import com.project.edusync.iam.repository.RoleRepository;
+import com.project.edusync.iam.repository.UserRepository;
+import com.project.edusync.uis.model.entity.Student;
+import com.project.edusync.uis.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BulkImportStudentChunkFlowTest {
+
+    private static final String HEADER =
+            "firstName,lastName,middleName,email,dateOfBirth,rollNo,gender,enrollmentNumber,enrollmentDate,className,sectionName\n";
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private RoleRepository roleRepository;
+    @Mock
+    private StudentRepository studentRepository;
+    @Mock
+    private SectionRepository sectionRepository;
+    @Spy
+    private CsvValidationHelper validationHelper;
+    @Mock
+    private RegisterUserByRole registerUserByRole;
+    @Mock
+    private StudentBatchWriter studentBatchWriter;
+    @Mock
+    private PasswordEncoder passwordEncoder;
+    @Mock
+    private SseEmitterRegistry sseEmitterRegistry;
+    @Spy
+    private ObjectMapper objectMapper;
+    @Mock
+    private ImportErrorReportStore importErrorReportStore;
+    @Mock
+    private EmailService emailService;
+
+    @TempDir
+    Path errorReportDir;
+
+    @InjectMocks
+    private BulkImportServiceImpl bulkImportService;
+
+    private Role studentRole;
+
+    @BeforeEach
+    void setUp() {
+        studentRole = new Role();
+        studentRole.setName("ROLE_STUDENT");
+        when(roleRepository.findAll()).thenReturn(List.of(studentRole));
+
+        Section section = new Section();
+        AcademicClass academicClass = new AcademicClass();
+        academicClass.setName("Class 10");
+        section.setAcademicClass(academicClass);
+        section.setSectionName("A");
+        when(sectionRepository.findAllWithClass()).thenReturn(List.of(section));
+
+        when(passwordEncoder.encode(any())).thenReturn("{bcrypt}hash");
+        when(importErrorReportStore.open()).thenReturn(new ImportErrorReport(errorReportDir, 200));
+    }
+
+    @Test
+    void importUsers_checksDuplicatesPerChunk_andWritesSurvivorsInOneBatch() throws Exception {
+        String csv = HEADER
+                + "Aarav,Kumar,,aarav@example.com,2012-01-10,1,MALE,ENR-1,2024-06-01,Class 10,A\n"
+                + "Diya,Singh,,diya@example.com,2012-02-10,2,FEMALE,ENR-2,2024-06-01,Class 10,A\n"
+                + "Kabir,Rao,,kabir@example.com,2012-03-10,3,MALE,ENR-3,2024-06-01,Class 10,B\n"
+                + "Isha,Mehta,,isha@example.com,2012-04-10,4,FEMALE,ENR-1,2024-06-01,Class 10,A\n";
+
+        when(userRepository.findUsernamesThatExist(anySet())).thenReturn(Set.of());
+        when(userRepository.findEmailsThatExist(anySet())).thenReturn(Set.of("diya@example.com"));
+        when(studentRepository.findEnrollmentNumbersThatExist(anySet())).thenReturn(Set.of());
+
+        BulkImportReportDTO report = bulkImportService.importUsers(file(csv), "students", null);
+
+        assertEquals("COMPLETED", report.getStatus());
+        assertEquals(4, report.getTotalRows());
+        assertEquals(1, report.getSuccessCount());
+        assertEquals(3, report.getFailureCount());
+        assertTrue(report.getErrorMessages().get(0).startsWith("Row 3:"));
+        assertTrue(report.getErrorMessages().get(1).startsWith("Row 4:"));
+        assertTrue(report.getErrorMessages().get(2).startsWith("Row 5:"));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<StudentImportRow>> rowsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(studentBatchWriter, times(1)).writeStudents(rowsCaptor.capture(), eq("{bcrypt}hash"), eq(studentRole));
+        assertEquals(List.of("ENR-1"), rowsCaptor.getValue().stream().map(StudentImportRow::getEnrollmentNumber).toList());
+
+        verify(passwordEncoder, times(1)).encode(any());
+        verify(userRepository, never()).existsByUsername(any());
+        verify(userRepository, never()).existsByEmail(any());
+        verify(registerUserByRole, never()).RegisterStudent(any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any());
+        verify(emailService).sendWelcomeEmails(List.of(new EmailService.WelcomeRecipient("aarav@example.com", "ENR-1")));
+    }
+
+    @Test
+    void importUsers_fallsBackToRowByRow_whenChunkBatchFails() throws Exception {
+        String csv = HEADER
+                + "Aarav,Kumar,,aarav@example.com,2012-01-10,1,MALE,ENR-1,2024-06-01,Class 10,A\n"
+                + "Diya,Singh,,diya@example.com,2012-02-10,2,FEMALE,ENR-2,2024-06-01,Class 10,A\n";
+
+        when(userRepository.findUsernamesThatExist(anySet())).thenReturn(Set.of());
+        when(userRepository.findEmailsThatExist(anySet())).thenReturn(Set.of());
+        when(studentRepository.findEnrollmentNumbersThatExist(anySet())).thenReturn(Set.of());
+        when(studentBatchWriter.writeStudents(anyList(), any(), any()))
+                .thenThrow(new DataIntegrityViolationException("duplicate key value violates unique constraint"));
+        when(registerUserByRole.RegisterStudent(eq("aarav@example.com"), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(new Student());
+        when(registerUserByRole.RegisterStudent(eq("diya@example.com"), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenThrow(new DataIntegrityViolationException("users_email_key"));
+
+        BulkImportReportDTO report = bulkImportService.importUsers(file(csv), "students", null);
+
+        assertEquals(1, report.getSuccessCount());
+        assertEquals(1, report.getFailureCount());
+        assertEquals(List.of("Row 3: users_email_key"), report.getErrorMessages());
+        verify(emailService, never()).sendWelcomeEmails(anyList());
+    }
+
+    private MockMultipartFile file(String csv) {
+        return new MockMultipartFile("file", "students.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
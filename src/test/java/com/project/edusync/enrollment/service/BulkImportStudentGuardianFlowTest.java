@@ -5,8 +5,10 @@ import com.project.edusync.adm.model.entity.AcademicClass;
 import com.project.edusync.adm.model.entity.Section;
 import com.project.edusync.adm.repository.SectionRepository;
 import com.project.edusync.enrollment.model.dto.BulkImportGuardianInputDTO;
+import com.project.edusync.enrollment.model.dto.BulkImportReportDTO;
 import com.project.edusync.enrollment.service.impl.BulkImportServiceImpl;
 import com.project.edusync.enrollment.util.CsvValidationHelper;
+import com.project.edusync.enrollment.util.ImportErrorReport;
 import com.project.edusync.enrollment.util.RegisterUserByRole;
 import com.project.edusync.iam.model.entity.Role;
 import com.project.edusync.iam.model.entity.User;
@@ -24,20 +26,29 @@ import com.project.edusync.uis.repository.UserProfileRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -68,6 +79,11 @@ class BulkImportStudentGuardianFlowTest {
     private SseEmitterRegistry sseEmitterRegistry;
     @Spy
     private ObjectMapper objectMapper;
+    @Mock
+    private ImportErrorReportStore importErrorReportStore;
+
+    @TempDir
+    Path errorReportDir;
 
     @InjectMocks
     private BulkImportServiceImpl bulkImportService;
@@ -197,6 +213,46 @@ class BulkImportStudentGuardianFlowTest {
         verify(registerUserByRole, never()).RegisterGuardian(any(), any(), any(), any(), any(), any(), any(), any(), any());
     }
 
+    @Test
+    void importStudentsWithGuardians_joinsSortedFiles_andReportsUnknownEnrollmentsToErrorCsv() throws Exception {
+        // A one-row sort buffer forces every record into its own run, exercising the k-way merge.
+        ReflectionTestUtils.setField(bulkImportService, "sortBufferRows", 1);
+        when(roleRepository.findAll()).thenReturn(List.copyOf(roleCache.values()));
+        when(sectionRepository.findAllWithClass()).thenReturn(List.copyOf(sectionCache.values()));
+        when(importErrorReportStore.open()).thenReturn(new ImportErrorReport(errorReportDir, 200));
+        when(registerUserByRole.RegisterStudent(any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> new Student());
+        when(registerUserByRole.RegisterGuardian(any(), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> new Guardian());
+
+        String students = "firstName,lastName,middleName,email,dateOfBirth,rollNo,gender,enrollmentNumber,enrollmentDate,className,sectionName\n"
+                + "Diya,Singh,,diya@example.com,2011-08-20,13,FEMALE,ENR-2,2024-06-01,Class 10,A\n"
+                + "Aarav,Kumar,,aarav@example.com,2012-01-10,7,MALE,ENR-1,2024-06-01,Class 10,A\n";
+        String guardians = "studentEnrollmentNumber,firstName,lastName,middleName,email,phoneNumber,relationshipType,occupation,employer,primaryContact,canPickup,financialContact,canViewGrades\n"
+                + "ENR-9,Ravi,Das,,ravi@example.com,9000000009,Father,,,true,true,true,true\n"
+                + "ENR-1,Neha,Kumar,,neha@example.com,9876543210,Mother,\"Engineer, Civil\",,true,true,true,true\n";
+
+        BulkImportReportDTO report = bulkImportService.importStudentsWithGuardians(
+                csv("students.csv", students), csv("guardians.csv", guardians), null);
+
+        assertEquals("COMPLETED", report.getStatus());
+        assertEquals(3, report.getTotalRows());
+        assertEquals(2, report.getSuccessCount());
+        assertEquals(1, report.getFailureCount());
+        assertEquals(List.of("Guardians file references unknown studentEnrollmentNumber 'ENR-9'."),
+                report.getErrorMessages());
+        verify(registerUserByRole, times(1)).RegisterGuardian(eq("neha@example.com"), eq("9876543210"), any(), any(), any(), any(), any(), eq("Engineer, Civil"), any());
+
+        assertNotNull(report.getErrorReportId());
+        List<String> errorCsv = Files.readAllLines(errorReportDir.resolve(report.getErrorReportId() + ".csv"));
+        assertEquals(2, errorCsv.size());
+        assertTrue(errorCsv.get(1).contains("ENR-9"));
+    }
+
+    private MockMultipartFile csv(String name, String content) {
+        return new MockMultipartFile(name, name, "text/csv", content.getBytes(StandardCharsets.UTF_8));
+    }
+
     private BulkImportGuardianInputDTO guardian(String enrollment,
                                                 String firstName,
                                                 String lastName,
@@ -0,0 +1,158 @@
+package com.project.edusync.finance.service;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs {@link PdfImageAssetCache} against a local HTTP server standing in for the image host.
+ */
+class PdfImageAssetCacheTest {
+
+    private static final int MAX_DIMENSION = 100;
+    private static final int MAX_DOWNLOAD_BYTES = 64 * 1024;
+
+    private HttpServer imageHost;
+    private ExecutorService fetchExecutor;
+    private final Map<String, AtomicInteger> hits = new ConcurrentHashMap<>();
+    private PdfImageAssetCache cache;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        byte[] photo = png(400, 200);
+        imageHost = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        serve("/photo.png", 200, photo);
+        serve("/photo-copy.png", 200, photo);
+        serve("/small.png", 200, png(20, 10));
+        serve("/missing.png", 404, new byte[0]);
+        serve("/huge.bin", 200, new byte[MAX_DOWNLOAD_BYTES + 1]);
+        serve("/not-an-image.txt", 200, "hello".getBytes());
+        imageHost.start();
+
+        fetchExecutor = Executors.newFixedThreadPool(4);
+        cache = new PdfImageAssetCache(fetchExecutor, 1024 * 1024, 30, MAX_DIMENSION, MAX_DOWNLOAD_BYTES);
+    }
+
+    @AfterEach
+    void tearDown() {
+        imageHost.stop(0);
+        fetchExecutor.shutdownNow();
+    }
+
+    @Test
+    void repeatedLookupsOfTheSameUrlDownloadOnce() {
+        String first = cache.getDataUri(url("/photo.png"));
+        String second = cache.getDataUri(url("/photo.png"));
+
+        assertNotNull(first);
+        assertSame(first, second);
+        assertEquals(1, hits("/photo.png"));
+    }
+
+    @Test
+    void largeImagesAreScaledDownKeepingAspectRatio() throws IOException {
+        BufferedImage scaled = decode(cache.getDataUri(url("/photo.png")));
+        assertEquals(MAX_DIMENSION, scaled.getWidth());
+        assertEquals(MAX_DIMENSION / 2, scaled.getHeight());
+
+        BufferedImage small = decode(cache.getDataUri(url("/small.png")));
+        assertEquals(20, small.getWidth());
+        assertEquals(10, small.getHeight());
+    }
+
+    @Test
+    void sameContentUnderDifferentUrlsSharesOneEntry() {
+        String original = cache.getDataUri(url("/photo.png"));
+        String copy = cache.getDataUri(url("/photo-copy.png"));
+
+        assertSame(original, copy);
+    }
+
+    @Test
+    void failedDownloadsAreNotCached() {
+        assertNull(cache.getDataUri(url("/missing.png")));
+        assertNull(cache.getDataUri(url("/missing.png")));
+        assertEquals(2, hits("/missing.png"));
+
+        assertNull(cache.getDataUri(url("/not-an-image.txt")));
+        assertNull(cache.getDataUri(null));
+        assertNull(cache.getDataUri(" "));
+    }
+
+    @Test
+    void downloadsOverTheSizeLimitAreRejected() {
+        assertNull(cache.getDataUri(url("/huge.bin")));
+    }
+
+    @Test
+    void batchLookupFetchesEachUrlOnceAndLeavesOutFailures() {
+        Map<String, String> dataUris = cache.getDataUris(Arrays.asList(
+                url("/photo.png"), url("/small.png"), url("/photo.png"), url("/missing.png"), null, ""));
+
+        assertEquals(2, dataUris.size());
+        assertTrue(dataUris.containsKey(url("/photo.png")));
+        assertTrue(dataUris.containsKey(url("/small.png")));
+        assertEquals(1, hits("/photo.png"));
+        assertEquals(1, hits("/missing.png"));
+        assertSame(dataUris.get(url("/photo.png")), cache.getDataUri(url("/photo.png")));
+    }
+
+    private void serve(String path, int status, byte[] body) {
+        imageHost.createContext(path, exchange -> {
+            hits.computeIfAbsent(path, ignored -> new AtomicInteger()).incrementAndGet();
+            exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+    }
+
+    private int hits(String path) {
+        AtomicInteger count = hits.get(path);
+        return count == null ? 0 : count.get();
+    }
+
+    private String url(String path) {
+        return "http://" + imageHost.getAddress().getHostString() + ":" + imageHost.getAddress().getPort() + path;
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                image.setRGB(x, y, (x * 7 + y * 13) & 0xFFFFFF);
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    private static BufferedImage decode(String dataUri) throws IOException {
+        String base64 = dataUri.substring(dataUri.indexOf(',') + 1);
+        return ImageIO.read(new ByteArrayInputStream(Base64.getDecoder().decode(base64)));
+    }
+}
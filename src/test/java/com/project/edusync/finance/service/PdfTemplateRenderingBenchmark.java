@@ -0,0 +1,193 @@
+package com.project.edusync.finance.service;
+
+import com.project.edusync.em.model.dto.internal.admitbatch.AdmitCardData;
+import com.project.edusync.em.model.dto.internal.admitbatch.ScheduleDTO;
+import com.project.edusync.em.model.dto.internal.admitbatch.StudentDTO;
+import com.project.edusync.finance.model.entity.InvoiceLineItem;
+import com.project.edusync.hrms.dto.payroll.PayslipDetailDTO;
+import com.project.edusync.hrms.dto.payroll.PayslipLineItemDTO;
+import com.project.edusync.hrms.model.enums.PayrollRunStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders the receipt, payslip and admit-card templates to PDF through
+ * {@link PdfGenerationService}, with the direct XHTML parse on and off.
+ *
+ * <p>The admit-card case is one 40-student batch document. Images are left out, so the numbers
+ * cover templating, parsing and layout only. Not picked up by surefire; run {@link #main} from the
+ * IDE.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PdfTemplateRenderingBenchmark {
+
+    private static final int ADMIT_CARDS = 40;
+
+    @Param({"receipt", "hrms/payslip", "em/admit-card-batch"})
+    public String template;
+
+    @Param({"true", "false"})
+    public boolean xhtmlDirect;
+
+    private PdfGenerationService pdfGenerationService;
+    private Map<String, Object> data;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding("UTF-8");
+        resolver.setCacheable(true);
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(resolver);
+
+        PdfImageAssetCache imageAssetCache = new PdfImageAssetCache(Runnable::run, 1024 * 1024, 30, 600, 1024 * 1024);
+        pdfGenerationService = new PdfGenerationService(templateEngine, imageAssetCache);
+        ReflectionTestUtils.setField(pdfGenerationService, "xhtmlDirect", xhtmlDirect);
+
+        data = switch (template) {
+            case "receipt" -> receiptData();
+            case "hrms/payslip" -> payslipData();
+            default -> admitCardData();
+        };
+        // Precomputed so that every invocation renders the same document
+        data.put("qrCodeBase64", pdfGenerationService.generateQrCodeBase64("benchmark", 100));
+        data.put("schoolLogoBase64", pdfGenerationService.loadSchoolLogoBase64());
+    }
+
+    @Benchmark
+    public void render(Blackhole blackhole) {
+        blackhole.consume(pdfGenerationService.generatePdfFromHtml(template, data));
+    }
+
+    private static Map<String, Object> receiptData() {
+        List<InvoiceLineItem> lineItems = new ArrayList<>();
+        for (int i = 1; i <= 6; i++) {
+            InvoiceLineItem item = new InvoiceLineItem();
+            item.setDescription("Fee component " + i);
+            item.setAmount(new BigDecimal("1250.00"));
+            lineItems.add(item);
+        }
+        Map<String, Object> data = new HashMap<>();
+        data.put("receiptNo", "RCPT-2026-000123");
+        data.put("paymentNumber", "PAY-000123");
+        data.put("paymentDate", "18-10-2026");
+        data.put("studentName", "Aarav Sharma");
+        data.put("admissionNumber", "ADM-2021-0042");
+        data.put("className", "Grade 8 - A");
+        data.put("session", "2026-2027");
+        data.put("installmentName", "Term 2");
+        data.put("payMode", "ONLINE");
+        data.put("bankName", "Razorpay");
+        data.put("counterNo", "1");
+        data.put("note", "");
+        data.put("lineItems", lineItems);
+        data.put("totalAmount", new BigDecimal("7500.00"));
+        data.put("totalInWords", "Seven Thousand Five Hundred Only");
+        return data;
+    }
+
+    private static Map<String, Object> payslipData() {
+        List<PayslipLineItemDTO> lineItems = List.of(
+                new PayslipLineItemDTO("BASIC", "Basic Pay", "EARNING", new BigDecimal("32000.00")),
+                new PayslipLineItemDTO("HRA", "House Rent Allowance", "EARNING", new BigDecimal("12800.00")),
+                new PayslipLineItemDTO("DA", "Dearness Allowance", "EARNING", new BigDecimal("4800.00")),
+                new PayslipLineItemDTO("PF", "Provident Fund", "DEDUCTION", new BigDecimal("3840.00")),
+                new PayslipLineItemDTO("PT", "Professional Tax", "DEDUCTION", new BigDecimal("200.00")));
+        PayslipDetailDTO payslip = new PayslipDetailDTO(1L, "payslip-uuid", 7L, 42L, "Meera Iyer", "EMP-042",
+                9, 2026, 26, 25, 1, BigDecimal.ONE, new BigDecimal("49600.00"), new BigDecimal("4040.00"),
+                new BigDecimal("45560.00"), PayrollRunStatus.APPROVED, LocalDateTime.of(2026, 10, 1, 9, 0), lineItems);
+        Map<String, Object> data = new HashMap<>();
+        data.put("payslip", payslip);
+        data.put("generatedOn", LocalDateTime.of(2026, 10, 1, 9, 0));
+        return data;
+    }
+
+    private static Map<String, Object> admitCardData() {
+        List<ScheduleDTO> schedules = new ArrayList<>();
+        for (int day = 0; day < 6; day++) {
+            schedules.add(ScheduleDTO.builder()
+                    .subject("Subject " + (day + 1))
+                    .date(LocalDate.of(2026, 11, 2).plusDays(day))
+                    .startTime(LocalTime.of(9, 30))
+                    .endTime(LocalTime.of(12, 30))
+                    .seat("R1-" + day)
+                    .room("Hall " + (day % 3 + 1))
+                    .build());
+        }
+        List<AdmitCardData> cards = new ArrayList<>();
+        for (int i = 1; i <= ADMIT_CARDS; i++) {
+            cards.add(AdmitCardData.builder()
+                    .student(StudentDTO.builder()
+                            .id((long) i)
+                            .name("Student " + i)
+                            .rollNo(i)
+                            .enrollmentNumber("ENR-" + i)
+                            .className("Grade 10")
+                            .sectionName("B")
+                            .photoBase64("")
+                            .build())
+                    .schedules(schedules)
+                    .admitCardNumber("AC-9-" + i)
+                    .qrCodeBase64("")
+                    .verificationCode("AC-9-" + i)
+                    .examType("MID_TERM")
+                    .issueDate("18 Oct 2026, 09:00 AM")
+                    .build());
+        }
+        Map<String, Object> data = new HashMap<>();
+        data.put("schoolName", "Springfield Public School");
+        data.put("schoolAddress", "12 Lake Road, Springfield");
+        data.put("schoolPhone", "+91 98765 43210");
+        data.put("schoolEmail", "office@springfield.example");
+        data.put("schoolShortName", "SPS");
+        data.put("schoolTagline", "");
+        data.put("headerImageEnabled", false);
+        data.put("headerImageBase64", "");
+        data.put("examSessionTitle", "Mid Term (2026-2027)");
+        data.put("academicYear", "2026-2027");
+        data.put("cards", cards);
+        return data;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PdfTemplateRenderingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,86 @@
+package com.project.edusync.finance.service.implementation;
+
+import com.project.edusync.finance.repository.DailyAttendanceStatRepository;
+import com.project.edusync.finance.repository.DashboardRollupWriter;
+import com.project.edusync.finance.repository.MonthlyFinanceStatRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardRollupRefresherTest {
+
+    @Mock
+    private DashboardRollupWriter rollupWriter;
+    @Mock
+    private DailyAttendanceStatRepository dailyAttendanceStatRepository;
+    @Mock
+    private MonthlyFinanceStatRepository monthlyFinanceStatRepository;
+
+    private DashboardRollupRefresher refresher;
+
+    @BeforeEach
+    void setUp() {
+        refresher = new DashboardRollupRefresher(rollupWriter, dailyAttendanceStatRepository,
+                monthlyFinanceStatRepository, 14, 2);
+    }
+
+    @Test
+    void emptyRollupsAreRebuiltFromTheFirstDayWithData() {
+        LocalDate firstMark = LocalDate.now().minusYears(2);
+        YearMonth firstInvoice = YearMonth.now().minusMonths(30);
+        when(rollupWriter.findEarliestAttendanceDate()).thenReturn(firstMark);
+        when(rollupWriter.findEarliestFinanceMonth()).thenReturn(firstInvoice);
+
+        refresher.refresh();
+
+        verify(dailyAttendanceStatRepository).deleteAllInBatch();
+        verify(rollupWriter).refreshAttendance(eq(firstMark), eq(LocalDate.now()), any(LocalDateTime.class));
+        verify(monthlyFinanceStatRepository).deleteAllInBatch();
+        verify(rollupWriter).refreshFinance(eq(firstInvoice), eq(YearMonth.now()), any(LocalDateTime.class));
+        verify(rollupWriter, never()).findChangedAttendanceDates(any());
+    }
+
+    @Test
+    void incrementalRunRefreshesRecentWindowAndOlderChangedRowsOnly() {
+        LocalDateTime watermark = LocalDateTime.now().minusMinutes(5);
+        LocalDate today = LocalDate.now();
+        LocalDate olderDate = today.minusDays(40);
+        YearMonth currentMonth = YearMonth.now();
+        YearMonth olderMonth = currentMonth.minusMonths(7);
+        when(dailyAttendanceStatRepository.findLastRefreshedAt()).thenReturn(watermark);
+        when(monthlyFinanceStatRepository.findLastRefreshedAt()).thenReturn(watermark);
+        when(rollupWriter.findChangedAttendanceDates(any())).thenReturn(List.of(today, today.minusDays(3), olderDate));
+        when(rollupWriter.findChangedFinanceMonths(any())).thenReturn(List.of(currentMonth, olderMonth));
+
+        refresher.refresh();
+
+        verify(rollupWriter).refreshAttendance(eq(today.minusDays(13)), eq(today), any(LocalDateTime.class));
+        verify(rollupWriter).refreshAttendance(eq(olderDate), eq(olderDate), any(LocalDateTime.class));
+        verify(rollupWriter, times(2)).refreshAttendance(any(), any(), any());
+        verify(rollupWriter).refreshFinance(eq(currentMonth.minusMonths(1)), eq(currentMonth), any(LocalDateTime.class));
+        verify(rollupWriter).refreshFinance(eq(olderMonth), eq(olderMonth), any(LocalDateTime.class));
+        verify(rollupWriter, times(2)).refreshFinance(any(), any(), any());
+        verify(dailyAttendanceStatRepository, never()).deleteAllInBatch();
+
+        ArgumentCaptor<LocalDateTime> since = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(rollupWriter).findChangedAttendanceDates(since.capture());
+        assertTrue(since.getValue().isBefore(watermark));
+    }
+}
@@ -1,6 +1,7 @@
 package com.project.edusync.iam.service.impl;
 
 import com.project.edusync.common.exception.EdusyncException;
+import com.project.edusync.common.security.UserDetailsCacheInvalidator;
 import com.project.edusync.iam.model.dto.rbac.PermissionResponseDTO;
 import com.project.edusync.iam.model.dto.rbac.RolePermissionLinkResponseDTO;
 import com.project.edusync.iam.model.dto.rbac.RoleSummaryDTO;
@@ -22,6 +23,8 @@ import java.util.Set;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +36,9 @@ class RbacManagementServiceImplTest {
     @Mock
     private RoleRepository roleRepository;
 
+    @Mock
+    private UserDetailsCacheInvalidator userDetailsCacheInvalidator;
+
     @InjectMocks
     private RbacManagementServiceImpl rbacManagementService;
 
@@ -72,6 +78,7 @@ class RbacManagementServiceImplTest {
         assertEquals("Permission linked to role successfully", first.message());
         assertEquals("Permission is already linked to role", second.message());
         assertEquals(1, role.getPermissions().size());
+        verify(userDetailsCacheInvalidator, times(2)).invalidateAll();
     }
 
     @Test
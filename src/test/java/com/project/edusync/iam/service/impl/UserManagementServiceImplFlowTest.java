@@ -1,6 +1,7 @@
 package com.project.edusync.iam.service.impl;
 
 import com.project.edusync.common.exception.EdusyncException;
+import com.project.edusync.common.service.EmailService;
 import com.project.edusync.iam.model.dto.CreateTeacherRequestDTO;
 import com.project.edusync.iam.model.entity.Role;
 import com.project.edusync.iam.model.entity.User;
@@ -55,6 +56,7 @@ class UserManagementServiceImplFlowTest {
     @Mock private UserProfileMapper userProfileMapper;
     @Mock private StaffMapper staffMapper;
     @Mock private TeacherMapper teacherMapper;
+    @Mock private EmailService emailService;
 
     @InjectMocks
     private UserManagementServiceImpl service;
@@ -0,0 +1,148 @@
+package com.project.edusync.notifications;
+
+import com.project.edusync.notifications.model.NotificationOutboxMessage;
+import com.project.edusync.notifications.model.NotificationOutboxStatus;
+import com.project.edusync.notifications.repository.NotificationOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.sns.SnsClient;
+import software.amazon.awssdk.services.sns.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sns.model.PublishBatchRequest;
+import software.amazon.awssdk.services.sns.model.PublishBatchRequestEntry;
+import software.amazon.awssdk.services.sns.model.PublishBatchResponse;
+import software.amazon.awssdk.services.sns.model.PublishBatchResultEntry;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationOutboxDispatcherTest {
+
+    private static final String TOPIC_ARN = "arn:aws:sns:us-east-1:000000000000:notification-topic";
+
+    @Mock
+    private NotificationOutboxRepository outboxRepository;
+    @Mock
+    private SnsClient snsClient;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private NotificationOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        dispatcher = new NotificationOutboxDispatcher(outboxRepository, snsClient, transactionTemplate,
+                TOPIC_ARN, 100, 3, 2000, 600000, 7);
+    }
+
+    @Test
+    void publishesDueMessagesInBatchesOfTen() {
+        List<NotificationOutboxMessage> due = messages(1, 23);
+        when(outboxRepository.claimDue(any(), anyInt())).thenReturn(due);
+        when(snsClient.publishBatch(any(PublishBatchRequest.class))).thenAnswer(invocation -> accepted(invocation.getArgument(0)));
+
+        dispatcher.dispatch();
+
+        ArgumentCaptor<PublishBatchRequest> requests = ArgumentCaptor.forClass(PublishBatchRequest.class);
+        verify(snsClient, times(3)).publishBatch(requests.capture());
+        assertEquals(List.of(10, 10, 3), requests.getAllValues().stream()
+                .map(request -> request.publishBatchRequestEntries().size())
+                .toList());
+        PublishBatchRequestEntry first = requests.getAllValues().get(0).publishBatchRequestEntries().get(0);
+        assertEquals(TOPIC_ARN, requests.getAllValues().get(0).topicArn());
+        assertEquals("dedup-1", first.messageAttributes().get("dedupKey").stringValue());
+        due.forEach(message -> {
+            assertEquals(NotificationOutboxStatus.PUBLISHED, message.getStatus());
+            assertNotNull(message.getPublishedAt());
+        });
+    }
+
+    @Test
+    void failedEntriesAreRetriedWithBackoffAndSenderFaultsAreDropped() {
+        List<NotificationOutboxMessage> due = messages(1, 3);
+        when(outboxRepository.claimDue(any(), anyInt())).thenReturn(due);
+        when(snsClient.publishBatch(any(PublishBatchRequest.class))).thenReturn(PublishBatchResponse.builder()
+                .successful(PublishBatchResultEntry.builder().id("1").messageId("m-1").build())
+                .failed(BatchResultErrorEntry.builder().id("2").code("InternalError").message("try again").senderFault(false).build(),
+                        BatchResultErrorEntry.builder().id("3").code("InvalidParameter").message("too long").senderFault(true).build())
+                .build());
+
+        dispatcher.dispatch();
+
+        assertEquals(NotificationOutboxStatus.PUBLISHED, due.get(0).getStatus());
+
+        NotificationOutboxMessage retried = due.get(1);
+        assertEquals(NotificationOutboxStatus.PENDING, retried.getStatus());
+        assertEquals(1, retried.getAttempts());
+        assertTrue(retried.getNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(1)));
+        assertEquals("InternalError: try again", retried.getLastError());
+
+        assertEquals(NotificationOutboxStatus.FAILED, due.get(2).getStatus());
+        assertNull(due.get(2).getPublishedAt());
+    }
+
+    @Test
+    void callFailureRetriesTheWholeBatchUntilMaxAttempts() {
+        NotificationOutboxMessage message = messages(1, 1).get(0);
+        message.setAttempts(2);
+        when(outboxRepository.claimDue(any(), anyInt())).thenReturn(List.of(message));
+        when(snsClient.publishBatch(any(PublishBatchRequest.class))).thenThrow(SdkClientException.create("connection refused"));
+
+        dispatcher.dispatch();
+
+        assertEquals(3, message.getAttempts());
+        assertEquals(NotificationOutboxStatus.FAILED, message.getStatus());
+        assertEquals("connection refused", message.getLastError());
+    }
+
+    @Test
+    void backoffDoublesUpToTheCap() {
+        assertEquals(Duration.ofSeconds(2), dispatcher.backoff(1));
+        assertEquals(Duration.ofSeconds(8), dispatcher.backoff(3));
+        assertEquals(Duration.ofMinutes(10), dispatcher.backoff(20));
+    }
+
+    private static List<NotificationOutboxMessage> messages(long firstId, long lastId) {
+        return LongStream.rangeClosed(firstId, lastId).mapToObj(id -> {
+            NotificationOutboxMessage message = new NotificationOutboxMessage();
+            message.setId(id);
+            message.setEventType(NotificationPublisher.STUDENT_CREATED);
+            message.setDedupKey("dedup-" + id);
+            message.setPayload("{\"event\":\"STUDENT_CREATED\"}");
+            message.setStatus(NotificationOutboxStatus.PENDING);
+            message.setNextAttemptAt(LocalDateTime.now());
+            message.setCreatedAt(LocalDateTime.now());
+            return message;
+        }).toList();
+    }
+
+    private static PublishBatchResponse accepted(PublishBatchRequest request) {
+        return PublishBatchResponse.builder()
+                .successful(request.publishBatchRequestEntries().stream()
+                        .map(entry -> PublishBatchResultEntry.builder().id(entry.id()).messageId("m-" + entry.id()).build())
+                        .toList())
+                .build();
+    }
+}
@@ -0,0 +1,55 @@
+package com.project.edusync.notifications;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.edusync.notifications.repository.NotificationOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationPublisherTest {
+
+    @Mock
+    private NotificationOutboxRepository outboxRepository;
+
+    private NotificationPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        publisher = new NotificationPublisher(outboxRepository, new ObjectMapper());
+    }
+
+    @Test
+    void studentsWithIdenticalDetailsGetDistinctDedupKeys() {
+        UUID first = UUID.randomUUID();
+        UUID recreated = UUID.randomUUID();
+
+        publisher.studentCreated(first, "Asha Rao", "parent@example.com", "+919800000000");
+        publisher.studentCreated(recreated, "Asha Rao", "parent@example.com", "+919800000000");
+
+        ArgumentCaptor<String> keys = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<String> payloads = ArgumentCaptor.forClass(String.class);
+        verify(outboxRepository, times(2)).insertIfAbsent(eq(NotificationPublisher.STUDENT_CREATED),
+                keys.capture(), payloads.capture(), any());
+
+        List<String> dedupKeys = keys.getAllValues();
+        assertEquals("STUDENT_CREATED:" + first, dedupKeys.get(0));
+        assertEquals("STUDENT_CREATED:" + recreated, dedupKeys.get(1));
+        assertNotEquals(dedupKeys.get(0), dedupKeys.get(1));
+        assertTrue(payloads.getAllValues().get(1).contains(recreated.toString()));
+    }
+}
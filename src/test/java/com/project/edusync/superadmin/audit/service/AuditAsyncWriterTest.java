@@ -0,0 +1,207 @@
+package com.project.edusync.superadmin.audit.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.edusync.superadmin.audit.model.entity.AuditLog;
+import com.project.edusync.superadmin.audit.repository.AuditLogJdbcWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AuditAsyncWriterTest {
+
+    @Mock
+    private AuditLogJdbcWriter auditLogJdbcWriter;
+
+    @TempDir
+    Path tempDir;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AuditSpillFile spillFile;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        spillFile = new AuditSpillFile(tempDir.resolve("audit-spill.jsonl").toString(),
+                new ObjectMapper().findAndRegisterModules());
+    }
+
+    @Test
+    void failedFlushSpillsToDiskAndIsReplayedWhenDatabaseRecovers() {
+        AuditAsyncWriter writer = writer(new LinkedBlockingQueue<>(10));
+        doThrow(new DataAccessResourceFailureException("db down"))
+                .doNothing()
+                .when(auditLogJdbcWriter).insertAll(anyList());
+
+        writer.flush(List.of(event("LOGIN"), event("LOGOUT")));
+
+        assertTrue(spillFile.hasPending());
+        assertEquals(2.0, meterRegistry.counter("edusync.audit.events.spilled").count());
+
+        // Backoff after the failure: nothing is replayed yet
+        writer.replaySpilled();
+        verify(auditLogJdbcWriter, times(1)).insertAll(anyList());
+
+        ReflectionTestUtils.setField(writer, "nextReplayAttemptAt", 0L);
+        writer.replaySpilled();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<AuditLog>> captor = ArgumentCaptor.forClass(List.class);
+        verify(auditLogJdbcWriter, times(2)).insertAll(captor.capture());
+        List<AuditLog> replayed = captor.getAllValues().get(1);
+        assertEquals(List.of("LOGIN", "LOGOUT"), replayed.stream().map(AuditLog::getAction).toList());
+        assertFalse(spillFile.hasPending());
+        assertEquals(2.0, meterRegistry.counter("edusync.audit.events.replayed").count());
+    }
+
+    @Test
+    void batchFailingAfterAPartialWriteIsReplayedWithoutDuplicates() {
+        FakeAuditTable table = new FakeAuditTable();
+        AuditLogJdbcWriter jdbcWriter = new AuditLogJdbcWriter(table.jdbcTemplate(), new TransactionTemplate(table));
+        AuditAsyncWriter writer = new AuditAsyncWriter(new LinkedBlockingQueue<>(10), jdbcWriter, spillFile,
+                meterRegistry, 10, 80, 10, 1000);
+
+        // The driver writes the first two rows, then the second statement fails
+        table.failAfterRows = 2;
+        writer.flush(List.of(event("A"), event("B"), event("C"), event("D")));
+
+        assertTrue(spillFile.hasPending());
+        assertTrue(table.committed.isEmpty());
+
+        table.failAfterRows = -1;
+        ReflectionTestUtils.setField(writer, "nextReplayAttemptAt", 0L);
+        writer.replaySpilled();
+
+        assertEquals(List.of("A", "B", "C", "D"), table.committed);
+        assertFalse(spillFile.hasPending());
+    }
+
+    @Test
+    void fullQueueOverflowsToSpillFileInsteadOfDropping() {
+        LinkedBlockingQueue<AuditLog> queue = new LinkedBlockingQueue<>(1);
+        AuditAsyncWriter writer = writer(queue);
+
+        writer.enqueue(event("A"));
+        writer.enqueue(event("B"));
+
+        assertEquals(1, queue.size());
+        assertTrue(spillFile.hasPending());
+        assertEquals(0.0, meterRegistry.counter("edusync.audit.events.dropped").count());
+        verify(auditLogJdbcWriter, never()).insertAll(anyList());
+    }
+
+    @Test
+    void batchSizeGrowsWithBacklogAndShrinksWhenIdle() throws InterruptedException {
+        LinkedBlockingQueue<AuditLog> queue = new LinkedBlockingQueue<>(1000);
+        AuditAsyncWriter writer = writer(queue);
+        doNothing().when(auditLogJdbcWriter).insertAll(anyList());
+        for (int i = 0; i < 500; i++) {
+            queue.add(event("E" + i));
+        }
+
+        writer.flush(writer.nextBatch());
+        writer.adaptBatchSize();
+        assertEquals(20, writer.getBatchSize());
+
+        while (!queue.isEmpty()) {
+            writer.flush(writer.nextBatch());
+            writer.adaptBatchSize();
+        }
+        writer.adaptBatchSize();
+        writer.adaptBatchSize();
+        assertEquals(10, writer.getBatchSize());
+    }
+
+    private AuditAsyncWriter writer(LinkedBlockingQueue<AuditLog> queue) {
+        return new AuditAsyncWriter(queue, auditLogJdbcWriter, spillFile, meterRegistry, 10, 80, 10, 1000);
+    }
+
+    private AuditLog event(String action) {
+        AuditLog log = new AuditLog();
+        log.setAction(action);
+        log.setActorUsername("admin");
+        log.setTimestamp(Instant.parse("2026-04-01T10:00:00Z"));
+        return log;
+    }
+
+    /**
+     * An audit table behind a transaction manager: rows written inside a transaction become visible
+     * only on commit, rows written outside one commit immediately. Batches are written two rows per
+     * statement, like pgjdbc's rewritten multi-row INSERTs.
+     */
+    private static final class FakeAuditTable extends AbstractPlatformTransactionManager {
+
+        final List<String> committed = new ArrayList<>();
+        int failAfterRows = -1;
+        private List<String> pending;
+
+        JdbcTemplate jdbcTemplate() {
+            return new JdbcTemplate() {
+                @Override
+                public <T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
+                                               ParameterizedPreparedStatementSetter<T> pss) {
+                    List<String> rows = batchArgs.stream().map(arg -> ((AuditLog) arg).getAction()).toList();
+                    for (int from = 0; from < rows.size(); from += 2) {
+                        if (failAfterRows >= 0 && from >= failAfterRows) {
+                            throw new DataAccessResourceFailureException("connection reset");
+                        }
+                        List<String> statement = rows.subList(from, Math.min(from + 2, rows.size()));
+                        (pending != null ? pending : committed).addAll(statement);
+                    }
+                    return new int[0][];
+                }
+            };
+        }
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+            pending = new ArrayList<>();
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+            committed.addAll(pending);
+            pending = null;
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+            pending = null;
+        }
+    }
+}
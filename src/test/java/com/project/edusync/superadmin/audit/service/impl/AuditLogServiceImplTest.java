@@ -0,0 +1,90 @@
+package com.project.edusync.superadmin.audit.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.edusync.common.exception.EdusyncException;
+import com.project.edusync.superadmin.audit.model.dto.AuditLogCursorPageDto;
+import com.project.edusync.superadmin.audit.model.dto.AuditLogResponseDto;
+import com.project.edusync.superadmin.audit.model.entity.AuditLog;
+import com.project.edusync.superadmin.audit.repository.AuditLogRepository;
+import com.project.edusync.superadmin.audit.service.AuditAsyncWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuditLogServiceImplTest {
+
+    @Mock
+    private AuditLogRepository auditLogRepository;
+
+    @Mock
+    private AuditAsyncWriter auditAsyncWriter;
+
+    private AuditLogServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new AuditLogServiceImpl(auditLogRepository, auditAsyncWriter, new ObjectMapper());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void searchByCursorReturnsNextCursorWhenMoreRowsExistAndNeverCounts() {
+        List<AuditLog> rows = new ArrayList<>();
+        for (long id = 10; id > 7; id--) {
+            rows.add(entry(id, Instant.parse("2026-04-01T10:00:00Z")));
+        }
+        when(auditLogRepository.findBy(any(Specification.class), any())).thenReturn(rows);
+
+        AuditLogCursorPageDto page = service.searchByCursor("adm", null, null, null, null, null, 2);
+
+        assertEquals(List.of(10L, 9L), page.items().stream().map(AuditLogResponseDto::id).toList());
+        assertTrue(page.hasMore());
+        assertNotNull(page.nextCursor());
+        verify(auditLogRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+
+        // The cursor produced for the last row is accepted on the next request
+        when(auditLogRepository.findBy(any(Specification.class), any())).thenReturn(List.of(rows.get(2)));
+        AuditLogCursorPageDto next = service.searchByCursor("adm", null, null, null, null, page.nextCursor(), 2);
+
+        assertEquals(List.of(8L), next.items().stream().map(AuditLogResponseDto::id).toList());
+        assertFalse(next.hasMore());
+        assertNull(next.nextCursor());
+    }
+
+    @Test
+    void searchByCursorRejectsMalformedCursor() {
+        EdusyncException ex = assertThrows(EdusyncException.class,
+                () -> service.searchByCursor(null, null, null, null, null, "not-a-cursor", 20));
+
+        assertEquals("Invalid audit log cursor", ex.getMessage());
+    }
+
+    private AuditLog entry(long id, Instant timestamp) {
+        AuditLog log = new AuditLog();
+        log.setId(id);
+        log.setAction("LOGIN");
+        log.setActorUsername("admin");
+        log.setTimestamp(timestamp);
+        return log;
+    }
+}
@@ -7,8 +7,12 @@ import org.springframework.http.HttpStatus;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -55,6 +59,56 @@ class ApplicationLogServiceImplTest {
         assertTrue(response.entries().stream().allMatch(entry -> "ERROR".equals(entry.level())));
     }
 
+    @Test
+    void tailLogsFiltersByTraceId() throws IOException {
+        Path logFile = Files.createTempFile("edusync-log", ".log");
+        Files.write(logFile, List.of(
+                "2026-03-31 10:00:00.000 INFO  [abc123] [req-1] GET /a 200 5 com.project.Test - first",
+                "2026-03-31 10:00:01.000 INFO  [zzz999] [req-2] GET /b 200 5 com.project.Test - other",
+                "2026-03-31 10:00:02.000 WARN  [abc123] [req-1] GET /a 200 5 com.project.Test - second"
+        ));
+
+        ApplicationLogServiceImpl service = new ApplicationLogServiceImpl();
+        ReflectionTestUtils.setField(service, "configuredLogFile", logFile.toString());
+
+        LogTailResponseDto response = service.tailLogs(200, null, "abc123");
+
+        assertEquals(2, response.totalLinesReturned());
+        assertTrue(response.entries().get(0).message().endsWith("first"));
+        assertTrue(response.entries().get(1).message().endsWith("second"));
+    }
+
+    @Test
+    void readBackwardDecodesMultiByteCharactersAcrossBlockBoundaries() throws IOException {
+        Path logFile = Files.createTempFile("edusync-log", ".log");
+        List<String> lines = List.of("नमस्ते दुनिया", "日本語のログ", "", "crlf line", "last €");
+        Files.writeString(logFile, "नमस्ते दुनिया\n日本語のログ\n\ncrlf line\r\nlast €", StandardCharsets.UTF_8);
+
+        List<String> read = new ArrayList<>();
+        LogFileReader.readBackward(logFile, 3, read::add);
+
+        Collections.reverse(read);
+        assertEquals(lines, read);
+    }
+
+    @Test
+    void readForwardLeavesPartialLastLineForNextCall() throws IOException {
+        Path logFile = Files.createTempFile("edusync-log", ".log");
+        Files.writeString(logFile, "one\ntwo\nthr", StandardCharsets.UTF_8);
+
+        List<String> read = new ArrayList<>();
+        long position = LogFileReader.readForward(logFile, 0, 4, read::add);
+
+        assertEquals(List.of("one", "two"), read);
+        assertEquals(8, position);
+
+        Files.writeString(logFile, "ee\n", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        read.clear();
+        LogFileReader.readForward(logFile, position, 4, read::add);
+
+        assertEquals(List.of("three"), read);
+    }
+
     @Test
     void tailLogsThrowsNotFoundWhenLogFileNotConfigured() {
         ApplicationLogServiceImpl service = new ApplicationLogServiceImpl();
@@ -0,0 +1,237 @@
+package com.project.edusync.teacher.service.impl;
+
+import com.project.edusync.adm.model.entity.AcademicClass;
+import com.project.edusync.adm.model.entity.Schedule;
+import com.project.edusync.adm.model.entity.Section;
+import com.project.edusync.adm.model.entity.Subject;
+import com.project.edusync.adm.repository.ScheduleRepository;
+import com.project.edusync.adm.repository.SectionRepository;
+import com.project.edusync.adm.repository.TimeslotRepository;
+import com.project.edusync.ams.model.repository.StudentDailyAttendanceRepository;
+import com.project.edusync.hrms.model.enums.LeaveApplicationStatus;
+import com.project.edusync.hrms.repository.LeaveApplicationRepository;
+import com.project.edusync.teacher.model.dto.TeacherDashboardSummaryResponseDto;
+import com.project.edusync.teacher.model.dto.TeacherMyClassesResponseDto;
+import com.project.edusync.uis.model.entity.Staff;
+import com.project.edusync.uis.repository.StaffRepository;
+import com.project.edusync.uis.repository.StudentGuardianRelationshipRepository;
+import com.project.edusync.uis.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.LongToIntFunction;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Every repository call is one database round trip, so the number of calls on the mocked
+ * repositories is the query count of a dashboard request. A teacher with 12 sections of 50 students
+ * must cost the same number of queries as a teacher with one.
+ */
+@ExtendWith(MockitoExtension.class)
+class TeacherDashboardServiceImplTest {
+
+    private static final Long USER_ID = 3L;
+    private static final Long STAFF_ID = 30L;
+    private static final int SECTIONS = 12;
+    private static final int STUDENTS_PER_SECTION = 50;
+    private static final LocalDate DATE = LocalDate.of(2026, 3, 2);
+
+    @Mock
+    private StudentDailyAttendanceRepository studentDailyAttendanceRepository;
+    @Mock
+    private ScheduleRepository scheduleRepository;
+    @Mock
+    private TimeslotRepository timeslotRepository;
+    @Mock
+    private SectionRepository sectionRepository;
+    @Mock
+    private StudentRepository studentRepository;
+    @Mock
+    private StaffRepository staffRepository;
+    @Mock
+    private StudentGuardianRelationshipRepository studentGuardianRelationshipRepository;
+    @Mock
+    private LeaveApplicationRepository leaveApplicationRepository;
+
+    @InjectMocks
+    private TeacherDashboardServiceImpl service;
+
+    private final List<Long> sectionIds = LongStream.rangeClosed(1, SECTIONS).boxed().toList();
+
+    @BeforeEach
+    void setUp() {
+        Staff staff = new Staff();
+        staff.setId(STAFF_ID);
+        when(staffRepository.findByUserProfile_User_Id(USER_ID)).thenReturn(Optional.of(staff));
+    }
+
+    @Test
+    void summaryUsesAFixedNumberOfQueriesForManySectionsAndStudents() {
+        when(leaveApplicationRepository.existsOverlapping(eq(STAFF_ID), eq(DATE), eq(DATE), any())).thenReturn(false);
+        when(scheduleRepository.findDistinctActiveSectionIdsByTeacherStaffId(STAFF_ID)).thenReturn(sectionIds);
+        when(studentRepository.countActiveBySectionIds(sectionIds)).thenReturn(sectionCounts());
+        // Everyone marked today: 540 present, 60 absent
+        when(studentDailyAttendanceRepository.summarizeAttendanceForActiveStudentsInSections(sectionIds, DATE, DATE))
+                .thenReturn(aggregates(studentId -> studentId % 10 == 0 ? 0 : 1, 1));
+        // Year to date over 40 days: every 10th student at 50%, every 10th + 1 at 80%, the rest at 100%
+        when(studentDailyAttendanceRepository.summarizeAttendanceForActiveStudentsInSections(
+                sectionIds, LocalDate.of(2026, 1, 1), DATE))
+                .thenReturn(aggregates(studentId -> switch ((int) (studentId % 10)) {
+                    case 0 -> 20;
+                    case 1 -> 32;
+                    default -> 40;
+                }, 40));
+        when(scheduleRepository.findAllActiveByTeacherStaffIdWithReferences(STAFF_ID)).thenReturn(List.of());
+        when(leaveApplicationRepository.countByActiveTrueAndStatus(LeaveApplicationStatus.PENDING)).thenReturn(2L);
+
+        TeacherDashboardSummaryResponseDto summary = service.getDashboardSummary(USER_ID, DATE);
+
+        assertEquals(SECTIONS * STUDENTS_PER_SECTION, summary.getTotalStudents());
+        assertEquals(540, summary.getAttendance().getPresent());
+        assertEquals(60, summary.getAttendance().getAbsent());
+        assertEquals(0, summary.getAttendance().getNotMarked());
+        assertEquals(60, summary.getAlerts().getAtRiskStudentCount());
+        assertEquals(120, summary.getAlerts().getBelowThresholdCount());
+        assertEquals(8, queryCount());
+        verify(studentRepository, never()).findTeacherStudents(any(), any(), any(), anyBoolean(), any(), any());
+    }
+
+    @Test
+    void myClassesCountsStudentsForAllSectionsInOneQuery() {
+        List<Schedule> schedules = new ArrayList<>();
+        for (Long sectionId : sectionIds) {
+            schedules.add(schedule(section(sectionId)));
+        }
+        when(scheduleRepository.findAllActiveByTeacherStaffIdWithReferences(STAFF_ID)).thenReturn(schedules);
+        when(studentRepository.countActiveBySectionIds(sectionIds)).thenReturn(sectionCounts());
+
+        List<TeacherMyClassesResponseDto> classes = service.getMyClasses(USER_ID);
+
+        assertEquals(SECTIONS, classes.size());
+        classes.forEach(item -> assertEquals(STUDENTS_PER_SECTION, item.getStudentCount()));
+        assertEquals(3, queryCount());
+        verify(studentRepository, never()).countBySection_IdAndIsActiveTrue(anyLong());
+    }
+
+    @Test
+    void classTeacherSectionsLoadSchedulesAndCountsOnceForAllSections() {
+        List<Section> sections = sectionIds.stream().map(this::section).toList();
+        when(sectionRepository.findAllActiveByClassTeacherId(STAFF_ID)).thenReturn(sections);
+        when(scheduleRepository.findAllActiveByTeacherStaffIdAndSectionIdIn(STAFF_ID, sectionIds))
+                .thenReturn(sections.stream().map(this::schedule).toList());
+        when(studentRepository.countActiveBySectionIds(sectionIds)).thenReturn(sectionCounts());
+
+        List<TeacherMyClassesResponseDto> classes = service.getMyClassTeacherSections(USER_ID);
+
+        assertEquals(SECTIONS, classes.size());
+        classes.forEach(item -> {
+            assertEquals(STUDENTS_PER_SECTION, item.getStudentCount());
+            assertEquals(1, item.getSubjects().size());
+        });
+        assertEquals(4, queryCount());
+        verify(scheduleRepository, never()).findAllActiveByTeacherStaffIdAndSectionId(anyLong(), anyLong());
+    }
+
+    private int queryCount() {
+        return Stream.of(studentDailyAttendanceRepository, scheduleRepository, timeslotRepository, sectionRepository,
+                        studentRepository, staffRepository, studentGuardianRelationshipRepository, leaveApplicationRepository)
+                .mapToInt(repository -> mockingDetails(repository).getInvocations().size())
+                .sum();
+    }
+
+    private List<StudentRepository.SectionStudentCountProjection> sectionCounts() {
+        return sectionIds.stream()
+                .map(sectionId -> (StudentRepository.SectionStudentCountProjection) new StudentRepository.SectionStudentCountProjection() {
+                    @Override
+                    public Long getSectionId() {
+                        return sectionId;
+                    }
+
+                    @Override
+                    public long getStudentCount() {
+                        return STUDENTS_PER_SECTION;
+                    }
+                })
+                .toList();
+    }
+
+    private List<StudentDailyAttendanceRepository.StudentAttendanceAggregateProjection> aggregates(
+            LongToIntFunction presentDays, long totalDays) {
+        return LongStream.rangeClosed(1, (long) SECTIONS * STUDENTS_PER_SECTION)
+                .mapToObj(studentId -> aggregate(studentId, presentDays.applyAsInt(studentId), totalDays))
+                .toList();
+    }
+
+    private static StudentDailyAttendanceRepository.StudentAttendanceAggregateProjection aggregate(
+            Long studentId, long present, long total) {
+        return new StudentDailyAttendanceRepository.StudentAttendanceAggregateProjection() {
+            @Override
+            public Long getStudentId() {
+                return studentId;
+            }
+
+            @Override
+            public Long getPresentCount() {
+                return present;
+            }
+
+            @Override
+            public Long getAbsentCount() {
+                return total - present;
+            }
+
+            @Override
+            public Long getLateCount() {
+                return 0L;
+            }
+
+            @Override
+            public Long getTotalCount() {
+                return total;
+            }
+        };
+    }
+
+    private Section section(Long id) {
+        AcademicClass academicClass = new AcademicClass();
+        academicClass.setUuid(UUID.randomUUID());
+        academicClass.setName("Grade " + id);
+        Section section = new Section();
+        section.setId(id);
+        section.setUuid(UUID.randomUUID());
+        section.setSectionName("A");
+        section.setAcademicClass(academicClass);
+        return section;
+    }
+
+    private Schedule schedule(Section section) {
+        Subject subject = new Subject();
+        subject.setUuid(UUID.randomUUID());
+        subject.setName("Mathematics " + section.getId());
+        subject.setSubjectCode("MATH");
+        Schedule schedule = new Schedule();
+        schedule.setSection(section);
+        schedule.setSubject(subject);
+        return schedule;
+    }
+}
@@ -0,0 +1,105 @@
+package com.project.edusync.uis.service;
+
+import com.project.edusync.common.config.CacheNames;
+import com.project.edusync.uis.repository.StudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StudentDashboardCacheInvalidatorTest {
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    private Cache dashboard;
+    private Cache overview;
+    private StudentDashboardCacheInvalidator invalidator;
+
+    @BeforeEach
+    void setUp() {
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+        dashboard = cacheManager.getCache(CacheNames.STUDENT_DASHBOARD);
+        overview = cacheManager.getCache(CacheNames.STUDENT_DASHBOARD_OVERVIEW);
+        invalidator = new StudentDashboardCacheInvalidator(cacheManager, studentRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void evictsEveryTrackedYearOfTheAffectedStudentOnly() {
+        cache(10L, 1L);
+        cache(10L, 2L);
+        cache(20L, 1L);
+        when(studentRepository.findUserIdsByIdIn(Set.of(5L))).thenReturn(List.of(10L));
+
+        invalidator.evictStudents(List.of(5L));
+
+        assertNull(dashboard.get("10:1"));
+        assertNull(dashboard.get("10:2"));
+        assertNull(overview.get("10:1"));
+        assertNull(overview.get("10:2"));
+        assertNotNull(dashboard.get("20:1"));
+        assertNotNull(overview.get("20:1"));
+    }
+
+    @Test
+    void evictionWaitsForCommitAndCoversTheWholeTransaction() {
+        cache(10L, 1L);
+        cache(20L, 1L);
+        when(studentRepository.findUserIdsByIdIn(Set.of(5L))).thenReturn(List.of(10L));
+        when(studentRepository.findUserIdsByIdIn(Set.of(6L))).thenReturn(List.of(20L));
+
+        TransactionSynchronizationManager.initSynchronization();
+        invalidator.evictStudents(List.of(5L));
+        invalidator.evictStudents(List.of(6L));
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        assertNotNull(dashboard.get("10:1"));
+        assertNotNull(dashboard.get("20:1"));
+
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertNull(dashboard.get("10:1"));
+        assertNull(dashboard.get("20:1"));
+        assertNull(TransactionSynchronizationManager.getResource(
+                StudentDashboardCacheInvalidator.class.getName() + ".pendingUsers"));
+    }
+
+    @Test
+    void nullAcademicYearIsTrackedLikeAnyOtherYear() {
+        cache(10L, null);
+        when(studentRepository.findUserIdsByIdIn(Set.of(5L))).thenReturn(List.of(10L));
+
+        invalidator.evictStudents(List.of(5L));
+
+        assertNull(dashboard.get("10:null"));
+    }
+
+    /** What a cache miss does: record the key, then store the computed dashboards under it. */
+    private void cache(Long userId, Long academicYearId) {
+        invalidator.track(userId, academicYearId);
+        dashboard.put(userId + ":" + academicYearId, "intelligence");
+        overview.put(userId + ":" + academicYearId, "overview");
+    }
+}